@@ -0,0 +1,125 @@
+package com.example.transformerthermalinspector.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuration class for background executors.
+ * Keeps image processing off the request threads with a bounded pool and queue.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncConfig.class);
+
+    /**
+     * Executor used for image post-processing (renditions, backfill jobs)
+     * @return Bounded thread pool for image work
+     */
+    @Bean(name = "imageProcessingExecutor")
+    public Executor imageProcessingExecutor(
+            @Value("${app.images.executor.pool-size:2}") int poolSize,
+            @Value("${app.images.executor.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-worker-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor used to encode deep-zoom tiles in parallel.
+     * When the queue is full the submitting thread encodes the tile itself instead of failing.
+     * @return Thread pool sized to the available processors
+     */
+    @Bean(name = "tileRenderingExecutor")
+    public Executor tileRenderingExecutor(
+            @Value("${app.images.tiles.pool-size:0}") int poolSize,
+            @Value("${app.images.tiles.queue-capacity:1000}") int queueCapacity) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("tile-worker-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor used to render PDF maintenance records after a report form is finalized
+     * @return Small bounded pool; rendering is occasional and should not compete with image work
+     */
+    @Bean(name = "reportGenerationExecutor")
+    public Executor reportGenerationExecutor(
+            @Value("${app.reports.executor.pool-size:1}") int poolSize,
+            @Value("${app.reports.executor.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-worker-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor used to apply inspection, import and transformer changes to the dashboard rollups
+     * off the request and analysis threads.
+     * When the queue is full the update is dropped; the periodic reconciliation rebuilds the rollups.
+     * @return Single-threaded bounded pool, so updates are applied in order and do not contend with each other
+     */
+    @Bean(name = "dashboardUpdateExecutor")
+    public Executor dashboardUpdateExecutor(
+            @Value("${app.dashboard.executor.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-worker-");
+        executor.setRejectedExecutionHandler((task, pool) ->
+                logger.warn("Dashboard update queue full; dropping update until the next reconciliation"));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor used to recompute transformer health rows after inspection changes and imports.
+     * When the queue is full the update is dropped; the periodic reconciliation recomputes every row.
+     * @return Small bounded pool, kept apart from image work so neither delays the other
+     */
+    @Bean(name = "transformerHealthExecutor")
+    public Executor transformerHealthExecutor(
+            @Value("${app.transformers.health.executor.pool-size:2}") int poolSize,
+            @Value("${app.transformers.health.executor.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("health-worker-");
+        executor.setRejectedExecutionHandler((task, pool) ->
+                logger.warn("Transformer health queue full; dropping update until the next reconciliation"));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.transformerthermalinspector.config;
+
+import com.example.transformerthermalinspector.datasource.ReplicaDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration class routing read-only transactions to a read replica.
+ * With app.datasource.replica.enabled=true the application data source becomes a lazy proxy over
+ * ReplicaDataSource, which hands read-only transactions a replica connection and everything else a
+ * primary one; otherwise the single spring.datasource pool is used as before.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    /**
+     * Pool for the primary database, configured by spring.datasource.*
+     * @return Hikari pool
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Pool for the replica, configured by app.datasource.replica.* (pool settings under .hikari)
+     * @return Hikari pool of read-only connections
+     */
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaPoolDataSource(
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Router between the two pools, with replica lag checks and fallback to the primary
+     * @return Routing data source
+     */
+    @Bean
+    public ReplicaDataSource replicaDataSource(
+            HikariDataSource primaryDataSource,
+            HikariDataSource replicaPoolDataSource,
+            @Value("${app.datasource.replica.max-lag-ms:2000}") long maxLagMs,
+            @Value("${app.datasource.replica.lag-check-interval-ms:1000}") long checkIntervalMs) {
+        return new ReplicaDataSource(primaryDataSource, replicaPoolDataSource, maxLagMs, checkIntervalMs);
+    }
+
+    /**
+     * Application data source: connections are only fetched on first use, after the transaction
+     * manager has registered the transaction as read-only, so the router can pick the replica
+     * @return Lazy proxy used by JPA, JdbcTemplate and the transaction manager
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaDataSource replicaDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaDataSource);
+    }
+
+    /**
+     * Release JDBC connections at the end of each transaction. Hibernate otherwise holds a session's
+     * connection until the session closes, so with open-in-view a read-write transaction following a
+     * read-only one in the same request would reuse the replica connection.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.transformerthermalinspector.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class enabling scheduled background jobs (e.g. the orphaned image reaper).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,80 @@
+package com.example.transformerthermalinspector.config;
+
+import com.example.transformerthermalinspector.storage.ImageStore;
+import com.example.transformerthermalinspector.storage.LocalImageStore;
+import com.example.transformerthermalinspector.storage.S3ImageStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+
+/**
+ * Configuration class selecting the image storage backend.
+ * app.storage.type=local (default) keeps images in the upload directories only;
+ * app.storage.type=s3 stores them in an S3-compatible bucket shared by all nodes.
+ */
+@Configuration
+public class StorageConfig {
+
+    /**
+     * Local filesystem store
+     * @return Store backed by the upload directories
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.storage.type", havingValue = "local", matchIfMissing = true)
+    public ImageStore localImageStore(
+            @Value("${app.upload.dir.baseline:uploads/baseline}") String baselineDir,
+            @Value("${app.upload.dir.maintenance:uploads/maintenance}") String maintenanceDir) {
+        return new LocalImageStore(baselineDir, maintenanceDir);
+    }
+
+    /**
+     * S3-compatible object store
+     * @return Store backed by the configured bucket
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.storage.type", havingValue = "s3")
+    public ImageStore s3ImageStore(
+            @Value("${app.storage.s3.bucket}") String bucket,
+            @Value("${app.storage.s3.region:us-east-1}") String region,
+            @Value("${app.storage.s3.endpoint:}") String endpoint,
+            @Value("${app.storage.s3.path-style-access:false}") boolean pathStyleAccess,
+            @Value("${app.storage.s3.access-key:}") String accessKey,
+            @Value("${app.storage.s3.secret-key:}") String secretKey,
+            @Value("${app.storage.s3.key-prefix:}") String keyPrefix) {
+        AwsCredentialsProvider credentials = StringUtils.hasText(accessKey)
+                ? StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey))
+                : DefaultCredentialsProvider.create();
+        // MinIO and most S3-compatible servers need path-style addressing
+        S3Configuration s3Configuration = S3Configuration.builder()
+                .pathStyleAccessEnabled(pathStyleAccess)
+                .build();
+
+        S3ClientBuilder clientBuilder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(s3Configuration);
+        S3Presigner.Builder presignerBuilder = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(s3Configuration);
+        if (StringUtils.hasText(endpoint)) {
+            clientBuilder.endpointOverride(URI.create(endpoint));
+            presignerBuilder.endpointOverride(URI.create(endpoint));
+        }
+
+        return new S3ImageStore(clientBuilder.build(), presignerBuilder.build(), bucket, keyPrefix);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.transformerthermalinspector.controller;
+
+import com.example.transformerthermalinspector.dto.ImportReport;
+import com.example.transformerthermalinspector.service.BulkImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+/**
+ * REST Controller for bulk imports.
+ * Accepts a CSV file (with a header row) or JSON lines as the raw request body and reports per-row errors.
+ */
+@RestController
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class BulkImportController {
+
+    private static final String TEXT_CSV = "text/csv";
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private final BulkImportService bulkImportService;
+
+    /**
+     * Import transformers; existing transformer numbers are reported as errors, not updated
+     * POST /api/transformers/import (Content-Type: text/csv or application/x-ndjson)
+     */
+    @PostMapping(value = "/api/transformers/import", consumes = {TEXT_CSV, APPLICATION_NDJSON})
+    public ResponseEntity<?> importTransformers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                InputStream body) {
+        try {
+            ImportReport report = bulkImportService.importTransformers(body, format(contentType));
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Error importing transformers: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Import inspections; inspection numbers are assigned, and rows for unknown transformers are reported as errors
+     * POST /api/inspections/import (Content-Type: text/csv or application/x-ndjson)
+     */
+    @PostMapping(value = "/api/inspections/import", consumes = {TEXT_CSV, APPLICATION_NDJSON})
+    public ResponseEntity<?> importInspections(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                               InputStream body) {
+        try {
+            ImportReport report = bulkImportService.importInspections(body, format(contentType));
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Error importing inspections: " + e.getMessage());
+        }
+    }
+
+    private static String format(String contentType) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        return mediaType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))
+                ? BulkImportService.FORMAT_CSV
+                : BulkImportService.FORMAT_NDJSON;
+    }
+}
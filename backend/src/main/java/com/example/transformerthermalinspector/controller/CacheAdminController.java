@@ -0,0 +1,47 @@
+package com.example.transformerthermalinspector.controller;
+
+import com.example.transformerthermalinspector.service.EntityCacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * REST Controller for the second-level entity cache.
+ * Reports hit/miss ratios and allows a manual flush.
+ */
+@RestController
+@RequestMapping("/api/admin/cache")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class CacheAdminController {
+
+    private final EntityCacheService entityCacheService;
+
+    /**
+     * Get second-level and query cache hit/miss statistics
+     * GET /api/admin/cache/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return new ResponseEntity<>(entityCacheService.getStats(), HttpStatus.OK);
+    }
+
+    /**
+     * Empty all cache regions, e.g. after rows were edited directly in the database
+     * POST /api/admin/cache/evict
+     */
+    @PostMapping("/evict")
+    public ResponseEntity<Map<String, Object>> evictAll() {
+        entityCacheService.evictAll();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Second-level cache emptied");
+        response.put("evictedAt", LocalDateTime.now());
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+}
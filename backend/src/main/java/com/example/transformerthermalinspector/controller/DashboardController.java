@@ -0,0 +1,52 @@
+package com.example.transformerthermalinspector.controller;
+
+import com.example.transformerthermalinspector.dto.DashboardDTO;
+import com.example.transformerthermalinspector.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for the dashboard.
+ * Serves fleet-wide figures from the rollup counters maintained by DashboardService.
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    /**
+     * Get dashboard figures: counts by state, region, branch, severity and anomaly class,
+     * inspections per day and the most recent inspections
+     * GET /api/dashboard
+     */
+    @GetMapping
+    public ResponseEntity<?> getDashboard() {
+        try {
+            DashboardDTO dashboard = dashboardService.getDashboard();
+            return ResponseEntity.ok(dashboard);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Error fetching dashboard: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild all dashboard counters from the inspection table now
+     * POST /api/dashboard/reconcile
+     */
+    @PostMapping("/reconcile")
+    public ResponseEntity<?> reconcile() {
+        try {
+            dashboardService.reconcile();
+            return ResponseEntity.ok(dashboardService.getDashboard());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Error reconciling dashboard: " + e.getMessage());
+        }
+    }
+}
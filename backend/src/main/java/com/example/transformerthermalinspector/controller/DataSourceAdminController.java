@@ -0,0 +1,39 @@
+package com.example.transformerthermalinspector.controller;
+
+import com.example.transformerthermalinspector.datasource.ReplicaDataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * REST Controller for database routing.
+ * Reports whether read-only transactions are currently served by the read replica.
+ */
+@RestController
+@RequestMapping("/api/admin/datasource")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class DataSourceAdminController {
+
+    private final ObjectProvider<ReplicaDataSource> replicaDataSource;
+
+    /**
+     * Get replica lag and routing counts
+     * GET /api/admin/datasource/replica
+     */
+    @GetMapping("/replica")
+    public ResponseEntity<Map<String, Object>> getReplicaStatus() {
+        ReplicaDataSource replica = replicaDataSource.getIfAvailable();
+        if (replica == null) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("replicaEnabled", false);
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        }
+        return new ResponseEntity<>(replica.getStatus(), HttpStatus.OK);
+    }
+}
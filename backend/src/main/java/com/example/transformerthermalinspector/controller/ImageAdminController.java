@@ -0,0 +1,95 @@
+package com.example.transformerthermalinspector.controller;
+
+import com.example.transformerthermalinspector.service.ImageCleanupService;
+import com.example.transformerthermalinspector.service.ImageRenditionService;
+import com.example.transformerthermalinspector.service.ImageStoreMigrationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * REST Controller for image maintenance jobs.
+ * Provides endpoints to run housekeeping tasks over the stored image files.
+ */
+@RestController
+@RequestMapping("/api/admin/images")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ImageAdminController {
+
+    private final ImageRenditionService imageRenditionService;
+    private final ImageCleanupService imageCleanupService;
+    private final ImageStoreMigrationService imageStoreMigrationService;
+
+    /**
+     * Generate missing thumbnail/preview renditions for all stored images
+     * POST /api/admin/images/renditions/backfill
+     */
+    @PostMapping("/renditions/backfill")
+    public ResponseEntity<Map<String, Object>> backfillRenditions() {
+        // Runs in the background; the job itself fans out on the image executor
+        CompletableFuture.runAsync(imageRenditionService::backfillRenditions);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Rendition backfill started");
+        response.put("startedAt", LocalDateTime.now());
+        return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * Run one orphan reaper pass now instead of waiting for the schedule
+     * POST /api/admin/images/reaper/run
+     */
+    @PostMapping("/reaper/run")
+    public ResponseEntity<Map<String, Object>> runReaper() {
+        CompletableFuture.runAsync(imageCleanupService::reapOrphans);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Orphan reaper pass started");
+        response.put("startedAt", LocalDateTime.now());
+        return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * Get deletion queue and orphan reaper statistics (including reclaimed bytes)
+     * GET /api/admin/images/cleanup/stats
+     */
+    @GetMapping("/cleanup/stats")
+    public ResponseEntity<Map<String, Object>> getCleanupStats() {
+        return new ResponseEntity<>(imageCleanupService.getStats(), HttpStatus.OK);
+    }
+
+    /**
+     * Copy existing local image files into the configured object store
+     * POST /api/admin/images/storage/migrate
+     */
+    @PostMapping("/storage/migrate")
+    public ResponseEntity<Map<String, Object>> migrateStorage() {
+        Map<String, Object> response = new HashMap<>();
+        if (!imageStoreMigrationService.isMigrationSupported()) {
+            response.put("message", "Image store is the local filesystem; nothing to migrate");
+            return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        }
+
+        CompletableFuture.runAsync(imageStoreMigrationService::migrateLocalFiles);
+
+        response.put("message", "Image store migration started");
+        response.put("startedAt", LocalDateTime.now());
+        return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * Get progress of the image store migration
+     * GET /api/admin/images/storage/migrate
+     */
+    @GetMapping("/storage/migrate")
+    public ResponseEntity<Map<String, Object>> getMigrationStatus() {
+        return new ResponseEntity<>(imageStoreMigrationService.getStatus(), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.transformerthermalinspector.controller;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Helper for building image responses with HTTP caching headers.
+ * Spring MVC answers conditional requests (If-None-Match / If-Modified-Since) with 304
+ * and Range requests with 206 for Resource bodies once these headers are present.
+ */
+final class ImageResponses {
+
+    // Stored filenames contain a UUID and are never overwritten, so they can be cached for a year
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+    // URLs that resolve to "the current image" of an entity must be revalidated on each use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePublic();
+
+    private ImageResponses() {
+    }
+
+    /**
+     * Build a 200 response for a stored image with strong validators
+     * @param path The file to serve
+     * @param contentType The MIME type of the file
+     * @param immutable True if the URL always maps to this exact file content
+     * @param contentDisposition Content-Disposition header value, or null to omit it
+     * @return Response entity with ETag, Last-Modified, Cache-Control and Accept-Ranges set
+     * @throws IOException If file attributes cannot be read
+     */
+    static ResponseEntity<Resource> ok(Path path, String contentType, boolean immutable, String contentDisposition)
+            throws IOException {
+        Resource resource = new UrlResource(path.toUri());
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(contentType))
+                .eTag(strongETag(path, lastModified))
+                .lastModified(lastModified)
+                .cacheControl(cacheControl(immutable))
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (contentDisposition != null) {
+            builder.header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition);
+        }
+        return builder.body(resource);
+    }
+
+    /**
+     * Build a 302 response sending the client to a presigned object store URL
+     * @param location The presigned URL
+     * @return Redirect response that is not cached (the URL expires)
+     */
+    static ResponseEntity<Resource> redirect(URI location) {
+        return ResponseEntity.status(HttpStatus.FOUND)
+                .location(location)
+                .cacheControl(CacheControl.noStore())
+                .build();
+    }
+
+    /**
+     * Cache policy for an image URL
+     * @param immutable True if the URL always maps to this exact file content
+     * @return Long-lived immutable caching, or revalidate-on-use
+     */
+    static CacheControl cacheControl(boolean immutable) {
+        return immutable ? IMMUTABLE : REVALIDATE;
+    }
+
+    /**
+     * Build a strong ETag from the file name, size and modification time.
+     * Renditions have different paths, so each size gets its own validator.
+     */
+    static String strongETag(Path path, long lastModified) throws IOException {
+        long size = Files.size(path);
+        return "\"" + Integer.toHexString(path.getFileName().toString().hashCode())
+                + "-" + Long.toHexString(size)
+                + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    /**
+     * Map an image kind path segment to the image directory
+     * @param kind "baseline" or "maintenance"
+     * @return True for baseline images, false for maintenance images
+     * @throws IllegalArgumentException If the kind is unknown
+     */
+    static boolean isBaselineKind(String kind) {
+        if ("baseline".equalsIgnoreCase(kind)) {
+            return true;
+        }
+        if ("maintenance".equalsIgnoreCase(kind)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Unknown image kind: " + kind);
+    }
+}
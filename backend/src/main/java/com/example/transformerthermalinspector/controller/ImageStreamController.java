@@ -0,0 +1,120 @@
+package com.example.transformerthermalinspector.controller;
+
+import com.example.transformerthermalinspector.service.ImageRendition;
+import com.example.transformerthermalinspector.service.ImageStorageService;
+import com.example.transformerthermalinspector.service.ImageTransferService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * REST Controller for image delivery with bounded concurrency.
+ * Serves the same files as the /images/{filename} endpoints of the inspection and transformer
+ * controllers, but hands large ranges to the connector (sendfile) instead of streaming a Resource.
+ */
+@RestController
+@RequestMapping("/api/images")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ImageStreamController {
+
+    private final ImageStorageService imageStorageService;
+    private final ImageTransferService imageTransferService;
+
+    /**
+     * Stream a baseline or maintenance image
+     * GET /api/images/{kind}/{filename}?size=thumbnail|preview|full
+     * kind is "baseline" or "maintenance"
+     */
+    @GetMapping("/{kind}/{filename}")
+    public void streamImage(@PathVariable String kind,
+                            @PathVariable String filename,
+                            @RequestParam(value = "size", required = false) String size,
+                            HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        boolean isBaseline;
+        ImageRendition rendition;
+        try {
+            isBaseline = ImageResponses.isBaselineKind(kind);
+            rendition = ImageRendition.fromParam(size);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            return;
+        }
+
+        // With an object store, the bytes do not need to pass through this JVM at all
+        Optional<URI> downloadUrl = imageStorageService.getDownloadUrl(filename, isBaseline, rendition);
+        if (downloadUrl.isPresent()) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+            response.sendRedirect(downloadUrl.get().toString());
+            return;
+        }
+
+        if (!imageStorageService.imageExists(filename, isBaseline)) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        Path filePath = imageStorageService.resolveImagePath(filename, isBaseline, rendition);
+        long fileLength = Files.size(filePath);
+        long lastModified = Files.getLastModifiedTime(filePath).toMillis();
+        boolean immutable = filePath.equals(imageStorageService.getRenditionPath(filename, isBaseline, rendition));
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, ImageResponses.cacheControl(immutable).getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        // Sets ETag/Last-Modified and answers 304 when the client copy is still valid
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        if (webRequest.checkNotModified(ImageResponses.strongETag(filePath, lastModified), lastModified)) {
+            return;
+        }
+
+        long start = 0;
+        long length = fileLength;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(fileLength);
+                    long end = ranges.get(0).getRangeEnd(fileLength);
+                    length = end - start + 1;
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + fileLength);
+                }
+                // Multipart ranges are not needed by image viewers; fall through to the full body
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + fileLength);
+                response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+        }
+
+        response.setContentType(imageStorageService.getContentType(filePath));
+        response.setContentLengthLong(length);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"");
+
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        if (!imageTransferService.transfer(filePath, start, length, request, response)) {
+            response.reset();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
+    }
+}
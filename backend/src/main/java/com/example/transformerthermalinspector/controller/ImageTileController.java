@@ -0,0 +1,118 @@
+package com.example.transformerthermalinspector.controller;
+
+import com.example.transformerthermalinspector.service.ImageStorageService;
+import com.example.transformerthermalinspector.service.ImageTileService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * REST Controller for Deep Zoom tiles of baseline and maintenance images.
+ * URLs follow the DZI convention (tiles.dzi + tiles_files/{level}/{col}_{row}.jpg),
+ * so deep-zoom viewers can derive tile URLs from the descriptor URL.
+ */
+@RestController
+@RequestMapping("/api/images")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ImageTileController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageTileController.class);
+
+    private static final MediaType DZI_MEDIA_TYPE = MediaType.APPLICATION_XML;
+
+    private final ImageStorageService imageStorageService;
+    private final ImageTileService imageTileService;
+
+    /**
+     * Get the DZI descriptor of an image
+     * GET /api/images/{kind}/{filename}/tiles.dzi
+     */
+    @GetMapping("/{kind}/{filename}/tiles.dzi")
+    public ResponseEntity<String> getDescriptor(@PathVariable String kind, @PathVariable String filename) {
+        try {
+            boolean isBaseline = ImageResponses.isBaselineKind(kind);
+            if (!imageStorageService.imageExists(filename, isBaseline)) {
+                return ResponseEntity.notFound().build();
+            }
+
+            String descriptor = imageTileService.getDescriptor(filename, isBaseline);
+            return ResponseEntity.ok()
+                    .contentType(DZI_MEDIA_TYPE)
+                    .cacheControl(ImageResponses.cacheControl(true))
+                    .body(descriptor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (TimeoutException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "2").build();
+        } catch (IOException e) {
+            logger.error("Error generating tile descriptor for image {}: {}", filename, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Get one tile of an image
+     * GET /api/images/{kind}/{filename}/tiles_files/{level}/{col}_{row}.jpg
+     */
+    @GetMapping("/{kind}/{filename}/tiles_files/{level}/{tile}")
+    public ResponseEntity<Resource> getTile(@PathVariable String kind,
+                                            @PathVariable String filename,
+                                            @PathVariable int level,
+                                            @PathVariable String tile) {
+        try {
+            boolean isBaseline = ImageResponses.isBaselineKind(kind);
+            int[] position = parseTile(tile);
+            if (position == null) {
+                return ResponseEntity.notFound().build();
+            }
+            if (!imageStorageService.imageExists(filename, isBaseline)) {
+                return ResponseEntity.notFound().build();
+            }
+
+            Path tilePath = imageTileService.getTile(filename, isBaseline, level, position[0], position[1]);
+            if (tilePath == null) {
+                return ResponseEntity.notFound().build();
+            }
+            // A tile never changes for a given stored filename
+            return ImageResponses.ok(tilePath, MediaType.IMAGE_JPEG_VALUE, true, null);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (TimeoutException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "2").build();
+        } catch (IOException e) {
+            logger.error("Error generating tile {}/{} of image {}: {}", level, tile, filename, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Parse "{col}_{row}.jpg"
+     * @return {column, row}, or null if the name is not a tile name
+     */
+    private int[] parseTile(String tile) {
+        String suffix = "." + ImageTileService.TILE_FORMAT;
+        if (!tile.endsWith(suffix)) {
+            return null;
+        }
+        String[] parts = tile.substring(0, tile.length() - suffix.length()).split("_");
+        if (parts.length != 2) {
+            return null;
+        }
+        try {
+            return new int[] {Integer.parseInt(parts[0]), Integer.parseInt(parts[1])};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,21 +1,28 @@
 package com.example.transformerthermalinspector.controller;
 
+import com.example.transformerthermalinspector.dto.CursorPage;
 import com.example.transformerthermalinspector.dto.InspectionDTO;
 import com.example.transformerthermalinspector.dto.AnnotationUpdateRequest;
+import com.example.transformerthermalinspector.dto.InspectionSearchCriteria;
+import com.example.transformerthermalinspector.service.AnnotatedImageService;
+import com.example.transformerthermalinspector.service.InspectionListingService;
 import com.example.transformerthermalinspector.service.InspectionService;
+import com.example.transformerthermalinspector.service.ImageRendition;
 import com.example.transformerthermalinspector.service.ImageStorageService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
 
 import java.io.IOException;
+import java.net.URI;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -33,6 +40,9 @@ public class InspectionController {
 
     private final InspectionService inspectionService;
     private final ImageStorageService imageStorageService;
+    private final AnnotatedImageService annotatedImageService;
+    private final InspectionListingService inspectionListingService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Create a new inspection
@@ -48,6 +58,8 @@ public class InspectionController {
             
             InspectionDTO savedInspection = inspectionService.saveInspection(inspectionDTO);
             return new ResponseEntity<>(savedInspection, HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -55,21 +67,84 @@ public class InspectionController {
 
     /**
      * Get all inspections
-     * GET /api/inspections
+     * GET /api/inspections?view=summary or ?fields=inspectionNo,state,...
+     * view=summary omits the bounding box JSON; fields= selects only the listed columns
      */
     @GetMapping
-    public ResponseEntity<List<InspectionDTO>> getAllInspections() {
+    public ResponseEntity<List<?>> getAllInspections(
+            @RequestParam(value = "view", required = false) String view,
+            @RequestParam(value = "fields", required = false) String fields) {
         try {
-            List<InspectionDTO> inspections = inspectionService.getAllInspections();
+            List<?> inspections;
+            if (fields != null) {
+                inspections = inspectionListingService.listAllInspectionFields(new InspectionSearchCriteria(), fields);
+            } else if ("summary".equals(view)) {
+                inspections = inspectionService.getInspectionSummaries();
+            } else {
+                inspections = inspectionService.getAllInspections();
+            }
             if (inspections.isEmpty()) {
                 return new ResponseEntity<>(HttpStatus.NO_CONTENT);
             }
             return new ResponseEntity<>(inspections, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    /**
+     * Stream all inspections as a JSON array, read through a database cursor with constant memory
+     * GET /api/inspections?stream=true
+     * For exports; an empty table gives [] rather than 204
+     */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllInspections() {
+        return JsonStreamResponses.<InspectionDTO>array(objectMapper,
+                consumer -> inspectionService.streamInspections(null, consumer));
+    }
+
+    /**
+     * Get one page of inspections with optional filters, newest first by default
+     * GET /api/inspections/page?transformerNo=&branch=&state=&from=&to=&hasAnnotations=
+     *     &sort=date|inspectionNo&direction=desc|asc&limit=50&cursor=&count=none|estimate|exact&fields=
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<?>> getInspectionPage(
+            @RequestParam(value = "transformerNo", required = false) String transformerNo,
+            @RequestParam(value = "branch", required = false) String branch,
+            @RequestParam(value = "state", required = false) String state,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "hasAnnotations", required = false) Boolean hasAnnotations,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "direction", required = false) String direction,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "count", required = false) String count,
+            @RequestParam(value = "fields", required = false) String fields) {
+        try {
+            InspectionSearchCriteria criteria = new InspectionSearchCriteria();
+            criteria.setTransformerNo(transformerNo);
+            criteria.setBranch(branch);
+            criteria.setState(state);
+            criteria.setFrom(from);
+            criteria.setTo(to);
+            criteria.setHasAnnotations(hasAnnotations);
+
+            CursorPage<?> page = fields != null
+                    ? inspectionListingService.listInspectionFields(criteria, sort, direction, cursor, limit, count, fields)
+                    : inspectionListingService.listInspections(criteria, sort, direction, cursor, limit, count);
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Get inspection by inspection number
      * GET /api/inspections/{inspectionNo}
@@ -86,22 +161,47 @@ public class InspectionController {
 
     /**
      * Get inspections by transformer number
-     * GET /api/inspections/transformer/{transformerNo}
+     * GET /api/inspections/transformer/{transformerNo}?view=summary or ?fields=inspectionNo,state,...
      */
     @GetMapping("/transformer/{transformerNo}")
-    public ResponseEntity<List<InspectionDTO>> getInspectionsByTransformer(@PathVariable("transformerNo") String transformerNo) {
+    public ResponseEntity<List<?>> getInspectionsByTransformer(
+            @PathVariable("transformerNo") String transformerNo,
+            @RequestParam(value = "view", required = false) String view,
+            @RequestParam(value = "fields", required = false) String fields) {
         try {
-            List<InspectionDTO> inspections = inspectionService.getInspectionsByTransformerNo(transformerNo);
+            List<?> inspections;
+            if (fields != null) {
+                InspectionSearchCriteria criteria = new InspectionSearchCriteria();
+                criteria.setTransformerNo(transformerNo);
+                inspections = inspectionListingService.listAllInspectionFields(criteria, fields);
+            } else if ("summary".equals(view)) {
+                inspections = inspectionService.getInspectionSummariesByTransformerNo(transformerNo);
+            } else {
+                inspections = inspectionService.getInspectionsByTransformerNo(transformerNo);
+            }
             if (inspections.isEmpty()) {
                 return new ResponseEntity<>(HttpStatus.NO_CONTENT);
             }
             return new ResponseEntity<>(inspections, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
 
+    /**
+     * Stream a transformer's inspections as a JSON array, read through a database cursor
+     * GET /api/inspections/transformer/{transformerNo}?stream=true
+     */
+    @GetMapping(value = "/transformer/{transformerNo}", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamInspectionsByTransformer(
+            @PathVariable("transformerNo") String transformerNo) {
+        return JsonStreamResponses.<InspectionDTO>array(objectMapper,
+                consumer -> inspectionService.streamInspections(transformerNo, consumer));
+    }
+
     /**
      * Update an existing inspection
      * PUT /api/inspections/{inspectionNo}
@@ -110,11 +210,15 @@ public class InspectionController {
     public ResponseEntity<InspectionDTO> updateInspection(
             @PathVariable("inspectionNo") Long inspectionNo,
             @Valid @RequestBody InspectionDTO inspectionDTO) {
-        Optional<InspectionDTO> updatedInspection = inspectionService.updateInspection(inspectionNo, inspectionDTO);
-        if (updatedInspection.isPresent()) {
-            return new ResponseEntity<>(updatedInspection.get(), HttpStatus.OK);
-        } else {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        try {
+            Optional<InspectionDTO> updatedInspection = inspectionService.updateInspection(inspectionNo, inspectionDTO);
+            if (updatedInspection.isPresent()) {
+                return new ResponseEntity<>(updatedInspection.get(), HttpStatus.OK);
+            } else {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
     }
 
@@ -210,11 +314,15 @@ public class InspectionController {
     
     /**
      * Serve maintenance image for an inspection
-     * GET /api/inspections/{inspectionNo}/maintenance-image
+     * GET /api/inspections/{inspectionNo}/maintenance-image?size=thumbnail|preview|full
      */
     @GetMapping("/{inspectionNo}/maintenance-image")
-    public ResponseEntity<Resource> getMaintenanceImage(@PathVariable("inspectionNo") Long inspectionNo) {
+    public ResponseEntity<Resource> getMaintenanceImage(
+            @PathVariable("inspectionNo") Long inspectionNo,
+            @RequestParam(value = "size", required = false) String size) {
         try {
+            ImageRendition rendition = ImageRendition.fromParam(size);
+            
             Optional<InspectionDTO> inspection = inspectionService.getInspectionById(inspectionNo);
             if (inspection.isEmpty()) {
                 return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -229,14 +337,14 @@ public class InspectionController {
                 return new ResponseEntity<>(HttpStatus.NOT_FOUND);
             }
             
-            Path path = imageStorageService.getImagePath(imagePath, false);
-            Resource resource = new UrlResource(path.toUri());
+            Path path = imageStorageService.resolveImagePath(imagePath, false, rendition);
             
-            return ResponseEntity.ok()
-                    .contentType(MediaType.IMAGE_JPEG)
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + imagePath + "\"")
-                    .body(resource);
+            // The image behind this URL changes when a new one is uploaded, so clients must revalidate
+            return ImageResponses.ok(path, imageStorageService.getContentType(path), false,
+                    "attachment; filename=\"" + imagePath + "\"");
                     
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } catch (IOException e) {
             e.printStackTrace();
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -245,38 +353,37 @@ public class InspectionController {
     
     /**
      * Serve maintenance images by filename (for computed URLs)
-     * GET /api/inspections/images/{filename}
+     * GET /api/inspections/images/{filename}?size=thumbnail|preview|full
      */
     @GetMapping("/images/{filename}")
-    public ResponseEntity<Resource> getMaintenanceImageByFilename(@PathVariable String filename) {
+    public ResponseEntity<Resource> getMaintenanceImageByFilename(
+            @PathVariable String filename,
+            @RequestParam(value = "size", required = false) String size) {
         try {
+            ImageRendition rendition = ImageRendition.fromParam(size);
+            
+            // With an object store, let the client download the bytes from it directly
+            Optional<URI> downloadUrl = imageStorageService.getDownloadUrl(filename, false, rendition);
+            if (downloadUrl.isPresent()) {
+                return ImageResponses.redirect(downloadUrl.get());
+            }
+            
             // Check if file exists
             if (!imageStorageService.imageExists(filename, false)) {
                 return ResponseEntity.notFound().build();
             }
             
-            Path filePath = imageStorageService.getImagePath(filename, false);
-            Resource resource = new UrlResource(filePath.toUri());
+            Path filePath = imageStorageService.resolveImagePath(filename, false, rendition);
             
-            if (resource.exists() && resource.isReadable()) {
-                // Determine content type from file extension
-                String contentType = "image/jpeg"; // Default
-                String filenameLower = filename.toLowerCase();
-                if (filenameLower.endsWith(".png")) {
-                    contentType = "image/png";
-                } else if (filenameLower.endsWith(".gif")) {
-                    contentType = "image/gif";
-                } else if (filenameLower.endsWith(".webp")) {
-                    contentType = "image/webp";
-                }
-                
-                return ResponseEntity.ok()
-                        .contentType(MediaType.parseMediaType(contentType))
-                        .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"")
-                        .body(resource);
-            } else {
-                return ResponseEntity.notFound().build();
-            }
+            // Filenames are unique and never rewritten; only a pending rendition fallback must be revalidated
+            boolean immutable = filePath.equals(imageStorageService.getRenditionPath(filename, false, rendition));
+            
+            // Determine content type from file extension
+            String contentType = imageStorageService.getContentType(filePath);
+            
+            return ImageResponses.ok(filePath, contentType, immutable, "inline; filename=\"" + filename + "\"");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (IOException e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -317,6 +424,27 @@ public class InspectionController {
         }
     }
     
+    /**
+     * Serve the maintenance image with its effective bounding boxes drawn on it
+     * GET /api/inspections/{inspectionNo}/annotated-image
+     */
+    @GetMapping("/{inspectionNo}/annotated-image")
+    public ResponseEntity<Resource> getAnnotatedImage(@PathVariable("inspectionNo") Long inspectionNo) {
+        try {
+            Optional<Path> annotated = annotatedImageService.getAnnotatedImage(inspectionNo);
+            if (annotated.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+
+            // Same URL serves a new render whenever the boxes change, so clients must revalidate
+            return ImageResponses.ok(annotated.get(), "image/jpeg", false,
+                    "inline; filename=\"INS-" + inspectionNo + "-annotated.jpg\"");
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * Recover a deleted bounding box
      * POST /api/inspections/{inspectionNo}/annotations/recover
@@ -1,19 +1,36 @@
 package com.example.transformerthermalinspector.controller;
 
+import com.example.transformerthermalinspector.dto.CursorPage;
 import com.example.transformerthermalinspector.dto.InspectionReportFormDTO;
+import com.example.transformerthermalinspector.dto.ReportFormHistoryCriteria;
+import com.example.transformerthermalinspector.dto.ReportFormHistoryEntry;
+import com.example.transformerthermalinspector.dto.ReportFormPatchRequest;
+import com.example.transformerthermalinspector.repository.InspectionReportFormPatchRepository.PatchResult;
 import com.example.transformerthermalinspector.service.InspectionReportFormService;
+import com.example.transformerthermalinspector.service.ReportFormAutoSaveBuffer;
+import com.example.transformerthermalinspector.service.ReportFormHistoryService;
+import com.example.transformerthermalinspector.service.ReportPdfService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * REST controller for managing inspection report forms.
- * Provides endpoints for auto-save, retrieval, and finalization.
+ * Provides endpoints for auto-save, field-level updates, retrieval, finalization, and history search.
  */
 @RestController
 @RequestMapping("/api/inspection-report-forms")
@@ -25,9 +42,21 @@ public class InspectionReportFormController {
     @Autowired
     private InspectionReportFormService reportFormService;
 
+    @Autowired
+    private ReportFormAutoSaveBuffer autoSaveBuffer;
+
+    @Autowired
+    private ReportPdfService reportPdfService;
+
+    @Autowired
+    private ReportFormHistoryService historyService;
+
     /**
      * Auto-save inspection report form data (real-time updates).
-     * Creates new record if doesn't exist, updates if exists.
+     * Acknowledged once buffered; consecutive saves of a form are coalesced and written
+     * within app.reports.autosave.flush-interval-ms (reads and finalize see them immediately).
+     * Returns 202 with the version to patch against. Saves of a finalized form are written immediately
+     * and mark its PDF outdated.
      * 
      * POST /api/inspection-report-forms/{inspectionNo}/auto-save
      */
@@ -39,8 +68,12 @@ public class InspectionReportFormController {
         logger.info("Auto-save request received for inspection: {}", inspectionNo);
         
         try {
-            InspectionReportFormDTO savedForm = reportFormService.autoSave(inspectionNo, dto);
-            return ResponseEntity.ok(savedForm);
+            long version = autoSaveBuffer.autoSave(inspectionNo, dto);
+            Map<String, Object> response = new HashMap<>();
+            response.put("inspectionNo", inspectionNo);
+            response.put("version", version);
+            response.put("status", "buffered");
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
         } catch (RuntimeException e) {
             logger.error("Error auto-saving report form for inspection {}: {}", inspectionNo, e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -48,6 +81,81 @@ public class InspectionReportFormController {
         }
     }
 
+    /**
+     * Update only the changed fields of an existing report form.
+     * Buffered and written together with the form's other edits, like auto-saves.
+     * Returns the new version; 409 with the current version if the form was saved since
+     * the given version was read, 404 if the form does not exist yet (create it with auto-save).
+     * 
+     * PATCH /api/inspection-report-forms/{inspectionNo}
+     */
+    @PatchMapping("/{inspectionNo}")
+    public ResponseEntity<?> patchReportForm(
+            @PathVariable Long inspectionNo,
+            @RequestBody ReportFormPatchRequest request) {
+
+        try {
+            Optional<PatchResult> result = autoSaveBuffer.patch(inspectionNo, request.getVersion(), request.getFields());
+            if (result.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body("No report form found for inspection: " + inspectionNo);
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("inspectionNo", inspectionNo);
+            response.put("version", result.get().getVersion());
+            response.put("updatedAt", result.get().getUpdatedAt());
+            if (!result.get().isApplied()) {
+                response.put("error", "Report form was modified since version " + request.getVersion());
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            }
+            response.put("updatedFields", request.getFields().keySet());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Error: " + e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Error patching report form for inspection {}: {}", inspectionNo, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error patching report form: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Search maintenance records (report forms) across inspections, newest inspection first by default.
+     * Returns summaries; fetch a form's contents by its inspection number.
+     * 
+     * GET /api/inspection-report-forms/history?transformerNo=&inspectedBy=&finalized=&from=&to=&meterSerialNumber=
+     *     &direction=desc|asc&limit=50&cursor=
+     */
+    @GetMapping("/history")
+    public ResponseEntity<CursorPage<ReportFormHistoryEntry>> searchHistory(
+            @RequestParam(value = "transformerNo", required = false) String transformerNo,
+            @RequestParam(value = "inspectedBy", required = false) String inspectedBy,
+            @RequestParam(value = "finalized", required = false) Boolean finalized,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "meterSerialNumber", required = false) String meterSerialNumber,
+            @RequestParam(value = "direction", required = false) String direction,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        try {
+            ReportFormHistoryCriteria criteria = new ReportFormHistoryCriteria();
+            criteria.setTransformerNo(transformerNo);
+            criteria.setInspectedBy(inspectedBy);
+            criteria.setFinalized(finalized);
+            criteria.setFrom(from);
+            criteria.setTo(to);
+            criteria.setMeterSerialNumber(meterSerialNumber);
+            return ResponseEntity.ok(historyService.search(criteria, direction, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            logger.error("Error searching report form history: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Get inspection report form by inspection number.
      * 
@@ -57,7 +165,7 @@ public class InspectionReportFormController {
     public ResponseEntity<?> getReportForm(@PathVariable Long inspectionNo) {
         logger.info("Get report form request for inspection: {}", inspectionNo);
         
-        Optional<InspectionReportFormDTO> reportForm = reportFormService.getByInspectionNo(inspectionNo);
+        Optional<InspectionReportFormDTO> reportForm = autoSaveBuffer.getByInspectionNo(inspectionNo);
         
         if (reportForm.isPresent()) {
             return ResponseEntity.ok(reportForm.get());
@@ -80,7 +188,7 @@ public class InspectionReportFormController {
         logger.info("Finalize report form request for inspection: {}", inspectionNo);
         
         try {
-            InspectionReportFormDTO finalizedForm = reportFormService.finalizeReport(inspectionNo, dto);
+            InspectionReportFormDTO finalizedForm = autoSaveBuffer.finalizeReport(inspectionNo, dto);
             return ResponseEntity.ok(finalizedForm);
         } catch (RuntimeException e) {
             logger.error("Error finalizing report form for inspection {}: {}", inspectionNo, e.getMessage());
@@ -108,6 +216,48 @@ public class InspectionReportFormController {
         }
     }
 
+    /**
+     * Download the PDF maintenance record of a finalized report form.
+     * Returns 202 while the PDF is being generated; the ETag is the SHA-256 of the PDF,
+     * so repeat downloads are answered with 304 until the form changes.
+     * 
+     * GET /api/inspection-report-forms/{inspectionNo}/pdf
+     */
+    @GetMapping("/{inspectionNo}/pdf")
+    public ResponseEntity<?> getReportPdf(@PathVariable Long inspectionNo) {
+        try {
+            autoSaveBuffer.flush(inspectionNo); // A buffered edit makes the current PDF stale
+            Optional<ReportPdfService.ReportPdf> pdf = reportPdfService.getReportPdf(inspectionNo);
+            if (pdf.isEmpty()) {
+                Map<String, Object> response = new HashMap<>();
+                response.put("inspectionNo", inspectionNo);
+                response.put("status", "generating");
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .header(HttpHeaders.RETRY_AFTER, "2")
+                        .cacheControl(CacheControl.noStore())
+                        .body(response);
+            }
+
+            ReportPdfService.ReportPdf report = pdf.get();
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_PDF)
+                    .eTag("\"" + report.getSha256() + "\"")
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "inline; filename=\"INS-" + inspectionNo + "-maintenance-record.pdf\"");
+            if (report.getGeneratedAt() != null) {
+                builder.lastModified(report.getGeneratedAt().atZone(ZoneId.systemDefault()));
+            }
+            return builder.body(new FileSystemResource(report.getPath()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error serving report PDF for inspection {}: {}", inspectionNo, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error serving report PDF: " + e.getMessage());
+        }
+    }
+
     /**
      * Delete inspection report form.
      * 
@@ -118,7 +268,7 @@ public class InspectionReportFormController {
         logger.info("Delete report form request for inspection: {}", inspectionNo);
         
         try {
-            reportFormService.deleteByInspectionNo(inspectionNo);
+            autoSaveBuffer.deleteByInspectionNo(inspectionNo);
             return ResponseEntity.ok("Report form deleted successfully");
         } catch (Exception e) {
             logger.error("Error deleting report form for inspection {}: {}", inspectionNo, e.getMessage());
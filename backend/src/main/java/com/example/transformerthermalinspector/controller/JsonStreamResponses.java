@@ -0,0 +1,58 @@
+package com.example.transformerthermalinspector.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Helper for streaming a JSON array straight to the response.
+ * Each element is serialized with a Jackson generator as the producer hands it over,
+ * so the full collection is never held in memory (gzip is applied by server.compression).
+ */
+final class JsonStreamResponses {
+
+    private static final Logger logger = LoggerFactory.getLogger(JsonStreamResponses.class);
+
+    private JsonStreamResponses() {
+    }
+
+    /**
+     * Build a 200 response whose body is written after the handler returns, on the MVC async thread
+     * @param objectMapper Mapper configured like the rest of the API (date formats, modules)
+     * @param producer Passes every element to the given consumer, e.g. a service method reading a cursor
+     * @return Response entity with a JSON array body; an empty collection gives []
+     */
+    static <T> ResponseEntity<StreamingResponseBody> array(ObjectMapper objectMapper, Consumer<Consumer<T>> producer) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                boolean[] first = {true};
+                producer.accept(element -> {
+                    try {
+                        generator.writeObject(element);
+                        if (first[0]) {
+                            generator.flush(); // Send the first element without waiting for the buffer to fill
+                            first[0] = false;
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            } catch (UncheckedIOException e) {
+                // Usually the client went away; the status line is already sent, so just stop
+                logger.warn("Streaming response aborted: {}", e.getCause().getMessage());
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
@@ -1,19 +1,27 @@
 package com.example.transformerthermalinspector.controller;
 
 import com.example.transformerthermalinspector.dto.TransformerDTO;
+import com.example.transformerthermalinspector.dto.TransformerHealthDTO;
+import com.example.transformerthermalinspector.dto.TransformerSearchCriteria;
+import com.example.transformerthermalinspector.dto.TransformerSearchResult;
+import com.example.transformerthermalinspector.dto.TransformerSummaryDTO;
+import com.example.transformerthermalinspector.service.ImageRendition;
+import com.example.transformerthermalinspector.service.ImageStorageService;
+import com.example.transformerthermalinspector.service.TransformerHealthService;
+import com.example.transformerthermalinspector.service.TransformerSearchIndex;
 import com.example.transformerthermalinspector.service.TransformerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.net.URI;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,6 +36,10 @@ import java.util.Optional;
 public class TransformerController {
 
     private final TransformerService transformerService;
+    private final ImageStorageService imageStorageService;
+    private final TransformerSearchIndex transformerSearchIndex;
+    private final TransformerHealthService transformerHealthService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Create a new transformer
@@ -67,6 +79,124 @@ public class TransformerController {
     }
 
 
+    /**
+     * Stream all transformers as a JSON array, read through a database cursor with constant memory
+     * GET /api/transformers?stream=true
+     */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllTransformers() {
+        return JsonStreamResponses.array(objectMapper, transformerService::streamTransformers);
+    }
+
+    /**
+     * Search transformers by text and facets, with facet counts
+     * GET /api/transformers/search?q=&region=&type=&capacity=&feeders=&page=0&size=20
+     * Repeat a facet parameter to match any of its values.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchTransformers(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "region", required = false) List<String> regions,
+            @RequestParam(value = "type", required = false) List<String> types,
+            @RequestParam(value = "capacity", required = false) List<String> capacities,
+            @RequestParam(value = "feeders", required = false) List<Integer> numberOfFeeders,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            TransformerSearchCriteria criteria = new TransformerSearchCriteria();
+            criteria.setQuery(query);
+            criteria.setRegions(regions);
+            criteria.setTypes(types);
+            criteria.setCapacities(capacities);
+            criteria.setNumberOfFeeders(numberOfFeeders);
+            TransformerSearchResult result = transformerSearchIndex.search(criteria, page, size);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Error searching transformers: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get inspection summaries of all transformers: counts by state, latest inspection and latest anomaly severity
+     * GET /api/transformers/summary
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<?> getTransformerSummaries() {
+        try {
+            List<TransformerSummaryDTO> summaries = transformerService.getTransformerSummaries();
+            return ResponseEntity.ok(summaries);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Error fetching transformer summaries: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the inspection summary of one transformer
+     * GET /api/transformers/{transformerNo}/summary
+     */
+    @GetMapping("/{transformerNo}/summary")
+    public ResponseEntity<?> getTransformerSummary(@PathVariable String transformerNo) {
+        try {
+            Optional<TransformerSummaryDTO> summary = transformerService.getTransformerSummary(transformerNo);
+            if (summary.isPresent()) {
+                return ResponseEntity.ok(summary.get());
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Transformer with number " + transformerNo + " not found");
+            }
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Error fetching transformer summary: " + e.getMessage());
+        }
+    }
+
+    /**
+     * List the health of the fleet: condition of the latest analyzed inspection, trend and time since last inspection
+     * GET /api/transformers/health?sort=condition|lastInspection|trend&direction=desc&condition=&page=0&size=20
+     * Transformers without inspections are not listed.
+     */
+    @GetMapping("/health")
+    public ResponseEntity<?> getTransformerHealth(
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "direction", required = false) String direction,
+            @RequestParam(value = "condition", required = false) String condition,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            List<TransformerHealthDTO> health = transformerHealthService.listHealth(sort, direction, condition, page, size);
+            return ResponseEntity.ok(health);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Error fetching transformer health: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the health of one transformer
+     * GET /api/transformers/{transformerNo}/health
+     */
+    @GetMapping("/{transformerNo}/health")
+    public ResponseEntity<?> getTransformerHealthById(@PathVariable String transformerNo) {
+        try {
+            Optional<TransformerHealthDTO> health = transformerHealthService.getHealth(transformerNo);
+            if (health.isPresent()) {
+                return ResponseEntity.ok(health.get());
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("No inspections found for transformer " + transformerNo);
+            }
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Error fetching transformer health: " + e.getMessage());
+        }
+    }
+
     /**
      * Get transformer by transformer number
      * GET /api/transformers/{transformerNo}
@@ -196,29 +326,35 @@ public class TransformerController {
 
     /**
      * Serve baseline images
-     * GET /api/images/{filename}
+     * GET /api/transformers/images/{filename}?size=thumbnail|preview|full
      */
     @GetMapping("/images/{filename}")
-    public ResponseEntity<Resource> getImage(@PathVariable String filename) {
+    public ResponseEntity<Resource> getImage(@PathVariable String filename,
+                                             @RequestParam(value = "size", required = false) String size) {
         try {
-            Path filePath = Paths.get("uploads/baseline").resolve(filename);
-            Resource resource = new UrlResource(filePath.toUri());
+            ImageRendition rendition = ImageRendition.fromParam(size);
             
-            if (resource.exists() && resource.isReadable()) {
-                // Determine content type
-                String contentType = "image/jpeg"; // Default
-                if (filename.toLowerCase().endsWith(".png")) {
-                    contentType = "image/png";
-                } else if (filename.toLowerCase().endsWith(".gif")) {
-                    contentType = "image/gif";
-                }
-                
-                return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .body(resource);
-            } else {
+            // With an object store, let the client download the bytes from it directly
+            Optional<URI> downloadUrl = imageStorageService.getDownloadUrl(filename, true, rendition);
+            if (downloadUrl.isPresent()) {
+                return ImageResponses.redirect(downloadUrl.get());
+            }
+            
+            if (!imageStorageService.imageExists(filename, true)) {
                 return ResponseEntity.notFound().build();
             }
+            
+            Path filePath = imageStorageService.resolveImagePath(filename, true, rendition);
+            
+            // Filenames are unique and never rewritten; only a pending rendition fallback must be revalidated
+            boolean immutable = filePath.equals(imageStorageService.getRenditionPath(filename, true, rendition));
+            
+            // Determine content type
+            String contentType = imageStorageService.getContentType(filePath);
+            
+            return ImageResponses.ok(filePath, contentType, immutable, null);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -0,0 +1,59 @@
+package com.example.transformerthermalinspector.dao;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Entity holding one dashboard rollup value, e.g. the number of inspections in a given state.
+ * Maps to the 'dashboard_counter' table in PostgreSQL database.
+ * Values are adjusted incrementally from inspection changes and rebuilt by the reconciliation job.
+ */
+@Entity
+@Table(name = "dashboard_counter")
+@IdClass(DashboardCounter.Key.class)
+@Data // Generates getters, setters, toString, equals, hashCode
+@NoArgsConstructor // Default constructor
+@AllArgsConstructor // Constructor with all fields
+public class DashboardCounter {
+
+    // Dimensions (bucket meaning in parentheses)
+    public static final String TOTAL = "TOTAL"; // "inspections" or "analyzed"
+    public static final String STATE = "STATE"; // Inspection state, "Unknown" when unset
+    public static final String REGION = "REGION"; // Region of the inspected transformer
+    public static final String BRANCH = "BRANCH"; // Branch that carried out the inspection
+    public static final String SEVERITY = "SEVERITY"; // Worst effective box class of an analyzed inspection
+    public static final String ANOMALY_CLASS = "ANOMALY_CLASS"; // Class name; value counts boxes, not inspections
+    public static final String DAY = "DAY"; // Inspection date, yyyy-MM-dd
+
+    public static final String TOTAL_INSPECTIONS = "inspections";
+    public static final String TOTAL_ANALYZED = "analyzed";
+
+    // What the value counts, one of the dimension constants
+    @Id
+    @Column(name = "dimension", length = 32, nullable = false)
+    private String dimension;
+
+    // Value within the dimension
+    @Id
+    @Column(name = "bucket", nullable = false)
+    private String bucket;
+
+    // Current count
+    @Column(name = "total", nullable = false)
+    private long total;
+
+    /**
+     * Composite primary key (dimension, bucket)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String dimension;
+        private String bucket;
+    }
+}
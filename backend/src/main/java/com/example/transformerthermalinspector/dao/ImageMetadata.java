@@ -0,0 +1,52 @@
+package com.example.transformerthermalinspector.dao;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity describing a stored image file, captured while the upload was streamed to disk.
+ * Maps to the 'image_metadata' table in PostgreSQL database.
+ */
+@Entity
+@Table(name = "image_metadata")
+@Data // Generates getters, setters, toString, equals, hashCode
+@NoArgsConstructor // Default constructor
+@AllArgsConstructor // Constructor with all fields
+public class ImageMetadata {
+
+    // Primary key - stored filename (unique per upload)
+    @Id
+    @Column(name = "filename", nullable = false)
+    private String filename;
+
+    // Image category: "baseline" or "maintenance"
+    @Column(name = "kind", nullable = false)
+    private String kind;
+
+    // MIME type detected from the file's magic bytes (not the client header)
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    // File size in bytes
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    // Hex SHA-256 of the file content
+    @Column(name = "sha256", length = 64, nullable = false)
+    private String sha256;
+
+    // Pixel dimensions read from the image header - CAN BE NULL if the header could not be parsed
+    @Column(name = "width", nullable = true)
+    private Integer width;
+
+    @Column(name = "height", nullable = true)
+    private Integer height;
+
+    // When the file was stored
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
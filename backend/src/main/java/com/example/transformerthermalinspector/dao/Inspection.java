@@ -13,15 +13,29 @@ import java.time.LocalDateTime;
  * Maps to the 'inspection' table in PostgreSQL database.
  */
 @Entity
-@Table(name = "inspection")
+// Composite indexes for the repository access paths; partial indexes Hibernate cannot declare
+// are in database/migrations/add_query_plan_indexes.sql (both checked by QueryPlanTest)
+@Table(name = "inspection", indexes = {
+    @Index(name = "idx_inspection_date_no", columnList = "date_of_inspection_and_time DESC, inspection_no DESC"),
+    @Index(name = "idx_inspection_transformer_date_no", columnList = "transformer_no, date_of_inspection_and_time DESC, inspection_no DESC"),
+    @Index(name = "idx_inspection_branch_date_no", columnList = "branch, date_of_inspection_and_time DESC, inspection_no DESC"),
+    @Index(name = "idx_inspection_state_date_no", columnList = "state, date_of_inspection_and_time DESC, inspection_no DESC"),
+    @Index(name = "idx_inspection_transformer_state", columnList = "transformer_no, state")
+})
 @Data // Generates getters, setters, toString, equals, hashCode
 @NoArgsConstructor // Default constructor
 @AllArgsConstructor // Constructor with all fields
 public class Inspection {
 
+    // Inspection numbers reserved per sequence call; BulkImportRepository allocates ids the same way
+    public static final String ID_SEQUENCE = "inspection_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     // Primary key - auto-generated inspection number
+    // From a sequence rather than an identity column so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "inspection_no", nullable = false)
     private Long inspectionNo;
 
@@ -13,7 +13,12 @@ import java.time.LocalDateTime;
  * Maps to the 'inspection_report_form' table in PostgreSQL database.
  */
 @Entity
-@Table(name = "inspection_report_form")
+// Indexes for the history search filters (also in database/migrations/add_report_form_history_indexes.sql,
+// checked by QueryPlanTest)
+@Table(name = "inspection_report_form", indexes = {
+    @Index(name = "idx_report_form_inspected_by", columnList = "inspected_by"),
+    @Index(name = "idx_report_form_meter_serial", columnList = "meter_serial_number")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -144,6 +149,27 @@ public class InspectionReportForm {
     @Column(name = "finalized_at")
     private LocalDateTime finalizedAt;
 
+    // Bumped by every save, and by changes to the inspection's boxes or image while finalized;
+    // field-level patches must name the version they were made against
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private Long version;
+
+    // Generated PDF record of the finalized form (null until generated; current only while pdfVersion equals version)
+    @Column(name = "pdf_path")
+    private String pdfPath;
+
+    // SHA-256 of the PDF bytes, used as its ETag
+    @Column(name = "pdf_sha256", length = 64)
+    private String pdfSha256;
+
+    @Column(name = "pdf_generated_at")
+    private LocalDateTime pdfGeneratedAt;
+
+    // Form version the PDF was rendered from
+    @Column(name = "pdf_version")
+    private Long pdfVersion;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,56 @@
+package com.example.transformerthermalinspector.dao;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Entity recording what one inspection currently contributes to the dashboard counters.
+ * Maps to the 'inspection_rollup' table in PostgreSQL database.
+ * When the inspection changes, the difference between this row and the new values is applied
+ * to DashboardCounter, so counters never have to be recomputed from the inspection table.
+ */
+@Entity
+@Table(name = "inspection_rollup")
+@Data // Generates getters, setters, toString, equals, hashCode
+@NoArgsConstructor // Default constructor
+@AllArgsConstructor // Constructor with all fields
+public class InspectionRollup {
+
+    // Primary key - same as the inspection (no foreign key, the row outlives a deleted inspection until applied)
+    @Id
+    @Column(name = "inspection_no", nullable = false)
+    private Long inspectionNo;
+
+    // Inspection state, "Unknown" when unset
+    @Column(name = "state", nullable = false)
+    private String state;
+
+    // Region of the inspected transformer - CAN BE NULL if the transformer is missing
+    @Column(name = "region", nullable = true)
+    private String region;
+
+    @Column(name = "branch", nullable = true)
+    private String branch;
+
+    // Date part of the inspection date
+    @Column(name = "inspection_day", nullable = true)
+    private LocalDate inspectionDay;
+
+    // Worst effective box class - NULL until the inspection has an AI result
+    @Column(name = "severity", nullable = true)
+    private String severity;
+
+    // Effective box counts per class
+    @Column(name = "faulty_boxes", nullable = false)
+    private int faultyBoxes;
+
+    @Column(name = "potentially_faulty_boxes", nullable = false)
+    private int potentiallyFaultyBoxes;
+
+    @Column(name = "normal_boxes", nullable = false)
+    private int normalBoxes;
+}
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.List; 
@@ -15,11 +17,16 @@ import java.util.List;
 
 @Entity
 @Table(name = "transformer")
+@Cacheable // Read on almost every page, rarely written: kept in the second-level cache
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Transformer.CACHE_REGION)
 @Data // Generates getters, setters, toString, equals, hashCode
 @NoArgsConstructor // Default constructor
 @AllArgsConstructor // Constructor with all fields
 public class Transformer {
 
+    // Second-level cache region (size in hibernate-cache.conf)
+    public static final String CACHE_REGION = "transformer";
+
     // Primary key - user-provided transformer number
     @Id
     @Column(name = "transformer_no", nullable = false)
@@ -61,7 +68,8 @@ public class Transformer {
     @Column(name = "number_of_feeders", nullable = true)
     private Integer numberOfFeeders;
 
-    // One transformer can have many inspections
-    @OneToMany(mappedBy = "transformer", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    // One transformer can have many inspections (not cascaded: TransformerService.deleteTransformer
+    // removes them with set-based SQL)
+    @OneToMany(mappedBy = "transformer", fetch = FetchType.LAZY)
     private List<com.example.transformerthermalinspector.dao.Inspection> inspections;
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.example.transformerthermalinspector.dao;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity holding the current condition of one transformer, derived from its recent inspections.
+ * Maps to the 'transformer_health' table in PostgreSQL database.
+ * Recomputed by TransformerHealthService whenever one of the transformer's inspections changes,
+ * so the fleet can be listed by condition, trend or inspection age without reading any bounding boxes.
+ * Transformers without inspections have no row.
+ */
+@Entity
+// One index per sort order of the fleet listing, tie-broken by transformer number; the condition index
+// lists worst first and, within a condition, the longest uninspected first, and also serves condition filters
+// (also in database/migrations/create_transformer_health_table.sql, checked by QueryPlanTest)
+@Table(name = "transformer_health", indexes = {
+    @Index(name = "idx_transformer_health_condition", columnList = "condition_rank DESC, latest_inspection_at, transformer_no"),
+    @Index(name = "idx_transformer_health_latest", columnList = "latest_inspection_at, transformer_no"),
+    @Index(name = "idx_transformer_health_trend", columnList = "trend_delta, transformer_no")
+})
+@Data // Generates getters, setters, toString, equals, hashCode
+@NoArgsConstructor // Default constructor
+@AllArgsConstructor // Constructor with all fields
+public class TransformerHealth {
+
+    // Condition ranks, worst highest
+    public static final int RANK_NOT_ANALYZED = 0;
+    public static final int RANK_NORMAL = 1;
+    public static final int RANK_POTENTIALLY_FAULTY = 2;
+    public static final int RANK_FAULTY = 3;
+
+    public static final String TREND_IMPROVING = "Improving";
+    public static final String TREND_STABLE = "Stable";
+    public static final String TREND_WORSENING = "Worsening";
+
+    // Primary key - same as the transformer
+    @Id
+    @Column(name = "transformer_no", nullable = false)
+    private String transformerNo;
+
+    // Most recent inspection by date, analyzed or not
+    @Column(name = "latest_inspection_no", nullable = false)
+    private Long latestInspectionNo;
+
+    @Column(name = "latest_inspection_at", nullable = false)
+    private LocalDateTime latestInspectionAt;
+
+    // Most recent inspection with an AI result - NULL if none has been analyzed
+    @Column(name = "analyzed_inspection_no", nullable = true)
+    private Long analyzedInspectionNo;
+
+    @Column(name = "analyzed_inspection_at", nullable = true)
+    private LocalDateTime analyzedInspectionAt;
+
+    // Worst class among that inspection's effective boxes ("Faulty", "Potentially Faulty", "Normal")
+    @Column(name = "condition_class", nullable = true)
+    private String condition;
+
+    // RANK_* value of the condition, for sorting
+    @Column(name = "condition_rank", nullable = false)
+    private int conditionRank;
+
+    // Effective box counts per class of that inspection
+    @Column(name = "faulty_boxes", nullable = false)
+    private int faultyBoxes;
+
+    @Column(name = "potentially_faulty_boxes", nullable = false)
+    private int potentiallyFaultyBoxes;
+
+    @Column(name = "normal_boxes", nullable = false)
+    private int normalBoxes;
+
+    // Analyzed inspections the trend was computed from (at most app.transformers.health.trend-window)
+    @Column(name = "trend_inspections", nullable = false)
+    private int trendInspections;
+
+    // Latest condition rank minus the mean rank of the earlier inspections in the window; positive is worse
+    @Column(name = "trend_delta", nullable = false)
+    private double trendDelta;
+
+    // TREND_* value - NULL with fewer than two analyzed inspections
+    @Column(name = "trend", nullable = true)
+    private String trend;
+
+    // When the values above last changed
+    @EqualsAndHashCode.Exclude
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
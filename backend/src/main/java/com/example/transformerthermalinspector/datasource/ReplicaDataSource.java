@@ -0,0 +1,186 @@
+package com.example.transformerthermalinspector.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Data source routing connections of read-only transactions to the replica while it is reachable and
+ * within the allowed replication lag; everything else, and every fallback, goes to the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy so the connection is fetched once the transaction
+ * is marked read-only. The lag is measured on a schedule rather than per connection, against the
+ * primary's current WAL position, so a standby that stopped receiving WAL is not mistaken for caught up.
+ * Read-only transactions opened by Spring Data repositories themselves stay on the primary: event
+ * listeners and background jobs read through them right after a commit and must see their own writes;
+ * only read-only service methods (listings, effective boxes, stats, report form reads) use the replica.
+ */
+public class ReplicaDataSource extends DelegatingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaDataSource.class);
+
+    // WAL position the replica has to reach to be caught up, read on the primary first
+    private static final String PRIMARY_LSN_QUERY = "SELECT pg_current_wal_lsn()::text";
+
+    // Whether the replica is a standby, whether its WAL receiver is running (status is only visible to
+    // privileged roles, so a row without one counts), and its replay delay in ms: 0 once it has replayed
+    // up to the primary's position, otherwise the age of the last replayed transaction
+    private static final String LAG_QUERY = "SELECT pg_is_in_recovery(),"
+            + " EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status IS NULL OR status = 'streaming'),"
+            + " CASE WHEN NOT pg_is_in_recovery() THEN 0"
+            + "      WHEN pg_last_wal_replay_lsn() >= ?::pg_lsn THEN 0"
+            + "      ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, ?)::bigint"
+            + " END";
+
+    private static final String REPOSITORY_TRANSACTION_PREFIX = "org.springframework.data.";
+
+    private final DataSource replica;
+    private final long maxLagMs;
+    private final long checkIntervalMs;
+
+    private volatile boolean usable; // false until the first check succeeds
+    private volatile Long lagMs;
+    private volatile String lastError;
+    private volatile LocalDateTime lastCheckedAt;
+
+    private final AtomicLong replicaConnections = new AtomicLong();
+    private final AtomicLong primaryConnections = new AtomicLong();
+
+    /**
+     * @param primary Pool of the primary database
+     * @param replica Pool of the replica
+     * @param maxLagMs Largest replication lag at which reads still go to the replica
+     * @param checkIntervalMs How often the lag is measured
+     */
+    public ReplicaDataSource(DataSource primary, DataSource replica, long maxLagMs, long checkIntervalMs) {
+        super(primary);
+        this.replica = replica;
+        this.maxLagMs = maxLagMs;
+        this.checkIntervalMs = checkIntervalMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (routeToReplica()) {
+                try {
+                    Connection connection = replica.getConnection();
+                    replicaConnections.incrementAndGet();
+                    return connection;
+                } catch (SQLException e) {
+                    markUnusable(e);
+                }
+            }
+            primaryConnections.incrementAndGet();
+        }
+        return super.getConnection();
+    }
+
+    /**
+     * Measure the replica's lag behind the primary and decide whether reads may use it
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:1000}")
+    public void checkReplica() {
+        lastCheckedAt = LocalDateTime.now();
+        String primaryLsn;
+        try (Connection connection = obtainTargetDataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(PRIMARY_LSN_QUERY)) {
+            resultSet.next();
+            primaryLsn = resultSet.getString(1);
+        } catch (SQLException e) {
+            // Reads fall back to the primary anyway; without its position the replica cannot be trusted
+            lagMs = null;
+            markUnusable(e);
+            return;
+        }
+
+        try (Connection connection = replica.getConnection();
+             PreparedStatement statement = connection.prepareStatement(LAG_QUERY)) {
+            statement.setString(1, primaryLsn);
+            // Behind without any replayed transaction: treat as too far behind
+            statement.setLong(2, Long.MAX_VALUE / 2);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                boolean standby = resultSet.getBoolean(1);
+                boolean receiving = resultSet.getBoolean(2);
+                long lag = resultSet.getLong(3);
+                lagMs = lag;
+                if (standby && !receiving) {
+                    markUnusable("WAL receiver not streaming");
+                    return;
+                }
+                lastError = null;
+                boolean nowUsable = lag <= maxLagMs;
+                if (nowUsable != usable) {
+                    if (nowUsable) {
+                        logger.info("Read replica usable again (lag {} ms)", lag);
+                    } else {
+                        logger.warn("Read replica lag {} ms exceeds {} ms; reading from the primary", lag, maxLagMs);
+                    }
+                }
+                usable = nowUsable;
+            }
+        } catch (SQLException e) {
+            lagMs = null;
+            markUnusable(e);
+        }
+    }
+
+    /**
+     * Longest a replica read can trail the primary before routing notices
+     * (caches filled from replica reads stay correct only if refreshed after this)
+     */
+    public long getStaleWindowMs() {
+        return maxLagMs + checkIntervalMs;
+    }
+
+    /**
+     * Routing state and connection counts
+     * @return Whether the replica is in use, its last measured lag and how connections were routed
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("replicaEnabled", true);
+        status.put("replicaUsable", usable);
+        status.put("lagMs", lagMs);
+        status.put("maxLagMs", maxLagMs);
+        status.put("lastCheckedAt", lastCheckedAt);
+        status.put("lastError", lastError);
+        status.put("readOnlyConnectionsToReplica", replicaConnections.get());
+        status.put("readOnlyConnectionsToPrimary", primaryConnections.get());
+        return status;
+    }
+
+    private boolean routeToReplica() {
+        if (!usable) {
+            return false;
+        }
+        String transaction = TransactionSynchronizationManager.getCurrentTransactionName();
+        return transaction != null && !transaction.startsWith(REPOSITORY_TRANSACTION_PREFIX);
+    }
+
+    private void markUnusable(SQLException e) {
+        markUnusable(e.getMessage());
+    }
+
+    private void markUnusable(String reason) {
+        if (usable || lastError == null) {
+            logger.warn("Read replica unavailable, reading from the primary: {}", reason);
+        }
+        usable = false;
+        lastError = reason;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.transformerthermalinspector.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ * Clients pass nextCursor back as ?cursor= to get the following page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> items; // Rows of this page, in the requested order
+
+    private String nextCursor; // Opaque cursor for the next page, null on the last page
+
+    private boolean hasMore; // Whether another page follows
+
+    private Long totalCount; // Total matching rows, null unless requested with ?count=
+
+    private String countMode; // "estimate" (planner estimate) or "exact", null when not counted
+}
@@ -0,0 +1,32 @@
+package com.example.transformerthermalinspector.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fleet-wide figures for the dashboard, read from the rollup counters.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDTO {
+
+    private long totalInspections;
+    private long analyzedInspections; // Inspections with an AI result
+
+    // Share of analyzed inspections whose effective boxes show no anomaly, null if none analyzed
+    private Double healthyPercentage;
+
+    private Map<String, Long> inspectionsByState;
+    private Map<String, Long> inspectionsByRegion;
+    private Map<String, Long> inspectionsByBranch;
+    private Map<String, Long> inspectionsBySeverity; // "Faulty", "Potentially Faulty", "Normal"
+    private Map<String, Long> anomaliesByClass; // Effective bounding boxes per class
+
+    private Map<String, Long> inspectionsPerDay; // yyyy-MM-dd to count, recent days only, oldest first
+    private List<InspectionSummary> recentInspections; // Newest inspections
+}
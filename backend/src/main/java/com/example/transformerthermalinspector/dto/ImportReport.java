@@ -0,0 +1,43 @@
+package com.example.transformerthermalinspector.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: counts, throughput and the rows that were rejected.
+ */
+@Data
+@NoArgsConstructor
+public class ImportReport {
+
+    private String format; // "csv" or "ndjson"
+
+    private int rowsRead; // Data rows in the upload (CSV header not counted)
+    private int imported; // Rows written
+    private int failed; // Rows rejected; details in errors
+
+    private List<RowError> errors = new ArrayList<>(); // First rejected rows (format errors first within each chunk)
+    private boolean errorsTruncated; // More rows failed than are listed
+
+    private long durationMs;
+    private long rowsPerSecond;
+
+    /**
+     * Why one row was not imported
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        private long row; // 1-based data row (CSV record or NDJSON line)
+
+        private String key; // transformerNo of the row when known
+
+        private String message;
+    }
+}
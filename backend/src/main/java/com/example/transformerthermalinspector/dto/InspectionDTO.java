@@ -43,4 +43,10 @@ public class InspectionDTO {
     public String getMaintenanceImageUrl() {
         return maintenanceImagePath != null ? "/api/inspections/images/" + maintenanceImagePath : null;
     }
+    
+    // Small rendition for tables and list previews
+    @JsonProperty("maintenanceImageThumbnailUrl")
+    public String getMaintenanceImageThumbnailUrl() {
+        return maintenanceImagePath != null ? "/api/inspections/images/" + maintenanceImagePath + "?size=thumbnail" : null;
+    }
 }
@@ -73,4 +73,9 @@ public class InspectionReportFormDTO {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime finalizedAt;
+    private Long version;
+
+    // Generated PDF record (read-only)
+    private String pdfSha256;
+    private LocalDateTime pdfGeneratedAt;
 }
@@ -0,0 +1,36 @@
+package com.example.transformerthermalinspector.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters for the paginated inspection listing.
+ * Null fields are not filtered on.
+ */
+@Data
+@NoArgsConstructor
+public class InspectionSearchCriteria {
+
+    private String transformerNo; // Exact transformer number
+
+    private String branch; // Exact branch name
+
+    private String state; // Exact inspection state
+
+    private LocalDateTime from; // Inspection date, inclusive
+
+    private LocalDateTime to; // Inspection date, exclusive
+
+    private Boolean hasAnnotations; // True = has user-edited or deleted boxes, false = has neither
+
+    /**
+     * Whether any filter is set
+     * @return false if the listing covers all inspections
+     */
+    public boolean isEmpty() {
+        return transformerNo == null && branch == null && state == null
+                && from == null && to == null && hasAnnotations == null;
+    }
+}
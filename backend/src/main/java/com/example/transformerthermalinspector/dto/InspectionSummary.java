@@ -0,0 +1,35 @@
+package com.example.transformerthermalinspector.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+/**
+ * Closed Spring Data projection of an inspection for tables and lists.
+ * Selects only these columns, so the bounding box JSON columns are never read.
+ */
+public interface InspectionSummary {
+
+    Long getInspectionNo();
+
+    String getBranch();
+
+    String getTransformerNo();
+
+    LocalDateTime getDateOfInspectionAndTime();
+
+    String getState();
+
+    String getMaintenanceImagePath();
+
+    LocalDateTime getMaintenanceImageUploadDateAndTime();
+
+    String getWeather();
+
+    // Small rendition for tables and list previews (same URL as InspectionDTO)
+    @JsonProperty("maintenanceImageThumbnailUrl")
+    default String getMaintenanceImageThumbnailUrl() {
+        return getMaintenanceImagePath() != null
+                ? "/api/inspections/images/" + getMaintenanceImagePath() + "?size=thumbnail" : null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.transformerthermalinspector.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters for the maintenance record history search over report forms.
+ * Null fields are not filtered on.
+ */
+@Data
+@NoArgsConstructor
+public class ReportFormHistoryCriteria {
+
+    private String transformerNo; // Exact transformer number
+
+    private String inspectedBy; // Exact inspector name as entered on the form
+
+    private Boolean finalized; // True = finalized records only, false = drafts only
+
+    private LocalDateTime from; // Inspection date, inclusive
+
+    private LocalDateTime to; // Inspection date, exclusive
+
+    private String meterSerialNumber; // Exact meter serial number
+}
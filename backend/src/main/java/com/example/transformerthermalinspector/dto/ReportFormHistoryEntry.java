@@ -0,0 +1,41 @@
+package com.example.transformerthermalinspector.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One maintenance record in the history search: the report form's key facts with its
+ * inspection and transformer. The form contents are fetched with GET /api/inspection-report-forms/{inspectionNo}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportFormHistoryEntry {
+
+    private Long inspectionNo;
+
+    private String transformerNo;
+
+    private String region; // Transformer region
+
+    private String branch;
+
+    private LocalDateTime dateOfInspectionAndTime; // Inspection date (the sort key)
+
+    private String state; // Inspection state
+
+    private String inspectedBy;
+
+    private String meterSerialNumber;
+
+    private Boolean isFinalized;
+
+    private LocalDateTime finalizedAt;
+
+    private LocalDateTime updatedAt;
+
+    private boolean hasPdf; // Whether the PDF record of a finalized form has been generated
+}
@@ -0,0 +1,20 @@
+package com.example.transformerthermalinspector.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Request payload for a field-level report form update.
+ * - version: version of the form the changes were made against (from the last read or patch)
+ * - fields: changed fields only, keyed by InspectionReportFormDTO property name; null clears a field
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportFormPatchRequest {
+    private Long version;
+    private Map<String, String> fields;
+}
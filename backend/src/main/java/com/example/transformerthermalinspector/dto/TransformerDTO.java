@@ -44,4 +44,10 @@ public class TransformerDTO {
     public String getBaselineImageUrl() {
         return baselineImagePath != null ? "/api/transformers/images/" + baselineImagePath : null;
     }
+    
+    // Small rendition for tables and list previews
+    @JsonProperty("baselineImageThumbnailUrl")
+    public String getBaselineImageThumbnailUrl() {
+        return baselineImagePath != null ? "/api/transformers/images/" + baselineImagePath + "?size=thumbnail" : null;
+    }
 }
@@ -0,0 +1,38 @@
+package com.example.transformerthermalinspector.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Current condition of one transformer for the dashboard Health and Gauge widgets.
+ * Read from the incrementally maintained transformer_health table.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransformerHealthDTO {
+
+    private String transformerNo; // Primary key
+
+    private Long latestInspectionNo; // Most recent inspection by date
+    private LocalDateTime latestInspectionDate;
+    private long daysSinceLastInspection; // Whole days from that inspection until now
+
+    private Long analyzedInspectionNo; // Most recent inspection with an AI result, null if none
+    private LocalDateTime analyzedInspectionDate;
+    private String condition; // "Faulty", "Potentially Faulty" or "Normal" for that inspection, null if none
+    private int conditionRank; // 3 Faulty, 2 Potentially Faulty, 1 Normal, 0 not analyzed
+
+    private int faultyBoxes; // Effective box counts of that inspection
+    private int potentiallyFaultyBoxes;
+    private int normalBoxes;
+
+    private String trend; // "Improving", "Stable" or "Worsening"; null with fewer than two analyzed inspections
+    private double trendDelta; // Latest condition rank minus the mean of the earlier ones; positive is worse
+    private int trendInspections; // Analyzed inspections the trend covers
+
+    private LocalDateTime updatedAt; // When the values last changed
+}
@@ -0,0 +1,26 @@
+package com.example.transformerthermalinspector.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Query for the transformer search.
+ * Facet values within one facet are alternatives (OR); different facets must all match (AND).
+ * Null or empty fields are not filtered on.
+ */
+@Data
+@NoArgsConstructor
+public class TransformerSearchCriteria {
+
+    private String query; // Terms matched as substrings of transformerNo, poleNo or locationDetails
+
+    private List<String> regions;
+
+    private List<String> types;
+
+    private List<String> capacities;
+
+    private List<Integer> numberOfFeeders;
+}
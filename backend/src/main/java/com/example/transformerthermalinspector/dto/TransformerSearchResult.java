@@ -0,0 +1,29 @@
+package com.example.transformerthermalinspector.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of transformer search results with facet counts.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransformerSearchResult {
+
+    private List<TransformerDTO> items; // Matches on this page
+
+    private int total; // All matches
+
+    private int page; // Zero-based page number
+
+    private int size; // Page size
+
+    // Facet name ("region", "type", "capacity", "numberOfFeeders") to value counts.
+    // Counts for a facet apply every filter except that facet's own, so they show what selecting a value would give.
+    private Map<String, Map<String, Integer>> facets;
+}
@@ -0,0 +1,33 @@
+package com.example.transformerthermalinspector.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Inspection rollup of one transformer for list and detail pages.
+ * Computed in a single aggregate query, so no inspection rows leave the database.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransformerSummaryDTO {
+
+    private String transformerNo; // Primary key
+    private String poleNo;
+    private String region;
+    private String type;
+
+    private long totalInspections; // All inspections of this transformer
+    private Map<String, Long> inspectionsByState; // Inspection count per state ("Unknown" when unset)
+
+    private Long latestInspectionNo; // Most recent inspection by date, null if none
+    private LocalDateTime latestInspectionDate;
+    private String latestInspectionState;
+
+    private Long latestAnalyzedInspectionNo; // Most recent inspection with an AI result, null if none
+    private String latestAnomalySeverity; // "Faulty", "Potentially Faulty" or "Normal" for that inspection
+}
@@ -0,0 +1,54 @@
+package com.example.transformerthermalinspector.event;
+
+/**
+ * Application event published when an inspection, its image or its bounding boxes change.
+ * Listeners keep derived data (rendered overlays, aggregates) in step with the inspection table.
+ */
+public class InspectionChangedEvent {
+
+    /**
+     * What changed about the inspection
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        IMAGE_UPLOADED,
+        IMAGE_DELETED,
+        ANALYSIS_STARTED,
+        ANALYSIS_COMPLETED,
+        ANALYSIS_FAILED,
+        ANNOTATIONS_CHANGED,
+        DELETED
+    }
+
+    private final Long inspectionNo;
+    private final String transformerNo;
+    private final ChangeType changeType;
+
+    public InspectionChangedEvent(Long inspectionNo, String transformerNo, ChangeType changeType) {
+        this.inspectionNo = inspectionNo;
+        this.transformerNo = transformerNo;
+        this.changeType = changeType;
+    }
+
+    public Long getInspectionNo() {
+        return inspectionNo;
+    }
+
+    public String getTransformerNo() {
+        return transformerNo;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    /**
+     * Whether the set of effective bounding boxes (or the image they are drawn on) may have changed
+     * @return true for update, image, analysis, annotation and delete changes
+     */
+    public boolean affectsBoxes() {
+        return changeType != ChangeType.CREATED
+                && changeType != ChangeType.ANALYSIS_STARTED && changeType != ChangeType.ANALYSIS_FAILED;
+    }
+}
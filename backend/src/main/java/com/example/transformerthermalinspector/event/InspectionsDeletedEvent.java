@@ -0,0 +1,26 @@
+package com.example.transformerthermalinspector.event;
+
+import java.util.List;
+
+/**
+ * Application event published after a transformer's inspections were deleted with set-based SQL.
+ * Stands in for the per-row InspectionChangedEvents (DELETED) the bulk delete does not publish.
+ */
+public class InspectionsDeletedEvent {
+
+    private final String transformerNo;
+    private final List<Long> inspectionNos;
+
+    public InspectionsDeletedEvent(String transformerNo, List<Long> inspectionNos) {
+        this.transformerNo = transformerNo;
+        this.inspectionNos = inspectionNos;
+    }
+
+    public String getTransformerNo() {
+        return transformerNo;
+    }
+
+    public List<Long> getInspectionNos() {
+        return inspectionNos;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.transformerthermalinspector.event;
+
+import java.util.List;
+
+/**
+ * Application event published after a bulk import inserted inspections with JDBC batches.
+ * Stands in for the per-row InspectionChangedEvents the import does not publish.
+ */
+public class InspectionsImportedEvent {
+
+    private final List<Long> inspectionNos;
+
+    public InspectionsImportedEvent(List<Long> inspectionNos) {
+        this.inspectionNos = inspectionNos;
+    }
+
+    public List<Long> getInspectionNos() {
+        return inspectionNos;
+    }
+}
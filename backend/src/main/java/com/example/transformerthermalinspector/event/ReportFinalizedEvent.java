@@ -0,0 +1,19 @@
+package com.example.transformerthermalinspector.event;
+
+/**
+ * Application event published when an inspection report form is finalized,
+ * or when the content of an already finalized form changes.
+ * Listeners regenerate artifacts derived from the finalized form (the PDF record).
+ */
+public class ReportFinalizedEvent {
+
+    private final Long inspectionNo;
+
+    public ReportFinalizedEvent(Long inspectionNo) {
+        this.inspectionNo = inspectionNo;
+    }
+
+    public Long getInspectionNo() {
+        return inspectionNo;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.transformerthermalinspector.event;
+
+/**
+ * Application event published when a transformer is created, updated or deleted.
+ * Listeners keep in-memory views of the transformer table (the search index) current.
+ */
+public class TransformerChangedEvent {
+
+    private final String transformerNo;
+    private final boolean deleted;
+
+    public TransformerChangedEvent(String transformerNo, boolean deleted) {
+        this.transformerNo = transformerNo;
+        this.deleted = deleted;
+    }
+
+    public String getTransformerNo() {
+        return transformerNo;
+    }
+
+    /**
+     * Whether the transformer no longer exists
+     */
+    public boolean isDeleted() {
+        return deleted;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.transformerthermalinspector.event;
+
+import java.util.List;
+
+/**
+ * Application event published after a bulk import inserted transformers with JDBC batches.
+ * Stands in for the per-row TransformerChangedEvents the import does not publish.
+ */
+public class TransformersImportedEvent {
+
+    private final List<String> transformerNos;
+
+    public TransformersImportedEvent(List<String> transformerNos) {
+        this.transformerNos = transformerNos;
+    }
+
+    public List<String> getTransformerNos() {
+        return transformerNos;
+    }
+}
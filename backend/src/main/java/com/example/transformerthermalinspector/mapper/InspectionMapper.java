@@ -0,0 +1,34 @@
+package com.example.transformerthermalinspector.mapper;
+
+import com.example.transformerthermalinspector.dao.Inspection;
+import com.example.transformerthermalinspector.dto.InspectionDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.MappingTarget;
+
+/**
+ * Mapper between Inspection entities and InspectionDTOs.
+ * The implementation is generated at compile time (plain getter/setter calls, no reflection).
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface InspectionMapper {
+
+    /**
+     * Convert an entity to its DTO
+     */
+    InspectionDTO toDto(Inspection inspection);
+
+    /**
+     * Create a new entity from a DTO; the transformer relation is resolved from transformerNo by JPA
+     */
+    @Mapping(target = "transformer", ignore = true)
+    Inspection toEntity(InspectionDTO inspectionDTO);
+
+    /**
+     * Copy all DTO fields onto an existing entity, keeping its primary key
+     */
+    @Mapping(target = "inspectionNo", ignore = true)
+    @Mapping(target = "transformer", ignore = true)
+    void updateEntity(InspectionDTO inspectionDTO, @MappingTarget Inspection inspection);
+}
@@ -0,0 +1,19 @@
+package com.example.transformerthermalinspector.mapper;
+
+import com.example.transformerthermalinspector.dao.InspectionReportForm;
+import com.example.transformerthermalinspector.dto.InspectionReportFormDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+
+/**
+ * Mapper from InspectionReportForm entities to InspectionReportFormDTOs.
+ * The implementation is generated at compile time (plain getter/setter calls, no reflection).
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface InspectionReportFormMapper {
+
+    /**
+     * Convert an entity to its DTO
+     */
+    InspectionReportFormDTO toDto(InspectionReportForm form);
+}
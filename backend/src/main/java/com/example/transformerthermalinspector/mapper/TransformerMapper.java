@@ -0,0 +1,34 @@
+package com.example.transformerthermalinspector.mapper;
+
+import com.example.transformerthermalinspector.dao.Transformer;
+import com.example.transformerthermalinspector.dto.TransformerDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.MappingTarget;
+
+/**
+ * Mapper between Transformer entities and TransformerDTOs.
+ * The implementation is generated at compile time (plain getter/setter calls, no reflection).
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface TransformerMapper {
+
+    /**
+     * Convert an entity to its DTO
+     */
+    TransformerDTO toDto(Transformer transformer);
+
+    /**
+     * Create a new entity from a DTO
+     */
+    @Mapping(target = "inspections", ignore = true)
+    Transformer toEntity(TransformerDTO transformerDTO);
+
+    /**
+     * Copy all DTO fields onto an existing entity, keeping its primary key and inspections
+     */
+    @Mapping(target = "transformerNo", ignore = true)
+    @Mapping(target = "inspections", ignore = true)
+    void updateEntity(TransformerDTO transformerDTO, @MappingTarget Transformer transformer);
+}
@@ -0,0 +1,112 @@
+package com.example.transformerthermalinspector.repository;
+
+import com.example.transformerthermalinspector.dao.Inspection;
+import com.example.transformerthermalinspector.dto.InspectionDTO;
+import com.example.transformerthermalinspector.dto.TransformerDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JDBC batch writes for the bulk import.
+ * Each chunk is one multi-row batch instead of a Hibernate flush per row; inspection numbers come
+ * from inspection_seq in the same blocks Hibernate's pooled optimizer uses, so both can insert at once.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BulkImportRepository {
+
+    private static final String INSERT_TRANSFORMER = "INSERT INTO transformer"
+            + " (transformer_no, region, pole_no, type, location_details, capacity, number_of_feeders)"
+            + " VALUES (:transformerNo, :region, :poleNo, :type, :locationDetails, :capacity, :numberOfFeeders)";
+
+    private static final String INSERT_INSPECTION = "INSERT INTO inspection"
+            + " (inspection_no, transformer_no, branch, date_of_inspection_and_time, state, weather)"
+            + " VALUES (:inspectionNo, :transformerNo, :branch, :dateOfInspectionAndTime, :state, :weather)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Which of the given transformer numbers already exist
+     * @param transformerNos Transformer numbers to look up
+     * @return The subset present in the transformer table
+     */
+    public Set<String> findExistingTransformerNos(Collection<String> transformerNos) {
+        if (transformerNos.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT transformer_no FROM transformer WHERE transformer_no IN (:transformerNos)",
+                new MapSqlParameterSource("transformerNos", transformerNos), String.class));
+    }
+
+    /**
+     * Reserve inspection numbers from inspection_seq
+     * @param count Number of ids needed
+     * @return Unused inspection numbers, ascending within each reserved block
+     */
+    public List<Long> allocateInspectionNos(int count) {
+        int blocks = (count + Inspection.ID_ALLOCATION_SIZE - 1) / Inspection.ID_ALLOCATION_SIZE;
+        List<Long> blockEnds = jdbcTemplate.queryForList(
+                "SELECT nextval('" + Inspection.ID_SEQUENCE + "') FROM generate_series(1, :blocks)",
+                new MapSqlParameterSource("blocks", blocks), Long.class);
+        List<Long> ids = new ArrayList<>(blocks * Inspection.ID_ALLOCATION_SIZE);
+        for (Long end : blockEnds) {
+            // nextval V reserves V-49..V; the sequence's very first value only covers itself
+            for (long id = Math.max(1, end - Inspection.ID_ALLOCATION_SIZE + 1); id <= end; id++) {
+                ids.add(id);
+            }
+        }
+        while (ids.size() < count) {
+            ids.addAll(allocateInspectionNos(count - ids.size()));
+        }
+        return ids.subList(0, count);
+    }
+
+    /**
+     * Insert transformers in one JDBC batch
+     * @param transformers Validated rows
+     */
+    public void insertTransformers(List<TransformerDTO> transformers) {
+        SqlParameterSource[] rows = new SqlParameterSource[transformers.size()];
+        for (int i = 0; i < rows.length; i++) {
+            TransformerDTO transformer = transformers.get(i);
+            rows[i] = new MapSqlParameterSource()
+                    .addValue("transformerNo", transformer.getTransformerNo())
+                    .addValue("region", transformer.getRegion())
+                    .addValue("poleNo", transformer.getPoleNo())
+                    .addValue("type", transformer.getType())
+                    .addValue("locationDetails", transformer.getLocationDetails())
+                    .addValue("capacity", transformer.getCapacity())
+                    .addValue("numberOfFeeders", transformer.getNumberOfFeeders());
+        }
+        jdbcTemplate.batchUpdate(INSERT_TRANSFORMER, rows);
+    }
+
+    /**
+     * Insert inspections in one JDBC batch
+     * @param inspections Validated rows with inspectionNo already allocated
+     */
+    public void insertInspections(List<InspectionDTO> inspections) {
+        SqlParameterSource[] rows = new SqlParameterSource[inspections.size()];
+        for (int i = 0; i < rows.length; i++) {
+            InspectionDTO inspection = inspections.get(i);
+            rows[i] = new MapSqlParameterSource()
+                    .addValue("inspectionNo", inspection.getInspectionNo())
+                    .addValue("transformerNo", inspection.getTransformerNo())
+                    .addValue("branch", inspection.getBranch())
+                    .addValue("dateOfInspectionAndTime", inspection.getDateOfInspectionAndTime())
+                    .addValue("state", inspection.getState())
+                    .addValue("weather", inspection.getWeather());
+        }
+        jdbcTemplate.batchUpdate(INSERT_INSPECTION, rows);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.transformerthermalinspector.repository;
+
+import com.example.transformerthermalinspector.dao.DashboardCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for DashboardCounter entity.
+ * Reads are primary key range scans; writes are single-row upserts.
+ */
+@Repository
+public interface DashboardCounterRepository extends JpaRepository<DashboardCounter, DashboardCounter.Key> {
+
+    // Non-empty buckets of a dimension
+    List<DashboardCounter> findByDimensionAndTotalGreaterThan(String dimension, long total);
+
+    // Buckets of a dimension from a given bucket on, in bucket order (DAY buckets sort chronologically)
+    List<DashboardCounter> findByDimensionAndBucketGreaterThanEqualOrderByBucket(String dimension, String fromBucket);
+
+    // Add delta to a counter, creating it if missing
+    @Modifying
+    @Query(value = "INSERT INTO dashboard_counter (dimension, bucket, total) VALUES (:dimension, :bucket, :delta) "
+            + "ON CONFLICT (dimension, bucket) DO UPDATE SET total = dashboard_counter.total + EXCLUDED.total",
+            nativeQuery = true)
+    int increment(@Param("dimension") String dimension, @Param("bucket") String bucket, @Param("delta") long delta);
+
+    // Hold off counter increments until the end of the transaction (reads continue), so a rebuild
+    // sees every change committed before it and none commits halfway through it
+    @Modifying
+    @Query(value = "LOCK TABLE dashboard_counter IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    // Recompute every counter from inspection_rollup (run after deleting all counters, in the same transaction)
+    @Modifying
+    @Query(value = "INSERT INTO dashboard_counter (dimension, bucket, total)"
+            + " SELECT '" + DashboardCounter.TOTAL + "', '" + DashboardCounter.TOTAL_INSPECTIONS + "', count(*) FROM inspection_rollup"
+            + " UNION ALL SELECT '" + DashboardCounter.TOTAL + "', '" + DashboardCounter.TOTAL_ANALYZED + "', count(*)"
+            + "   FROM inspection_rollup WHERE severity IS NOT NULL"
+            + " UNION ALL SELECT '" + DashboardCounter.STATE + "', state, count(*) FROM inspection_rollup GROUP BY state"
+            + " UNION ALL SELECT '" + DashboardCounter.REGION + "', region, count(*)"
+            + "   FROM inspection_rollup WHERE region IS NOT NULL GROUP BY region"
+            + " UNION ALL SELECT '" + DashboardCounter.BRANCH + "', branch, count(*)"
+            + "   FROM inspection_rollup WHERE branch IS NOT NULL GROUP BY branch"
+            + " UNION ALL SELECT '" + DashboardCounter.SEVERITY + "', severity, count(*)"
+            + "   FROM inspection_rollup WHERE severity IS NOT NULL GROUP BY severity"
+            + " UNION ALL SELECT '" + DashboardCounter.DAY + "', to_char(inspection_day, 'YYYY-MM-DD'), count(*)"
+            + "   FROM inspection_rollup WHERE inspection_day IS NOT NULL GROUP BY inspection_day"
+            + " UNION ALL SELECT '" + DashboardCounter.ANOMALY_CLASS + "', 'Faulty', COALESCE(sum(faulty_boxes), 0) FROM inspection_rollup"
+            + " UNION ALL SELECT '" + DashboardCounter.ANOMALY_CLASS + "', 'Potentially Faulty', COALESCE(sum(potentially_faulty_boxes), 0) FROM inspection_rollup"
+            + " UNION ALL SELECT '" + DashboardCounter.ANOMALY_CLASS + "', 'Normal', COALESCE(sum(normal_boxes), 0) FROM inspection_rollup",
+            nativeQuery = true)
+    int rebuildFromRollups();
+}
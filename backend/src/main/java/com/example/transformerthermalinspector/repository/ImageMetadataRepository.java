@@ -0,0 +1,13 @@
+package com.example.transformerthermalinspector.repository;
+
+import com.example.transformerthermalinspector.dao.ImageMetadata;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for ImageMetadata entity.
+ * Keyed by stored filename.
+ */
+@Repository
+public interface ImageMetadataRepository extends JpaRepository<ImageMetadata, String> {
+}
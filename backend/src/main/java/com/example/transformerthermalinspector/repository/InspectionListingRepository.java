@@ -0,0 +1,266 @@
+package com.example.transformerthermalinspector.repository;
+
+import com.example.transformerthermalinspector.dto.InspectionDTO;
+import com.example.transformerthermalinspector.dto.InspectionSearchCriteria;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keyset-paginated, filterable queries over the inspection table.
+ * Built as SQL so the filter, page and count queries share one WHERE clause
+ * and every page is a bounded index range scan regardless of table size.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InspectionListingRepository {
+
+    /**
+     * Sortable columns; each is backed by an index ending in inspection_no (see add_inspection_listing_indexes.sql)
+     */
+    public enum SortKey {
+        DATE("date_of_inspection_and_time"),
+        INSPECTION_NO("inspection_no");
+
+        private final String column;
+
+        SortKey(String column) {
+            this.column = column;
+        }
+    }
+
+    /**
+     * Position after the last row of a page: its sort value and inspection number (the tie-breaker)
+     */
+    public static class Keyset {
+        private final Object sortValue;
+        private final Long inspectionNo;
+
+        public Keyset(Object sortValue, Long inspectionNo) {
+            this.sortValue = sortValue;
+            this.inspectionNo = inspectionNo;
+        }
+
+        public Object getSortValue() {
+            return sortValue;
+        }
+
+        public Long getInspectionNo() {
+            return inspectionNo;
+        }
+    }
+
+    private static final String COLUMNS = "inspection_no, branch, maintenance_image_path, transformer_no, "
+            + "date_of_inspection_and_time, state, maintenance_image_upload_date_and_time, weather, "
+            + "ai_bounding_boxes, edited_or_manually_added_boxes, deleted_bounding_boxes";
+
+    /**
+     * Fields that can be requested with ?fields=, by InspectionDTO property name
+     */
+    public static final Map<String, String> FIELD_COLUMNS;
+
+    static {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("inspectionNo", "inspection_no");
+        fields.put("branch", "branch");
+        fields.put("transformerNo", "transformer_no");
+        fields.put("dateOfInspectionAndTime", "date_of_inspection_and_time");
+        fields.put("state", "state");
+        fields.put("maintenanceImagePath", "maintenance_image_path");
+        fields.put("maintenanceImageUploadDateAndTime", "maintenance_image_upload_date_and_time");
+        fields.put("weather", "weather");
+        fields.put("aiBoundingBoxes", "ai_bounding_boxes");
+        fields.put("editedOrManuallyAddedBoxes", "edited_or_manually_added_boxes");
+        fields.put("deletedBoundingBoxes", "deleted_bounding_boxes");
+        FIELD_COLUMNS = Collections.unmodifiableMap(fields);
+    }
+
+    // Read as LocalDateTime so they serialize like the same fields of InspectionDTO
+    private static final Set<String> TIMESTAMP_FIELDS = Set.of("dateOfInspectionAndTime", "maintenanceImageUploadDateAndTime");
+
+    private static final RowMapper<InspectionDTO> ROW_MAPPER = (rs, rowNum) -> {
+        InspectionDTO dto = new InspectionDTO();
+        dto.setInspectionNo(rs.getLong("inspection_no"));
+        dto.setBranch(rs.getString("branch"));
+        dto.setMaintenanceImagePath(rs.getString("maintenance_image_path"));
+        dto.setTransformerNo(rs.getString("transformer_no"));
+        dto.setDateOfInspectionAndTime(rs.getObject("date_of_inspection_and_time", LocalDateTime.class));
+        dto.setState(rs.getString("state"));
+        dto.setMaintenanceImageUploadDateAndTime(rs.getObject("maintenance_image_upload_date_and_time", LocalDateTime.class));
+        dto.setWeather(rs.getString("weather"));
+        dto.setAiBoundingBoxes(rs.getString("ai_bounding_boxes"));
+        dto.setEditedOrManuallyAddedBoxes(rs.getString("edited_or_manually_added_boxes"));
+        dto.setDeletedBoundingBoxes(rs.getString("deleted_bounding_boxes"));
+        return dto;
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Fetch one page of inspections
+     * @param criteria Filters
+     * @param sort Sort column
+     * @param descending Sort direction
+     * @param after Position after the previous page, or null for the first page
+     * @param limit Maximum rows to return
+     * @return Rows in sort order, tie-broken by inspection number
+     */
+    public List<InspectionDTO> findPage(InspectionSearchCriteria criteria, SortKey sort, boolean descending,
+                                        Keyset after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = pageSql(COLUMNS, criteria, sort, descending, after, limit, params);
+        return jdbcTemplate.query(sql, params, ROW_MAPPER);
+    }
+
+    /**
+     * Fetch one page of inspections, selecting only the given fields
+     * @param criteria Filters
+     * @param sort Sort column
+     * @param descending Sort direction
+     * @param after Position after the previous page, or null for the first page
+     * @param limit Maximum rows to return, or null for all matching rows
+     * @param fields Keys of FIELD_COLUMNS to select
+     * @return Rows as field name to value maps, in the order of fields
+     */
+    public List<Map<String, Object>> findPageFields(InspectionSearchCriteria criteria, SortKey sort, boolean descending,
+                                                    Keyset after, Integer limit, Collection<String> fields) {
+        List<String> columns = new ArrayList<>();
+        for (String field : fields) {
+            String column = FIELD_COLUMNS.get(field);
+            if (column == null) {
+                throw new IllegalArgumentException("Unknown field: " + field);
+            }
+            columns.add(column);
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = pageSql(String.join(", ", columns), criteria, sort, descending, after, limit, params);
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                String column = FIELD_COLUMNS.get(field);
+                row.put(field, TIMESTAMP_FIELDS.contains(field)
+                        ? rs.getObject(column, LocalDateTime.class)
+                        : rs.getObject(column));
+            }
+            return row;
+        });
+    }
+
+    private String pageSql(String select, InspectionSearchCriteria criteria, SortKey sort, boolean descending,
+                           Keyset after, Integer limit, MapSqlParameterSource params) {
+        List<String> conditions = filterConditions(criteria, params);
+
+        if (after != null) {
+            String op = descending ? "<" : ">";
+            if (sort == SortKey.INSPECTION_NO) {
+                conditions.add("inspection_no " + op + " :afterNo");
+            } else {
+                // Row comparison lets PostgreSQL use the composite index as a single range
+                conditions.add("(" + sort.column + ", inspection_no) " + op + " (:afterValue, :afterNo)");
+                params.addValue("afterValue", after.getSortValue());
+            }
+            params.addValue("afterNo", after.getInspectionNo());
+        }
+
+        String direction = descending ? " DESC" : " ASC";
+        String orderBy = sort == SortKey.INSPECTION_NO
+                ? "inspection_no" + direction
+                : sort.column + direction + ", inspection_no" + direction;
+
+        String sql = "SELECT " + select + " FROM inspection" + where(conditions) + " ORDER BY " + orderBy;
+        if (limit != null) {
+            sql += " LIMIT :limit";
+            params.addValue("limit", limit);
+        }
+        return sql;
+    }
+
+    /**
+     * Exact number of inspections matching the filters
+     * @param criteria Filters
+     * @return Row count
+     */
+    public long countExact(InspectionSearchCriteria criteria) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = "SELECT count(*) FROM inspection" + where(filterConditions(criteria, params));
+        Long count = jdbcTemplate.queryForObject(sql, params, Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Planner estimate of the number of inspections matching the filters.
+     * Costs the same as planning the query, independent of table size.
+     * @param criteria Filters
+     * @return Estimated row count
+     */
+    public long countEstimate(InspectionSearchCriteria criteria) {
+        if (criteria.isEmpty()) {
+            // Table statistics; -1 until the table has been analyzed
+            Long tuples = jdbcTemplate.queryForObject(
+                    "SELECT reltuples::bigint FROM pg_class WHERE oid = 'inspection'::regclass",
+                    new MapSqlParameterSource(), Long.class);
+            if (tuples != null && tuples >= 0) {
+                return tuples;
+            }
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = "EXPLAIN (FORMAT JSON) SELECT 1 FROM inspection" + where(filterConditions(criteria, params));
+        String plan = jdbcTemplate.queryForObject(sql, params, String.class);
+        try {
+            JsonNode rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.asLong(0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable query plan", e);
+        }
+    }
+
+    private List<String> filterConditions(InspectionSearchCriteria criteria, MapSqlParameterSource params) {
+        List<String> conditions = new ArrayList<>();
+        if (criteria.getTransformerNo() != null) {
+            conditions.add("transformer_no = :transformerNo");
+            params.addValue("transformerNo", criteria.getTransformerNo());
+        }
+        if (criteria.getBranch() != null) {
+            conditions.add("branch = :branch");
+            params.addValue("branch", criteria.getBranch());
+        }
+        if (criteria.getState() != null) {
+            conditions.add("state = :state");
+            params.addValue("state", criteria.getState());
+        }
+        if (criteria.getFrom() != null) {
+            conditions.add("date_of_inspection_and_time >= :from");
+            params.addValue("from", criteria.getFrom());
+        }
+        if (criteria.getTo() != null) {
+            conditions.add("date_of_inspection_and_time < :to");
+            params.addValue("to", criteria.getTo());
+        }
+        if (criteria.getHasAnnotations() != null) {
+            // Same definition as InspectionRepository.findInspectionsWithBoundingBoxChanges
+            conditions.add(criteria.getHasAnnotations()
+                    ? "(edited_or_manually_added_boxes IS NOT NULL OR deleted_bounding_boxes IS NOT NULL)"
+                    : "(edited_or_manually_added_boxes IS NULL AND deleted_bounding_boxes IS NULL)");
+        }
+        return conditions;
+    }
+
+    private static String where(List<String> conditions) {
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+}
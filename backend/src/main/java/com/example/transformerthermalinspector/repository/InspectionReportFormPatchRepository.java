@@ -0,0 +1,178 @@
+package com.example.transformerthermalinspector.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Field-level updates of inspection report forms.
+ * Built as SQL so a patch writes only the columns it names, guarded by the form's version
+ * instead of loading and rewriting the whole row.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InspectionReportFormPatchRepository {
+
+    /**
+     * Editable form fields (InspectionReportFormDTO property names) and their columns
+     */
+    public static final Map<String, String> COLUMNS;
+
+    /**
+     * Fields stored as TEXT; all others are VARCHAR(255)
+     */
+    public static final Set<String> TEXT_FIELDS = Set.of("workContent", "inspectionReport");
+
+    static {
+        Map<String, String> columns = new LinkedHashMap<>();
+        columns.put("dateOfInspection", "date_of_inspection");
+        columns.put("timeOfInspection", "time_of_inspection");
+        columns.put("inspectedBy", "inspected_by");
+        columns.put("baselineImagingRight", "baseline_imaging_right");
+        columns.put("baselineImagingLeft", "baseline_imaging_left");
+        columns.put("baselineImagingFront", "baseline_imaging_front");
+        columns.put("lastMonthKVA", "last_month_kva");
+        columns.put("lastMonthDate", "last_month_date");
+        columns.put("lastMonthTime", "last_month_time");
+        columns.put("currentMonthKVA", "current_month_kva");
+        columns.put("baselineCondition", "baseline_condition");
+        columns.put("transformerType", "transformer_type");
+        columns.put("meterSerialNumber", "meter_serial_number");
+        columns.put("meterCTRatio", "meter_ct_ratio");
+        columns.put("meterMake", "meter_make");
+        columns.put("workContent", "work_content");
+        columns.put("inspectionReport", "inspection_report");
+        columns.put("afterThermalDate", "after_thermal_date");
+        columns.put("afterThermalTime", "after_thermal_time");
+        columns.put("firstInspectionVR", "first_inspection_v_r");
+        columns.put("firstInspectionVY", "first_inspection_v_y");
+        columns.put("firstInspectionVB", "first_inspection_v_b");
+        columns.put("firstInspectionIR", "first_inspection_i_r");
+        columns.put("firstInspectionIY", "first_inspection_i_y");
+        columns.put("firstInspectionIB", "first_inspection_i_b");
+        columns.put("secondInspectionVR", "second_inspection_v_r");
+        columns.put("secondInspectionVY", "second_inspection_v_y");
+        columns.put("secondInspectionVB", "second_inspection_v_b");
+        columns.put("secondInspectionIR", "second_inspection_i_r");
+        columns.put("secondInspectionIY", "second_inspection_i_y");
+        columns.put("secondInspectionIB", "second_inspection_i_b");
+        COLUMNS = Collections.unmodifiableMap(columns);
+    }
+
+    /**
+     * Outcome of a patch: whether it was applied, and the form's version afterwards
+     * (the current version if another save got there first)
+     */
+    public static class PatchResult {
+        private final boolean applied;
+        private final long version;
+        private final boolean finalized;
+        private final LocalDateTime updatedAt;
+
+        public PatchResult(boolean applied, long version, boolean finalized, LocalDateTime updatedAt) {
+            this.applied = applied;
+            this.version = version;
+            this.finalized = finalized;
+            this.updatedAt = updatedAt;
+        }
+
+        public boolean isApplied() {
+            return applied;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public boolean isFinalized() {
+            return finalized;
+        }
+
+        public LocalDateTime getUpdatedAt() {
+            return updatedAt;
+        }
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Write the given fields if the form is still at the expected version, bumping the version
+     * @param inspectionNo Inspection the form belongs to
+     * @param expectedVersion Version the client last saw
+     * @param fields Field name to new value; names must be keys of COLUMNS
+     * @return Outcome, or empty if the inspection has no form
+     */
+    public Optional<PatchResult> patch(Long inspectionNo, long expectedVersion, Map<String, String> fields) {
+        Optional<PatchResult> applied = write(inspectionNo, expectedVersion, expectedVersion + 1, fields);
+        // Nothing written: either there is no form or its version moved on
+        return applied.isPresent() ? applied : findState(inspectionNo);
+    }
+
+    /**
+     * Write the given fields and set the version to the given one; used for edits coalesced in memory,
+     * which have handed out versions of their own
+     * @param inspectionNo Inspection the form belongs to
+     * @param expectedVersion Version the form must still be at, or null to write regardless
+     * @param newVersion Version of the form afterwards
+     * @param fields Field name to new value (may be empty); names must be keys of COLUMNS
+     * @return Outcome, or empty if nothing was written
+     */
+    public Optional<PatchResult> write(Long inspectionNo, Long expectedVersion, long newVersion,
+                                       Map<String, String> fields) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("inspectionNo", inspectionNo)
+                .addValue("expectedVersion", expectedVersion)
+                .addValue("newVersion", newVersion)
+                .addValue("updatedAt", Timestamp.valueOf(LocalDateTime.now()));
+
+        List<String> assignments = new ArrayList<>();
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            String column = COLUMNS.get(field.getKey());
+            if (column == null) {
+                throw new IllegalArgumentException("Unknown report form field: " + field.getKey());
+            }
+            assignments.add(column + " = :" + column);
+            params.addValue(column, field.getValue());
+        }
+        assignments.add("version = :newVersion");
+        assignments.add("updated_at = :updatedAt");
+
+        List<PatchResult> updated = jdbcTemplate.query(
+                "UPDATE inspection_report_form SET " + String.join(", ", assignments)
+                        + " WHERE inspection_no = :inspectionNo"
+                        + (expectedVersion != null ? " AND version = :expectedVersion" : "")
+                        + " RETURNING version, is_finalized, updated_at",
+                params, (rs, rowNum) -> new PatchResult(true, rs.getLong("version"),
+                        rs.getBoolean("is_finalized"), rs.getTimestamp("updated_at").toLocalDateTime()));
+        return updated.stream().findFirst();
+    }
+
+    /**
+     * Current version of a form, as a result that was not applied
+     * @param inspectionNo Inspection the form belongs to
+     * @return Version, finalized flag and last update, or empty if the inspection has no form
+     */
+    public Optional<PatchResult> findState(Long inspectionNo) {
+        List<PatchResult> current = jdbcTemplate.query(
+                "SELECT version, is_finalized, updated_at FROM inspection_report_form WHERE inspection_no = :inspectionNo",
+                new MapSqlParameterSource("inspectionNo", inspectionNo),
+                (rs, rowNum) -> new PatchResult(false, rs.getLong("version"),
+                        rs.getBoolean("is_finalized"), toLocalDateTime(rs.getTimestamp("updated_at"))));
+        return current.stream().findFirst();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
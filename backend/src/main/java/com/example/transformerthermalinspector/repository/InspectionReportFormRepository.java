@@ -2,8 +2,14 @@ package com.example.transformerthermalinspector.repository;
 
 import com.example.transformerthermalinspector.dao.InspectionReportForm;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 /**
@@ -31,4 +37,37 @@ public interface InspectionReportFormRepository extends JpaRepository<Inspection
      * @param inspectionNo the inspection number
      */
     void deleteByInspectionNo(Long inspectionNo);
+
+    /**
+     * Record a generated PDF, unless the form or its inspection changed after generation started.
+     * @param inspectionNo the inspection number
+     * @param pdfPath stored PDF filename
+     * @param pdfSha256 SHA-256 of the PDF bytes
+     * @param generatedAt generation time
+     * @param sourceVersion version of the form the PDF was rendered from
+     * @return number of rows updated (0 if the form changed meanwhile)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE InspectionReportForm f SET f.pdfPath = :pdfPath, f.pdfSha256 = :pdfSha256, f.pdfGeneratedAt = :generatedAt,"
+            + " f.pdfVersion = :sourceVersion "
+            + "WHERE f.inspectionNo = :inspectionNo AND f.isFinalized = true AND f.version = :sourceVersion")
+    int recordPdf(@Param("inspectionNo") Long inspectionNo,
+                  @Param("pdfPath") String pdfPath,
+                  @Param("pdfSha256") String pdfSha256,
+                  @Param("generatedAt") LocalDateTime generatedAt,
+                  @Param("sourceVersion") Long sourceVersion);
+
+    /**
+     * Bump the version of a finalized form whose inspection changed, so its PDF is no longer current
+     * and a PDF rendered from the old inspection is not recorded.
+     * Runs in its own transaction (called from after-commit listeners).
+     * @param inspectionNo the inspection number
+     * @return number of rows updated (0 if there is no finalized form)
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("UPDATE InspectionReportForm f SET f.version = f.version + 1 "
+            + "WHERE f.inspectionNo = :inspectionNo AND f.isFinalized = true")
+    int bumpFinalizedVersion(@Param("inspectionNo") Long inspectionNo);
 }
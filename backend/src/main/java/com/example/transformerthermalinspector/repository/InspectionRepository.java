@@ -1,14 +1,24 @@
 package com.example.transformerthermalinspector.repository;
 
 import com.example.transformerthermalinspector.dao.Inspection;
+import com.example.transformerthermalinspector.dto.InspectionSummary;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Inspection entity.
@@ -30,6 +40,15 @@ public interface InspectionRepository extends JpaRepository<Inspection, Long> {
     @Query("SELECT i FROM Inspection i WHERE i.transformerNo = :transformerNo ORDER BY i.dateOfInspectionAndTime DESC")
     List<Inspection> findByTransformerNoOrderByDateDesc(@Param("transformerNo") String transformerNo);
     
+    // Summary columns of all inspections, newest first (no bounding box JSON)
+    List<InspectionSummary> findAllProjectedByOrderByDateOfInspectionAndTimeDesc();
+    
+    // Summary columns of a transformer's inspections, newest first (no bounding box JSON)
+    List<InspectionSummary> findSummariesByTransformerNoOrderByDateOfInspectionAndTimeDesc(String transformerNo);
+
+    // Summary columns of the most recent inspections
+    List<InspectionSummary> findTop5ProjectedByOrderByDateOfInspectionAndTimeDesc();
+    
     // Find inspections within a date range
     @Query("SELECT i FROM Inspection i WHERE i.dateOfInspectionAndTime BETWEEN :startDate AND :endDate")
     List<Inspection> findByDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
@@ -56,4 +75,38 @@ public interface InspectionRepository extends JpaRepository<Inspection, Long> {
     @Modifying
     @Query("UPDATE Inspection i SET i.editedOrManuallyAddedBoxes = NULL, i.deletedBoundingBoxes = NULL WHERE i.inspectionNo = :inspectionNo")
     int cleanupBoundingBoxAnnotationsById(@Param("inspectionNo") Long inspectionNo);
+    
+    // Which of the given maintenance image filenames are still referenced (used by the orphan reaper)
+    @Query("SELECT i.maintenanceImagePath FROM Inspection i WHERE i.maintenanceImagePath IN :paths")
+    List<String> findReferencedMaintenanceImagePaths(@Param("paths") Collection<String> paths);
+
+    // Lock an inspection row while data derived from it (dashboard rollups) is updated
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Inspection i WHERE i.inspectionNo = :inspectionNo")
+    Optional<Inspection> findForUpdate(@Param("inspectionNo") Long inspectionNo);
+
+    // A transformer's most recent inspections with an AI result, newest first (transformer health trend)
+    @Query("SELECT i FROM Inspection i WHERE i.transformerNo = :transformerNo AND trim(i.aiBoundingBoxes) <> ''"
+            + " ORDER BY i.dateOfInspectionAndTime DESC, i.inspectionNo DESC")
+    List<Inspection> findLatestAnalyzedByTransformerNo(@Param("transformerNo") String transformerNo, Pageable pageable);
+
+    // Summary columns of a transformer's most recent inspection
+    Optional<InspectionSummary> findFirstSummaryByTransformerNoOrderByDateOfInspectionAndTimeDescInspectionNoDesc(String transformerNo);
+
+    // Transformers the given inspections belong to (used after bulk imports)
+    @Query("SELECT DISTINCT i.transformerNo FROM Inspection i WHERE i.inspectionNo IN :inspectionNos")
+    List<String> findTransformerNosByInspectionNos(@Param("inspectionNos") Collection<Long> inspectionNos);
+
+    // Next batch of inspections in primary key order (keyset scan, used by the dashboard reconciliation)
+    List<Inspection> findTop500ByInspectionNoGreaterThanOrderByInspectionNo(Long inspectionNo);
+
+    // Every inspection in primary key order, read through a database cursor (streaming responses; call in a transaction and close)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT i FROM Inspection i ORDER BY i.inspectionNo")
+    Stream<Inspection> streamAll();
+
+    // A transformer's inspections in primary key order, read through a database cursor
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT i FROM Inspection i WHERE i.transformerNo = :transformerNo ORDER BY i.inspectionNo")
+    Stream<Inspection> streamByTransformerNo(@Param("transformerNo") String transformerNo);
 }
@@ -0,0 +1,44 @@
+package com.example.transformerthermalinspector.repository;
+
+import com.example.transformerthermalinspector.dao.InspectionRollup;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for InspectionRollup entity.
+ */
+@Repository
+public interface InspectionRollupRepository extends JpaRepository<InspectionRollup, Long> {
+
+    // Lock a rollup row while its contribution is changed or removed
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM InspectionRollup r WHERE r.inspectionNo = :inspectionNo")
+    Optional<InspectionRollup> findForUpdate(@Param("inspectionNo") Long inspectionNo);
+
+    // Lock a batch of rollup rows while their contributions are changed or removed (in key order, so
+    // concurrent batches cannot deadlock)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM InspectionRollup r WHERE r.inspectionNo IN :inspectionNos ORDER BY r.inspectionNo")
+    List<InspectionRollup> findAllForUpdate(@Param("inspectionNos") Collection<Long> inspectionNos);
+
+    // Lock the rollups of a transformer's inspections while their region changes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM InspectionRollup r WHERE r.inspectionNo IN "
+            + "(SELECT i.inspectionNo FROM Inspection i WHERE i.transformerNo = :transformerNo) ORDER BY r.inspectionNo")
+    List<InspectionRollup> findAllByTransformerNoForUpdate(@Param("transformerNo") String transformerNo);
+
+    // Drop rollups of inspections deleted without an event (e.g. by hand in the database)
+    @Modifying
+    @Query(value = "DELETE FROM inspection_rollup r "
+            + "WHERE NOT EXISTS (SELECT 1 FROM inspection i WHERE i.inspection_no = r.inspection_no)", nativeQuery = true)
+    int deleteOrphans();
+}
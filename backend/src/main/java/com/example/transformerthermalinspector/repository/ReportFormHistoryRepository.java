@@ -0,0 +1,105 @@
+package com.example.transformerthermalinspector.repository;
+
+import com.example.transformerthermalinspector.dto.ReportFormHistoryCriteria;
+import com.example.transformerthermalinspector.dto.ReportFormHistoryEntry;
+import com.example.transformerthermalinspector.repository.InspectionListingRepository.Keyset;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset-paginated search over report forms joined to their inspection and transformer.
+ * Ordered by inspection date like the inspection listing, so a transformer's history is a range of
+ * idx_inspection_transformer_date_no with one form lookup per row; the form filters have their own
+ * indexes (see InspectionReportForm and add_report_form_history_indexes.sql).
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReportFormHistoryRepository {
+
+    private static final String SELECT = "SELECT f.inspection_no, i.transformer_no, t.region, i.branch,"
+            + " i.date_of_inspection_and_time, i.state, f.inspected_by, f.meter_serial_number,"
+            + " f.is_finalized, f.finalized_at, f.updated_at, f.pdf_sha256 IS NOT NULL AS has_pdf"
+            + " FROM inspection_report_form f"
+            + " JOIN inspection i ON i.inspection_no = f.inspection_no"
+            + " LEFT JOIN transformer t ON t.transformer_no = i.transformer_no";
+
+    private static final RowMapper<ReportFormHistoryEntry> ROW_MAPPER = (rs, rowNum) -> new ReportFormHistoryEntry(
+            rs.getLong("inspection_no"),
+            rs.getString("transformer_no"),
+            rs.getString("region"),
+            rs.getString("branch"),
+            rs.getObject("date_of_inspection_and_time", LocalDateTime.class),
+            rs.getString("state"),
+            rs.getString("inspected_by"),
+            rs.getString("meter_serial_number"),
+            rs.getBoolean("is_finalized"),
+            rs.getObject("finalized_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class),
+            rs.getBoolean("has_pdf"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Fetch one page of maintenance records
+     * @param criteria Filters
+     * @param descending Newest first if true
+     * @param after Inspection date and number of the previous page's last row, or null for the first page
+     * @param limit Maximum rows to return
+     * @return Rows ordered by inspection date, tie-broken by inspection number
+     */
+    public List<ReportFormHistoryEntry> findPage(ReportFormHistoryCriteria criteria, boolean descending,
+                                                 Keyset after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        List<String> conditions = filterConditions(criteria, params);
+        if (after != null) {
+            conditions.add("(i.date_of_inspection_and_time, i.inspection_no) " + (descending ? "<" : ">")
+                    + " (:afterValue, :afterNo)");
+            params.addValue("afterValue", after.getSortValue());
+            params.addValue("afterNo", after.getInspectionNo());
+        }
+
+        String direction = descending ? " DESC" : " ASC";
+        String sql = SELECT
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY i.date_of_inspection_and_time" + direction + ", i.inspection_no" + direction
+                + " LIMIT :limit";
+        params.addValue("limit", limit);
+        return jdbcTemplate.query(sql, params, ROW_MAPPER);
+    }
+
+    private static List<String> filterConditions(ReportFormHistoryCriteria criteria, MapSqlParameterSource params) {
+        List<String> conditions = new ArrayList<>();
+        if (criteria.getTransformerNo() != null) {
+            conditions.add("i.transformer_no = :transformerNo");
+            params.addValue("transformerNo", criteria.getTransformerNo());
+        }
+        if (criteria.getInspectedBy() != null) {
+            conditions.add("f.inspected_by = :inspectedBy");
+            params.addValue("inspectedBy", criteria.getInspectedBy());
+        }
+        if (criteria.getFinalized() != null) {
+            conditions.add("f.is_finalized = :finalized");
+            params.addValue("finalized", criteria.getFinalized());
+        }
+        if (criteria.getFrom() != null) {
+            conditions.add("i.date_of_inspection_and_time >= :from");
+            params.addValue("from", criteria.getFrom());
+        }
+        if (criteria.getTo() != null) {
+            conditions.add("i.date_of_inspection_and_time < :to");
+            params.addValue("to", criteria.getTo());
+        }
+        if (criteria.getMeterSerialNumber() != null) {
+            conditions.add("f.meter_serial_number = :meterSerialNumber");
+            params.addValue("meterSerialNumber", criteria.getMeterSerialNumber());
+        }
+        return conditions;
+    }
+}
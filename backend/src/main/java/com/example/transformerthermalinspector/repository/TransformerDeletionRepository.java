@@ -0,0 +1,91 @@
+package com.example.transformerthermalinspector.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Set-based deletion of a transformer with its inspections and their report forms.
+ * A fixed number of statements regardless of the number of inspections, instead of Hibernate loading
+ * and removing every inspection one row at a time. Bypasses the persistence context and the
+ * second-level cache; callers publish change events so caches and derived tables catch up.
+ * Must run inside a transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransformerDeletionRepository {
+
+    /**
+     * What was deleted, for the cleanup that follows the commit
+     */
+    public static class DeletedTransformer {
+        private final String baselineImagePath;
+        private final List<Long> inspectionNos;
+        private final List<String> maintenanceImagePaths;
+
+        public DeletedTransformer(String baselineImagePath, List<Long> inspectionNos, List<String> maintenanceImagePaths) {
+            this.baselineImagePath = baselineImagePath;
+            this.inspectionNos = inspectionNos;
+            this.maintenanceImagePaths = maintenanceImagePaths;
+        }
+
+        public String getBaselineImagePath() {
+            return baselineImagePath;
+        }
+
+        public List<Long> getInspectionNos() {
+            return inspectionNos;
+        }
+
+        public List<String> getMaintenanceImagePaths() {
+            return maintenanceImagePaths;
+        }
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Delete a transformer, its inspections and their report forms
+     * @param transformerNo The transformer number
+     * @return The deleted rows' image paths and inspection numbers, or empty if the transformer does not exist
+     */
+    public Optional<DeletedTransformer> deleteWithInspections(String transformerNo) {
+        MapSqlParameterSource params = new MapSqlParameterSource("transformerNo", transformerNo);
+
+        // Locking the row blocks new inspections of this transformer (their foreign key check
+        // needs a share lock on it) until the delete commits
+        List<String> baseline = jdbcTemplate.query(
+                "SELECT baseline_image_path FROM transformer WHERE transformer_no = :transformerNo FOR UPDATE",
+                params, (rs, rowNum) -> rs.getString("baseline_image_path"));
+        if (baseline.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<Long> inspectionNos = new ArrayList<>();
+        List<String> maintenanceImagePaths = new ArrayList<>();
+        jdbcTemplate.query("SELECT inspection_no, maintenance_image_path FROM inspection"
+                + " WHERE transformer_no = :transformerNo", params, rs -> {
+            inspectionNos.add(rs.getLong("inspection_no"));
+            String imagePath = rs.getString("maintenance_image_path");
+            if (imagePath != null) {
+                maintenanceImagePaths.add(imagePath);
+            }
+        });
+
+        if (!inspectionNos.isEmpty()) {
+            // By key rather than joined to inspection: right after a bulk import the statistics can be
+            // stale enough for the planner to pick a nested loop over two sequential scans
+            jdbcTemplate.getJdbcOperations().update("DELETE FROM inspection_report_form WHERE inspection_no = ANY(?)",
+                    (Object) inspectionNos.toArray(new Long[0]));
+            jdbcTemplate.update("DELETE FROM inspection WHERE transformer_no = :transformerNo", params);
+        }
+
+        jdbcTemplate.update("DELETE FROM transformer WHERE transformer_no = :transformerNo", params);
+        return Optional.of(new DeletedTransformer(baseline.get(0), inspectionNos, maintenanceImagePaths));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.transformerthermalinspector.repository;
+
+import com.example.transformerthermalinspector.dao.TransformerHealth;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for TransformerHealth entity.
+ */
+@Repository
+public interface TransformerHealthRepository extends JpaRepository<TransformerHealth, String> {
+
+    // One page of the fleet in the requested order, without counting (each order has its own index)
+    List<TransformerHealth> findBy(Pageable pageable);
+
+    // One page of the transformers in a given condition
+    List<TransformerHealth> findByConditionRank(int conditionRank, Pageable pageable);
+
+    // Drop rows of transformers deleted, or left without inspections, without an event
+    @Modifying
+    @Query(value = "DELETE FROM transformer_health h "
+            + "WHERE NOT EXISTS (SELECT 1 FROM inspection i WHERE i.transformer_no = h.transformer_no)", nativeQuery = true)
+    int deleteOrphans();
+}
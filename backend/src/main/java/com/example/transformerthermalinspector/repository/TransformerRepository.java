@@ -1,22 +1,39 @@
 package com.example.transformerthermalinspector.repository;
 
 import com.example.transformerthermalinspector.dao.Transformer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Transformer entity.
  * Provides CRUD operations and custom queries for transformer data.
+ * findById is served from the second-level entity cache; the list queries below are query-cached
+ * (ids only, rows come from the entity cache) and invalidated by Hibernate on every transformer write.
  */
 @Repository
 public interface TransformerRepository extends JpaRepository<Transformer, String> {
     
+    // All transformers (transformer list, search index, dashboard regions)
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Transformer> findAll();
+    
     // Find transformers by geographic region
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Transformer> findByRegion(String region);
     
     // Find transformers by type/category
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Transformer> findByType(String type);
     
     // Find transformers by capacity
@@ -24,4 +41,20 @@ public interface TransformerRepository extends JpaRepository<Transformer, String
     
     // Find transformers by number of feeders
     List<Transformer> findByNumberOfFeeders(Integer numberOfFeeders);
+    
+    // Which of the given baseline image filenames are still referenced (used by the orphan reaper)
+    @Query("SELECT t.baselineImagePath FROM Transformer t WHERE t.baselineImagePath IN :paths")
+    List<String> findReferencedBaselineImagePaths(@Param("paths") Collection<String> paths);
+
+    // Lock a transformer row while data derived from its inspections (transformer health) is updated.
+    // FOR NO KEY UPDATE serializes these updates and waits for a deletion of the transformer, but unlike
+    // FOR UPDATE it does not block inspections being added meanwhile (their foreign key check takes KEY SHARE)
+    @Query(value = "SELECT transformer_no FROM transformer WHERE transformer_no = :transformerNo FOR NO KEY UPDATE",
+           nativeQuery = true)
+    Optional<String> lockForDerivedUpdate(@Param("transformerNo") String transformerNo);
+
+    // Every transformer in primary key order, read through a database cursor (streaming responses; call in a transaction and close)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t FROM Transformer t ORDER BY t.transformerNo")
+    Stream<Transformer> streamAll();
 }
@@ -0,0 +1,162 @@
+package com.example.transformerthermalinspector.repository;
+
+import com.example.transformerthermalinspector.dto.TransformerSummaryDTO;
+import com.example.transformerthermalinspector.service.EffectiveBoxService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Per-transformer inspection rollups computed in one aggregate query.
+ * Each transformer costs a few index range scans on the inspection table
+ * (see add_transformer_summary_index.sql), independent of how much history the fleet has.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransformerSummaryRepository {
+
+    // Same tolerance and strict comparison as EffectiveBoxService.boxesMatch
+    private static final String BOX_TOLERANCE = "2.0";
+
+    private static final String SUMMARY_SQL = "SELECT t.transformer_no, t.pole_no, t.region, t.type,"
+            + " COALESCE(c.total, 0) AS total, c.by_state::text AS by_state,"
+            + " l.inspection_no AS latest_no, l.date_of_inspection_and_time AS latest_date, l.state AS latest_state,"
+            + " a.inspection_no AS analyzed_no, sev.severity_rank"
+            + " FROM transformer t"
+            // Counts per state, from the (transformer_no, state) index
+            + " LEFT JOIN LATERAL ("
+            + "   SELECT sum(n)::bigint AS total, jsonb_object_agg(state, n) AS by_state"
+            + "   FROM (SELECT COALESCE(i.state, 'Unknown') AS state, count(*) AS n"
+            + "         FROM inspection i WHERE i.transformer_no = t.transformer_no GROUP BY 1) s"
+            + " ) c ON true"
+            // Latest inspection, first row of the (transformer_no, date, inspection_no) index
+            + " LEFT JOIN LATERAL ("
+            + "   SELECT i.inspection_no, i.date_of_inspection_and_time, i.state FROM inspection i"
+            + "   WHERE i.transformer_no = t.transformer_no"
+            + "   ORDER BY i.date_of_inspection_and_time DESC, i.inspection_no DESC LIMIT 1"
+            + " ) l ON true"
+            // Latest inspection with an AI result, with its box lists as JSON arrays
+            + " LEFT JOIN LATERAL ("
+            + "   SELECT i.inspection_no,"
+            + "     " + jsonArray("NULLIF(trim(i.ai_bounding_boxes), '')::jsonb -> 'predictions'") + " AS ai,"
+            + "     " + jsonArray("NULLIF(trim(i.edited_or_manually_added_boxes), '')::jsonb") + " AS edited,"
+            + "     " + jsonArray("NULLIF(trim(i.deleted_bounding_boxes), '')::jsonb") + " AS deleted"
+            + "   FROM inspection i"
+            + "   WHERE i.transformer_no = t.transformer_no AND trim(i.ai_bounding_boxes) <> ''"
+            + "   ORDER BY i.date_of_inspection_and_time DESC, i.inspection_no DESC LIMIT 1"
+            + " ) a ON true"
+            // Worst class among its effective boxes, resolved like EffectiveBoxService.resolve:
+            // AI boxes not deleted or replaced by an edit, plus edited/added boxes not deleted
+            + " LEFT JOIN LATERAL ("
+            + "   SELECT max(CASE box ->> 'class' WHEN '" + EffectiveBoxService.CLASS_FAULTY + "' THEN 2"
+            + "                                   WHEN '" + EffectiveBoxService.CLASS_POTENTIALLY_FAULTY + "' THEN 1"
+            + "                                   ELSE 0 END) AS severity_rank"
+            + "   FROM ("
+            + "     SELECT p AS box FROM jsonb_array_elements(a.ai) p"
+            + "     WHERE NOT EXISTS (SELECT 1 FROM jsonb_array_elements(a.deleted) d"
+            + "                       WHERE " + boxesMatch("p -> 'box'", "d -> 'box'") + ")"
+            + "       AND NOT EXISTS (SELECT 1 FROM jsonb_array_elements(a.edited) e"
+            + "                       WHERE " + boxesMatch("p -> 'box'", "e -> 'originalBox'") + ")"
+            + "     UNION ALL"
+            + "     SELECT e AS box FROM jsonb_array_elements(a.edited) e"
+            + "     WHERE NOT EXISTS (SELECT 1 FROM jsonb_array_elements(a.deleted) d"
+            + "                       WHERE " + boxesMatch("e -> 'box'", "d -> 'box'") + ")"
+            + "   ) effective"
+            + " ) sev ON a.inspection_no IS NOT NULL";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Summaries of all transformers
+     * @return Summaries ordered by transformer number
+     */
+    public List<TransformerSummaryDTO> findAll() {
+        return jdbcTemplate.query(SUMMARY_SQL + " ORDER BY t.transformer_no",
+                new MapSqlParameterSource(), (rs, rowNum) -> mapRow(rs));
+    }
+
+    /**
+     * Summary of one transformer
+     * @param transformerNo The transformer number
+     * @return The summary, or empty if the transformer does not exist
+     */
+    public Optional<TransformerSummaryDTO> findByTransformerNo(String transformerNo) {
+        List<TransformerSummaryDTO> rows = jdbcTemplate.query(SUMMARY_SQL + " WHERE t.transformer_no = :transformerNo",
+                new MapSqlParameterSource("transformerNo", transformerNo), (rs, rowNum) -> mapRow(rs));
+        return rows.stream().findFirst();
+    }
+
+    private TransformerSummaryDTO mapRow(ResultSet rs) throws SQLException {
+        TransformerSummaryDTO summary = new TransformerSummaryDTO();
+        summary.setTransformerNo(rs.getString("transformer_no"));
+        summary.setPoleNo(rs.getString("pole_no"));
+        summary.setRegion(rs.getString("region"));
+        summary.setType(rs.getString("type"));
+        summary.setTotalInspections(rs.getLong("total"));
+        summary.setInspectionsByState(parseCounts(rs.getString("by_state")));
+        summary.setLatestInspectionNo(rs.getObject("latest_no", Long.class));
+        summary.setLatestInspectionDate(rs.getObject("latest_date", LocalDateTime.class));
+        summary.setLatestInspectionState(rs.getString("latest_state"));
+        summary.setLatestAnalyzedInspectionNo(rs.getObject("analyzed_no", Long.class));
+        if (summary.getLatestAnalyzedInspectionNo() != null) {
+            summary.setLatestAnomalySeverity(severityName(rs.getObject("severity_rank", Integer.class)));
+        }
+        return summary;
+    }
+
+    private Map<String, Long> parseCounts(String json) {
+        if (json == null) {
+            return Collections.emptyMap();
+        }
+        try {
+            return objectMapper.readValue(json, new TypeReference<LinkedHashMap<String, Long>>() {});
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable state counts", e);
+        }
+    }
+
+    private static String severityName(Integer rank) {
+        if (rank != null && rank == 2) {
+            return EffectiveBoxService.className(EffectiveBoxService.CLASS_FAULTY);
+        }
+        if (rank != null && rank == 1) {
+            return EffectiveBoxService.className(EffectiveBoxService.CLASS_POTENTIALLY_FAULTY);
+        }
+        // Analyzed with no effective anomaly boxes
+        return EffectiveBoxService.className(EffectiveBoxService.CLASS_NORMAL);
+    }
+
+    /**
+     * The given jsonb expression if it is an array, otherwise an empty array
+     */
+    private static String jsonArray(String expression) {
+        return "CASE WHEN jsonb_typeof(" + expression + ") = 'array' THEN " + expression + " ELSE '[]'::jsonb END";
+    }
+
+    /**
+     * SQL condition: two [x1, y1, x2, y2] jsonb arrays differ by less than BOX_TOLERANCE in every coordinate
+     */
+    private static String boxesMatch(String a, String b) {
+        StringBuilder condition = new StringBuilder("jsonb_typeof(" + a + ") = 'array' AND jsonb_typeof(" + b + ") = 'array'"
+                + " AND jsonb_array_length(" + a + ") = 4 AND jsonb_array_length(" + b + ") = 4");
+        for (int i = 0; i < 4; i++) {
+            condition.append(" AND abs((").append(a).append(" ->> ").append(i).append(")::float8 - (")
+                    .append(b).append(" ->> ").append(i).append(")::float8) < ").append(BOX_TOLERANCE);
+        }
+        return condition.toString();
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.transformerthermalinspector.service;
+
+import com.example.transformerthermalinspector.dao.Inspection;
+import com.example.transformerthermalinspector.event.InspectionChangedEvent;
+import com.example.transformerthermalinspector.event.InspectionsDeletedEvent;
+import com.example.transformerthermalinspector.repository.InspectionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.ImageIO;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Service rendering maintenance images with their effective bounding boxes burned in.
+ * Rendered files are cached per inspection and annotation version (a hash of the image filename
+ * and the effective boxes), so prints and report previews reuse them until the boxes change.
+ */
+@Service
+@RequiredArgsConstructor
+public class AnnotatedImageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnnotatedImageService.class);
+
+    private static final float JPEG_QUALITY = 0.9f;
+
+    // Same palette as the frontend overlays
+    private static final Color COLOR_FAULTY = new Color(0xEF4444);
+    private static final Color COLOR_NORMAL = new Color(0x10B981);
+    private static final Color COLOR_POTENTIALLY_FAULTY = new Color(0xF59E0B);
+    private static final Color COLOR_UNKNOWN = new Color(0x6B7280);
+
+    private final InspectionRepository inspectionRepository;
+    private final ImageStorageService imageStorageService;
+    private final EffectiveBoxService effectiveBoxService;
+
+    // Canonical JSON so equal box sets always hash to the same version
+    private final ObjectMapper mapper = new ObjectMapper().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    // Renders in progress, so concurrent requests for the same version render once
+    private final ConcurrentHashMap<Path, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Get the maintenance image of an inspection with its effective boxes drawn on it
+     * @param inspectionNo The inspection number
+     * @return Path of the rendered JPEG, or empty if the inspection or its maintenance image does not exist
+     * @throws IOException If the image cannot be read or rendered
+     */
+    public Optional<Path> getAnnotatedImage(Long inspectionNo) throws IOException {
+        Optional<Inspection> inspectionOpt = inspectionRepository.findById(inspectionNo);
+        if (inspectionOpt.isEmpty()) {
+            return Optional.empty();
+        }
+        Inspection inspection = inspectionOpt.get();
+        String filename = inspection.getMaintenanceImagePath();
+        if (filename == null || filename.trim().isEmpty() || !imageStorageService.imageExists(filename, false)) {
+            return Optional.empty();
+        }
+
+        List<Map<String, Object>> boxes = effectiveBoxService.resolve(inspection);
+        Path directory = imageStorageService.getAnnotatedDirectory(inspectionNo);
+        Path target = directory.resolve(version(filename, boxes) + ".jpg");
+        if (Files.isRegularFile(target)) {
+            return Optional.of(target);
+        }
+
+        CompletableFuture<Path> created = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(target, created);
+        if (existing != null) {
+            return Optional.of(await(existing));
+        }
+        try {
+            render(filename, boxes, target);
+            removeOtherVersions(directory, target);
+            created.complete(target);
+            return Optional.of(target);
+        } catch (IOException | RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(target, created);
+        }
+    }
+
+    /**
+     * Drop cached renders when the image or boxes of an inspection change
+     */
+    @EventListener
+    public void onInspectionChanged(InspectionChangedEvent event) {
+        if (event.affectsBoxes()) {
+            evict(event.getInspectionNo());
+        }
+    }
+
+    /**
+     * Drop cached renders of a deleted transformer's inspections, off the request thread
+     */
+    @Async("imageProcessingExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInspectionsDeleted(InspectionsDeletedEvent event) {
+        event.getInspectionNos().forEach(this::evict);
+    }
+
+    /**
+     * Delete all cached renders of an inspection
+     * @param inspectionNo The inspection number
+     */
+    public void evict(Long inspectionNo) {
+        try {
+            imageStorageService.deleteDirectory(imageStorageService.getAnnotatedDirectory(inspectionNo));
+        } catch (IOException e) {
+            // Stale renders are never served (the version differs), so this only costs disk space
+            logger.warn("Could not evict annotated images for inspection {}: {}", inspectionNo, e.getMessage());
+        }
+    }
+
+    private void render(String filename, List<Map<String, Object>> boxes, Path target) throws IOException {
+        BufferedImage source = ImageIO.read(imageStorageService.getLocalImagePath(filename, false).toFile());
+        if (source == null) {
+            throw new IOException("Unsupported image format: " + filename);
+        }
+        BufferedImage canvas = ImageCodec.resize(source, source.getWidth(), source.getHeight());
+
+        Graphics2D g = canvas.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+            // Scale strokes and labels with the image so they read the same on small and large images
+            int shortSide = Math.min(canvas.getWidth(), canvas.getHeight());
+            float strokeWidth = Math.max(2f, shortSide / 250f);
+            g.setStroke(new BasicStroke(strokeWidth));
+            g.setFont(new Font(Font.SANS_SERIF, Font.BOLD, Math.max(12, shortSide / 40)));
+            FontMetrics metrics = g.getFontMetrics();
+
+            for (Map<String, Object> box : boxes) {
+                List<Double> coords = EffectiveBoxService.toDoubleList(box.get("box"));
+                if (coords == null || coords.size() != 4) {
+                    continue;
+                }
+                int x1 = (int) Math.round(coords.get(0));
+                int y1 = (int) Math.round(coords.get(1));
+                int x2 = (int) Math.round(coords.get(2));
+                int y2 = (int) Math.round(coords.get(3));
+                Integer boxClass = EffectiveBoxService.classOf(box);
+                Color color = colorOf(boxClass);
+
+                g.setColor(color);
+                g.drawRect(x1, y1, Math.max(1, x2 - x1), Math.max(1, y2 - y1));
+
+                String label = label(boxClass, box.get("confidence"));
+                int labelWidth = metrics.stringWidth(label) + 8;
+                int labelHeight = metrics.getHeight() + 4;
+                // Above the box, or inside it when the box touches the top edge
+                int labelY = y1 - labelHeight >= 0 ? y1 - labelHeight : y1;
+                g.fillRect(x1, labelY, labelWidth, labelHeight);
+                g.setColor(Color.WHITE);
+                g.drawString(label, x1 + 4, labelY + 2 + metrics.getAscent());
+            }
+        } finally {
+            g.dispose();
+        }
+
+        Files.createDirectories(target.getParent());
+        ImageCodec.writeJpeg(canvas, target, JPEG_QUALITY);
+        logger.info("Rendered annotated image {} ({} boxes)", target.getFileName(), boxes.size());
+    }
+
+    private Color colorOf(Integer boxClass) {
+        if (boxClass == null) {
+            return COLOR_UNKNOWN;
+        }
+        switch (boxClass) {
+            case EffectiveBoxService.CLASS_FAULTY:
+                return COLOR_FAULTY;
+            case EffectiveBoxService.CLASS_NORMAL:
+                return COLOR_NORMAL;
+            case EffectiveBoxService.CLASS_POTENTIALLY_FAULTY:
+                return COLOR_POTENTIALLY_FAULTY;
+            default:
+                return COLOR_UNKNOWN;
+        }
+    }
+
+    private String label(Integer boxClass, Object confidence) {
+        String name = EffectiveBoxService.className(boxClass);
+        if (confidence instanceof Number) {
+            return String.format("%s (%.1f%%)", name, ((Number) confidence).doubleValue() * 100);
+        }
+        return name;
+    }
+
+    /**
+     * Version of a render: changes whenever the image or any effective box changes
+     */
+    private String version(String filename, List<Map<String, Object>> boxes) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(filename.getBytes(StandardCharsets.UTF_8));
+            digest.update(mapper.writeValueAsBytes(boxes));
+            return HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void removeOtherVersions(Path directory, Path current) {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, "*.jpg")) {
+            for (Path entry : entries) {
+                if (!entry.equals(current)) {
+                    Files.deleteIfExists(entry);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not remove old annotated images in {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private Path await(CompletableFuture<Path> render) throws IOException {
+        try {
+            return render.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for annotated image", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Annotated image rendering failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package com.example.transformerthermalinspector.service;
+
+import com.example.transformerthermalinspector.dto.ImportReport;
+import com.example.transformerthermalinspector.dto.InspectionDTO;
+import com.example.transformerthermalinspector.dto.TransformerDTO;
+import com.example.transformerthermalinspector.event.InspectionsImportedEvent;
+import com.example.transformerthermalinspector.event.TransformersImportedEvent;
+import com.example.transformerthermalinspector.repository.BulkImportRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Service for bulk importing transformers and inspections from CSV or JSON lines.
+ * The upload is parsed as a stream and written in chunks, each chunk one JDBC batch in its own transaction,
+ * so memory use is bounded by the chunk size. Invalid rows are reported individually and never stop the import.
+ * Fields are named as in TransformerDTO / InspectionDTO (CSV header row or JSON keys); other fields are ignored.
+ */
+@Service
+public class BulkImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportService.class);
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final BulkImportRepository bulkImportRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
+
+    public BulkImportService(BulkImportRepository bulkImportRepository,
+                             ObjectMapper objectMapper,
+                             ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager) {
+        this.bulkImportRepository = bulkImportRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Import transformers (transformerNo, region, poleNo, type, locationDetails, capacity, numberOfFeeders)
+     * @param input Upload body
+     * @param format "csv" (with header row) or "ndjson"
+     * @return Counts and per-row errors; existing or repeated transformer numbers are rejected
+     * @throws IllegalArgumentException If the format is unknown or the CSV has no header
+     * @throws IOException If the upload cannot be read
+     */
+    public ImportReport importTransformers(InputStream input, String format) throws IOException {
+        List<String> importedNos = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        ImportReport report = importRows(input, format, TransformerDTO.class, TransformerDTO::getTransformerNo,
+                transformer -> {
+                    String invalid = validate(transformer);
+                    if (invalid == null && !seen.add(transformer.getTransformerNo())) {
+                        invalid = "Transformer " + transformer.getTransformerNo() + " appears more than once in the upload";
+                    }
+                    return invalid;
+                },
+                (chunk, chunkReport) -> {
+                    Set<String> existing = bulkImportRepository.findExistingTransformerNos(
+                            chunk.stream().map(row -> row.value.getTransformerNo()).toList());
+                    List<Row<TransformerDTO>> fresh = new ArrayList<>();
+                    for (Row<TransformerDTO> row : chunk) {
+                        if (existing.contains(row.value.getTransformerNo())) {
+                            reject(chunkReport, row.number, row.value.getTransformerNo(),
+                                    "Transformer " + row.value.getTransformerNo() + " already exists");
+                        } else {
+                            fresh.add(row);
+                        }
+                    }
+                    writeChunk(fresh, bulkImportRepository::insertTransformers, TransformerDTO::getTransformerNo, chunkReport,
+                            written -> written.forEach(transformer -> importedNos.add(transformer.getTransformerNo())));
+                });
+        if (!importedNos.isEmpty()) {
+            eventPublisher.publishEvent(new TransformersImportedEvent(importedNos));
+        }
+        return report;
+    }
+
+    /**
+     * Import inspections (transformerNo, branch, dateOfInspectionAndTime, state, weather)
+     * @param input Upload body
+     * @param format "csv" (with header row) or "ndjson"
+     * @return Counts and per-row errors; rows for unknown transformers are rejected
+     * @throws IllegalArgumentException If the format is unknown or the CSV has no header
+     * @throws IOException If the upload cannot be read
+     */
+    public ImportReport importInspections(InputStream input, String format) throws IOException {
+        List<Long> importedNos = new ArrayList<>();
+        ImportReport report = importRows(input, format, InspectionDTO.class, InspectionDTO::getTransformerNo,
+                BulkImportService::validate,
+                (chunk, chunkReport) -> {
+                    Set<String> transformers = bulkImportRepository.findExistingTransformerNos(
+                            chunk.stream().map(row -> row.value.getTransformerNo()).distinct().toList());
+                    List<Row<InspectionDTO>> valid = new ArrayList<>();
+                    for (Row<InspectionDTO> row : chunk) {
+                        if (transformers.contains(row.value.getTransformerNo())) {
+                            valid.add(row);
+                        } else {
+                            reject(chunkReport, row.number, row.value.getTransformerNo(),
+                                    "Transformer " + row.value.getTransformerNo() + " does not exist");
+                        }
+                    }
+                    if (valid.isEmpty()) {
+                        return;
+                    }
+                    List<Long> ids = bulkImportRepository.allocateInspectionNos(valid.size());
+                    for (int i = 0; i < valid.size(); i++) {
+                        valid.get(i).value.setInspectionNo(ids.get(i));
+                    }
+                    writeChunk(valid, bulkImportRepository::insertInspections, InspectionDTO::getTransformerNo, chunkReport,
+                            written -> written.forEach(inspection -> importedNos.add(inspection.getInspectionNo())));
+                });
+        if (!importedNos.isEmpty()) {
+            eventPublisher.publishEvent(new InspectionsImportedEvent(importedNos));
+        }
+        return report;
+    }
+
+    /**
+     * Parse, validate and write an upload chunk by chunk
+     */
+    private <T> ImportReport importRows(InputStream input, String format, Class<T> type, Function<T, String> keyOf,
+                                        Function<T, String> validator, ChunkWriter<T> chunkWriter) throws IOException {
+        long started = System.currentTimeMillis();
+        ImportReport report = new ImportReport();
+        report.setFormat(format);
+        List<Row<T>> chunk = new ArrayList<>(chunkSize);
+
+        RowHandler<T> handler = (number, value, parseError) -> {
+            report.setRowsRead(report.getRowsRead() + 1);
+            String error = parseError != null ? parseError : validator.apply(value);
+            if (error != null) {
+                reject(report, number, value == null ? null : keyOf.apply(value), error);
+                return;
+            }
+            chunk.add(new Row<>(number, value));
+            if (chunk.size() >= chunkSize) {
+                chunkWriter.write(chunk, report);
+                chunk.clear();
+            }
+        };
+
+        Reader reader = withoutByteOrderMark(new InputStreamReader(input, StandardCharsets.UTF_8));
+        if (FORMAT_CSV.equals(format)) {
+            readCsv(reader, type, handler);
+        } else if (FORMAT_NDJSON.equals(format)) {
+            readNdjson(reader, type, handler);
+        } else {
+            throw new IllegalArgumentException("Unsupported import format: " + format);
+        }
+        if (!chunk.isEmpty()) {
+            chunkWriter.write(chunk, report);
+        }
+
+        report.setDurationMs(System.currentTimeMillis() - started);
+        report.setRowsPerSecond(report.getImported() * 1000L / Math.max(1L, report.getDurationMs()));
+        logger.info("Imported {} of {} {} rows ({} failed) in {} ms", report.getImported(), report.getRowsRead(),
+                type.getSimpleName(), report.getFailed(), report.getDurationMs());
+        return report;
+    }
+
+    private <T> void readCsv(Reader reader, Class<T> type, RowHandler<T> handler) throws IOException {
+        CSVFormat csvFormat = CSVFormat.DEFAULT.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .setIgnoreEmptyLines(true)
+                .setTrim(true)
+                .get();
+        try (CSVParser parser = CSVParser.parse(reader, csvFormat)) {
+            if (parser.getHeaderNames().isEmpty()) {
+                throw new IllegalArgumentException("CSV upload needs a header row naming the fields");
+            }
+            for (CSVRecord record : parser) {
+                if (!record.isConsistent()) {
+                    handler.accept(record.getRecordNumber(), null,
+                            "Expected " + parser.getHeaderNames().size() + " columns but found " + record.size());
+                    continue;
+                }
+                // Empty cells are missing values
+                Map<String, String> fields = new HashMap<>();
+                record.toMap().forEach((name, value) -> {
+                    if (value != null && !value.isEmpty()) {
+                        fields.put(name, value);
+                    }
+                });
+                try {
+                    handler.accept(record.getRecordNumber(), objectMapper.convertValue(fields, type), null);
+                } catch (IllegalArgumentException e) {
+                    handler.accept(record.getRecordNumber(), null, "Invalid value: " + rootMessage(e));
+                }
+            }
+        }
+    }
+
+    private <T> void readNdjson(Reader reader, Class<T> type, RowHandler<T> handler) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        long number = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            number++;
+            try {
+                handler.accept(number, objectMapper.readValue(line, type), null);
+            } catch (JsonProcessingException e) {
+                handler.accept(number, null, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    /**
+     * Insert a chunk as one batch; if the batch fails, insert its rows one by one to find the bad ones
+     */
+    private <T> void writeChunk(List<Row<T>> rows, Consumer<List<T>> insert, Function<T, String> keyOf,
+                                ImportReport report, Consumer<List<T>> onWritten) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<T> values = rows.stream().map(row -> row.value).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert.accept(values));
+            report.setImported(report.getImported() + values.size());
+            onWritten.accept(values);
+            return;
+        } catch (DataAccessException e) {
+            logger.info("Import batch of {} rows failed, retrying row by row: {}", rows.size(), rootMessage(e));
+        }
+        for (Row<T> row : rows) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert.accept(List.of(row.value)));
+                report.setImported(report.getImported() + 1);
+                onWritten.accept(List.of(row.value));
+            } catch (DataAccessException e) {
+                reject(report, row.number, keyOf.apply(row.value), rootMessage(e));
+            }
+        }
+    }
+
+    private static String validate(TransformerDTO transformer) {
+        String missing = firstMissing(
+                "transformerNo", transformer.getTransformerNo(),
+                "region", transformer.getRegion(),
+                "poleNo", transformer.getPoleNo(),
+                "type", transformer.getType(),
+                "locationDetails", transformer.getLocationDetails());
+        if (missing != null) {
+            return missing + " is required";
+        }
+        if (transformer.getNumberOfFeeders() != null && transformer.getNumberOfFeeders() < 0) {
+            return "numberOfFeeders must not be negative";
+        }
+        return null;
+    }
+
+    private static String validate(InspectionDTO inspection) {
+        String missing = firstMissing(
+                "transformerNo", inspection.getTransformerNo(),
+                "branch", inspection.getBranch());
+        if (missing != null) {
+            return missing + " is required";
+        }
+        // Same default as POST /api/inspections
+        if (inspection.getDateOfInspectionAndTime() == null) {
+            inspection.setDateOfInspectionAndTime(LocalDateTime.now());
+        }
+        return null;
+    }
+
+    /**
+     * Name of the first blank value in alternating name/value pairs, or null
+     */
+    private static String firstMissing(String... namesAndValues) {
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            String value = namesAndValues[i + 1];
+            if (value == null || value.isBlank()) {
+                return namesAndValues[i];
+            }
+        }
+        return null;
+    }
+
+    private static void reject(ImportReport report, long row, String key, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(new ImportReport.RowError(row, key, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    private static String rootMessage(Exception e) {
+        Throwable root = NestedExceptionUtils.getMostSpecificCause(e);
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+
+    /**
+     * Skip a leading UTF-8 byte order mark (spreadsheet exports add one)
+     */
+    private static Reader withoutByteOrderMark(Reader reader) throws IOException {
+        PushbackReader pushback = new PushbackReader(reader, 1);
+        int first = pushback.read();
+        if (first != -1 && first != '\uFEFF') {
+            pushback.unread(first);
+        }
+        return pushback;
+    }
+
+    private record Row<T>(long number, T value) {
+    }
+
+    @FunctionalInterface
+    private interface RowHandler<T> {
+        void accept(long number, T value, String parseError);
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter<T> {
+        void write(List<Row<T>> chunk, ImportReport report);
+    }
+}
@@ -0,0 +1,443 @@
+package com.example.transformerthermalinspector.service;
+
+import com.example.transformerthermalinspector.dao.DashboardCounter;
+import com.example.transformerthermalinspector.dao.Inspection;
+import com.example.transformerthermalinspector.dao.InspectionRollup;
+import com.example.transformerthermalinspector.dao.Transformer;
+import com.example.transformerthermalinspector.dto.DashboardDTO;
+import com.example.transformerthermalinspector.event.InspectionChangedEvent;
+import com.example.transformerthermalinspector.event.InspectionsDeletedEvent;
+import com.example.transformerthermalinspector.event.InspectionsImportedEvent;
+import com.example.transformerthermalinspector.event.TransformerChangedEvent;
+import com.example.transformerthermalinspector.repository.DashboardCounterRepository;
+import com.example.transformerthermalinspector.repository.InspectionRepository;
+import com.example.transformerthermalinspector.repository.InspectionRollupRepository;
+import com.example.transformerthermalinspector.repository.TransformerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service maintaining the dashboard rollups and serving the dashboard from them.
+ * Each inspection change applies the difference between the inspection's stored contribution
+ * (InspectionRollup) and its current values to the counters, so reading the dashboard is a few
+ * primary key lookups regardless of fleet size. Changes are applied in the background, one at a time,
+ * on the dashboard update executor. A periodic reconciliation recomputes everything to repair drift
+ * from changes made without an event or dropped from a full queue.
+ */
+@Service
+public class DashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    private static final String UNKNOWN_STATE = "Unknown";
+
+    private final InspectionRepository inspectionRepository;
+    private final TransformerRepository transformerRepository;
+    private final InspectionRollupRepository rollupRepository;
+    private final DashboardCounterRepository counterRepository;
+    private final EffectiveBoxService effectiveBoxService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.dashboard.recent-days:14}")
+    private int recentDays;
+
+    public DashboardService(InspectionRepository inspectionRepository,
+                            TransformerRepository transformerRepository,
+                            InspectionRollupRepository rollupRepository,
+                            DashboardCounterRepository counterRepository,
+                            EffectiveBoxService effectiveBoxService,
+                            PlatformTransactionManager transactionManager) {
+        this.inspectionRepository = inspectionRepository;
+        this.transformerRepository = transformerRepository;
+        this.rollupRepository = rollupRepository;
+        this.counterRepository = counterRepository;
+        this.effectiveBoxService = effectiveBoxService;
+        // Listeners run after the publishing transaction has committed, so they need a transaction of their own
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Read the dashboard figures
+     * @return Counts by state, region, branch, severity and anomaly class, recent daily counts and latest inspections
+     */
+    @Transactional(readOnly = true)
+    public DashboardDTO getDashboard() {
+        DashboardDTO dashboard = new DashboardDTO();
+        Map<String, Long> totals = counts(DashboardCounter.TOTAL);
+        dashboard.setTotalInspections(totals.getOrDefault(DashboardCounter.TOTAL_INSPECTIONS, 0L));
+        dashboard.setAnalyzedInspections(totals.getOrDefault(DashboardCounter.TOTAL_ANALYZED, 0L));
+        dashboard.setInspectionsByState(counts(DashboardCounter.STATE));
+        dashboard.setInspectionsByRegion(counts(DashboardCounter.REGION));
+        dashboard.setInspectionsByBranch(counts(DashboardCounter.BRANCH));
+        dashboard.setInspectionsBySeverity(counts(DashboardCounter.SEVERITY));
+        dashboard.setAnomaliesByClass(counts(DashboardCounter.ANOMALY_CLASS));
+
+        if (dashboard.getAnalyzedInspections() > 0) {
+            long normal = dashboard.getInspectionsBySeverity()
+                    .getOrDefault(EffectiveBoxService.className(EffectiveBoxService.CLASS_NORMAL), 0L);
+            dashboard.setHealthyPercentage(100.0 * normal / dashboard.getAnalyzedInspections());
+        }
+
+        // One entry per day, zero-filled, so the frontend can chart it directly
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(recentDays - 1L);
+        Map<String, Long> stored = counterRepository
+                .findByDimensionAndBucketGreaterThanEqualOrderByBucket(DashboardCounter.DAY, from.toString())
+                .stream()
+                .collect(Collectors.toMap(DashboardCounter::getBucket, DashboardCounter::getTotal));
+        Map<String, Long> perDay = new LinkedHashMap<>();
+        for (LocalDate day = from; !day.isAfter(today); day = day.plusDays(1)) {
+            perDay.put(day.toString(), stored.getOrDefault(day.toString(), 0L));
+        }
+        dashboard.setInspectionsPerDay(perDay);
+
+        dashboard.setRecentInspections(inspectionRepository.findTop5ProjectedByOrderByDateOfInspectionAndTimeDesc());
+        return dashboard;
+    }
+
+    /**
+     * Apply an inspection change to the rollups once it has committed.
+     * Runs in the background so requests and AI analysis do not wait for it.
+     * Failures are logged rather than propagated; the next reconciliation corrects the counters.
+     */
+    @Async("dashboardUpdateExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInspectionChanged(InspectionChangedEvent event) {
+        Long inspectionNo = event.getInspectionNo();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (event.getChangeType() == InspectionChangedEvent.ChangeType.DELETED) {
+                    remove(inspectionNo);
+                } else {
+                    apply(inspectionNo);
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Dashboard rollup update failed for inspection {}: {}", inspectionNo, e.getMessage());
+        }
+    }
+
+    /**
+     * Add the contributions of bulk-imported inspections, one transaction per batch of 500.
+     * Runs in the background so the import request does not wait for it.
+     * Like single changes, failures are left to the next reconciliation.
+     */
+    @Async("dashboardUpdateExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInspectionsImported(InspectionsImportedEvent event) {
+        List<Long> inspectionNos = event.getInspectionNos();
+        long started = System.currentTimeMillis();
+        try {
+            for (int from = 0; from < inspectionNos.size(); from += 500) {
+                List<Long> ids = inspectionNos.subList(from, Math.min(from + 500, inspectionNos.size()));
+                transactionTemplate.executeWithoutResult(status -> applyAll(inspectionRepository.findAllById(ids)));
+            }
+            logger.info("Dashboard rollups updated for {} imported inspections in {} ms",
+                    inspectionNos.size(), System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            logger.warn("Dashboard rollup update failed for {} imported inspections: {}",
+                    inspectionNos.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Subtract the contributions of a deleted transformer's inspections, one transaction per batch of 500.
+     * Like single changes, failures are left to the next reconciliation.
+     */
+    @Async("dashboardUpdateExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInspectionsDeleted(InspectionsDeletedEvent event) {
+        List<Long> inspectionNos = event.getInspectionNos();
+        try {
+            for (int from = 0; from < inspectionNos.size(); from += 500) {
+                List<Long> ids = inspectionNos.subList(from, Math.min(from + 500, inspectionNos.size()));
+                transactionTemplate.executeWithoutResult(status -> removeAll(ids));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Dashboard rollup update failed for {} deleted inspections of transformer {}: {}",
+                    inspectionNos.size(), event.getTransformerNo(), e.getMessage());
+        }
+    }
+
+    /**
+     * Move a transformer's inspections to its current region once a transformer change has committed.
+     * Deleted transformers are handled by onInspectionsDeleted.
+     */
+    @Async("dashboardUpdateExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransformerChanged(TransformerChangedEvent event) {
+        if (event.isDeleted()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> moveRegion(event.getTransformerNo()));
+        } catch (RuntimeException e) {
+            logger.warn("Dashboard rollup update failed for transformer {}: {}", event.getTransformerNo(), e.getMessage());
+        }
+    }
+
+    /**
+     * Recompute every inspection's contribution and rebuild the counters from them.
+     * Runs in batches of inspections; the counters are swapped in a single transaction that holds off
+     * per-change increments, so none is lost or counted twice.
+     */
+    @Scheduled(initialDelayString = "${app.dashboard.reconcile.initial-delay-ms:30000}",
+               fixedDelayString = "${app.dashboard.reconcile.interval-ms:3600000}")
+    public void reconcile() {
+        long started = System.currentTimeMillis();
+        try {
+            Map<String, String> regions = transformerRepository.findAll().stream()
+                    .filter(transformer -> transformer.getRegion() != null)
+                    .collect(Collectors.toMap(Transformer::getTransformerNo, Transformer::getRegion));
+
+            int changed = 0;
+            long after = 0L;
+            while (true) {
+                List<Inspection> batch = inspectionRepository.findTop500ByInspectionNoGreaterThanOrderByInspectionNo(after);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                changed += transactionTemplate.execute(status -> refreshRollups(batch, regions));
+                after = batch.get(batch.size() - 1).getInspectionNo();
+            }
+
+            Integer orphans = transactionTemplate.execute(status -> {
+                counterRepository.lockForRebuild();
+                int deleted = rollupRepository.deleteOrphans();
+                counterRepository.deleteAllInBatch();
+                counterRepository.rebuildFromRollups();
+                return deleted;
+            });
+            logger.info("Dashboard reconciliation: {} inspection rollups refreshed, {} removed in {} ms",
+                    changed, orphans, System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            logger.error("Dashboard reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Store the current contribution of each inspection in a batch
+     * @return Number of rollup rows that differed
+     */
+    private int refreshRollups(List<Inspection> batch, Map<String, String> regions) {
+        Map<Long, InspectionRollup> stored = rollupRepository
+                .findAllForUpdate(batch.stream().map(Inspection::getInspectionNo).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(InspectionRollup::getInspectionNo, Function.identity()));
+        List<InspectionRollup> changed = batch.stream()
+                .map(inspection -> toRollup(inspection, regions.get(inspection.getTransformerNo())))
+                .filter(rollup -> !rollup.equals(stored.get(rollup.getInspectionNo())))
+                .collect(Collectors.toList());
+        rollupRepository.saveAll(changed);
+        return changed.size();
+    }
+
+    /**
+     * Bring an inspection's contribution up to date, adjusting the counters by the difference
+     */
+    private void apply(Long inspectionNo) {
+        // Serializes concurrent updates of the same inspection's contribution
+        Optional<Inspection> inspection = inspectionRepository.findForUpdate(inspectionNo);
+        if (inspection.isEmpty()) {
+            remove(inspectionNo);
+            return;
+        }
+        String region = transformerRepository.findById(inspection.get().getTransformerNo())
+                .map(Transformer::getRegion)
+                .orElse(null);
+        InspectionRollup current = toRollup(inspection.get(), region);
+        InspectionRollup previous = rollupRepository.findForUpdate(inspectionNo).orElse(null);
+        if (current.equals(previous)) {
+            return;
+        }
+        Map<DashboardCounter.Key, Long> deltas = new HashMap<>();
+        addContribution(deltas, previous, -1);
+        addContribution(deltas, current, 1);
+        applyDeltas(deltas);
+        rollupRepository.save(current);
+    }
+
+    /**
+     * Bring a batch of inspections' contributions up to date with one set of counter updates
+     */
+    private void applyAll(List<Inspection> batch) {
+        Map<String, String> regions = transformerRepository
+                .findAllById(batch.stream().map(Inspection::getTransformerNo).distinct().collect(Collectors.toList()))
+                .stream()
+                .filter(transformer -> transformer.getRegion() != null)
+                .collect(Collectors.toMap(Transformer::getTransformerNo, Transformer::getRegion));
+        Map<Long, InspectionRollup> stored = rollupRepository
+                .findAllForUpdate(batch.stream().map(Inspection::getInspectionNo).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(InspectionRollup::getInspectionNo, Function.identity()));
+        Map<DashboardCounter.Key, Long> deltas = new HashMap<>();
+        List<InspectionRollup> changed = new ArrayList<>();
+        for (Inspection inspection : batch) {
+            InspectionRollup current = toRollup(inspection, regions.get(inspection.getTransformerNo()));
+            InspectionRollup previous = stored.get(inspection.getInspectionNo());
+            if (!current.equals(previous)) {
+                addContribution(deltas, previous, -1);
+                addContribution(deltas, current, 1);
+                changed.add(current);
+            }
+        }
+        applyDeltas(deltas);
+        rollupRepository.saveAll(changed);
+    }
+
+    /**
+     * Move the region counts of a transformer's inspections to the transformer's current region
+     */
+    private void moveRegion(String transformerNo) {
+        String region = transformerRepository.findById(transformerNo).map(Transformer::getRegion).orElse(null);
+        List<InspectionRollup> moved = rollupRepository.findAllByTransformerNoForUpdate(transformerNo).stream()
+                .filter(rollup -> !Objects.equals(rollup.getRegion(), region))
+                .collect(Collectors.toList());
+        if (moved.isEmpty()) {
+            return;
+        }
+        Map<DashboardCounter.Key, Long> deltas = new HashMap<>();
+        for (InspectionRollup rollup : moved) {
+            add(deltas, DashboardCounter.REGION, rollup.getRegion(), -1);
+            add(deltas, DashboardCounter.REGION, region, 1);
+            rollup.setRegion(region);
+        }
+        applyDeltas(deltas);
+        rollupRepository.saveAll(moved);
+        logger.debug("Moved {} inspections of transformer {} to region {}", moved.size(), transformerNo, region);
+    }
+
+    /**
+     * Subtract a deleted inspection's contribution
+     */
+    private void remove(Long inspectionNo) {
+        rollupRepository.findForUpdate(inspectionNo).ifPresent(previous -> {
+            Map<DashboardCounter.Key, Long> deltas = new HashMap<>();
+            addContribution(deltas, previous, -1);
+            applyDeltas(deltas);
+            rollupRepository.delete(previous);
+        });
+    }
+
+    /**
+     * Subtract a batch of deleted inspections' contributions with one set of counter updates
+     */
+    private void removeAll(List<Long> inspectionNos) {
+        List<InspectionRollup> previous = rollupRepository.findAllForUpdate(inspectionNos);
+        Map<DashboardCounter.Key, Long> deltas = new HashMap<>();
+        previous.forEach(rollup -> addContribution(deltas, rollup, -1));
+        applyDeltas(deltas);
+        rollupRepository.deleteAllInBatch(previous);
+    }
+
+    private void applyDeltas(Map<DashboardCounter.Key, Long> deltas) {
+        // Buckets that were decremented and incremented again cancel out and are skipped
+        deltas.forEach((key, delta) -> {
+            if (delta != 0) {
+                counterRepository.increment(key.getDimension(), key.getBucket(), delta);
+            }
+        });
+    }
+
+    private static void addContribution(Map<DashboardCounter.Key, Long> deltas, InspectionRollup rollup, int sign) {
+        if (rollup == null) {
+            return;
+        }
+        add(deltas, DashboardCounter.TOTAL, DashboardCounter.TOTAL_INSPECTIONS, sign);
+        add(deltas, DashboardCounter.STATE, rollup.getState(), sign);
+        add(deltas, DashboardCounter.REGION, rollup.getRegion(), sign);
+        add(deltas, DashboardCounter.BRANCH, rollup.getBranch(), sign);
+        if (rollup.getInspectionDay() != null) {
+            add(deltas, DashboardCounter.DAY, rollup.getInspectionDay().toString(), sign);
+        }
+        if (rollup.getSeverity() != null) {
+            add(deltas, DashboardCounter.TOTAL, DashboardCounter.TOTAL_ANALYZED, sign);
+            add(deltas, DashboardCounter.SEVERITY, rollup.getSeverity(), sign);
+        }
+        add(deltas, DashboardCounter.ANOMALY_CLASS,
+                EffectiveBoxService.className(EffectiveBoxService.CLASS_FAULTY), (long) sign * rollup.getFaultyBoxes());
+        add(deltas, DashboardCounter.ANOMALY_CLASS,
+                EffectiveBoxService.className(EffectiveBoxService.CLASS_POTENTIALLY_FAULTY), (long) sign * rollup.getPotentiallyFaultyBoxes());
+        add(deltas, DashboardCounter.ANOMALY_CLASS,
+                EffectiveBoxService.className(EffectiveBoxService.CLASS_NORMAL), (long) sign * rollup.getNormalBoxes());
+    }
+
+    private static void add(Map<DashboardCounter.Key, Long> deltas, String dimension, String bucket, long delta) {
+        if (bucket != null && delta != 0) {
+            deltas.merge(new DashboardCounter.Key(dimension, bucket), delta, Long::sum);
+        }
+    }
+
+    /**
+     * What an inspection contributes to the counters right now
+     */
+    private InspectionRollup toRollup(Inspection inspection, String region) {
+        InspectionRollup rollup = new InspectionRollup();
+        rollup.setInspectionNo(inspection.getInspectionNo());
+        rollup.setState(inspection.getState() != null ? inspection.getState() : UNKNOWN_STATE);
+        rollup.setRegion(region);
+        rollup.setBranch(inspection.getBranch());
+        if (inspection.getDateOfInspectionAndTime() != null) {
+            rollup.setInspectionDay(inspection.getDateOfInspectionAndTime().toLocalDate());
+        }
+
+        boolean analyzed = inspection.getAiBoundingBoxes() != null && !inspection.getAiBoundingBoxes().trim().isEmpty();
+        if (analyzed) {
+            for (Map<String, Object> box : effectiveBoxService.resolve(inspection)) {
+                Integer boxClass = EffectiveBoxService.classOf(box);
+                if (boxClass == null) {
+                    continue;
+                }
+                switch (boxClass) {
+                    case EffectiveBoxService.CLASS_FAULTY:
+                        rollup.setFaultyBoxes(rollup.getFaultyBoxes() + 1);
+                        break;
+                    case EffectiveBoxService.CLASS_POTENTIALLY_FAULTY:
+                        rollup.setPotentiallyFaultyBoxes(rollup.getPotentiallyFaultyBoxes() + 1);
+                        break;
+                    case EffectiveBoxService.CLASS_NORMAL:
+                        rollup.setNormalBoxes(rollup.getNormalBoxes() + 1);
+                        break;
+                    default:
+                        break;
+                }
+            }
+            // Same ranking as the transformer summary: any faulty box outweighs potentially faulty ones
+            int worstClass = rollup.getFaultyBoxes() > 0 ? EffectiveBoxService.CLASS_FAULTY
+                    : rollup.getPotentiallyFaultyBoxes() > 0 ? EffectiveBoxService.CLASS_POTENTIALLY_FAULTY
+                    : EffectiveBoxService.CLASS_NORMAL;
+            rollup.setSeverity(EffectiveBoxService.className(worstClass));
+        }
+        return rollup;
+    }
+
+    private Map<String, Long> counts(String dimension) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counterRepository.findByDimensionAndTotalGreaterThan(dimension, 0).stream()
+                .sorted(Comparator.comparing(DashboardCounter::getBucket))
+                .forEach(counter -> counts.put(counter.getBucket(), counter.getTotal()));
+        return counts;
+    }
+}
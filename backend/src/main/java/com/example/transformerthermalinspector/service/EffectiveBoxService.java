@@ -0,0 +1,243 @@
+package com.example.transformerthermalinspector.service;
+
+import com.example.transformerthermalinspector.dao.Inspection;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service computing the effective bounding boxes of an inspection:
+ * AI predictions minus deleted or edited ones, plus edited and manually added boxes.
+ * Shared by the inspection API, rendered overlays and reports so they all agree on what is shown.
+ */
+@Service
+public class EffectiveBoxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EffectiveBoxService.class);
+
+    // AI classes: 0 = Faulty, 1 = Normal, 2 = Potentially Faulty
+    public static final int CLASS_FAULTY = 0;
+    public static final int CLASS_NORMAL = 1;
+    public static final int CLASS_POTENTIALLY_FAULTY = 2;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * Compute the effective boxes of an inspection
+     * @param inspection The inspection entity
+     * @return Effective boxes in prediction format (box, class, confidence, source, ...); empty if none or unparsable
+     */
+    @SuppressWarnings("unchecked")
+    public List<Map<String, Object>> resolve(Inspection inspection) {
+        try {
+            List<Map<String, Object>> effectiveBoxes = new ArrayList<>();
+
+            // Build helper lists: deleted boxes and edited originals (to suppress AI duplicates)
+            List<List<Double>> deletedBoxes = new ArrayList<>();
+            if (inspection.getDeletedBoundingBoxes() != null && !inspection.getDeletedBoundingBoxes().trim().isEmpty()) {
+                List<Map<String, Object>> deletedList = mapper.readValue(
+                    inspection.getDeletedBoundingBoxes(),
+                    new TypeReference<List<Map<String, Object>>>() {}
+                );
+                for (Map<String, Object> del : deletedList) {
+                    List<Double> coords = toDoubleList(del.get("box"));
+                    if (coords != null) deletedBoxes.add(coords);
+                }
+            }
+
+            List<List<Double>> editedOriginals = new ArrayList<>();
+            List<Map<String, Object>> editedListFull = new ArrayList<>();
+            if (inspection.getEditedOrManuallyAddedBoxes() != null && !inspection.getEditedOrManuallyAddedBoxes().trim().isEmpty()) {
+                editedListFull = mapper.readValue(
+                    inspection.getEditedOrManuallyAddedBoxes(),
+                    new TypeReference<List<Map<String, Object>>>() {}
+                );
+                for (Map<String, Object> ed : editedListFull) {
+                    List<Double> ob = toDoubleList(ed.get("originalBox"));
+                    if (ob != null) editedOriginals.add(ob);
+                }
+            }
+        
+            // Add AI bounding boxes
+            if (inspection.getAiBoundingBoxes() != null && !inspection.getAiBoundingBoxes().trim().isEmpty()) {
+                Map<String, Object> aiData = mapper.readValue(inspection.getAiBoundingBoxes(), 
+                    new TypeReference<Map<String, Object>>() {});
+                if (aiData.containsKey("predictions")) {
+                    List<Map<String, Object>> aiBoxes =
+                        (List<Map<String, Object>>) aiData.get("predictions");
+                    // include simple metadata for AI predictions, but skip those deleted or replaced by edits
+                    for (Map<String, Object> aiBox : aiBoxes) {
+                        List<Double> aiCoords = toDoubleList(aiBox.get("box"));
+                        boolean suppressed = false;
+                        if (aiCoords != null) {
+                            // Skip if explicitly deleted
+                            for (List<Double> del : deletedBoxes) {
+                                if (boxesMatch(aiCoords, del, 2.0)) { suppressed = true; break; }
+                            }
+                            // Skip if there is an edited original matching this AI prediction
+                            if (!suppressed) {
+                                for (List<Double> ob : editedOriginals) {
+                                    if (boxesMatch(aiCoords, ob, 2.0)) { suppressed = true; break; }
+                                }
+                            }
+                        }
+                        if (suppressed) continue;
+
+                        Map<String, Object> pred = new HashMap<>();
+                        pred.put("box", aiBox.get("box"));
+                        pred.put("class", aiBox.get("class"));
+                        pred.put("confidence", aiBox.get("confidence"));
+                        pred.put("source", "ai");
+                        pred.put("type", "ai");
+                        effectiveBoxes.add(pred);
+                    }
+                }
+            }
+        
+            // Add edited and manually added boxes, excluding those that were deleted
+            for (Map<String, Object> item : editedListFull) {
+                List<Double> editedCoords = toDoubleList(item.get("box"));
+                boolean isDeleted = false;
+                if (editedCoords != null) {
+                    for (List<Double> del : deletedBoxes) {
+                        if (boxesMatch(editedCoords, del, 2.0)) { isDeleted = true; break; }
+                    }
+                }
+                if (isDeleted) continue;
+
+                // Convert annotation format to prediction format and keep metadata for frontend
+                Map<String, Object> pred = new HashMap<>();
+                pred.put("box", item.get("box"));
+                pred.put("class", item.get("class"));
+                pred.put("confidence", item.get("confidence"));
+                pred.put("source", "edited");
+                if (item.containsKey("type")) pred.put("type", item.get("type"));
+                if (item.containsKey("comment")) pred.put("comment", item.get("comment"));
+                if (item.containsKey("timestamp")) pred.put("timestamp", item.get("timestamp"));
+                if (item.containsKey("userId")) pred.put("userId", item.get("userId"));
+                if (item.containsKey("originalBox")) pred.put("originalBox", item.get("originalBox"));
+                effectiveBoxes.add(pred);
+            }
+
+            return effectiveBoxes;
+        } catch (Exception e) {
+            logger.warn("Failed to resolve effective boxes of inspection {}", inspection.getInspectionNo(), e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Compute the effective boxes of an inspection as JSON
+     * @param inspection The inspection entity
+     * @return JSON string in the AI response format: {"predictions": [...]}
+     */
+    public String toJson(Inspection inspection) {
+        try {
+            // Wrap in predictions format
+            Map<String, Object> result = new HashMap<>();
+            result.put("predictions", resolve(inspection));
+            return mapper.writeValueAsString(result);
+        } catch (Exception e) {
+            logger.warn("Failed to serialize effective boxes of inspection {}", inspection.getInspectionNo(), e);
+            return "{\"predictions\":[]}";
+        }
+    }
+
+    /**
+     * Display name of an AI class
+     * @param boxClass Class index from a prediction
+     * @return "Faulty", "Normal", "Potentially Faulty" or "Unknown"
+     */
+    public static String className(Integer boxClass) {
+        if (boxClass == null) {
+            return "Unknown";
+        }
+        switch (boxClass) {
+            case CLASS_FAULTY:
+                return "Faulty";
+            case CLASS_NORMAL:
+                return "Normal";
+            case CLASS_POTENTIALLY_FAULTY:
+                return "Potentially Faulty";
+            default:
+                return "Unknown";
+        }
+    }
+
+    /**
+     * Read the class index of a box
+     * @param box A prediction map
+     * @return Class index, or null if missing or not numeric
+     */
+    public static Integer classOf(Map<String, Object> box) {
+        Object value = box.get("class");
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        if (value != null) {
+            try {
+                return Integer.parseInt(value.toString().trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Helper method to check if two bounding boxes match within tolerance
+     */
+    static boolean boxesMatch(List<Double> box1, List<Double> box2, double tolerance) {
+        if (box1 == null || box2 == null || box1.size() != 4 || box2.size() != 4) {
+            return false;
+        }
+        double b1_0 = ((Number)box1.get(0)).doubleValue();
+        double b1_1 = ((Number)box1.get(1)).doubleValue();
+        double b1_2 = ((Number)box1.get(2)).doubleValue();
+        double b1_3 = ((Number)box1.get(3)).doubleValue();
+        double b2_0 = ((Number)box2.get(0)).doubleValue();
+        double b2_1 = ((Number)box2.get(1)).doubleValue();
+        double b2_2 = ((Number)box2.get(2)).doubleValue();
+        double b2_3 = ((Number)box2.get(3)).doubleValue();
+        return Math.abs(b1_0 - b2_0) < tolerance &&
+               Math.abs(b1_1 - b2_1) < tolerance &&
+               Math.abs(b1_2 - b2_2) < tolerance &&
+               Math.abs(b1_3 - b2_3) < tolerance;
+    }
+    
+    /**
+     * Helper to safely convert heterogeneous list representations to a List<Double>
+     */
+    static List<Double> toDoubleList(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof List<?>) {
+            List<?> raw = (List<?>) value;
+            List<Double> result = new ArrayList<>(raw.size());
+            for (Object item : raw) {
+                if (item == null) {
+                    return null;
+                }
+                if (item instanceof Number) {
+                    result.add(((Number) item).doubleValue());
+                } else {
+                    try {
+                        result.add(Double.parseDouble(item.toString()));
+                    } catch (NumberFormatException ex) {
+                        return null;
+                    }
+                }
+            }
+            return result;
+        }
+        return null;
+    }
+}
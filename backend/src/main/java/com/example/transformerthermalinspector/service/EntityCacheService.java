@@ -0,0 +1,129 @@
+package com.example.transformerthermalinspector.service;
+
+import com.example.transformerthermalinspector.dao.Transformer;
+import com.example.transformerthermalinspector.datasource.ReplicaDataSource;
+import com.example.transformerthermalinspector.event.TransformerChangedEvent;
+import com.example.transformerthermalinspector.event.TransformersImportedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Service for the Hibernate second-level cache (Caffeine through JCache, sized in hibernate-cache.conf).
+ * Hibernate already keeps cached transformers in step with its own writes; every transformer write is
+ * also evicted explicitly after commit, so the cache can never outlive a row changed by other means.
+ */
+@Service
+@RequiredArgsConstructor
+public class EntityCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityCacheService.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectProvider<ReplicaDataSource> replicaDataSource;
+    private final TaskScheduler taskScheduler;
+
+    /**
+     * Drop a changed transformer and the cached transformer lists
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransformerChanged(TransformerChangedEvent event) {
+        evictTransformer(event.getTransformerNo());
+        evictAgainAfterReplicaCatchesUp(() -> evictTransformer(event.getTransformerNo()));
+    }
+
+    /**
+     * Drop the cached transformer lists after a bulk import (new rows have no entity entries yet)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransformersImported(TransformersImportedEvent event) {
+        sessionFactory().getCache().evictDefaultQueryRegion();
+        evictAgainAfterReplicaCatchesUp(() -> sessionFactory().getCache().evictDefaultQueryRegion());
+    }
+
+    /**
+     * Empty every second-level cache region (after editing rows directly in the database)
+     */
+    public void evictAll() {
+        Cache cache = sessionFactory().getCache();
+        cache.evictAllRegions();
+        cache.evictQueryRegions();
+        logger.info("Evicted all second-level cache regions");
+    }
+
+    /**
+     * Hit/miss statistics overall and per cached region
+     * @return Counts and hit ratios (null until the first lookup)
+     */
+    public Map<String, Object> getStats() {
+        Statistics statistics = sessionFactory().getStatistics();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entityCache", counts(statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()));
+        stats.put("queryCache", counts(statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        regions.put(Transformer.CACHE_REGION, region(statistics.getDomainDataRegionStatistics(Transformer.CACHE_REGION)));
+        regions.put(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                region(statistics.getQueryRegionStatistics(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME)));
+        stats.put("regions", regions);
+        stats.put("statisticsSince", statistics.getStart());
+        return stats;
+    }
+
+    private void evictTransformer(String transformerNo) {
+        Cache cache = sessionFactory().getCache();
+        cache.evictEntityData(Transformer.class, transformerNo);
+        cache.evictDefaultQueryRegion(); // Only transformer queries are cached
+    }
+
+    /**
+     * With a read replica, a read routed there just after the write may have cached the old row again;
+     * repeat the eviction once the replica is guaranteed to have replayed the write
+     */
+    private void evictAgainAfterReplicaCatchesUp(Runnable eviction) {
+        ReplicaDataSource replica = replicaDataSource.getIfAvailable();
+        if (replica != null) {
+            taskScheduler.schedule(eviction, Instant.now().plusMillis(replica.getStaleWindowMs()));
+        }
+    }
+
+    private static Map<String, Object> region(CacheRegionStatistics region) {
+        if (region == null) {
+            return null; // Query regions are created on first use
+        }
+        Map<String, Object> counts = counts(region.getHitCount(), region.getMissCount(), region.getPutCount());
+        long elements = region.getElementCountInMemory();
+        counts.put("elementsInMemory", elements == CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN ? null : elements);
+        return counts;
+    }
+
+    private static Map<String, Object> counts(long hits, long misses, long puts) {
+        Map<String, Object> counts = new HashMap<>();
+        counts.put("hits", hits);
+        counts.put("misses", misses);
+        counts.put("puts", puts);
+        counts.put("hitRatio", hits + misses == 0 ? null : (double) hits / (hits + misses));
+        return counts;
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
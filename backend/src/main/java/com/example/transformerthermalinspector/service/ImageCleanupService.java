@@ -0,0 +1,229 @@
+package com.example.transformerthermalinspector.service;
+
+import com.example.transformerthermalinspector.repository.InspectionRepository;
+import com.example.transformerthermalinspector.repository.TransformerRepository;
+import com.example.transformerthermalinspector.storage.StoredImage;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Service for removing image files in the background.
+ * Deletions requested by inspection/transformer deletes are queued and retried off the request thread,
+ * and a periodic reaper walks the image store to remove images no database row references.
+ * With a remote store the reaper also walks this node's upload directories, which can hold working copies
+ * and temp files the store never received.
+ */
+@Service
+@RequiredArgsConstructor
+public class ImageCleanupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageCleanupService.class);
+
+    private final ImageStorageService imageStorageService;
+    private final InspectionRepository inspectionRepository;
+    private final TransformerRepository transformerRepository;
+
+    private final Queue<PendingDeletion> deletionQueue = new ConcurrentLinkedQueue<>();
+
+    // Reaper progress through each listing (store/working copies x baseline/maintenance): last filename
+    // checked, absent = start of the listing; only touched by the synchronized reapOrphans
+    private final Map<String, String> reaperCursors = new HashMap<>();
+
+    private final AtomicLong deletedFiles = new AtomicLong();
+    private final AtomicLong failedDeletions = new AtomicLong();
+    private final AtomicLong orphansRemoved = new AtomicLong();
+    private final AtomicLong reclaimedBytes = new AtomicLong();
+    private final AtomicLong filesScanned = new AtomicLong();
+    private volatile LocalDateTime lastReaperRun;
+
+    @Value("${app.images.cleanup.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.images.cleanup.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.images.reaper.enabled:true}")
+    private boolean reaperEnabled;
+
+    @Value("${app.images.reaper.batches-per-run:10}")
+    private int batchesPerRun;
+
+    @Value("${app.images.reaper.throttle-ms:100}")
+    private long throttleMs;
+
+    // Files younger than this are never reaped: an upload is written before its row is saved
+    @Value("${app.images.reaper.grace-period-minutes:60}")
+    private long gracePeriodMinutes;
+
+    /**
+     * Queue an image (and its renditions) for background deletion.
+     * Inside a transaction the file is only queued once the transaction commits,
+     * so a rolled-back delete never loses the image.
+     * @param filename The stored filename
+     * @param isBaseline True for baseline images, false for maintenance images
+     */
+    public void enqueueDeletion(String filename, boolean isBaseline) {
+        if (filename == null || filename.trim().isEmpty()) {
+            return;
+        }
+        PendingDeletion deletion = new PendingDeletion(filename, isBaseline, 0);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deletionQueue.add(deletion);
+                }
+            });
+        } else {
+            deletionQueue.add(deletion);
+        }
+    }
+
+    /**
+     * Process queued deletions, retrying failures on later runs
+     */
+    @Scheduled(fixedDelayString = "${app.images.cleanup.queue-interval-ms:5000}")
+    public void processDeletionQueue() {
+        int processed = 0;
+        PendingDeletion deletion;
+        while (processed < batchSize && (deletion = deletionQueue.poll()) != null) {
+            processed++;
+            try {
+                reclaimedBytes.addAndGet(imageStorageService.deleteImage(deletion.filename(), deletion.isBaseline()));
+                deletedFiles.incrementAndGet();
+            } catch (IOException e) {
+                if (deletion.attempts() + 1 < maxAttempts) {
+                    deletionQueue.add(new PendingDeletion(deletion.filename(), deletion.isBaseline(), deletion.attempts() + 1));
+                } else {
+                    // The reaper picks the file up later as an orphan
+                    failedDeletions.incrementAndGet();
+                    logger.error("Giving up deleting image {} after {} attempts: {}", deletion.filename(), maxAttempts, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Periodically remove orphaned image files
+     */
+    @Scheduled(initialDelayString = "${app.images.reaper.initial-delay-ms:60000}",
+               fixedDelayString = "${app.images.reaper.interval-ms:600000}")
+    public void reapOrphansScheduled() {
+        if (reaperEnabled) {
+            reapOrphans();
+        }
+    }
+
+    /**
+     * Walk the next slice of each image listing and delete images not referenced by
+     * the transformer/inspection tables. Each run covers at most {@code batchesPerRun} batches
+     * per listing and resumes where the previous run stopped.
+     * @return Number of orphaned images removed in this run
+     */
+    public synchronized int reapOrphans() {
+        int removed = 0;
+        try {
+            removed += reapListing(true, false);
+            removed += reapListing(false, false);
+            if (imageStorageService.isStoreRemote()) {
+                removed += reapListing(true, true);
+                removed += reapListing(false, true);
+            }
+        } catch (IOException e) {
+            logger.error("Orphan reaper failed: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lastReaperRun = LocalDateTime.now();
+        if (removed > 0) {
+            logger.info("Orphan reaper removed {} files, {} bytes reclaimed in total", removed, reclaimedBytes.get());
+        }
+        return removed;
+    }
+
+    /**
+     * Current cleanup counters
+     * @return Map of queue size, deletion and reaper statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("queuedDeletions", deletionQueue.size());
+        stats.put("deletedFiles", deletedFiles.get());
+        stats.put("failedDeletions", failedDeletions.get());
+        stats.put("orphansRemoved", orphansRemoved.get());
+        stats.put("reclaimedBytes", reclaimedBytes.get());
+        stats.put("filesScanned", filesScanned.get());
+        stats.put("lastReaperRun", lastReaperRun);
+        return stats;
+    }
+
+    private int reapListing(boolean isBaseline, boolean workingCopies) throws IOException, InterruptedException {
+        Instant cutoff = Instant.now().minus(gracePeriodMinutes, ChronoUnit.MINUTES);
+        String listing = (workingCopies ? "local/" : "store/") + (isBaseline ? "baseline" : "maintenance");
+        String cursor = reaperCursors.get(listing);
+        int removed = 0;
+
+        for (int batch = 0; batch < batchesPerRun; batch++) {
+            List<StoredImage> images = imageStorageService.listImagesAfter(isBaseline, workingCopies, cursor, batchSize);
+            // A short page means the end of the listing - start over on the next batch/run
+            cursor = images.size() < batchSize ? null : images.get(images.size() - 1).filename();
+            if (images.isEmpty()) {
+                break;
+            }
+            filesScanned.addAndGet(images.size());
+
+            List<String> filenames = images.stream().map(StoredImage::filename).collect(Collectors.toList());
+            Set<String> referenced = new HashSet<>(isBaseline
+                    ? transformerRepository.findReferencedBaselineImagePaths(filenames)
+                    : inspectionRepository.findReferencedMaintenanceImagePaths(filenames));
+
+            for (StoredImage image : images) {
+                if (referenced.contains(image.filename()) || image.lastModified().isAfter(cutoff)) {
+                    continue;
+                }
+                try {
+                    reclaimedBytes.addAndGet(imageStorageService.deleteImage(image.filename(), isBaseline));
+                    orphansRemoved.incrementAndGet();
+                    removed++;
+                } catch (IOException e) {
+                    logger.warn("Could not delete orphaned image {}: {}", image.filename(), e.getMessage());
+                }
+            }
+
+            if (cursor == null) {
+                break;
+            }
+            Thread.sleep(throttleMs);
+        }
+
+        if (cursor == null) {
+            reaperCursors.remove(listing);
+        } else {
+            reaperCursors.put(listing, cursor);
+        }
+        return removed;
+    }
+
+    private record PendingDeletion(String filename, boolean isBaseline, int attempts) {
+    }
+}
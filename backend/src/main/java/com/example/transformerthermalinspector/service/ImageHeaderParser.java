@@ -0,0 +1,141 @@
+package com.example.transformerthermalinspector.service;
+
+/**
+ * Detects image formats from magic bytes and reads pixel dimensions from the file header,
+ * so uploads can be validated and described without decoding the image.
+ */
+final class ImageHeaderParser {
+
+    /**
+     * Supported upload formats with their stored extension
+     */
+    enum Format {
+        JPEG("image/jpeg", ".jpg"),
+        PNG("image/png", ".png"),
+        GIF("image/gif", ".gif");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        String getContentType() {
+            return contentType;
+        }
+
+        String getExtension() {
+            return extension;
+        }
+    }
+
+    // Bytes needed to recognise every supported format
+    static final int MAGIC_LENGTH = 8;
+
+    private ImageHeaderParser() {
+    }
+
+    /**
+     * Detect the image format from the first bytes of a file
+     * @param header Buffer holding the start of the file
+     * @param length Number of valid bytes in the buffer
+     * @return Detected format, or null if the bytes do not start a supported image
+     */
+    static Format detectFormat(byte[] header, int length) {
+        if (length >= 3 && u8(header, 0) == 0xFF && u8(header, 1) == 0xD8 && u8(header, 2) == 0xFF) {
+            return Format.JPEG;
+        }
+        if (length >= 8 && u8(header, 0) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G'
+                && header[4] == 0x0D && header[5] == 0x0A && header[6] == 0x1A && header[7] == 0x0A) {
+            return Format.PNG;
+        }
+        if (length >= 6 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F' && header[3] == '8'
+                && (header[4] == '7' || header[4] == '9') && header[5] == 'a') {
+            return Format.GIF;
+        }
+        return null;
+    }
+
+    /**
+     * Read pixel dimensions from the file header
+     * @param format The detected format
+     * @param header Buffer holding the start of the file
+     * @param length Number of valid bytes in the buffer
+     * @return {width, height}, or null if the header does not contain them
+     */
+    static int[] readDimensions(Format format, byte[] header, int length) {
+        switch (format) {
+            case PNG:
+                // Signature (8) + IHDR length (4) + "IHDR" (4), then big-endian width and height
+                if (length >= 24) {
+                    return new int[] {be32(header, 16), be32(header, 20)};
+                }
+                return null;
+            case GIF:
+                // Logical screen descriptor follows the 6-byte signature, little-endian
+                if (length >= 10) {
+                    return new int[] {le16(header, 6), le16(header, 8)};
+                }
+                return null;
+            case JPEG:
+                return readJpegDimensions(header, length);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Walk JPEG marker segments until a start-of-frame marker is found.
+     * EXIF/ICC segments come first, so the frame header can be several kilobytes in.
+     */
+    private static int[] readJpegDimensions(byte[] header, int length) {
+        int offset = 2; // Skip SOI
+        while (offset + 4 <= length) {
+            if (u8(header, offset) != 0xFF) {
+                return null;
+            }
+            int marker = u8(header, offset + 1);
+            if (marker == 0xFF) {
+                offset++; // Fill byte
+                continue;
+            }
+            if (marker == 0xD8 || (marker >= 0xD0 && marker <= 0xD7) || marker == 0x01) {
+                offset += 2; // Standalone markers have no length
+                continue;
+            }
+            int segmentLength = be16(header, offset + 2);
+            boolean isStartOfFrame = marker >= 0xC0 && marker <= 0xCF
+                    && marker != 0xC4 && marker != 0xC8 && marker != 0xCC;
+            if (isStartOfFrame) {
+                // Length (2) + precision (1) + height (2) + width (2)
+                if (offset + 9 > length) {
+                    return null;
+                }
+                return new int[] {be16(header, offset + 7), be16(header, offset + 5)};
+            }
+            if (marker == 0xDA || segmentLength < 2) {
+                return null; // Start of scan reached without a frame header
+            }
+            offset += 2 + segmentLength;
+        }
+        return null;
+    }
+
+    private static int u8(byte[] b, int i) {
+        return b[i] & 0xFF;
+    }
+
+    private static int be16(byte[] b, int i) {
+        return (u8(b, i) << 8) | u8(b, i + 1);
+    }
+
+    private static int le16(byte[] b, int i) {
+        return u8(b, i) | (u8(b, i + 1) << 8);
+    }
+
+    private static int be32(byte[] b, int i) {
+        return (u8(b, i) << 24) | (u8(b, i + 1) << 16) | (u8(b, i + 2) << 8) | u8(b, i + 3);
+    }
+}
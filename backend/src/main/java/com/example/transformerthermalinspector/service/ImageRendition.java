@@ -0,0 +1,46 @@
+package com.example.transformerthermalinspector.service;
+
+/**
+ * Sizes in which stored images can be served.
+ * FULL is the original upload; the others are downscaled JPEG copies generated after upload.
+ */
+public enum ImageRendition {
+
+    THUMBNAIL("thumbnail", 160),
+    PREVIEW("preview", 800),
+    FULL("full", 0);
+
+    private final String key;
+    private final int maxDimension; // Longest side in pixels, 0 = original size
+
+    ImageRendition(String key, int maxDimension) {
+        this.key = key;
+        this.maxDimension = maxDimension;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    /**
+     * Resolve a rendition from a request parameter (case-insensitive)
+     * @param value The requested size, e.g. "thumbnail"; null or blank means FULL
+     * @return Matching rendition
+     * @throws IllegalArgumentException if the value is not a known size
+     */
+    public static ImageRendition fromParam(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return FULL;
+        }
+        for (ImageRendition rendition : values()) {
+            if (rendition.key.equalsIgnoreCase(value.trim())) {
+                return rendition;
+            }
+        }
+        throw new IllegalArgumentException("Unknown image size: " + value);
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.transformerthermalinspector.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service for generating downscaled renditions (thumbnail, preview) of stored images.
+ * Renditions are produced in the background after upload so list views can load
+ * small JPEGs instead of full-size thermal images.
+ */
+@Service
+public class ImageRenditionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageRenditionService.class);
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final ImageStorageService imageStorageService;
+    private final Executor imageProcessingExecutor;
+
+    @Value("${app.images.renditions.backfill-on-startup:false}")
+    private boolean backfillOnStartup;
+
+    public ImageRenditionService(ImageStorageService imageStorageService,
+                                 @Qualifier("imageProcessingExecutor") Executor imageProcessingExecutor) {
+        this.imageStorageService = imageStorageService;
+        this.imageProcessingExecutor = imageProcessingExecutor;
+    }
+
+    /**
+     * Generate all renditions for an image in the background
+     * @param filename The stored image filename
+     * @param isBaseline True for baseline images, false for maintenance images
+     */
+    @Async("imageProcessingExecutor")
+    public void generateRenditionsAsync(String filename, boolean isBaseline) {
+        try {
+            generateRenditions(filename, isBaseline);
+        } catch (Exception e) {
+            logger.error("Failed to generate renditions for {}: {}", filename, e.getMessage());
+        }
+    }
+
+    /**
+     * Generate all renditions for an image on the calling thread
+     * @param filename The stored image filename
+     * @param isBaseline True for baseline images, false for maintenance images
+     * @return Number of renditions written
+     * @throws IOException If the original cannot be read or a rendition cannot be written
+     */
+    public int generateRenditions(String filename, boolean isBaseline) throws IOException {
+        Path original = imageStorageService.getLocalImagePath(filename, isBaseline);
+        if (!Files.isReadable(original)) {
+            logger.warn("Skipping renditions, original not found: {}", original);
+            return 0;
+        }
+
+        BufferedImage source = ImageIO.read(original.toFile());
+        if (source == null) {
+            throw new IOException("Unsupported image format: " + filename);
+        }
+
+        int written = 0;
+        for (ImageRendition rendition : ImageRendition.values()) {
+            if (rendition == ImageRendition.FULL) {
+                continue;
+            }
+            Path target = imageStorageService.getRenditionPath(filename, isBaseline, rendition);
+            Files.createDirectories(target.getParent());
+            ImageCodec.writeJpeg(scaleToFit(source, rendition.getMaxDimension()), target, JPEG_QUALITY);
+            imageStorageService.publishFile(target, isBaseline, "image/jpeg");
+            written++;
+        }
+        logger.info("Generated {} renditions for {}", written, filename);
+        return written;
+    }
+
+    /**
+     * Generate missing renditions for every stored image, in parallel on the image executor.
+     * @return Number of images that had renditions generated
+     */
+    public int backfillRenditions() {
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        AtomicInteger processed = new AtomicInteger();
+
+        for (boolean isBaseline : new boolean[] {true, false}) {
+            List<String> filenames;
+            try {
+                filenames = imageStorageService.listImageFilenames(isBaseline);
+            } catch (IOException e) {
+                logger.error("Could not list {} images for backfill: {}", isBaseline ? "baseline" : "maintenance", e.getMessage());
+                continue;
+            }
+            for (String filename : filenames) {
+                if (hasAllRenditions(filename, isBaseline)) {
+                    continue;
+                }
+                tasks.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        if (generateRenditions(filename, isBaseline) > 0) {
+                            processed.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        logger.warn("Backfill failed for {}: {}", filename, e.getMessage());
+                    }
+                }, imageProcessingExecutor));
+            }
+        }
+
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+        logger.info("Rendition backfill finished: {} of {} images processed", processed.get(), tasks.size());
+        return processed.get();
+    }
+
+    /**
+     * Optionally backfill renditions for existing images once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (backfillOnStartup) {
+            CompletableFuture.runAsync(this::backfillRenditions);
+        }
+    }
+
+    /**
+     * Check whether every rendition of an image is already on disk
+     */
+    private boolean hasAllRenditions(String filename, boolean isBaseline) {
+        for (ImageRendition rendition : ImageRendition.values()) {
+            if (rendition != ImageRendition.FULL
+                    && !Files.exists(imageStorageService.getRenditionPath(filename, isBaseline, rendition))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Downscale an image so its longest side fits maxDimension.
+     * Halves repeatedly before the final step to keep quality with bilinear filtering.
+     */
+    private BufferedImage scaleToFit(BufferedImage source, int maxDimension) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = source;
+        int currentWidth = width;
+        int currentHeight = height;
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            currentHeight = Math.max(targetHeight, currentHeight / 2);
+            current = ImageCodec.resize(current, currentWidth, currentHeight);
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+
+        return current;
+    }
+}
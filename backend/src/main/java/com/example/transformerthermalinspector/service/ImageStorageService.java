@@ -1,30 +1,81 @@
 package com.example.transformerthermalinspector.service;
 
+import com.example.transformerthermalinspector.dao.ImageMetadata;
+import com.example.transformerthermalinspector.repository.ImageMetadataRepository;
+import com.example.transformerthermalinspector.storage.ImageStore;
+import com.example.transformerthermalinspector.storage.LocalImageStore;
+import com.example.transformerthermalinspector.storage.StoredImage;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for handling image file storage operations.
  * Manages saving, retrieving, and deleting image files in separate directories.
  */
 @Service
+@RequiredArgsConstructor
 public class ImageStorageService {
     
+    private static final Logger logger = LoggerFactory.getLogger(ImageStorageService.class);
+    
+    private static final long MAX_IMAGE_SIZE = 10 * 1024 * 1024; // 10MB, matches multipart limits
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+    private static final int HEADER_CAPTURE_SIZE = 128 * 1024; // Enough to pass typical EXIF/ICC segments
+    
+    private final ImageMetadataRepository imageMetadataRepository;
+    private final ImageStore imageStore;
+    
+    // Redirect image downloads to presigned store URLs when the store supports it
+    @Value("${app.storage.redirect-downloads:true}")
+    private boolean redirectDownloads;
+    
+    @Value("${app.storage.presign-ttl-minutes:15}")
+    private long presignTtlMinutes;
+    
     @Value("${app.upload.dir.baseline:uploads/baseline}")
     private String baselineUploadDir;
     
     @Value("${app.upload.dir.maintenance:uploads/maintenance}")
     private String maintenanceUploadDir;
     
+    // Renditions live next to the originals: <uploadDir>/renditions/<size>/<name>.jpg
+    private static final String RENDITIONS_DIR = "renditions";
+    
+    // Deep-zoom tile pyramids: <uploadDir>/tiles/<name>/
+    private static final String TILES_DIR = "tiles";
+    
+    // Maintenance images rendered with their bounding boxes: <maintenanceDir>/annotated/INS-<no>/<version>.jpg
+    private static final String ANNOTATED_DIR = "annotated";
+    
     /**
      * Initialize baseline storage directory
      */
@@ -48,122 +99,238 @@ public class ImageStorageService {
     }
     
     /**
-     * Store baseline image file for transformer and return the filename
+     * Store baseline image file for transformer and return its metadata
      * @param file The image file to store
      * @param transformerNo The transformer number for naming
-     * @return The stored filename
+     * @return Metadata of the stored file (filename, detected type, size, hash, dimensions)
      * @throws IOException If storage fails
      */
-    public String storeBaselineImage(MultipartFile file, String transformerNo) throws IOException {
+    public ImageMetadata storeBaselineImage(MultipartFile file, String transformerNo) throws IOException {
         // Initialize directory if it doesn't exist
         initBaseline();
         
-        // Validate file
-        if (file.isEmpty()) {
-            throw new IllegalArgumentException("Cannot store empty file");
-        }
-        
-        if (!isValidImage(file)) {
-            throw new IllegalArgumentException("Invalid image file");
-        }
-        
-        // Get original filename and extension
-        String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
-        if (originalFilename.contains("..")) {
-            throw new IllegalArgumentException("Invalid filename: " + originalFilename);
-        }
-        
-        // Extract file extension
-        String extension = "";
-        int dotIndex = originalFilename.lastIndexOf(".");
-        if (dotIndex > 0) {
-            extension = originalFilename.substring(dotIndex);
-        }
-        
         // Generate unique filename: transformerNo_baseline_uniqueId.ext
-        String filename = transformerNo + "_baseline_" + UUID.randomUUID().toString() + extension;
-        
-        // Create full path
-        Path uploadPath = Paths.get(baselineUploadDir);
-        Path filePath = uploadPath.resolve(filename);
+        String filenamePrefix = transformerNo + "_baseline_" + UUID.randomUUID().toString();
         
-        // Save file
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-        
-        System.out.println("Stored baseline image: " + filePath.toAbsolutePath());
-        return filename;
+        ImageMetadata metadata = ingest(file, Paths.get(baselineUploadDir), filenamePrefix, "baseline");
+        logger.info("Stored baseline image: {} ({} bytes)", metadata.getFilename(), metadata.getSizeBytes());
+        return metadata;
     }
     
     /**
-     * Store maintenance image file for inspection and return the filename
+     * Store maintenance image file for inspection and return its metadata
      * @param file The image file to store
      * @param inspectionNo The inspection number for naming
-     * @return The stored filename
+     * @return Metadata of the stored file (filename, detected type, size, hash, dimensions)
      * @throws IOException If storage fails
      */
-    public String storeMaintenanceImage(MultipartFile file, Long inspectionNo) throws IOException {
+    public ImageMetadata storeMaintenanceImage(MultipartFile file, Long inspectionNo) throws IOException {
         // Initialize directory if it doesn't exist
         initMaintenance();
         
+        // Generate unique filename: INS-inspectionNo_maintenance_uniqueId.ext
+        String filenamePrefix = "INS-" + inspectionNo + "_maintenance_" + UUID.randomUUID().toString();
+        
+        ImageMetadata metadata = ingest(file, Paths.get(maintenanceUploadDir), filenamePrefix, "maintenance");
+        logger.info("Stored maintenance image: {} ({} bytes)", metadata.getFilename(), metadata.getSizeBytes());
+        return metadata;
+    }
+    
+    /**
+     * Get the metadata captured when an image was stored
+     * @param filename The stored filename
+     * @return Metadata if the image was ingested through this service
+     */
+    public Optional<ImageMetadata> getMetadata(String filename) {
+        return imageMetadataRepository.findById(filename);
+    }
+    
+    /**
+     * Stream an upload to disk exactly once while hashing it, checking its magic bytes
+     * and reading its dimensions from the header. The file is written to a temp name and
+     * only moved into place (with the extension of the detected format) once it is valid.
+     */
+    private ImageMetadata ingest(MultipartFile file, Path directory, String filenamePrefix, String kind) throws IOException {
         // Validate file
-        if (file.isEmpty()) {
+        if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("Cannot store empty file");
         }
-        
-        if (!isValidImage(file)) {
-            throw new IllegalArgumentException("Invalid image file");
+        if (file.getSize() > MAX_IMAGE_SIZE) {
+            throw new IllegalArgumentException("File size exceeds maximum limit of 10MB");
         }
         
-        // Get original filename and extension
-        String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
-        if (originalFilename.contains("..")) {
-            throw new IllegalArgumentException("Invalid filename: " + originalFilename);
-        }
+        MessageDigest digest = newSha256();
+        byte[] header = new byte[HEADER_CAPTURE_SIZE];
+        int headerLength = 0;
+        long totalBytes = 0;
+        ImageHeaderParser.Format format = null;
         
-        // Extract file extension
-        String extension = "";
-        int dotIndex = originalFilename.lastIndexOf(".");
-        if (dotIndex > 0) {
-            extension = originalFilename.substring(dotIndex);
+        Path tempFile = Files.createTempFile(directory, ".upload-", ".tmp");
+        try {
+            try (InputStream in = file.getInputStream();
+                 OutputStream out = Files.newOutputStream(tempFile)) {
+                byte[] buffer = new byte[IO_BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    totalBytes += read;
+                    if (totalBytes > MAX_IMAGE_SIZE) {
+                        throw new IllegalArgumentException("File size exceeds maximum limit of 10MB");
+                    }
+                    
+                    // Keep the leading bytes for format and dimension detection
+                    if (headerLength < header.length) {
+                        int toCopy = Math.min(read, header.length - headerLength);
+                        System.arraycopy(buffer, 0, header, headerLength, toCopy);
+                        headerLength += toCopy;
+                    }
+                    
+                    // Reject non-images as soon as the magic bytes are in, before writing the rest
+                    if (format == null && headerLength >= ImageHeaderParser.MAGIC_LENGTH) {
+                        format = ImageHeaderParser.detectFormat(header, headerLength);
+                        if (format == null) {
+                            throw new IllegalArgumentException("Invalid image file");
+                        }
+                    }
+                    
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            }
+            
+            if (format == null) {
+                format = ImageHeaderParser.detectFormat(header, headerLength);
+                if (format == null) {
+                    throw new IllegalArgumentException("Invalid image file");
+                }
+            }
+            
+            int[] dimensions = ImageHeaderParser.readDimensions(format, header, headerLength);
+            if (dimensions == null) {
+                // Frame header beyond the captured bytes (large EXIF block) - let ImageIO read just the header
+                dimensions = readDimensionsWithImageIO(tempFile);
+            }
+            
+            String filename = filenamePrefix + format.getExtension();
+            Path storedFile = directory.resolve(filename);
+            Files.move(tempFile, storedFile, StandardCopyOption.ATOMIC_MOVE);
+            try {
+                imageStore.put(storageKey(filename, kind), storedFile, format.getContentType());
+            } catch (IOException e) {
+                Files.deleteIfExists(storedFile);
+                throw e;
+            }
+            
+            ImageMetadata metadata = new ImageMetadata(
+                    filename,
+                    kind,
+                    format.getContentType(),
+                    totalBytes,
+                    HexFormat.of().formatHex(digest.digest()),
+                    dimensions != null ? dimensions[0] : null,
+                    dimensions != null ? dimensions[1] : null,
+                    LocalDateTime.now());
+            return imageMetadataRepository.save(metadata);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+    
+    /**
+     * Read image dimensions through an ImageIO reader, which only parses the header
+     */
+    private int[] readDimensionsWithImageIO(Path path) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return new int[] {reader.getWidth(0), reader.getHeight(0)};
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read dimensions of {}: {}", path.getFileName(), e.getMessage());
+            return null;
+        }
+    }
+    
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    /**
+     * Delete an image file and its renditions from the appropriate directory
+     * @param filename The filename to delete
+     * @param isBaseline True for baseline images, false for maintenance images
+     * @return Number of bytes reclaimed (0 if nothing was on disk)
+     * @throws IOException If deletion fails
+     */
+    public long deleteImage(String filename, boolean isBaseline) throws IOException {
+        if (filename == null || filename.trim().isEmpty()) {
+            return 0;
         }
         
-        // Generate unique filename: INS-inspectionNo_maintenance_uniqueId.ext
-        String filename = "INS-" + inspectionNo + "_maintenance_" + UUID.randomUUID().toString() + extension;
+        long reclaimed = deleteIfExists(getImagePath(filename, isBaseline));
+        if (imageStore.isRemote()) {
+            imageStore.delete(storageKey(filename, kind(isBaseline)));
+        }
         
-        // Create full path
-        Path uploadPath = Paths.get(maintenanceUploadDir);
-        Path filePath = uploadPath.resolve(filename);
+        // Renditions are derived data - remove them along with the original
+        for (ImageRendition rendition : ImageRendition.values()) {
+            if (rendition != ImageRendition.FULL) {
+                Path renditionPath = getRenditionPath(filename, isBaseline, rendition);
+                reclaimed += deleteIfExists(renditionPath);
+                if (imageStore.isRemote()) {
+                    imageStore.delete(storageKey(renditionPath, isBaseline));
+                }
+            }
+        }
         
-        // Save file
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        // Tile pyramids are a local cache and can hold many files
+        reclaimed += deleteRecursively(getTilesDirectory(filename, isBaseline));
         
-        System.out.println("Stored maintenance image: " + filePath.toAbsolutePath());
-        return filename;
+        imageMetadataRepository.deleteById(filename);
+        logger.debug("Deleted image {} ({} bytes reclaimed)", filename, reclaimed);
+        return reclaimed;
     }
     
     /**
-     * Delete an image file from appropriate directory
-     * @param filename The filename to delete
-     * @param isBaseline True for baseline images, false for maintenance images
-     * @throws IOException If deletion fails
+     * Delete a directory tree and report the total size of the files removed
      */
-    public void deleteImage(String filename, boolean isBaseline) throws IOException {
-        if (filename != null && !filename.trim().isEmpty()) {
-            String directory = isBaseline ? baselineUploadDir : maintenanceUploadDir;
-            Path filePath = Paths.get(directory).resolve(filename);
-            System.out.println("ImageStorageService - Attempting to delete: " + filePath.toAbsolutePath());
-            System.out.println("File exists before deletion: " + Files.exists(filePath));
-            
-            boolean deleted = Files.deleteIfExists(filePath);
-            System.out.println("File deletion result: " + deleted);
-            
-            if (Files.exists(filePath)) {
-                throw new IOException("File still exists after deletion attempt: " + filePath);
+    private long deleteRecursively(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        long reclaimed = 0;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            // Deepest paths first so directories are empty when deleted
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                if (Files.isDirectory(path)) {
+                    Files.deleteIfExists(path);
+                } else {
+                    reclaimed += deleteIfExists(path);
+                }
             }
-            
-            System.out.println("File successfully deleted: " + filename);
-        } else {
-            System.out.println("ImageStorageService - No filename provided for deletion");
+        }
+        return reclaimed;
+    }
+    
+    /**
+     * Delete a file and report its size
+     */
+    private long deleteIfExists(Path path) throws IOException {
+        try {
+            long size = Files.size(path);
+            return Files.deleteIfExists(path) ? size : 0;
+        } catch (NoSuchFileException e) {
+            return 0;
         }
     }
     
@@ -179,39 +346,253 @@ public class ImageStorageService {
     }
     
     /**
-     * Check if an image file exists
-     * @param filename The filename to check
+     * Get the path where a downscaled rendition of an image is stored
+     * @param filename The original image filename
      * @param isBaseline True for baseline images, false for maintenance images
-     * @return true if file exists
+     * @param rendition The rendition size (FULL returns the original path)
+     * @return The rendition path (the file may not exist yet)
      */
-    public boolean imageExists(String filename, boolean isBaseline) {
-        if (filename == null || filename.trim().isEmpty()) {
-            return false;
+    public Path getRenditionPath(String filename, boolean isBaseline, ImageRendition rendition) {
+        if (rendition == ImageRendition.FULL) {
+            return getImagePath(filename, isBaseline);
         }
-        Path filePath = getImagePath(filename, isBaseline);
-        return Files.exists(filePath) && Files.isReadable(filePath);
+        String directory = isBaseline ? baselineUploadDir : maintenanceUploadDir;
+        String baseName = filename;
+        int dotIndex = filename.lastIndexOf(".");
+        if (dotIndex > 0) {
+            baseName = filename.substring(0, dotIndex);
+        }
+        return Paths.get(directory, RENDITIONS_DIR, rendition.getKey()).resolve(baseName + ".jpg");
     }
     
     /**
-     * Validate image file type and size
-     * @param file The file to validate
-     * @return true if valid image
+     * Get the directory holding the deep-zoom tile pyramid of an image
+     * @param filename The original image filename
+     * @param isBaseline True for baseline images, false for maintenance images
+     * @return The pyramid directory (it may not exist yet)
      */
-    public boolean isValidImage(MultipartFile file) {
-        if (file == null || file.isEmpty()) {
+    public Path getTilesDirectory(String filename, boolean isBaseline) {
+        String directory = isBaseline ? baselineUploadDir : maintenanceUploadDir;
+        String baseName = filename;
+        int dotIndex = filename.lastIndexOf(".");
+        if (dotIndex > 0) {
+            baseName = filename.substring(0, dotIndex);
+        }
+        return Paths.get(directory, TILES_DIR).resolve(baseName);
+    }
+    
+    /**
+     * Get the directory caching rendered (annotated) versions of an inspection's maintenance image
+     * @param inspectionNo The inspection number
+     * @return The cache directory (it may not exist yet)
+     */
+    public Path getAnnotatedDirectory(Long inspectionNo) {
+        return Paths.get(maintenanceUploadDir, ANNOTATED_DIR).resolve("INS-" + inspectionNo);
+    }
+    
+    /**
+     * Delete a cache directory under the upload directories (tiles, annotated images)
+     * @param directory The directory to remove
+     * @return Number of bytes reclaimed
+     * @throws IOException If deletion fails
+     */
+    public long deleteDirectory(Path directory) throws IOException {
+        return deleteRecursively(directory);
+    }
+    
+    /**
+     * Resolve the file to serve for a requested size.
+     * Falls back to the original when the rendition has not been generated yet.
+     * @param filename The original image filename
+     * @param isBaseline True for baseline images, false for maintenance images
+     * @param rendition The requested rendition size
+     * @return Path of the rendition if present, otherwise the original image path
+     */
+    public Path resolveImagePath(String filename, boolean isBaseline, ImageRendition rendition) {
+        Path renditionPath = getRenditionPath(filename, isBaseline, rendition);
+        if (rendition != ImageRendition.FULL && ensureLocalCopy(renditionPath, isBaseline)) {
+            return renditionPath;
+        }
+        return getImagePath(filename, isBaseline);
+    }
+    
+    /**
+     * Get the local path of an image, downloading it from a remote store first if this node has no copy
+     * @param filename The filename
+     * @param isBaseline True for baseline images, false for maintenance images
+     * @return The local path (the file exists unless the image is missing everywhere)
+     */
+    public Path getLocalImagePath(String filename, boolean isBaseline) {
+        Path path = getImagePath(filename, isBaseline);
+        ensureLocalCopy(path, isBaseline);
+        return path;
+    }
+    
+    /**
+     * Copy a locally written file (e.g. a rendition) to the image store so other nodes can serve it
+     * @param localPath File inside the baseline or maintenance directory
+     * @param isBaseline True for baseline images, false for maintenance images
+     * @param contentType MIME type of the file
+     * @throws IOException If the upload fails
+     */
+    public void publishFile(Path localPath, boolean isBaseline, String contentType) throws IOException {
+        if (imageStore.isRemote()) {
+            imageStore.put(storageKey(localPath, isBaseline), localPath, contentType);
+        }
+    }
+    
+    /**
+     * Time-limited URL clients can fetch an image from directly, bypassing this application.
+     * Points at the requested rendition when it has been generated, otherwise at the original.
+     * @param filename The original image filename
+     * @param isBaseline True for baseline images, false for maintenance images
+     * @param rendition The requested rendition size
+     * @return Presigned URL, or empty if redirects are disabled, unsupported or the image is missing
+     */
+    public Optional<URI> getDownloadUrl(String filename, boolean isBaseline, ImageRendition rendition) {
+        if (!redirectDownloads || !imageStore.isRemote() || filename == null || filename.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        Duration ttl = Duration.ofMinutes(presignTtlMinutes);
+        if (rendition != ImageRendition.FULL) {
+            Path renditionPath = getRenditionPath(filename, isBaseline, rendition);
+            String renditionKey = storageKey(renditionPath, isBaseline);
+            if (Files.exists(renditionPath) || imageStore.exists(renditionKey)) {
+                return imageStore.presignedGetUrl(renditionKey, ttl);
+            }
+        }
+        String key = storageKey(filename, kind(isBaseline));
+        if (!Files.exists(getImagePath(filename, isBaseline)) && !imageStore.exists(key)) {
+            return Optional.empty();
+        }
+        return imageStore.presignedGetUrl(key, ttl);
+    }
+    
+    /**
+     * Store key of a file inside the baseline or maintenance directory
+     * @param localPath File inside the upload directory (original or rendition)
+     * @param isBaseline True for baseline images, false for maintenance images
+     * @return Key such as "maintenance/renditions/thumbnail/name.jpg"
+     */
+    public String storageKey(Path localPath, boolean isBaseline) {
+        Path root = Paths.get(isBaseline ? baselineUploadDir : maintenanceUploadDir).toAbsolutePath().normalize();
+        Path relative = root.relativize(localPath.toAbsolutePath().normalize());
+        return kind(isBaseline) + "/" + relative.toString().replace('\\', '/');
+    }
+    
+    /**
+     * Whether a file inside the baseline or maintenance directory belongs in the image store.
+     * Only originals and renditions do; tile pyramids and annotated images are per-node caches
+     * rebuilt on demand, and nothing would ever delete them from the store.
+     * @param localPath File inside the upload directory
+     * @param isBaseline True for baseline images, false for maintenance images
+     * @return true for originals and renditions
+     */
+    public boolean isStoredInImageStore(Path localPath, boolean isBaseline) {
+        Path root = Paths.get(isBaseline ? baselineUploadDir : maintenanceUploadDir).toAbsolutePath().normalize();
+        Path relative = root.relativize(localPath.toAbsolutePath().normalize());
+        return relative.getNameCount() == 1 || RENDITIONS_DIR.equals(relative.getName(0).toString());
+    }
+    
+    private String storageKey(String filename, String kind) {
+        return kind + "/" + filename;
+    }
+    
+    private static String kind(boolean isBaseline) {
+        return isBaseline ? "baseline" : "maintenance";
+    }
+    
+    /**
+     * Make sure a file exists on this node, fetching it from a remote store if needed
+     * @return true if the file is available locally
+     */
+    private boolean ensureLocalCopy(Path localPath, boolean isBaseline) {
+        if (Files.isReadable(localPath)) {
+            return true;
+        }
+        if (!imageStore.isRemote()) {
             return false;
         }
-        
-        // Check file size (10MB limit)
-        if (file.getSize() > 10 * 1024 * 1024) {
+        try {
+            return imageStore.fetch(storageKey(localPath, isBaseline), localPath);
+        } catch (IOException e) {
+            logger.warn("Could not fetch {} from image store: {}", localPath.getFileName(), e.getMessage());
             return false;
         }
-        
-        // Check file type
-        String contentType = file.getContentType();
-        return contentType != null && 
-               (contentType.equals("image/jpeg") || 
-                contentType.equals("image/png") || 
-                contentType.equals("image/gif"));
+    }
+    
+    /**
+     * List the original image filenames stored in a directory (renditions excluded)
+     * @param isBaseline True for baseline images, false for maintenance images
+     * @return Filenames of stored originals
+     * @throws IOException If the directory cannot be read
+     */
+    public List<String> listImageFilenames(boolean isBaseline) throws IOException {
+        Path directory = Paths.get(isBaseline ? baselineUploadDir : maintenanceUploadDir);
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(Files::isRegularFile)
+                    .map(path -> path.getFileName().toString())
+                    .filter(name -> !name.startsWith(".")) // In-flight temp files
+                    .collect(Collectors.toList());
+        }
+    }
+    
+    /**
+     * List up to {@code limit} original images whose names sort after {@code cursor}, in name order.
+     * Only the requested page is held in memory, so large stores can be walked incrementally.
+     * @param isBaseline True for baseline images, false for maintenance images
+     * @param workingCopies True to list the local upload directory (including temp files left behind by
+     *                      interrupted uploads) instead of the image store; the same listing for a local store
+     * @param cursor Last filename of the previous page, or null to start from the beginning
+     * @param limit Maximum number of images to return
+     * @return Sorted images after the cursor with their modification times
+     * @throws IOException If the listing fails
+     */
+    public List<StoredImage> listImagesAfter(boolean isBaseline, boolean workingCopies, String cursor, int limit) throws IOException {
+        ImageStore source = workingCopies && imageStore.isRemote()
+                ? new LocalImageStore(baselineUploadDir, maintenanceUploadDir)
+                : imageStore;
+        return source.list(kind(isBaseline), cursor, limit);
+    }
+    
+    /**
+     * Whether the image store is shared with other nodes rather than the local upload directories
+     * @return true for remote stores
+     */
+    public boolean isStoreRemote() {
+        return imageStore.isRemote();
+    }
+    
+    /**
+     * Determine the response content type of a stored image from its file extension
+     * @param path The image path
+     * @return MIME type string, defaults to image/jpeg
+     */
+    public String getContentType(Path path) {
+        String filenameLower = path.getFileName().toString().toLowerCase();
+        if (filenameLower.endsWith(".png")) {
+            return "image/png";
+        } else if (filenameLower.endsWith(".gif")) {
+            return "image/gif";
+        } else if (filenameLower.endsWith(".webp")) {
+            return "image/webp";
+        }
+        return "image/jpeg";
+    }
+    
+    /**
+     * Check if an image file exists
+     * @param filename The filename to check
+     * @param isBaseline True for baseline images, false for maintenance images
+     * @return true if file exists
+     */
+    public boolean imageExists(String filename, boolean isBaseline) {
+        if (filename == null || filename.trim().isEmpty()) {
+            return false;
+        }
+        return ensureLocalCopy(getImagePath(filename, isBaseline), isBaseline);
     }
 }
@@ -0,0 +1,139 @@
+package com.example.transformerthermalinspector.service;
+
+import com.example.transformerthermalinspector.storage.ImageStore;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Service for copying images from the local upload directories into the configured image store.
+ * Used once when moving a single-node deployment onto shared object storage. Safe to re-run:
+ * objects that already exist with the same size are skipped.
+ */
+@Service
+@RequiredArgsConstructor
+public class ImageStoreMigrationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageStoreMigrationService.class);
+
+    private final ImageStore imageStore;
+    private final ImageStorageService imageStorageService;
+
+    @Value("${app.upload.dir.baseline:uploads/baseline}")
+    private String baselineUploadDir;
+
+    @Value("${app.upload.dir.maintenance:uploads/maintenance}")
+    private String maintenanceUploadDir;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong filesCopied = new AtomicLong();
+    private final AtomicLong filesSkipped = new AtomicLong();
+    private final AtomicLong filesFailed = new AtomicLong();
+    private final AtomicLong bytesCopied = new AtomicLong();
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    /**
+     * Copy all local originals and renditions to the image store
+     * @return true if a run was performed, false if one was already in progress
+     * @throws IllegalStateException If the configured store is the local filesystem
+     */
+    public boolean migrateLocalFiles() {
+        if (!imageStore.isRemote()) {
+            throw new IllegalStateException("Image store is the local filesystem; set app.storage.type=s3 to migrate");
+        }
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            filesCopied.set(0);
+            filesSkipped.set(0);
+            filesFailed.set(0);
+            bytesCopied.set(0);
+            startedAt = LocalDateTime.now();
+            finishedAt = null;
+
+            copyDirectory(Paths.get(baselineUploadDir), true);
+            copyDirectory(Paths.get(maintenanceUploadDir), false);
+
+            finishedAt = LocalDateTime.now();
+            logger.info("Image store migration finished: {} copied ({} bytes), {} skipped, {} failed",
+                    filesCopied.get(), bytesCopied.get(), filesSkipped.get(), filesFailed.get());
+            return true;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Whether a migration can run against the configured store
+     * @return true for remote stores
+     */
+    public boolean isMigrationSupported() {
+        return imageStore.isRemote();
+    }
+
+    /**
+     * Progress of the current or last migration run
+     * @return Map of counters and timestamps
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("running", running.get());
+        status.put("filesCopied", filesCopied.get());
+        status.put("filesSkipped", filesSkipped.get());
+        status.put("filesFailed", filesFailed.get());
+        status.put("bytesCopied", bytesCopied.get());
+        status.put("startedAt", startedAt);
+        status.put("finishedAt", finishedAt);
+        return status;
+    }
+
+    private void copyDirectory(Path directory, boolean isBaseline) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        // Copies originals and the renditions/ subtree; the tiles/ and annotated/ caches and
+        // temp files (dot-prefixed) are left alone
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(Files::isRegularFile)
+                    .filter(path -> !path.getFileName().toString().startsWith("."))
+                    .filter(path -> imageStorageService.isStoredInImageStore(path, isBaseline))
+                    .forEach(path -> copyFile(path, isBaseline));
+        } catch (IOException e) {
+            logger.error("Could not walk {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private void copyFile(Path path, boolean isBaseline) {
+        String key = imageStorageService.storageKey(path, isBaseline);
+        try {
+            long size = Files.size(path);
+            Optional<Long> existingSize = imageStore.size(key);
+            if (existingSize.isPresent() && existingSize.get() == size) {
+                filesSkipped.incrementAndGet();
+                return;
+            }
+            imageStore.put(key, path, imageStorageService.getContentType(path));
+            filesCopied.incrementAndGet();
+            bytesCopied.addAndGet(size);
+        } catch (Exception e) {
+            filesFailed.incrementAndGet();
+            logger.warn("Failed to copy {} to image store: {}", key, e.getMessage());
+        }
+    }
+}
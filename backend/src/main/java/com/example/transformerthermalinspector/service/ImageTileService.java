@@ -0,0 +1,269 @@
+package com.example.transformerthermalinspector.service;
+
+import com.example.transformerthermalinspector.dao.ImageMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service for Deep Zoom (DZI) tile pyramids of stored images.
+ * A pyramid is generated the first time any of its tiles is requested, then served from disk.
+ * Level N is the full-resolution image, each lower level halves it, down to 1x1 at level 0.
+ */
+@Service
+public class ImageTileService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageTileService.class);
+
+    public static final int TILE_SIZE = 254;
+    public static final int OVERLAP = 1;
+    public static final String TILE_FORMAT = "jpg";
+
+    private static final String DESCRIPTOR_FILE = "image.dzi";
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final ImageStorageService imageStorageService;
+    private final Executor tileRenderingExecutor;
+
+    // Pyramids being generated, so concurrent tile requests wait for one generation instead of starting their own
+    private final ConcurrentHashMap<Path, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${app.images.tiles.generation-timeout-seconds:60}")
+    private long generationTimeoutSeconds;
+
+    public ImageTileService(ImageStorageService imageStorageService,
+                            @Qualifier("tileRenderingExecutor") Executor tileRenderingExecutor) {
+        this.imageStorageService = imageStorageService;
+        this.tileRenderingExecutor = tileRenderingExecutor;
+    }
+
+    /**
+     * Get the DZI descriptor XML of an image. Answered from the dimensions captured at upload when
+     * available, so the viewer can start requesting tiles before any pyramid has been generated;
+     * otherwise the pyramid is generated first.
+     * @param filename The stored image filename
+     * @param isBaseline True for baseline images, false for maintenance images
+     * @return DZI XML document
+     * @throws IOException If the image cannot be read or the pyramid cannot be written
+     * @throws TimeoutException If another request is still generating the pyramid
+     */
+    public String getDescriptor(String filename, boolean isBaseline) throws IOException, TimeoutException {
+        Optional<ImageMetadata> metadata = dimensions(filename);
+        if (metadata.isPresent()) {
+            return descriptor(metadata.get().getWidth(), metadata.get().getHeight());
+        }
+        Path pyramid = ensurePyramid(filename, isBaseline);
+        return Files.readString(pyramid.resolve(DESCRIPTOR_FILE), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Get a tile file, generating the pyramid if needed
+     * @param filename The stored image filename
+     * @param isBaseline True for baseline images, false for maintenance images
+     * @param level Pyramid level (0 = 1x1 pixel)
+     * @param column Tile column
+     * @param row Tile row
+     * @return Path of the tile, or null if the level/column/row is outside the pyramid
+     * @throws IOException If the image cannot be read or the pyramid cannot be written
+     * @throws TimeoutException If another request is still generating the pyramid
+     */
+    public Path getTile(String filename, boolean isBaseline, int level, int column, int row)
+            throws IOException, TimeoutException {
+        if (level < 0 || column < 0 || row < 0) {
+            return null;
+        }
+        // Levels beyond full resolution are rejected without decoding the image
+        Optional<ImageMetadata> metadata = dimensions(filename);
+        if (metadata.isPresent() && level > maxLevel(metadata.get().getWidth(), metadata.get().getHeight())) {
+            return null;
+        }
+        Path pyramid = ensurePyramid(filename, isBaseline);
+        Path tile = pyramid.resolve(String.valueOf(level)).resolve(column + "_" + row + "." + TILE_FORMAT);
+        return Files.isRegularFile(tile) ? tile : null;
+    }
+
+    /**
+     * Return the pyramid directory, generating it once if it does not exist yet
+     */
+    private Path ensurePyramid(String filename, boolean isBaseline) throws IOException, TimeoutException {
+        Path pyramid = imageStorageService.getTilesDirectory(filename, isBaseline);
+        if (Files.isDirectory(pyramid)) {
+            return pyramid;
+        }
+
+        CompletableFuture<Path> created = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(pyramid, created);
+        if (existing == null) {
+            // This request generates the pyramid; others wait on the same future
+            try {
+                created.complete(generatePyramid(filename, isBaseline, pyramid));
+            } catch (IOException | RuntimeException e) {
+                created.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(pyramid, created);
+            }
+            return pyramid;
+        }
+
+        try {
+            return existing.get(generationTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for tile generation", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Tile generation failed for " + filename, e.getCause());
+        }
+    }
+
+    /**
+     * Render every level into a temp directory, then publish it with a single rename
+     * so a pyramid directory is always complete
+     */
+    private Path generatePyramid(String filename, boolean isBaseline, Path pyramid) throws IOException {
+        if (Files.isDirectory(pyramid)) {
+            return pyramid;
+        }
+        Path original = imageStorageService.getLocalImagePath(filename, isBaseline);
+        if (!Files.isReadable(original)) {
+            throw new IOException("Image not found: " + filename);
+        }
+        BufferedImage source = ImageIO.read(original.toFile());
+        if (source == null) {
+            throw new IOException("Unsupported image format: " + filename);
+        }
+
+        long start = System.currentTimeMillis();
+        int width = source.getWidth();
+        int height = source.getHeight();
+        int maxLevel = maxLevel(width, height);
+
+        Files.createDirectories(pyramid.getParent());
+        Path workDir = pyramid.resolveSibling(".tmp-" + pyramid.getFileName() + "-" + UUID.randomUUID());
+        Files.createDirectories(workDir);
+        try {
+            List<CompletableFuture<Void>> tiles = new ArrayList<>();
+            BufferedImage levelImage = ImageCodec.resize(source, width, height); // Opaque RGB copy for JPEG
+            for (int level = maxLevel; level >= 0; level--) {
+                if (level < maxLevel) {
+                    // Each level is half of the one above it
+                    levelImage = ImageCodec.resize(levelImage,
+                            Math.max(1, (levelImage.getWidth() + 1) / 2),
+                            Math.max(1, (levelImage.getHeight() + 1) / 2));
+                }
+                tiles.addAll(submitLevel(levelImage, workDir.resolve(String.valueOf(level))));
+            }
+            joinAll(tiles);
+
+            Files.writeString(workDir.resolve(DESCRIPTOR_FILE), descriptor(width, height), StandardCharsets.UTF_8);
+            Files.move(workDir, pyramid, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Generated {}-level tile pyramid ({} tiles) for {} in {} ms",
+                    maxLevel + 1, tiles.size(), filename, System.currentTimeMillis() - start);
+            return pyramid;
+        } finally {
+            deleteTree(workDir);
+        }
+    }
+
+    /**
+     * Queue the tiles of one level for parallel encoding
+     */
+    private List<CompletableFuture<Void>> submitLevel(BufferedImage levelImage, Path levelDir) throws IOException {
+        Files.createDirectories(levelDir);
+        int levelWidth = levelImage.getWidth();
+        int levelHeight = levelImage.getHeight();
+        int columns = (int) Math.ceil((double) levelWidth / TILE_SIZE);
+        int rows = (int) Math.ceil((double) levelHeight / TILE_SIZE);
+
+        List<CompletableFuture<Void>> tiles = new ArrayList<>(columns * rows);
+        for (int column = 0; column < columns; column++) {
+            for (int row = 0; row < rows; row++) {
+                // Tiles extend OVERLAP pixels into their neighbours, except at the image edges
+                int x = column * TILE_SIZE - (column > 0 ? OVERLAP : 0);
+                int y = row * TILE_SIZE - (row > 0 ? OVERLAP : 0);
+                int tileWidth = Math.min(TILE_SIZE + (column > 0 ? OVERLAP : 0) + OVERLAP, levelWidth - x);
+                int tileHeight = Math.min(TILE_SIZE + (row > 0 ? OVERLAP : 0) + OVERLAP, levelHeight - y);
+                Path target = levelDir.resolve(column + "_" + row + "." + TILE_FORMAT);
+
+                tiles.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        ImageCodec.writeJpeg(levelImage.getSubimage(x, y, tileWidth, tileHeight), target, JPEG_QUALITY);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, tileRenderingExecutor));
+            }
+        }
+        return tiles;
+    }
+
+    private void joinAll(List<CompletableFuture<Void>> tiles) throws IOException {
+        try {
+            CompletableFuture.allOf(tiles.toArray(new CompletableFuture[0])).join();
+        } catch (RuntimeException e) {
+            Throwable cause = e.getCause() instanceof UncheckedIOException ? e.getCause().getCause() : e.getCause();
+            throw new IOException("Tile encoding failed", cause != null ? cause : e);
+        }
+    }
+
+    /**
+     * Upload metadata of an image, if its dimensions were captured
+     */
+    private Optional<ImageMetadata> dimensions(String filename) {
+        return imageStorageService.getMetadata(filename)
+                .filter(metadata -> metadata.getWidth() != null && metadata.getHeight() != null);
+    }
+
+    /**
+     * Highest pyramid level: the level at which the image is at full resolution
+     */
+    static int maxLevel(int width, int height) {
+        int maxDimension = Math.max(width, height);
+        return maxDimension <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(maxDimension - 1);
+    }
+
+    private static String descriptor(int width, int height) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<Image xmlns=\"http://schemas.microsoft.com/deepzoom/2008\""
+                + " TileSize=\"" + TILE_SIZE + "\" Overlap=\"" + OVERLAP + "\" Format=\"" + TILE_FORMAT + "\">\n"
+                + "  <Size Width=\"" + width + "\" Height=\"" + height + "\"/>\n"
+                + "</Image>\n";
+    }
+
+    private static void deleteTree(Path directory) {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not clean up {}: {}", directory, e.getMessage());
+        }
+    }
+}
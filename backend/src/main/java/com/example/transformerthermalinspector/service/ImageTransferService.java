@@ -0,0 +1,114 @@
+package com.example.transformerthermalinspector.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service for writing image file ranges to HTTP responses.
+ * Ranges of at least the sendfile threshold are handed to Tomcat's sendfile support when the connector
+ * offers it, and the kernel copies them from file to socket after the handler returns. Everything else is
+ * copied in the JVM: FileChannel.transferTo into the response stream still goes through a heap buffer and
+ * the connector's output buffer, so only the sendfile path avoids user-space copies.
+ * Every transfer takes a permit from the concurrency budget, so large images are rejected along with the
+ * rest once it is exhausted. In-JVM copies hold the permit until they finish; sendfile transfers only while
+ * being handed off, because the connector reports no completion and needs no worker thread for the copy.
+ */
+@Service
+public class ImageTransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageTransferService.class);
+
+    // Request attributes understood by Tomcat's NIO/NIO2 connectors
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final Semaphore transferPermits;
+    private final long acquireTimeoutMs;
+    private final long sendfileThreshold;
+
+    public ImageTransferService(
+            @Value("${app.images.transfer.max-concurrent:32}") int maxConcurrent,
+            @Value("${app.images.transfer.acquire-timeout-ms:2000}") long acquireTimeoutMs,
+            @Value("${app.images.transfer.sendfile-threshold-bytes:49152}") long sendfileThreshold) {
+        this.transferPermits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.sendfileThreshold = sendfileThreshold;
+    }
+
+    /**
+     * Write a byte range of a file to the response body.
+     * Headers (status, content type, length, caching) must be set by the caller beforehand.
+     * @param file The file to send
+     * @param start First byte offset (inclusive)
+     * @param length Number of bytes to send
+     * @param request The current request (used to detect sendfile support)
+     * @param response The response to write to
+     * @return true if the transfer was started, false if the concurrency budget was exhausted
+     * @throws IOException If writing to the client fails
+     */
+    public boolean transfer(Path file, long start, long length,
+                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            if (!transferPermits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                logger.warn("Image transfer budget exhausted, rejecting {}", file.getFileName());
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        if (length >= sendfileThreshold && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // The connector copies file → socket in the kernel after the handler returns
+            try {
+                request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, start + length);
+                return true;
+            } finally {
+                transferPermits.release();
+            }
+        }
+
+        // Channels.newChannel wraps the servlet stream, so transferTo copies through a heap buffer here
+        try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = source.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+            return true;
+        } finally {
+            transferPermits.release();
+        }
+    }
+
+    /**
+     * Number of transfers that can still start immediately
+     * @return Available permits
+     */
+    public int availablePermits() {
+        return transferPermits.availablePermits();
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.transformerthermalinspector.service;
+
+import com.example.transformerthermalinspector.dto.CursorPage;
+import com.example.transformerthermalinspector.dto.InspectionDTO;
+import com.example.transformerthermalinspector.dto.InspectionSearchCriteria;
+import com.example.transformerthermalinspector.repository.InspectionListingRepository;
+import com.example.transformerthermalinspector.repository.InspectionListingRepository.Keyset;
+import com.example.transformerthermalinspector.repository.InspectionListingRepository.SortKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Service for the keyset-paginated inspection listing.
+ * Pages are addressed by an opaque cursor holding the sort value and inspection number of
+ * the last row returned, so fetching page N costs the same as fetching page 1.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class InspectionListingService {
+
+    private static final String CURSOR_VERSION = "v1";
+
+    private final InspectionListingRepository listingRepository;
+
+    @Value("${app.inspections.page.default-limit:50}")
+    private int defaultLimit;
+
+    @Value("${app.inspections.page.max-limit:200}")
+    private int maxLimit;
+
+    /**
+     * List one page of inspections
+     * @param criteria Filters
+     * @param sort "date" (default) or "inspectionNo"
+     * @param direction "desc" (default) or "asc"
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param limit Page size, or null for the default
+     * @param count "none" (default), "estimate" or "exact"
+     * @return The page
+     * @throws IllegalArgumentException If a parameter or the cursor is invalid
+     */
+    public CursorPage<InspectionDTO> listInspections(InspectionSearchCriteria criteria, String sort, String direction,
+                                                     String cursor, Integer limit, String count) {
+        SortKey sortKey = parseSort(sort);
+        boolean descending = parseDirection(direction);
+        int pageSize = parseLimit(limit);
+        Keyset after = cursor == null || cursor.isEmpty() ? null : decodeCursor(cursor, sortKey, descending);
+
+        // One extra row tells whether another page follows without counting
+        List<InspectionDTO> rows = listingRepository.findPage(criteria, sortKey, descending, after, pageSize + 1);
+        CursorPage<InspectionDTO> page = toPage(rows, pageSize, sortKey, descending,
+                InspectionDTO::getDateOfInspectionAndTime, InspectionDTO::getInspectionNo);
+        addCount(page, criteria, count);
+        return page;
+    }
+
+    /**
+     * List one page of inspections with only the requested fields selected from the database
+     * @param fields Comma-separated InspectionDTO field names; inspectionNo is always included
+     * @return The page, with rows as field name to value maps
+     * @throws IllegalArgumentException If a parameter, field name or the cursor is invalid
+     * @see #listInspections(InspectionSearchCriteria, String, String, String, Integer, String)
+     */
+    public CursorPage<Map<String, Object>> listInspectionFields(InspectionSearchCriteria criteria, String sort,
+                                                                String direction, String cursor, Integer limit,
+                                                                String count, String fields) {
+        SortKey sortKey = parseSort(sort);
+        boolean descending = parseDirection(direction);
+        int pageSize = parseLimit(limit);
+        Keyset after = cursor == null || cursor.isEmpty() ? null : decodeCursor(cursor, sortKey, descending);
+
+        Set<String> requested = parseFields(fields);
+        // The cursor needs the sort value of the last row even when it was not requested
+        Set<String> selected = new LinkedHashSet<>(requested);
+        boolean addedSortField = sortKey == SortKey.DATE && selected.add("dateOfInspectionAndTime");
+
+        List<Map<String, Object>> rows = listingRepository.findPageFields(criteria, sortKey, descending, after,
+                pageSize + 1, selected);
+        CursorPage<Map<String, Object>> page = toPage(rows, pageSize, sortKey, descending,
+                row -> (LocalDateTime) row.get("dateOfInspectionAndTime"),
+                row -> ((Number) row.get("inspectionNo")).longValue());
+        if (addedSortField) {
+            page.getItems().forEach(row -> row.remove("dateOfInspectionAndTime"));
+        }
+        addCount(page, criteria, count);
+        return page;
+    }
+
+    /**
+     * List all matching inspections, newest first, with only the requested fields selected
+     * @param criteria Filters
+     * @param fields Comma-separated InspectionDTO field names; inspectionNo is always included
+     * @return Rows as field name to value maps
+     * @throws IllegalArgumentException If a field name is invalid
+     */
+    public List<Map<String, Object>> listAllInspectionFields(InspectionSearchCriteria criteria, String fields) {
+        return listingRepository.findPageFields(criteria, SortKey.DATE, true, null, null, parseFields(fields));
+    }
+
+    /**
+     * Parse a fields= parameter into known field names
+     * @param fields Comma-separated field names
+     * @return Field names in request order, starting with inspectionNo
+     * @throws IllegalArgumentException If a name is not a known field
+     */
+    static Set<String> parseFields(String fields) {
+        Set<String> parsed = new LinkedHashSet<>();
+        parsed.add("inspectionNo"); // Rows are always identifiable
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!InspectionListingRepository.FIELD_COLUMNS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name
+                        + " (allowed: " + String.join(",", InspectionListingRepository.FIELD_COLUMNS.keySet()) + ")");
+            }
+            parsed.add(name);
+        }
+        return parsed;
+    }
+
+    static <T> CursorPage<T> toPage(List<T> rows, int pageSize, SortKey sortKey, boolean descending,
+                                    Function<T, LocalDateTime> date, Function<T, Long> inspectionNo) {
+        boolean hasMore = rows.size() > pageSize;
+        List<T> items = hasMore ? rows.subList(0, pageSize) : rows;
+
+        CursorPage<T> page = new CursorPage<>();
+        page.setItems(items);
+        page.setHasMore(hasMore);
+        if (hasMore) {
+            T last = items.get(items.size() - 1);
+            page.setNextCursor(encodeCursor(date.apply(last), inspectionNo.apply(last), sortKey, descending));
+        }
+        return page;
+    }
+
+    private void addCount(CursorPage<?> page, InspectionSearchCriteria criteria, String count) {
+        String countMode = count == null ? "none" : count.toLowerCase();
+        switch (countMode) {
+            case "none":
+                break;
+            case "estimate":
+                page.setTotalCount(listingRepository.countEstimate(criteria));
+                page.setCountMode(countMode);
+                break;
+            case "exact":
+                page.setTotalCount(listingRepository.countExact(criteria));
+                page.setCountMode(countMode);
+                break;
+            default:
+                throw new IllegalArgumentException("count must be none, estimate or exact");
+        }
+    }
+
+    private int parseLimit(Integer limit) {
+        int pageSize = limit == null ? defaultLimit : limit;
+        if (pageSize < 1 || pageSize > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+        return pageSize;
+    }
+
+    private static SortKey parseSort(String sort) {
+        if (sort == null || sort.isEmpty() || sort.equals("date")) {
+            return SortKey.DATE;
+        }
+        if (sort.equals("inspectionNo")) {
+            return SortKey.INSPECTION_NO;
+        }
+        throw new IllegalArgumentException("sort must be date or inspectionNo");
+    }
+
+    static boolean parseDirection(String direction) {
+        if (direction == null || direction.isEmpty() || direction.equalsIgnoreCase("desc")) {
+            return true;
+        }
+        if (direction.equalsIgnoreCase("asc")) {
+            return false;
+        }
+        throw new IllegalArgumentException("direction must be asc or desc");
+    }
+
+    /**
+     * Cursor = base64url("v1|sort|direction|sortValue|inspectionNo")
+     */
+    static String encodeCursor(LocalDateTime date, Long inspectionNo, SortKey sort, boolean descending) {
+        String sortValue = sort == SortKey.DATE ? date.toString() : "";
+        String raw = String.join("|", CURSOR_VERSION, sort.name(), descending ? "desc" : "asc",
+                sortValue, String.valueOf(inspectionNo));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Keyset decodeCursor(String cursor, SortKey sort, boolean descending) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (parts.length != 5 || !CURSOR_VERSION.equals(parts[0])) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        // A cursor only makes sense for the ordering it was produced by
+        if (!sort.name().equals(parts[1]) || !(descending ? "desc" : "asc").equals(parts[2])) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        try {
+            Object sortValue = sort == SortKey.DATE ? LocalDateTime.parse(parts[3]) : null;
+            return new Keyset(sortValue, Long.parseLong(parts[4]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -2,16 +2,22 @@ package com.example.transformerthermalinspector.service;
 
 import com.example.transformerthermalinspector.dao.InspectionReportForm;
 import com.example.transformerthermalinspector.dto.InspectionReportFormDTO;
+import com.example.transformerthermalinspector.event.ReportFinalizedEvent;
+import com.example.transformerthermalinspector.mapper.InspectionReportFormMapper;
+import com.example.transformerthermalinspector.repository.InspectionReportFormPatchRepository;
+import com.example.transformerthermalinspector.repository.InspectionReportFormPatchRepository.PatchResult;
 import com.example.transformerthermalinspector.repository.InspectionReportFormRepository;
 import com.example.transformerthermalinspector.repository.InspectionRepository;
-import org.modelmapper.ModelMapper;
+import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -23,14 +29,25 @@ public class InspectionReportFormService {
 
     private static final Logger logger = LoggerFactory.getLogger(InspectionReportFormService.class);
 
+    private static final int MAX_FIELD_LENGTH = 255;
+
     @Autowired
     private InspectionReportFormRepository reportFormRepository;
 
+    @Autowired
+    private InspectionReportFormPatchRepository reportFormPatchRepository;
+
     @Autowired
     private InspectionRepository inspectionRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private InspectionReportFormMapper reportFormMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EntityManager entityManager;
 
     /**
      * Auto-save inspection report form data (upsert).
@@ -53,8 +70,14 @@ public class InspectionReportFormService {
         if (existingForm.isPresent()) {
             // Update existing
             reportForm = existingForm.get();
+            InspectionReportFormDTO before = convertToDTO(reportForm);
             updateFormFields(reportForm, dto);
             logger.info("Updating existing report form for inspection: {}", inspectionNo);
+
+            // Edits to a finalized form make its PDF record stale
+            if (Boolean.TRUE.equals(reportForm.getIsFinalized()) && !before.equals(convertToDTO(reportForm))) {
+                eventPublisher.publishEvent(new ReportFinalizedEvent(inspectionNo));
+            }
         } else {
             // Create new
             reportForm = new InspectionReportForm();
@@ -67,9 +90,95 @@ public class InspectionReportFormService {
         return convertToDTO(savedForm);
     }
 
+    /**
+     * Update only the given fields of an existing form (optimistic version check).
+     * Returns empty if the inspection has no form yet; a result that was not applied
+     * carries the current version the client has to reload.
+     */
+    @Transactional
+    public Optional<PatchResult> patch(Long inspectionNo, Long version, Map<String, String> fields) {
+        validatePatch(version, fields);
+
+        logger.info("Patching {} fields of report form for inspection: {}", fields.size(), inspectionNo);
+        Optional<PatchResult> result = reportFormPatchRepository.patch(inspectionNo, version, fields);
+
+        // Edits to a finalized form make its PDF record stale
+        if (result.isPresent() && result.get().isApplied() && result.get().isFinalized()) {
+            eventPublisher.publishEvent(new ReportFinalizedEvent(inspectionNo));
+        }
+        return result;
+    }
+
+    /**
+     * Check a field-level update before it is applied or buffered.
+     * @throws IllegalArgumentException If the version is missing or a field is unknown or too long
+     */
+    public void validatePatch(Long version, Map<String, String> fields) {
+        if (version == null) {
+            throw new IllegalArgumentException("version is required");
+        }
+        if (fields == null || fields.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one field");
+        }
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            if (!InspectionReportFormPatchRepository.COLUMNS.containsKey(field.getKey())) {
+                throw new IllegalArgumentException("Unknown report form field: " + field.getKey());
+            }
+            if (field.getValue() != null && field.getValue().length() > MAX_FIELD_LENGTH
+                    && !InspectionReportFormPatchRepository.TEXT_FIELDS.contains(field.getKey())) {
+                throw new IllegalArgumentException(field.getKey() + " exceeds " + MAX_FIELD_LENGTH + " characters");
+            }
+        }
+    }
+
+    /**
+     * Get the stored version of a form (as a result that was not applied), without loading the form.
+     * Returns empty if the inspection has no form yet.
+     */
+    @Transactional(readOnly = true)
+    public Optional<PatchResult> getSaveState(Long inspectionNo) {
+        return reportFormPatchRepository.findState(inspectionNo);
+    }
+
+    /**
+     * Write edits coalesced by ReportFormAutoSaveBuffer and give the form the version the buffer handed out.
+     * A whole form is saved like an auto-save (last writer wins); field patches on their own are written only
+     * if the form is still at the version they were made against.
+     * @param inspectionNo Inspection the form belongs to
+     * @param form Latest whole-form save, or null if only fields were patched
+     * @param fields Fields patched after it (may be empty)
+     * @param baseVersion Stored version the patches were made against
+     * @param version Version of the form afterwards
+     * @return false if the form was saved elsewhere meanwhile and the patches were not written
+     */
+    @Transactional
+    public boolean writeBuffered(Long inspectionNo, InspectionReportFormDTO form, Map<String, String> fields,
+                                 Long baseVersion, long version) {
+        Long expectedVersion = baseVersion;
+        if (form != null) {
+            autoSave(inspectionNo, form);
+            // The update below goes through JDBC: write the entity first, then drop it so later reads
+            // in the same session (open in view) load the row as updated
+            reportFormRepository.flush();
+            reportFormRepository.findByInspectionNo(inspectionNo).ifPresent(entityManager::detach);
+            expectedVersion = null;
+        }
+
+        Optional<PatchResult> result = reportFormPatchRepository.write(inspectionNo, expectedVersion, version, fields);
+        if (result.isEmpty()) {
+            return false;
+        }
+        // Edits to a finalized form make its PDF record stale (autoSave has announced its own)
+        if (form == null && result.get().isFinalized()) {
+            eventPublisher.publishEvent(new ReportFinalizedEvent(inspectionNo));
+        }
+        return true;
+    }
+
     /**
      * Get inspection report form by inspection number.
      */
+    @Transactional(readOnly = true)
     public Optional<InspectionReportFormDTO> getByInspectionNo(Long inspectionNo) {
         logger.info("Fetching inspection report form for inspection: {}", inspectionNo);
         
@@ -97,12 +206,16 @@ public class InspectionReportFormService {
         InspectionReportForm finalizedForm = reportFormRepository.save(reportForm);
         logger.info("Report form finalized for inspection: {}", inspectionNo);
 
+        // The PDF record is rendered in the background once this transaction commits
+        eventPublisher.publishEvent(new ReportFinalizedEvent(inspectionNo));
+
         return convertToDTO(finalizedForm);
     }
 
     /**
      * Check if inspection report form is finalized.
      */
+    @Transactional(readOnly = true)
     public boolean isFormFinalized(Long inspectionNo) {
         logger.info("Checking if inspection report form is finalized for inspection: {}", inspectionNo);
         
@@ -176,6 +289,6 @@ public class InspectionReportFormService {
      * Convert entity to DTO.
      */
     private InspectionReportFormDTO convertToDTO(InspectionReportForm form) {
-        return modelMapper.map(form, InspectionReportFormDTO.class);
+        return reportFormMapper.toDto(form);
     }
 }
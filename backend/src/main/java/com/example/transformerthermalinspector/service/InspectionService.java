@@ -2,11 +2,20 @@ package com.example.transformerthermalinspector.service;
 
 import com.example.transformerthermalinspector.dao.Inspection;
 import com.example.transformerthermalinspector.dto.InspectionDTO;
+import com.example.transformerthermalinspector.dto.InspectionSummary;
+import com.example.transformerthermalinspector.mapper.InspectionMapper;
 import com.example.transformerthermalinspector.repository.InspectionRepository;
 import com.example.transformerthermalinspector.dto.AnnotationUpdateRequest;
+import com.example.transformerthermalinspector.event.InspectionChangedEvent;
+import com.example.transformerthermalinspector.event.InspectionChangedEvent.ChangeType;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -14,7 +23,10 @@ import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for Inspection-related business logic.
@@ -24,30 +36,78 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor // Generates constructor for final fields (dependency injection)
 public class InspectionService {
 
+    private static final Logger logger = LoggerFactory.getLogger(InspectionService.class);
+
     private final InspectionRepository inspectionRepository;
-    private final ModelMapper modelMapper; // For Entity ↔ DTO conversion
+    private final InspectionMapper inspectionMapper; // For Entity ↔ DTO conversion
     private final ImageStorageService imageStorageService;
     private final YoloAiService yoloAiService;
+    private final ImageRenditionService imageRenditionService;
+    private final ImageCleanupService imageCleanupService;
+    private final EffectiveBoxService effectiveBoxService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    @Qualifier("imageProcessingExecutor")
+    private final Executor imageProcessingExecutor; // Runs AI analysis off the request thread
 
     /**
      * Retrieve all inspections from database
      * @return List of InspectionDTOs
      */
+    @Transactional(readOnly = true)
     public List<InspectionDTO> getAllInspections() {
         return inspectionRepository.findAll()
                 .stream()
-                .map(inspection -> modelMapper.map(inspection, InspectionDTO.class))
+                .map(inspectionMapper::toDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Pass inspections to a consumer one at a time, read through a database cursor.
+     * Each row is detached once converted, so memory use does not grow with the table.
+     * @param transformerNo Only this transformer's inspections, or null for all
+     * @param consumer Receives each InspectionDTO in inspection number order
+     */
+    @Transactional(readOnly = true)
+    public void streamInspections(String transformerNo, Consumer<InspectionDTO> consumer) {
+        try (Stream<Inspection> inspections = transformerNo == null
+                ? inspectionRepository.streamAll()
+                : inspectionRepository.streamByTransformerNo(transformerNo)) {
+            inspections.forEach(inspection -> {
+                consumer.accept(inspectionMapper.toDto(inspection));
+                entityManager.detach(inspection);
+            });
+        }
+    }
+
+    /**
+     * Get summary columns of all inspections, newest first
+     * @return List of summaries without bounding box data
+     */
+    @Transactional(readOnly = true)
+    public List<InspectionSummary> getInspectionSummaries() {
+        return inspectionRepository.findAllProjectedByOrderByDateOfInspectionAndTimeDesc();
+    }
+
+    /**
+     * Get summary columns of a transformer's inspections, newest first
+     * @param transformerNo The transformer number
+     * @return List of summaries without bounding box data
+     */
+    @Transactional(readOnly = true)
+    public List<InspectionSummary> getInspectionSummariesByTransformerNo(String transformerNo) {
+        return inspectionRepository.findSummariesByTransformerNoOrderByDateOfInspectionAndTimeDesc(transformerNo);
+    }
+
     /**
      * Find inspection by inspection number (primary key)
      * @param inspectionNo The inspection number to search for
      * @return Optional InspectionDTO if found
      */
+    @Transactional(readOnly = true)
     public Optional<InspectionDTO> getInspectionById(Long inspectionNo) {
         return inspectionRepository.findById(inspectionNo)
-                .map(inspection -> modelMapper.map(inspection, InspectionDTO.class));
+                .map(inspectionMapper::toDto);
     }
 
     /**
@@ -55,10 +115,11 @@ public class InspectionService {
      * @param transformerNo The transformer number to filter by
      * @return List of inspections for the transformer
      */
+    @Transactional(readOnly = true)
     public List<InspectionDTO> getInspectionsByTransformerNo(String transformerNo) {
         return inspectionRepository.findByTransformerNo(transformerNo)
                 .stream()
-                .map(inspection -> modelMapper.map(inspection, InspectionDTO.class))
+                .map(inspectionMapper::toDto)
                 .collect(Collectors.toList());
     }
 
@@ -66,11 +127,14 @@ public class InspectionService {
      * Save a new inspection to the database
      * @param inspectionDTO The inspection data to save
      * @return Saved InspectionDTO with any generated fields
+     * @throws IllegalArgumentException If a bounding box field is not valid JSON
      */
     public InspectionDTO saveInspection(InspectionDTO inspectionDTO) {
-        Inspection inspection = modelMapper.map(inspectionDTO, Inspection.class);
+        validateBoxJson(inspectionDTO);
+        Inspection inspection = inspectionMapper.toEntity(inspectionDTO);
         Inspection savedInspection = inspectionRepository.save(inspection);
-        return modelMapper.map(savedInspection, InspectionDTO.class);
+        publishChange(savedInspection, ChangeType.CREATED);
+        return inspectionMapper.toDto(savedInspection);
     }
 
     /**
@@ -78,17 +142,43 @@ public class InspectionService {
      * @param inspectionNo The inspection number to update
      * @param inspectionDTO The updated inspection data
      * @return Updated InspectionDTO if found, empty Optional otherwise
+     * @throws IllegalArgumentException If a bounding box field is not valid JSON
      */
     public Optional<InspectionDTO> updateInspection(Long inspectionNo, InspectionDTO inspectionDTO) {
+        validateBoxJson(inspectionDTO);
         return inspectionRepository.findById(inspectionNo)
                 .map(existingInspection -> {
-                    modelMapper.map(inspectionDTO, existingInspection);
+                    inspectionMapper.updateEntity(inspectionDTO, existingInspection);
                     existingInspection.setInspectionNo(inspectionNo); // Ensure ID remains unchanged
                     Inspection savedInspection = inspectionRepository.save(existingInspection);
-                    return modelMapper.map(savedInspection, InspectionDTO.class);
+                    publishChange(savedInspection, ChangeType.UPDATED);
+                    return inspectionMapper.toDto(savedInspection);
                 });
     }
 
+    /**
+     * Reject bounding box fields that are not JSON; box resolution and the fleet summary query parse them.
+     * Blank values mean no boxes.
+     */
+    private static void validateBoxJson(InspectionDTO inspectionDTO) {
+        com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
+        String[][] fields = {
+            {"aiBoundingBoxes", inspectionDTO.getAiBoundingBoxes()},
+            {"editedOrManuallyAddedBoxes", inspectionDTO.getEditedOrManuallyAddedBoxes()},
+            {"deletedBoundingBoxes", inspectionDTO.getDeletedBoundingBoxes()}
+        };
+        for (String[] field : fields) {
+            if (field[1] == null || field[1].trim().isEmpty()) {
+                continue;
+            }
+            try {
+                mapper.readTree(field[1]);
+            } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+                throw new IllegalArgumentException(field[0] + " is not valid JSON");
+            }
+        }
+    }
+
     /**
      * Delete an inspection by inspection number
      * @param inspectionNo The inspection number to delete
@@ -97,24 +187,14 @@ public class InspectionService {
     public boolean deleteInspection(Long inspectionNo) {
         if (inspectionRepository.existsById(inspectionNo)) {
             // Get the inspection to check for image
-            Optional<Inspection> inspectionOpt = inspectionRepository.findById(inspectionNo);
-            if (inspectionOpt.isPresent()) {
-                Inspection inspection = inspectionOpt.get();
-                // Delete maintenance image if exists
-                if (inspection.getMaintenanceImagePath() != null && !inspection.getMaintenanceImagePath().trim().isEmpty()) {
-                    try {
-                        System.out.println("InspectionService - Deleting maintenance image: " + inspection.getMaintenanceImagePath());
-                        imageStorageService.deleteImage(inspection.getMaintenanceImagePath(), false);
-                        System.out.println("InspectionService - Maintenance image deleted successfully");
-                    } catch (IOException e) {
-                        System.err.println("Failed to delete maintenance image: " + inspection.getMaintenanceImagePath());
-                        e.printStackTrace();
-                        // Continue with inspection deletion even if image deletion fails
-                    }
-                }
-            }
+            Optional<Inspection> inspection = inspectionRepository.findById(inspectionNo);
+            String maintenanceImagePath = inspection.map(Inspection::getMaintenanceImagePath).orElse(null);
             
             inspectionRepository.deleteById(inspectionNo);
+            inspection.ifPresent(deleted -> publishChange(deleted, ChangeType.DELETED));
+            
+            // Remove the maintenance image in the background once the row is gone
+            imageCleanupService.enqueueDeletion(maintenanceImagePath, false);
             return true;
         }
         return false;
@@ -131,9 +211,8 @@ public class InspectionService {
                     try {
                         // Delete image file if exists
                         if (inspection.getMaintenanceImagePath() != null && !inspection.getMaintenanceImagePath().trim().isEmpty()) {
-                            System.out.println("InspectionService - Deleting maintenance image: " + inspection.getMaintenanceImagePath());
                             imageStorageService.deleteImage(inspection.getMaintenanceImagePath(), false); // false = maintenance
-                            System.out.println("InspectionService - Maintenance image deleted successfully");
+                            logger.info("Deleted maintenance image {} of inspection {}", inspection.getMaintenanceImagePath(), inspectionNo);
                         }
                         
                         // Clear image-related fields from inspection
@@ -152,11 +231,11 @@ public class InspectionService {
 
                         // Save updated inspection
                         Inspection savedInspection = inspectionRepository.save(inspection);
-                        return modelMapper.map(savedInspection, InspectionDTO.class);
+                        publishChange(savedInspection, ChangeType.IMAGE_DELETED);
+                        return inspectionMapper.toDto(savedInspection);
                         
                     } catch (IOException e) {
-                        System.err.println("Failed to delete maintenance image: " + inspection.getMaintenanceImagePath());
-                        e.printStackTrace();
+                        logger.error("Failed to delete maintenance image {} of inspection {}", inspection.getMaintenanceImagePath(), inspectionNo, e);
                         throw new RuntimeException("Failed to delete maintenance image", e);
                     }
                 });
@@ -187,25 +266,21 @@ public class InspectionService {
                     try {
                         // Delete old image if exists
                         if (inspection.getMaintenanceImagePath() != null && !inspection.getMaintenanceImagePath().trim().isEmpty()) {
-                            System.out.println("InspectionService - Deleting old maintenance image: " + inspection.getMaintenanceImagePath());
+                            logger.debug("Deleting old maintenance image {} of inspection {}", inspection.getMaintenanceImagePath(), inspectionNo);
                             imageStorageService.deleteImage(inspection.getMaintenanceImagePath(), false);
                         }
                         
                         // Store new image
-                        String filename = imageStorageService.storeMaintenanceImage(file, inspectionNo);
+                        String filename = imageStorageService.storeMaintenanceImage(file, inspectionNo).getFilename();
                         inspection.setMaintenanceImagePath(filename);
+                        imageRenditionService.generateRenditionsAsync(filename, false);
                         
                         // Update image upload timestamp
                         inspection.setMaintenanceImageUploadDateAndTime(LocalDateTime.now());
                         
                         // Update weather conditions if provided
-                        System.out.println("InspectionService - Weather parameter received: '" + weather + "'");
                         if (weather != null && !weather.trim().isEmpty()) {
-                            String weatherTrimmed = weather.trim();
-                            System.out.println("InspectionService - Setting weather to: '" + weatherTrimmed + "'");
-                            inspection.setWeather(weatherTrimmed);
-                        } else {
-                            System.out.println("InspectionService - Weather parameter is null or empty, not setting weather");
+                            inspection.setWeather(weather.trim());
                         }
                         
                         // Set AI analysis status to pending (using state column)
@@ -214,19 +289,16 @@ public class InspectionService {
                         
                         // Save inspection first to persist the image
                         Inspection savedInspection = inspectionRepository.save(inspection);
-                        System.out.println("InspectionService - Maintenance image uploaded successfully: " + filename);
-                        System.out.println("InspectionService - Weather saved to DB: '" + savedInspection.getWeather() + "'");
+                        publishChange(savedInspection, ChangeType.IMAGE_UPLOADED);
+                        logger.info("Uploaded maintenance image {} for inspection {} (weather: {})", filename, inspectionNo, savedInspection.getWeather());
                         
-                        // Trigger AI analysis asynchronously (in a separate thread to not block the response)
-                        // Copy bytes and filename here to avoid using MultipartFile after the request returns
-                        byte[] imageBytes = file.getBytes();
-                        String originalFilename = file.getOriginalFilename();
-                        analyzeImageAsync(savedInspection.getInspectionNo(), imageBytes, originalFilename, confidence);
+                        // Trigger AI analysis asynchronously (on the image executor to not block the response)
+                        // Analyze the stored copy so the MultipartFile is not used after the request returns
+                        analyzeImageAsync(savedInspection.getInspectionNo(), imageStorageService.getImagePath(filename, false), confidence);
                         
-                        return modelMapper.map(savedInspection, InspectionDTO.class);
+                        return inspectionMapper.toDto(savedInspection);
                     } catch (IOException e) {
-                        System.err.println("Failed to upload maintenance image for inspection: " + inspectionNo);
-                        e.printStackTrace();
+                        logger.error("Failed to upload maintenance image for inspection {}", inspectionNo, e);
                         throw new RuntimeException("Failed to upload maintenance image", e);
                     }
                 });
@@ -252,18 +324,20 @@ public class InspectionService {
                         
                         // Save inspection first to persist the pending status
                         Inspection savedInspection = inspectionRepository.save(inspection);
+                        publishChange(savedInspection, ChangeType.ANALYSIS_STARTED);
                         
                         // Get image file from storage
-                        Path imagePath = imageStorageService.getImagePath(inspection.getMaintenanceImagePath(), false);
-                        byte[] imageBytes = java.nio.file.Files.readAllBytes(imagePath);
+                        Path imagePath = imageStorageService.getLocalImagePath(inspection.getMaintenanceImagePath(), false);
+                        if (!java.nio.file.Files.isReadable(imagePath)) {
+                            throw new IOException("Maintenance image file not found: " + imagePath);
+                        }
                         
                         // Trigger AI analysis asynchronously with new confidence
-                        analyzeImageAsync(savedInspection.getInspectionNo(), imageBytes, inspection.getMaintenanceImagePath(), confidence);
+                        analyzeImageAsync(savedInspection.getInspectionNo(), imagePath, confidence);
                         
-                        return modelMapper.map(savedInspection, InspectionDTO.class);
+                        return inspectionMapper.toDto(savedInspection);
                     } catch (Exception e) {
-                        System.err.println("Failed to re-analyze image for inspection: " + inspectionNo);
-                        e.printStackTrace();
+                        logger.error("Failed to re-analyze image for inspection {}", inspectionNo, e);
                         throw new RuntimeException("Failed to re-analyze image", e);
                     }
                 });
@@ -272,38 +346,38 @@ public class InspectionService {
     /**
      * Analyze image asynchronously using YOLO AI service with custom confidence
      * @param inspectionNo The inspection number
-     * @param imageBytes The image bytes to analyze
-     * @param originalFilename The original filename
+     * @param imagePath The stored image file to analyze
      * @param confidence The confidence threshold for AI analysis
      */
-    private void analyzeImageAsync(Long inspectionNo, byte[] imageBytes, String originalFilename, Double confidence) {
-        // Run analysis in a separate thread to not block the upload response
-        new Thread(() -> {
+    private void analyzeImageAsync(Long inspectionNo, Path imagePath, Double confidence) {
+        // Run analysis on the image executor to not block the upload response
+        imageProcessingExecutor.execute(() -> {
             try {
-                System.out.println("InspectionService - Starting AI analysis for inspection: " + inspectionNo + " with confidence: " + confidence);
+                logger.info("Starting AI analysis for inspection {} with confidence {}", inspectionNo, confidence);
                 
                 // Call YOLO API for analysis with custom confidence
-                String boundingBoxes = yoloAiService.analyzeImage(imageBytes, originalFilename, confidence);
+                String boundingBoxes = yoloAiService.analyzeImage(imagePath, confidence);
                 
                 // Update inspection with analysis results
                 inspectionRepository.findById(inspectionNo).ifPresent(inspection -> {
                     inspection.setAiBoundingBoxes(boundingBoxes);
                     inspection.setState("AI Analysis Completed");
                     inspectionRepository.save(inspection);
-                    System.out.println("InspectionService - AI analysis completed for inspection: " + inspectionNo);
+                    publishChange(inspection, ChangeType.ANALYSIS_COMPLETED);
+                    logger.info("AI analysis completed for inspection {}", inspectionNo);
                 });
                 
             } catch (Exception e) {
-                System.err.println("InspectionService - AI analysis failed for inspection: " + inspectionNo);
-                e.printStackTrace();
+                logger.error("AI analysis failed for inspection {}", inspectionNo, e);
                 
                 // Update inspection with failure status
                 inspectionRepository.findById(inspectionNo).ifPresent(inspection -> {
                     inspection.setState("AI Analysis Failed");
                     inspectionRepository.save(inspection);
+                    publishChange(inspection, ChangeType.ANALYSIS_FAILED);
                 });
             }
-        }).start();
+        });
     }
 
     /**
@@ -566,13 +640,14 @@ public class InspectionService {
                         inspection.setDeletedBoundingBoxes(mapper.writeValueAsString(mergedDeleted));
                         
                         Inspection saved = inspectionRepository.save(inspection);
+                        publishChange(saved, ChangeType.ANNOTATIONS_CHANGED);
                         try {
                             System.out.println("InspectionService.saveAnnotations - persisted edited length="
                                 + (saved.getEditedOrManuallyAddedBoxes() != null ? saved.getEditedOrManuallyAddedBoxes().length() : 0)
                                 + " deleted length="
                                 + (saved.getDeletedBoundingBoxes() != null ? saved.getDeletedBoundingBoxes().length() : 0));
                         } catch (Exception ignore) {}
-                        return modelMapper.map(saved, InspectionDTO.class);
+                        return inspectionMapper.toDto(saved);
                     } catch (Exception e) {
                         System.err.println("Failed to process annotations: " + e.getMessage());
                         e.printStackTrace();
@@ -585,50 +660,22 @@ public class InspectionService {
      * Helper method to check if two bounding boxes match within tolerance
      */
     private boolean boxesMatch(java.util.List<Double> box1, java.util.List<Double> box2, double tolerance) {
-        if (box1 == null || box2 == null || box1.size() != 4 || box2.size() != 4) {
-            return false;
-        }
-        double b1_0 = ((Number)box1.get(0)).doubleValue();
-        double b1_1 = ((Number)box1.get(1)).doubleValue();
-        double b1_2 = ((Number)box1.get(2)).doubleValue();
-        double b1_3 = ((Number)box1.get(3)).doubleValue();
-        double b2_0 = ((Number)box2.get(0)).doubleValue();
-        double b2_1 = ((Number)box2.get(1)).doubleValue();
-        double b2_2 = ((Number)box2.get(2)).doubleValue();
-        double b2_3 = ((Number)box2.get(3)).doubleValue();
-        return Math.abs(b1_0 - b2_0) < tolerance &&
-               Math.abs(b1_1 - b2_1) < tolerance &&
-               Math.abs(b1_2 - b2_2) < tolerance &&
-               Math.abs(b1_3 - b2_3) < tolerance;
+        return EffectiveBoxService.boxesMatch(box1, box2, tolerance);
     }
     
     /**
      * Helper to safely convert heterogeneous list representations to a List<Double>
      */
     private java.util.List<Double> toDoubleList(Object value) {
-        if (value == null) {
-            return null;
-        }
-        if (value instanceof java.util.List<?>) {
-            java.util.List<?> raw = (java.util.List<?>) value;
-            java.util.List<Double> result = new java.util.ArrayList<>(raw.size());
-            for (Object item : raw) {
-                if (item == null) {
-                    return null;
-                }
-                if (item instanceof Number) {
-                    result.add(((Number) item).doubleValue());
-                } else {
-                    try {
-                        result.add(Double.parseDouble(item.toString()));
-                    } catch (NumberFormatException ex) {
-                        return null;
-                    }
-                }
-            }
-            return result;
-        }
-        return null;
+        return EffectiveBoxService.toDoubleList(value);
+    }
+    
+    /**
+     * Notify listeners (overlay cache, aggregates) that an inspection changed
+     */
+    private void publishChange(Inspection inspection, ChangeType changeType) {
+        eventPublisher.publishEvent(new InspectionChangedEvent(
+                inspection.getInspectionNo(), inspection.getTransformerNo(), changeType));
     }
     
     /**
@@ -636,110 +683,10 @@ public class InspectionService {
      * @param inspectionNo the inspection identifier
      * @return JSON string with merged predictions
      */
+    @Transactional(readOnly = true)
     public Optional<String> getEffectiveBoxes(Long inspectionNo) {
         return inspectionRepository.findById(inspectionNo)
-                .map(inspection -> {
-                    try {
-                        com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-                        java.util.List<java.util.Map<String, Object>> effectiveBoxes = new java.util.ArrayList<>();
-
-                        // Build helper lists: deleted boxes and edited originals (to suppress AI duplicates)
-                        java.util.List<java.util.List<Double>> deletedBoxes = new java.util.ArrayList<>();
-                        if (inspection.getDeletedBoundingBoxes() != null && !inspection.getDeletedBoundingBoxes().trim().isEmpty()) {
-                            java.util.List<java.util.Map<String, Object>> deletedList = mapper.readValue(
-                                inspection.getDeletedBoundingBoxes(),
-                                new com.fasterxml.jackson.core.type.TypeReference<java.util.List<java.util.Map<String, Object>>>() {}
-                            );
-                            for (java.util.Map<String, Object> del : deletedList) {
-                                java.util.List<Double> coords = toDoubleList(del.get("box"));
-                                if (coords != null) deletedBoxes.add(coords);
-                            }
-                        }
-
-                        java.util.List<java.util.List<Double>> editedOriginals = new java.util.ArrayList<>();
-                        java.util.List<java.util.Map<String, Object>> editedListFull = new java.util.ArrayList<>();
-                        if (inspection.getEditedOrManuallyAddedBoxes() != null && !inspection.getEditedOrManuallyAddedBoxes().trim().isEmpty()) {
-                            editedListFull = mapper.readValue(
-                                inspection.getEditedOrManuallyAddedBoxes(),
-                                new com.fasterxml.jackson.core.type.TypeReference<java.util.List<java.util.Map<String, Object>>>() {}
-                            );
-                            for (java.util.Map<String, Object> ed : editedListFull) {
-                                java.util.List<Double> ob = toDoubleList(ed.get("originalBox"));
-                                if (ob != null) editedOriginals.add(ob);
-                            }
-                        }
-                        
-                        // Add AI bounding boxes
-                        if (inspection.getAiBoundingBoxes() != null && !inspection.getAiBoundingBoxes().trim().isEmpty()) {
-                            java.util.Map<String, Object> aiData = mapper.readValue(inspection.getAiBoundingBoxes(), 
-                                new com.fasterxml.jackson.core.type.TypeReference<java.util.Map<String, Object>>() {});
-                            if (aiData.containsKey("predictions")) {
-                                java.util.List<java.util.Map<String, Object>> aiBoxes =
-                                    (java.util.List<java.util.Map<String, Object>>) aiData.get("predictions");
-                                // include simple metadata for AI predictions, but skip those deleted or replaced by edits
-                                for (java.util.Map<String, Object> aiBox : aiBoxes) {
-                                    java.util.List<Double> aiCoords = toDoubleList(aiBox.get("box"));
-                                    boolean suppressed = false;
-                                    if (aiCoords != null) {
-                                        // Skip if explicitly deleted
-                                        for (java.util.List<Double> del : deletedBoxes) {
-                                            if (boxesMatch(aiCoords, del, 2.0)) { suppressed = true; break; }
-                                        }
-                                        // Skip if there is an edited original matching this AI prediction
-                                        if (!suppressed) {
-                                            for (java.util.List<Double> ob : editedOriginals) {
-                                                if (boxesMatch(aiCoords, ob, 2.0)) { suppressed = true; break; }
-                                            }
-                                        }
-                                    }
-                                    if (suppressed) continue;
-
-                                    java.util.Map<String, Object> pred = new java.util.HashMap<>();
-                                    pred.put("box", aiBox.get("box"));
-                                    pred.put("class", aiBox.get("class"));
-                                    pred.put("confidence", aiBox.get("confidence"));
-                                    pred.put("source", "ai");
-                                    pred.put("type", "ai");
-                                    effectiveBoxes.add(pred);
-                                }
-                            }
-                        }
-                        
-                        // Add edited and manually added boxes, excluding those that were deleted
-                        for (java.util.Map<String, Object> item : editedListFull) {
-                            java.util.List<Double> editedCoords = toDoubleList(item.get("box"));
-                            boolean isDeleted = false;
-                            if (editedCoords != null) {
-                                for (java.util.List<Double> del : deletedBoxes) {
-                                    if (boxesMatch(editedCoords, del, 2.0)) { isDeleted = true; break; }
-                                }
-                            }
-                            if (isDeleted) continue;
-
-                            // Convert annotation format to prediction format and keep metadata for frontend
-                            java.util.Map<String, Object> pred = new java.util.HashMap<>();
-                            pred.put("box", item.get("box"));
-                            pred.put("class", item.get("class"));
-                            pred.put("confidence", item.get("confidence"));
-                            pred.put("source", "edited");
-                            if (item.containsKey("type")) pred.put("type", item.get("type"));
-                            if (item.containsKey("comment")) pred.put("comment", item.get("comment"));
-                            if (item.containsKey("timestamp")) pred.put("timestamp", item.get("timestamp"));
-                            if (item.containsKey("userId")) pred.put("userId", item.get("userId"));
-                            if (item.containsKey("originalBox")) pred.put("originalBox", item.get("originalBox"));
-                            effectiveBoxes.add(pred);
-                        }
-                        
-                        // Wrap in predictions format
-                        java.util.Map<String, Object> result = new java.util.HashMap<>();
-                        result.put("predictions", effectiveBoxes);
-                        return mapper.writeValueAsString(result);
-                    } catch (Exception e) {
-                        System.err.println("Failed to get effective boxes: " + e.getMessage());
-                        e.printStackTrace();
-                        return "{\"predictions\":[]}";
-                    }
-                });
+                .map(effectiveBoxService::toJson);
     }
     
     /**
@@ -850,7 +797,8 @@ public class InspectionService {
                         inspection.setDeletedBoundingBoxes(mapper.writeValueAsString(remainingDeleted));
                         
                         Inspection saved = inspectionRepository.save(inspection);
-                        return modelMapper.map(saved, InspectionDTO.class);
+                        publishChange(saved, ChangeType.ANNOTATIONS_CHANGED);
+                        return inspectionMapper.toDto(saved);
                     } catch (Exception e) {
                         System.err.println("Failed to recover deleted box: " + e.getMessage());
                         e.printStackTrace();
@@ -863,10 +811,11 @@ public class InspectionService {
      * Get all inspections with edited or deleted bounding box data
      * @return List of InspectionDTOs that have bounding box changes
      */
+    @Transactional(readOnly = true)
     public List<InspectionDTO> getInspectionsWithBoundingBoxChanges() {
         return inspectionRepository.findInspectionsWithBoundingBoxChanges()
                 .stream()
-                .map(inspection -> modelMapper.map(inspection, InspectionDTO.class))
+                .map(inspectionMapper::toDto)
                 .collect(Collectors.toList());
     }
     
@@ -875,10 +824,11 @@ public class InspectionService {
      * @param transformerNo The transformer number to filter by
      * @return List of InspectionDTOs with bounding box changes for the transformer
      */
+    @Transactional(readOnly = true)
     public List<InspectionDTO> getInspectionsWithBoundingBoxChangesByTransformer(String transformerNo) {
         return inspectionRepository.findInspectionsWithBoundingBoxChangesByTransformer(transformerNo)
                 .stream()
-                .map(inspection -> modelMapper.map(inspection, InspectionDTO.class))
+                .map(inspectionMapper::toDto)
                 .collect(Collectors.toList());
     }
     
@@ -887,6 +837,7 @@ public class InspectionService {
      * @param inspectionNo The inspection number
      * @return Map containing edited and deleted bounding box data
      */
+    @Transactional(readOnly = true)
     public Optional<java.util.Map<String, Object>> getBoundingBoxDetails(Long inspectionNo) {
         return inspectionRepository.findById(inspectionNo)
                 .map(inspection -> {
@@ -927,6 +878,7 @@ public class InspectionService {
                 
                 // Save the updated inspection
                 inspectionRepository.save(inspection);
+                publishChange(inspection, ChangeType.ANNOTATIONS_CHANGED);
                 updatedCount++;
             } catch (Exception e) {
                 System.err.println("Failed to cleanup inspection " + inspection.getInspectionNo() + ": " + e.getMessage());
@@ -964,6 +916,7 @@ public class InspectionService {
                 
                 // Save the updated inspection
                 inspectionRepository.save(inspection);
+                publishChange(inspection, ChangeType.ANNOTATIONS_CHANGED);
                 updatedCount++;
             } catch (Exception e) {
                 System.err.println("Failed to cleanup inspection " + inspection.getInspectionNo() + ": " + e.getMessage());
@@ -998,6 +951,7 @@ public class InspectionService {
                         
                         // Save the updated inspection
                         inspectionRepository.save(inspection);
+                        publishChange(inspection, ChangeType.ANNOTATIONS_CHANGED);
                         return 1;
                     } catch (Exception e) {
                         System.err.println("Failed to cleanup inspection " + inspectionNo + ": " + e.getMessage());
@@ -1041,8 +995,9 @@ public class InspectionService {
             java.util.List<java.util.Map<String, Object>> effectiveBoxes = new java.util.ArrayList<>(aiBoxes);
             
             // Remove deleted boxes
+            final java.util.List<java.util.Map<String, Object>> deletedBoxesFinal = deletedBoxes;
             effectiveBoxes.removeIf(aiBox -> 
-                deletedBoxes.stream().anyMatch(delBox -> boxesMatch(aiBox, delBox))
+                deletedBoxesFinal.stream().anyMatch(delBox -> boxesMatch(aiBox, delBox))
             );
             
             // Add edited/manually added boxes
@@ -1090,6 +1045,7 @@ public class InspectionService {
      * Get statistics about bounding box annotations before cleanup
      * @return Map containing counts of inspections with annotations
      */
+    @Transactional(readOnly = true)
     public java.util.Map<String, Object> getBoundingBoxAnnotationStats() {
         List<Inspection> inspectionsWithChanges = inspectionRepository.findInspectionsWithBoundingBoxChanges();
         long totalInspections = inspectionRepository.count();
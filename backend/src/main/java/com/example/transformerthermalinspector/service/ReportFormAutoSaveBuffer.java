@@ -0,0 +1,243 @@
+package com.example.transformerthermalinspector.service;
+
+import com.example.transformerthermalinspector.dto.InspectionReportFormDTO;
+import com.example.transformerthermalinspector.repository.InspectionReportFormPatchRepository.PatchResult;
+import com.example.transformerthermalinspector.repository.InspectionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for report form auto-saves and field patches.
+ * Per inspection it keeps the latest whole-form save and the fields patched since, merged into one map,
+ * and writes them together on the next flush; finalizing, reading or deleting a form first settles them.
+ * The buffer hands out the form's versions itself (one per accepted save) and the flush stores the last one,
+ * so clients keep patching against the versions they were given. Patches to finalized forms are not buffered,
+ * so the PDF record follows them right away.
+ * Buffered edits are flushed on shutdown. Edits buffered on one instance are not visible to others
+ * until flushed, so the flush interval bounds how stale another instance's view can be.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReportFormAutoSaveBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportFormAutoSaveBuffer.class);
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final InspectionReportFormService reportFormService;
+    private final InspectionRepository inspectionRepository;
+
+    private final Map<Long, PendingSave> pending = new ConcurrentHashMap<>();
+    private final Object[] locks = newLocks();
+    private volatile boolean closed;
+
+    /**
+     * Accept an auto-save; it replaces any save and patches of the same form still waiting to be written.
+     * Runs under the form's lock, so it is ordered with finalize, delete and flush of the same form.
+     * Saves of a finalized form are written directly, like patches of one, so its PDF is regenerated.
+     * @param inspectionNo Inspection the form belongs to
+     * @param dto Complete form contents
+     * @return Version of the form once the save is written, to patch against
+     * @throws IllegalArgumentException If the inspection does not exist
+     */
+    public long autoSave(Long inspectionNo, InspectionReportFormDTO dto) {
+        synchronized (lockFor(inspectionNo)) {
+            if (closed) {
+                flush(inspectionNo);
+                return reportFormService.autoSave(inspectionNo, dto).getVersion();
+            }
+            PendingSave save = pending.get(inspectionNo);
+            // Checked when the first buffered edit arrives; finalize and delete drop the buffered edits,
+            // so the next one is checked again
+            if (save == null) {
+                if (!inspectionRepository.existsById(inspectionNo)) {
+                    throw new IllegalArgumentException("Inspection not found: " + inspectionNo);
+                }
+                Optional<PatchResult> stored = reportFormService.getSaveState(inspectionNo);
+                if (stored.isPresent() && stored.get().isFinalized()) {
+                    return reportFormService.autoSave(inspectionNo, dto).getVersion();
+                }
+                // A form created by the flush starts at version 0, like one saved directly
+                save = new PendingSave(stored.map(PatchResult::getVersion).orElse(null));
+            }
+            save.form = dto;
+            save.fields.clear();
+            save.version++;
+            pending.put(inspectionNo, save);
+            return save.version;
+        }
+    }
+
+    /**
+     * Accept a field-level update of an existing form (optimistic version check against the versions
+     * this buffer hands out); it is merged into the form's other buffered edits.
+     * @param inspectionNo Inspection the form belongs to
+     * @param version Version the client last saw
+     * @param fields Field name to new value
+     * @return Outcome as for InspectionReportFormService.patch, or empty if the inspection has no form
+     * @throws IllegalArgumentException If the version is missing or a field is unknown or too long
+     */
+    public Optional<PatchResult> patch(Long inspectionNo, Long version, Map<String, String> fields) {
+        reportFormService.validatePatch(version, fields);
+        synchronized (lockFor(inspectionNo)) {
+            PendingSave save = pending.get(inspectionNo);
+            if (save == null) {
+                if (closed) {
+                    return reportFormService.patch(inspectionNo, version, fields);
+                }
+                Optional<PatchResult> stored = reportFormService.getSaveState(inspectionNo);
+                if (stored.isEmpty() || stored.get().isFinalized() || stored.get().getVersion() != version) {
+                    // No form, a finalized form or a stale version: answered (and applied) by the service
+                    return reportFormService.patch(inspectionNo, version, fields);
+                }
+                save = new PendingSave(stored.get().getVersion());
+            } else if (closed) {
+                flush(inspectionNo);
+                return reportFormService.patch(inspectionNo, version, fields);
+            }
+
+            if (save.version != version) {
+                return Optional.of(new PatchResult(false, save.version, false, save.updatedAt));
+            }
+            save.fields.putAll(fields);
+            save.version++;
+            save.updatedAt = LocalDateTime.now();
+            pending.put(inspectionNo, save);
+            return Optional.of(new PatchResult(true, save.version, false, save.updatedAt));
+        }
+    }
+
+    /**
+     * Finalize a form; its finalize payload supersedes any buffered edits
+     */
+    public InspectionReportFormDTO finalizeReport(Long inspectionNo, InspectionReportFormDTO dto) {
+        synchronized (lockFor(inspectionNo)) {
+            pending.remove(inspectionNo);
+            return reportFormService.finalizeReport(inspectionNo, dto);
+        }
+    }
+
+    /**
+     * Read a form including its buffered edits
+     */
+    public Optional<InspectionReportFormDTO> getByInspectionNo(Long inspectionNo) {
+        flush(inspectionNo);
+        return reportFormService.getByInspectionNo(inspectionNo);
+    }
+
+    /**
+     * Delete a form and drop its buffered edits, which would otherwise recreate it
+     */
+    public void deleteByInspectionNo(Long inspectionNo) {
+        synchronized (lockFor(inspectionNo)) {
+            pending.remove(inspectionNo);
+            reportFormService.deleteByInspectionNo(inspectionNo);
+        }
+    }
+
+    /**
+     * Write every form's buffered edits
+     */
+    @Scheduled(fixedDelayString = "${app.reports.autosave.flush-interval-ms:5000}")
+    public void flushAll() {
+        for (Long inspectionNo : new ArrayList<>(pending.keySet())) {
+            flush(inspectionNo);
+        }
+    }
+
+    /**
+     * Write one form's buffered edits, if any.
+     * Database errors keep them buffered for the next flush; patches made against a version that another
+     * instance has since replaced are dropped, and the client's next patch gets the conflict.
+     */
+    public void flush(Long inspectionNo) {
+        synchronized (lockFor(inspectionNo)) {
+            PendingSave save = pending.remove(inspectionNo);
+            if (save == null) {
+                return;
+            }
+            try {
+                if (!reportFormService.writeBuffered(inspectionNo, save.form, save.fields, save.baseVersion, save.version)) {
+                    logger.warn("Dropped buffered patches of report form {}: saved elsewhere since version {}",
+                            inspectionNo, save.baseVersion);
+                }
+            } catch (DataAccessException e) {
+                pending.putIfAbsent(inspectionNo, save);
+                logger.warn("Buffered auto-save of report form {} failed, retrying on next flush: {}",
+                        inspectionNo, e.getMessage());
+            } catch (RuntimeException e) {
+                // E.g. the inspection was deleted since the save was accepted
+                logger.warn("Dropped buffered auto-save of report form {}: {}", inspectionNo, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Number of forms with edits waiting to be written
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Write everything still buffered before the application stops; later saves are written directly
+     */
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        // Wait for saves that checked closed before it was set; they are in pending once their lock is free
+        for (Object lock : locks) {
+            synchronized (lock) {
+                // barrier only
+            }
+        }
+        int buffered = pending.size();
+        flushAll();
+        if (!pending.isEmpty()) {
+            logger.error("{} buffered report form auto-saves could not be written on shutdown: {}",
+                    pending.size(), pending.keySet());
+        } else if (buffered > 0) {
+            logger.info("Flushed {} buffered report form auto-saves on shutdown", buffered);
+        }
+    }
+
+    /**
+     * Edits of one form waiting to be written; only touched under the form's lock
+     */
+    private static final class PendingSave {
+        private final Long baseVersion; // Stored version the edits apply to, null if the form does not exist yet
+        private long version; // Version handed out for the latest edit
+        private InspectionReportFormDTO form; // Latest whole-form save, null if only fields were patched
+        private final Map<String, String> fields = new LinkedHashMap<>(); // Fields patched after it
+        private LocalDateTime updatedAt = LocalDateTime.now();
+
+        private PendingSave(Long baseVersion) {
+            this.baseVersion = baseVersion;
+            this.version = baseVersion != null ? baseVersion : -1;
+        }
+    }
+
+    private Object lockFor(Long inspectionNo) {
+        return locks[Math.floorMod(inspectionNo.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static Object[] newLocks() {
+        Object[] locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+}
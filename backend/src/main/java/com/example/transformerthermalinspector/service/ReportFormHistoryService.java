@@ -0,0 +1,57 @@
+package com.example.transformerthermalinspector.service;
+
+import com.example.transformerthermalinspector.dto.CursorPage;
+import com.example.transformerthermalinspector.dto.ReportFormHistoryCriteria;
+import com.example.transformerthermalinspector.dto.ReportFormHistoryEntry;
+import com.example.transformerthermalinspector.repository.InspectionListingRepository.Keyset;
+import com.example.transformerthermalinspector.repository.InspectionListingRepository.SortKey;
+import com.example.transformerthermalinspector.repository.ReportFormHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Service for the maintenance record history: report forms searched across inspections,
+ * paginated by inspection date with the same opaque cursors as the inspection listing.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ReportFormHistoryService {
+
+    private final ReportFormHistoryRepository historyRepository;
+
+    @Value("${app.inspections.page.default-limit:50}")
+    private int defaultLimit;
+
+    @Value("${app.inspections.page.max-limit:200}")
+    private int maxLimit;
+
+    /**
+     * Search one page of maintenance records
+     * @param criteria Filters
+     * @param direction "desc" (default, newest first) or "asc"
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param limit Page size, or null for the default
+     * @return The page
+     * @throws IllegalArgumentException If a parameter or the cursor is invalid
+     */
+    public CursorPage<ReportFormHistoryEntry> search(ReportFormHistoryCriteria criteria, String direction,
+                                                     String cursor, Integer limit) {
+        boolean descending = InspectionListingService.parseDirection(direction);
+        int pageSize = limit == null ? defaultLimit : limit;
+        if (pageSize < 1 || pageSize > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+        Keyset after = cursor == null || cursor.isEmpty()
+                ? null : InspectionListingService.decodeCursor(cursor, SortKey.DATE, descending);
+
+        // One extra row tells whether another page follows without counting
+        List<ReportFormHistoryEntry> rows = historyRepository.findPage(criteria, descending, after, pageSize + 1);
+        return InspectionListingService.toPage(rows, pageSize, SortKey.DATE, descending,
+                ReportFormHistoryEntry::getDateOfInspectionAndTime, ReportFormHistoryEntry::getInspectionNo);
+    }
+}
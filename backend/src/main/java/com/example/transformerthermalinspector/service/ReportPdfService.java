@@ -0,0 +1,466 @@
+package com.example.transformerthermalinspector.service;
+
+import com.example.transformerthermalinspector.dao.Inspection;
+import com.example.transformerthermalinspector.dao.InspectionReportForm;
+import com.example.transformerthermalinspector.dao.Transformer;
+import com.example.transformerthermalinspector.event.InspectionChangedEvent;
+import com.example.transformerthermalinspector.event.InspectionsDeletedEvent;
+import com.example.transformerthermalinspector.event.ReportFinalizedEvent;
+import com.example.transformerthermalinspector.repository.InspectionReportFormRepository;
+import com.example.transformerthermalinspector.repository.InspectionRepository;
+import com.example.transformerthermalinspector.repository.TransformerRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Service generating the printable PDF maintenance record of a finalized inspection report form.
+ * Generation runs on a background executor after the finalizing transaction commits; the PDF is
+ * stored on disk under a content-hash name and its hash is recorded on the form for use as an ETag,
+ * together with the form version it was rendered from. Changes to the inspection's boxes or image
+ * bump that version, so a PDF is served only while it matches both the form and the inspection.
+ */
+@Service
+public class ReportPdfService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportPdfService.class);
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final InspectionReportFormRepository reportFormRepository;
+    private final InspectionRepository inspectionRepository;
+    private final TransformerRepository transformerRepository;
+    private final EffectiveBoxService effectiveBoxService;
+    private final AnnotatedImageService annotatedImageService;
+    private final Executor reportGenerationExecutor;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Inspections with a generation queued or running, mapped to whether another run was requested meanwhile
+    private final Map<Long, Boolean> generating = new ConcurrentHashMap<>();
+
+    @Value("${app.reports.dir:uploads/reports}")
+    private String reportsDir;
+
+    public ReportPdfService(InspectionReportFormRepository reportFormRepository,
+                            InspectionRepository inspectionRepository,
+                            TransformerRepository transformerRepository,
+                            EffectiveBoxService effectiveBoxService,
+                            AnnotatedImageService annotatedImageService,
+                            @Qualifier("reportGenerationExecutor") Executor reportGenerationExecutor) {
+        this.reportFormRepository = reportFormRepository;
+        this.inspectionRepository = inspectionRepository;
+        this.transformerRepository = transformerRepository;
+        this.effectiveBoxService = effectiveBoxService;
+        this.annotatedImageService = annotatedImageService;
+        this.reportGenerationExecutor = reportGenerationExecutor;
+    }
+
+    /**
+     * A generated PDF on disk
+     */
+    public static class ReportPdf {
+        private final Path path;
+        private final String sha256;
+        private final LocalDateTime generatedAt;
+
+        public ReportPdf(Path path, String sha256, LocalDateTime generatedAt) {
+            this.path = path;
+            this.sha256 = sha256;
+            this.generatedAt = generatedAt;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public String getSha256() {
+            return sha256;
+        }
+
+        public LocalDateTime getGeneratedAt() {
+            return generatedAt;
+        }
+    }
+
+    /**
+     * Get the current PDF of a finalized report form
+     * @param inspectionNo The inspection number
+     * @return The PDF, or empty if it is still being generated (generation is queued if needed)
+     * @throws IllegalStateException If there is no finalized report form for the inspection
+     */
+    public Optional<ReportPdf> getReportPdf(Long inspectionNo) {
+        InspectionReportForm form = reportFormRepository.findByInspectionNo(inspectionNo)
+                .filter(f -> Boolean.TRUE.equals(f.getIsFinalized()))
+                .orElseThrow(() -> new IllegalStateException("No finalized report form for inspection: " + inspectionNo));
+
+        if (form.getPdfPath() != null && Objects.equals(form.getPdfVersion(), form.getVersion())
+                && !generating.containsKey(inspectionNo)) {
+            Path path = Paths.get(reportsDir).resolve(form.getPdfPath());
+            if (Files.isRegularFile(path)) {
+                return Optional.of(new ReportPdf(path, form.getPdfSha256(), form.getPdfGeneratedAt()));
+            }
+        }
+        // Not generated yet (finalized before PDFs existed, a lost file, an outdated PDF or a run in progress)
+        scheduleGeneration(inspectionNo);
+        return Optional.empty();
+    }
+
+    /**
+     * Whether a PDF is queued or being generated for an inspection
+     */
+    public boolean isGenerating(Long inspectionNo) {
+        return generating.containsKey(inspectionNo);
+    }
+
+    /**
+     * Generate the PDF once the finalizing transaction has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportFinalized(ReportFinalizedEvent event) {
+        scheduleGeneration(event.getInspectionNo());
+    }
+
+    /**
+     * Keep the PDF in step with the annotated image it embeds
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInspectionChanged(InspectionChangedEvent event) {
+        if (event.getChangeType() == InspectionChangedEvent.ChangeType.DELETED) {
+            deleteFiles(event.getInspectionNo(), null);
+        } else if (event.affectsBoxes() && reportFormRepository.bumpFinalizedVersion(event.getInspectionNo()) > 0) {
+            scheduleGeneration(event.getInspectionNo());
+        }
+    }
+
+    /**
+     * Remove the PDFs of a deleted transformer's inspections in one pass over the reports directory
+     */
+    @Async("imageProcessingExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInspectionsDeleted(InspectionsDeletedEvent event) {
+        Set<Long> deleted = new HashSet<>(event.getInspectionNos());
+        Path directory = Paths.get(reportsDir);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "INS-*.pdf")) {
+            for (Path file : files) {
+                // INS-{inspectionNo}-{hash}.pdf
+                String[] parts = file.getFileName().toString().split("-", 3);
+                try {
+                    if (parts.length == 3 && deleted.contains(Long.parseLong(parts[1]))) {
+                        Files.deleteIfExists(file);
+                    }
+                } catch (NumberFormatException e) {
+                    // Not one of ours
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not remove PDFs of transformer {}: {}", event.getTransformerNo(), e.getMessage());
+        }
+    }
+
+    /**
+     * Queue a generation, or if one is already queued or running for the inspection,
+     * have it run once more when it finishes so it picks up the latest form and boxes
+     */
+    private void scheduleGeneration(Long inspectionNo) {
+        Boolean state = generating.compute(inspectionNo, (no, rerun) -> rerun == null ? Boolean.FALSE : Boolean.TRUE);
+        if (state == Boolean.FALSE) {
+            submit(inspectionNo);
+        }
+    }
+
+    private void submit(Long inspectionNo) {
+        try {
+            reportGenerationExecutor.execute(() -> {
+                // Requests until now are covered by this run, which reads the current form and boxes
+                generating.replace(inspectionNo, Boolean.TRUE, Boolean.FALSE);
+                try {
+                    generate(inspectionNo);
+                } catch (Exception e) {
+                    logger.error("PDF generation failed for inspection {}: {}", inspectionNo, e.getMessage(), e);
+                } finally {
+                    // Run again if requested while running, otherwise leave the generating state
+                    if (generating.compute(inspectionNo, (no, rerun) -> Boolean.TRUE.equals(rerun) ? Boolean.FALSE : null) != null) {
+                        submit(inspectionNo);
+                    }
+                }
+            });
+        } catch (TaskRejectedException e) {
+            generating.remove(inspectionNo);
+            logger.warn("PDF generation queue full, inspection {} will be generated on next request", inspectionNo);
+        }
+    }
+
+    /**
+     * Render the PDF, publish it under its hash and record it on the form
+     */
+    void generate(Long inspectionNo) throws IOException {
+        Optional<InspectionReportForm> formOpt = reportFormRepository.findByInspectionNo(inspectionNo);
+        if (formOpt.isEmpty() || !Boolean.TRUE.equals(formOpt.get().getIsFinalized())) {
+            return;
+        }
+        InspectionReportForm form = formOpt.get();
+        long start = System.currentTimeMillis();
+
+        byte[] pdf = render(form);
+        String sha256 = sha256(pdf);
+        String filename = "INS-" + inspectionNo + "-" + sha256.substring(0, 16) + ".pdf";
+
+        Path directory = Paths.get(reportsDir);
+        Files.createDirectories(directory);
+        Path target = directory.resolve(filename);
+        if (!Files.exists(target)) {
+            Path temp = Files.createTempFile(directory, ".report-", ".tmp");
+            try {
+                Files.write(temp, pdf);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        int updated = reportFormRepository.recordPdf(inspectionNo, filename, sha256, LocalDateTime.now(), form.getVersion());
+        if (updated == 0) {
+            // The form or its inspection changed while rendering; that change requested another run
+            Files.deleteIfExists(target);
+            logger.info("Discarded PDF for inspection {}: form or inspection changed during generation", inspectionNo);
+            return;
+        }
+        deleteFiles(inspectionNo, filename);
+        logger.info("Generated PDF record for inspection {} ({} bytes) in {} ms",
+                inspectionNo, pdf.length, System.currentTimeMillis() - start);
+    }
+
+    private byte[] render(InspectionReportForm form) throws IOException {
+        Long inspectionNo = form.getInspectionNo();
+        Optional<Inspection> inspection = inspectionRepository.findById(inspectionNo);
+        Optional<Transformer> transformer = inspection.map(Inspection::getTransformerNo)
+                .flatMap(transformerRepository::findById);
+
+        String footer = "INS-" + inspectionNo + " maintenance record"
+                + (form.getFinalizedAt() != null ? " - finalized " + form.getFinalizedAt().format(TIMESTAMP) : "");
+
+        try (ReportPdfWriter writer = new ReportPdfWriter(footer)) {
+            writer.title("GridWatch", 20);
+            writer.title("Thermal Image Inspection Form", 14);
+
+            writer.section("Basic Information");
+            writer.field("Branch", inspection.map(Inspection::getBranch).orElse(null));
+            writer.field("Transformer No.", inspection.map(Inspection::getTransformerNo).orElse(null));
+            writer.field("Pole No.", transformer.map(Transformer::getPoleNo).orElse(null));
+            writer.field("Region", transformer.map(Transformer::getRegion).orElse(null));
+            writer.field("Type", transformer.map(Transformer::getType).orElse(null));
+            writer.field("Capacity", transformer.map(Transformer::getCapacity).orElse(null));
+            writer.field("Location Details", transformer.map(Transformer::getLocationDetails).orElse(null));
+            writer.field("Date of Inspection", form.getDateOfInspection());
+            writer.field("Time", form.getTimeOfInspection());
+            writer.field("Inspected By", form.getInspectedBy());
+            writer.field("Weather", inspection.map(Inspection::getWeather).orElse(null));
+
+            writer.section("Base Line Imaging nos (IR)");
+            writer.field("Right", form.getBaselineImagingRight());
+            writer.field("Left", form.getBaselineImagingLeft());
+            writer.field("Front", form.getBaselineImagingFront());
+
+            if (inspection.isPresent()) {
+                writeThermalAnalysis(writer, inspection.get());
+            }
+
+            writer.section("Last Month");
+            writer.field("kVA", form.getLastMonthKVA());
+            writer.field("Date", form.getLastMonthDate());
+            writer.field("Time", form.getLastMonthTime());
+
+            writer.section("Current Month");
+            writer.field("Current Month kVA", form.getCurrentMonthKVA());
+            writer.field("Baseline Condition", form.getBaselineCondition());
+            writer.field("Transformer Type", form.getTransformerType());
+
+            writer.section("Meter Details");
+            writer.field("Serial Number", form.getMeterSerialNumber());
+            writer.field("Meter CT Ratio", form.getMeterCTRatio() != null && !form.getMeterCTRatio().isEmpty()
+                    ? form.getMeterCTRatio() + "/5A" : null);
+            writer.field("Make", form.getMeterMake());
+
+            writer.section("Work Content and After Inspection Report");
+            writeWorkContent(writer, form.getWorkContent());
+            writeAfterInspectionReport(writer, form.getInspectionReport());
+            writer.field("After Thermal Date", form.getAfterThermalDate());
+            writer.field("Time", form.getAfterThermalTime());
+
+            writer.section("Inspection Readings");
+            List<String[]> readings = new ArrayList<>();
+            readings.add(new String[]{"First Inspection",
+                    form.getFirstInspectionVR(), form.getFirstInspectionVY(), form.getFirstInspectionVB(),
+                    form.getFirstInspectionIR(), form.getFirstInspectionIY(), form.getFirstInspectionIB()});
+            readings.add(new String[]{"Second Inspection",
+                    form.getSecondInspectionVR(), form.getSecondInspectionVY(), form.getSecondInspectionVB(),
+                    form.getSecondInspectionIR(), form.getSecondInspectionIY(), form.getSecondInspectionIB()});
+            writer.table(new String[]{"", "V (R)", "V (Y)", "V (B)", "I (R)", "I (Y)", "I (B)"}, readings,
+                    new float[]{0.22f, 0.13f, 0.13f, 0.13f, 0.13f, 0.13f, 0.13f});
+
+            if (form.getFinalizedAt() != null) {
+                writer.section("Inspection Completed On");
+                writer.paragraph(form.getFinalizedAt().format(TIMESTAMP), false);
+            }
+            return writer.toBytes();
+        }
+    }
+
+    private void writeThermalAnalysis(ReportPdfWriter writer, Inspection inspection) throws IOException {
+        Optional<Path> annotated = annotatedImageService.getAnnotatedImage(inspection.getInspectionNo());
+        if (annotated.isEmpty()) {
+            return;
+        }
+        writer.section("Thermal Analysis Image");
+        // The render is already a JPEG, so it is embedded as-is without re-encoding
+        try (InputStream in = Files.newInputStream(annotated.get())) {
+            PDImageXObject image = JPEGFactory.createFromStream(writer.getDocument(), in);
+            writer.image(image, 320);
+        }
+
+        List<Map<String, Object>> boxes = effectiveBoxService.resolve(inspection);
+        writer.paragraph(boxes.size() + (boxes.size() == 1 ? " anomaly" : " anomalies") + " detected", true);
+        if (boxes.isEmpty()) {
+            return;
+        }
+        List<String[]> rows = new ArrayList<>();
+        for (int i = 0; i < boxes.size(); i++) {
+            Map<String, Object> box = boxes.get(i);
+            Object confidence = box.get("confidence");
+            List<Double> coords = EffectiveBoxService.toDoubleList(box.get("box"));
+            rows.add(new String[]{
+                    "Error " + (i + 1),
+                    EffectiveBoxService.className(EffectiveBoxService.classOf(box)),
+                    confidence instanceof Number
+                            ? String.format("%.1f%%", ((Number) confidence).doubleValue() * 100) : null,
+                    "edited".equals(box.get("source")) ? "User" : "AI",
+                    coords != null && coords.size() == 4
+                            ? String.format("%.0f, %.0f, %.0f, %.0f", coords.get(0), coords.get(1), coords.get(2), coords.get(3))
+                            : null,
+                    box.get("comment") != null ? box.get("comment").toString() : ""
+            });
+        }
+        writer.table(new String[]{"No.", "Classification", "Confidence", "Source", "Box (x1, y1, x2, y2)", "Comment"},
+                rows, new float[]{0.10f, 0.20f, 0.13f, 0.10f, 0.25f, 0.22f});
+    }
+
+    private void writeWorkContent(ReportPdfWriter writer, String json) throws IOException {
+        List<Map<String, Object>> items = parseRows(json);
+        if (items.isEmpty()) {
+            return;
+        }
+        List<String[]> rows = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            Map<String, Object> item = items.get(i);
+            rows.add(new String[]{String.valueOf(i + 1), flag(item.get("c")), flag(item.get("ci")),
+                    flag(item.get("t")), flag(item.get("r")), text(item.get("other"))});
+        }
+        writer.paragraph("Work Content", false);
+        writer.table(new String[]{"No.", "C", "CI", "T", "R", "Other"}, rows,
+                new float[]{0.10f, 0.10f, 0.10f, 0.10f, 0.10f, 0.50f});
+        writer.paragraph("C- Check, CI- Clean, T- Tight, R- Replace", true);
+        writer.space(6);
+    }
+
+    private void writeAfterInspectionReport(ReportPdfWriter writer, String json) throws IOException {
+        List<Map<String, Object>> items = parseRows(json);
+        if (items.isEmpty()) {
+            return;
+        }
+        List<String[]> rows = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            Map<String, Object> item = items.get(i);
+            rows.add(new String[]{String.valueOf(i + 1), flag(item.get("ok")), flag(item.get("notOk")),
+                    text(item.get("irNo"))});
+        }
+        writer.paragraph("After Inspection Report", false);
+        writer.table(new String[]{"No.", "OK", "NOT OK", "IR No(s)."}, rows,
+                new float[]{0.10f, 0.12f, 0.14f, 0.64f});
+        writer.space(6);
+    }
+
+    /**
+     * Parse a JSON array column written by the form (work content / inspection report rows)
+     */
+    private List<Map<String, Object>> parseRows(String json) {
+        if (json == null || json.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        try {
+            return objectMapper.readValue(json, new TypeReference<List<Map<String, Object>>>() {});
+        } catch (IOException e) {
+            logger.warn("Unreadable form rows, skipped in PDF: {}", e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    private static String flag(Object value) {
+        return Boolean.TRUE.equals(value) ? "Y" : "-";
+    }
+
+    private static String text(Object value) {
+        return value == null || value.toString().isEmpty() ? "-" : value.toString();
+    }
+
+    /**
+     * Delete the PDFs of an inspection, except the one to keep (null to delete all)
+     */
+    private void deleteFiles(Long inspectionNo, String keep) {
+        Path directory = Paths.get(reportsDir);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "INS-" + inspectionNo + "-*.pdf")) {
+            for (Path file : files) {
+                if (!file.getFileName().toString().equals(keep)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not remove old PDFs of inspection {}: {}", inspectionNo, e.getMessage());
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.transformerthermalinspector.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import java.awt.Color;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal top-to-bottom layout on A4 pages for the maintenance record PDF.
+ * Tracks the current line and starts a new page when the next block does not fit.
+ * Uses the standard Helvetica fonts, so text outside WinAnsi encoding is replaced with '?'.
+ */
+class ReportPdfWriter implements AutoCloseable {
+
+    private static final float MARGIN = 50;
+    private static final float LABEL_WIDTH = 150;
+    private static final float LINE_HEIGHT = 14;
+    private static final float BODY_SIZE = 10;
+    private static final Color RULE_COLOR = new Color(0xD1D5DB);
+
+    private final PDDocument document = new PDDocument();
+    private final PDFont regular = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+    private final PDFont bold = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+    private final PDFont italic = new PDType1Font(Standard14Fonts.FontName.HELVETICA_OBLIQUE);
+    private final String footer;
+
+    private final List<PDPage> pages = new ArrayList<>();
+    private PDPageContentStream content;
+    private float y;
+
+    ReportPdfWriter(String footer) throws IOException {
+        this.footer = footer;
+        newPage();
+    }
+
+    PDDocument getDocument() {
+        return document;
+    }
+
+    /**
+     * Centered document title
+     */
+    void title(String text, float size) throws IOException {
+        ensureSpace(size + 8);
+        String safe = sanitize(text);
+        float width = bold.getStringWidth(safe) / 1000 * size;
+        text(bold, size, (PDRectangle.A4.getWidth() - width) / 2, y - size, safe);
+        y -= size + 8;
+    }
+
+    /**
+     * Section heading followed by a rule
+     */
+    void section(String heading) throws IOException {
+        ensureSpace(40);
+        y -= 8;
+        text(bold, 12, MARGIN, y - 12, sanitize(heading));
+        y -= 18;
+        rule();
+    }
+
+    /**
+     * Label / value row; long values wrap within the value column
+     */
+    void field(String label, String value) throws IOException {
+        float valueWidth = contentWidth() - LABEL_WIDTH;
+        List<String> lines = wrap(regular, BODY_SIZE, orNa(value), valueWidth);
+        ensureSpace(lines.size() * LINE_HEIGHT);
+        text(bold, BODY_SIZE, MARGIN, y - BODY_SIZE, sanitize(label));
+        for (String line : lines) {
+            text(regular, BODY_SIZE, MARGIN + LABEL_WIDTH, y - BODY_SIZE, line);
+            y -= LINE_HEIGHT;
+        }
+    }
+
+    /**
+     * Free text paragraph, wrapped to the page width
+     */
+    void paragraph(String value, boolean emphasis) throws IOException {
+        PDFont font = emphasis ? italic : regular;
+        for (String line : wrap(font, BODY_SIZE, value, contentWidth())) {
+            ensureSpace(LINE_HEIGHT);
+            text(font, BODY_SIZE, MARGIN, y - BODY_SIZE, line);
+            y -= LINE_HEIGHT;
+        }
+    }
+
+    /**
+     * Simple grid table with a bold header row
+     * @param widths Column widths as fractions of the content width
+     */
+    void table(String[] headers, List<String[]> rows, float[] widths) throws IOException {
+        ensureSpace(LINE_HEIGHT * Math.min(rows.size() + 1, 4));
+        row(bold, headers, widths);
+        for (String[] row : rows) {
+            ensureSpace(LINE_HEIGHT);
+            row(regular, row, widths);
+        }
+        y -= 4;
+    }
+
+    /**
+     * Image scaled to the content width, limited to maxHeight points
+     */
+    void image(PDImageXObject image, float maxHeight) throws IOException {
+        float scale = Math.min(contentWidth() / image.getWidth(), maxHeight / image.getHeight());
+        float width = image.getWidth() * scale;
+        float height = image.getHeight() * scale;
+        ensureSpace(height + 6);
+        content.drawImage(image, MARGIN + (contentWidth() - width) / 2, y - height, width, height);
+        y -= height + 6;
+    }
+
+    void space(float points) {
+        y -= points;
+    }
+
+    /**
+     * Finish the last page, stamp footers and serialize the document
+     * @return PDF bytes
+     */
+    byte[] toBytes() throws IOException {
+        content.close();
+        content = null;
+        for (int i = 0; i < pages.size(); i++) {
+            try (PDPageContentStream stream = new PDPageContentStream(document, pages.get(i),
+                    PDPageContentStream.AppendMode.APPEND, true)) {
+                stream.setNonStrokingColor(Color.GRAY);
+                stream.beginText();
+                stream.setFont(regular, 8);
+                stream.newLineAtOffset(MARGIN, 30);
+                stream.showText(sanitize(footer));
+                stream.endText();
+                String pageNumber = "Page " + (i + 1) + " of " + pages.size();
+                stream.beginText();
+                stream.newLineAtOffset(PDRectangle.A4.getWidth() - MARGIN - regular.getStringWidth(pageNumber) / 1000 * 8, 30);
+                stream.showText(pageNumber);
+                stream.endText();
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        document.save(out);
+        return out.toByteArray();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (content != null) {
+            content.close();
+        }
+        document.close();
+    }
+
+    private void row(PDFont font, String[] cells, float[] widths) throws IOException {
+        float x = MARGIN;
+        for (int i = 0; i < cells.length; i++) {
+            float cellWidth = widths[i] * contentWidth();
+            text(font, BODY_SIZE, x + 2, y - BODY_SIZE, truncate(font, orNa(cells[i]), cellWidth - 4));
+            x += cellWidth;
+        }
+        y -= LINE_HEIGHT;
+    }
+
+    private void rule() throws IOException {
+        content.setStrokingColor(RULE_COLOR);
+        content.moveTo(MARGIN, y);
+        content.lineTo(PDRectangle.A4.getWidth() - MARGIN, y);
+        content.stroke();
+        y -= 8;
+    }
+
+    private void text(PDFont font, float size, float x, float baseline, String text) throws IOException {
+        content.setNonStrokingColor(Color.BLACK);
+        content.beginText();
+        content.setFont(font, size);
+        content.newLineAtOffset(x, baseline);
+        content.showText(text);
+        content.endText();
+    }
+
+    private void ensureSpace(float height) throws IOException {
+        // Keep clear of the footer band
+        if (y - height < MARGIN + 10) {
+            newPage();
+        }
+    }
+
+    private void newPage() throws IOException {
+        if (content != null) {
+            content.close();
+        }
+        PDPage page = new PDPage(PDRectangle.A4);
+        document.addPage(page);
+        pages.add(page);
+        content = new PDPageContentStream(document, page);
+        y = PDRectangle.A4.getHeight() - MARGIN;
+    }
+
+    private float contentWidth() {
+        return PDRectangle.A4.getWidth() - 2 * MARGIN;
+    }
+
+    private List<String> wrap(PDFont font, float size, String value, float maxWidth) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (String paragraph : sanitize(value).split("\n")) {
+            StringBuilder line = new StringBuilder();
+            for (String word : paragraph.split(" ")) {
+                String candidate = line.length() == 0 ? word : line + " " + word;
+                if (line.length() > 0 && font.getStringWidth(candidate) / 1000 * size > maxWidth) {
+                    lines.add(line.toString());
+                    line = new StringBuilder(word);
+                } else {
+                    line = new StringBuilder(candidate);
+                }
+            }
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    private String truncate(PDFont font, String value, float maxWidth) throws IOException {
+        String safe = sanitize(value).replace('\n', ' ');
+        if (font.getStringWidth(safe) / 1000 * BODY_SIZE <= maxWidth) {
+            return safe;
+        }
+        while (!safe.isEmpty() && font.getStringWidth(safe + "...") / 1000 * BODY_SIZE > maxWidth) {
+            safe = safe.substring(0, safe.length() - 1);
+        }
+        return safe + "...";
+    }
+
+    private static String orNa(String value) {
+        return value == null || value.trim().isEmpty() ? "N/A" : value;
+    }
+
+    /**
+     * Replace characters the standard fonts cannot encode
+     */
+    private String sanitize(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder safe = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\n') {
+                safe.append(c);
+            } else if (c == '\r') {
+                continue;
+            } else if (Character.isWhitespace(c)) {
+                safe.append(' ');
+            } else {
+                safe.append(canEncode(c) ? c : '?');
+            }
+        }
+        return safe.toString();
+    }
+
+    private boolean canEncode(char c) {
+        try {
+            regular.encode(String.valueOf(c));
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
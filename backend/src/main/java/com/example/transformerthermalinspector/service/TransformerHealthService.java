@@ -0,0 +1,343 @@
+package com.example.transformerthermalinspector.service;
+
+import com.example.transformerthermalinspector.dao.Inspection;
+import com.example.transformerthermalinspector.dao.Transformer;
+import com.example.transformerthermalinspector.dao.TransformerHealth;
+import com.example.transformerthermalinspector.dto.InspectionSummary;
+import com.example.transformerthermalinspector.dto.TransformerHealthDTO;
+import com.example.transformerthermalinspector.event.InspectionChangedEvent;
+import com.example.transformerthermalinspector.event.InspectionsDeletedEvent;
+import com.example.transformerthermalinspector.event.InspectionsImportedEvent;
+import com.example.transformerthermalinspector.repository.InspectionRepository;
+import com.example.transformerthermalinspector.repository.TransformerHealthRepository;
+import com.example.transformerthermalinspector.repository.TransformerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service maintaining the per-transformer health rows and serving the fleet listing from them.
+ * A transformer's row is recomputed from its latest inspection and its last few analyzed inspections
+ * whenever one of its inspections changes, so listing the fleet by condition never reads bounding boxes.
+ * An inspection moved to another transformer only refreshes its new transformer; the periodic
+ * reconciliation recomputes every row to repair that and changes made without an event.
+ */
+@Service
+public class TransformerHealthService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransformerHealthService.class);
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Condition names accepted by the listing filter, by rank
+    private static final Map<String, Integer> CONDITION_RANKS = Map.of(
+            EffectiveBoxService.className(EffectiveBoxService.CLASS_FAULTY).toLowerCase(), TransformerHealth.RANK_FAULTY,
+            EffectiveBoxService.className(EffectiveBoxService.CLASS_POTENTIALLY_FAULTY).toLowerCase(), TransformerHealth.RANK_POTENTIALLY_FAULTY,
+            EffectiveBoxService.className(EffectiveBoxService.CLASS_NORMAL).toLowerCase(), TransformerHealth.RANK_NORMAL,
+            "not analyzed", TransformerHealth.RANK_NOT_ANALYZED);
+
+    private final InspectionRepository inspectionRepository;
+    private final TransformerRepository transformerRepository;
+    private final TransformerHealthRepository healthRepository;
+    private final EffectiveBoxService effectiveBoxService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.transformers.health.trend-window:5}")
+    private int trendWindow;
+
+    public TransformerHealthService(InspectionRepository inspectionRepository,
+                                    TransformerRepository transformerRepository,
+                                    TransformerHealthRepository healthRepository,
+                                    EffectiveBoxService effectiveBoxService,
+                                    PlatformTransactionManager transactionManager) {
+        this.inspectionRepository = inspectionRepository;
+        this.transformerRepository = transformerRepository;
+        this.healthRepository = healthRepository;
+        this.effectiveBoxService = effectiveBoxService;
+        // Listeners run after the publishing transaction has committed, so they need a transaction of their own
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Health of one transformer
+     * @param transformerNo The transformer number
+     * @return The health, or empty if the transformer does not exist or has no inspections
+     */
+    @Transactional(readOnly = true)
+    public Optional<TransformerHealthDTO> getHealth(String transformerNo) {
+        return healthRepository.findById(transformerNo).map(this::toDTO);
+    }
+
+    /**
+     * List one page of the fleet's health, read in index order
+     * @param sort "condition" (default; worst first, then longest since inspection), "lastInspection" or "trend"
+     * @param direction "desc" (default) or "asc"; ascending condition lists the healthiest first
+     * @param condition Only transformers in this condition ("Faulty", "Potentially Faulty", "Normal",
+     *                  "Not Analyzed"), or null for all
+     * @param page Zero-based page number
+     * @param size Page size (1-100)
+     * @return Health rows of the page
+     * @throws IllegalArgumentException If a parameter is invalid
+     */
+    @Transactional(readOnly = true)
+    public List<TransformerHealthDTO> listHealth(String sort, String direction, String condition, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        boolean descending = InspectionListingService.parseDirection(direction);
+        PageRequest pageRequest = PageRequest.of(page, size, toSort(sort, descending));
+
+        List<TransformerHealth> rows;
+        if (condition == null || condition.isEmpty()) {
+            rows = healthRepository.findBy(pageRequest);
+        } else {
+            Integer rank = CONDITION_RANKS.get(condition.toLowerCase());
+            if (rank == null) {
+                throw new IllegalArgumentException("condition must be Faulty, Potentially Faulty, Normal or Not Analyzed");
+            }
+            rows = healthRepository.findByConditionRank(rank, pageRequest);
+        }
+        return rows.stream().map(this::toDTO).collect(Collectors.toList());
+    }
+
+    /**
+     * Recompute the health of an inspection's transformer in the background once the change has committed.
+     * Failures are logged rather than propagated; the next reconciliation corrects the row.
+     */
+    @Async("transformerHealthExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInspectionChanged(InspectionChangedEvent event) {
+        // Neither changes the boxes nor the latest inspection
+        if (event.getChangeType() == InspectionChangedEvent.ChangeType.ANALYSIS_STARTED
+                || event.getChangeType() == InspectionChangedEvent.ChangeType.ANALYSIS_FAILED
+                || event.getTransformerNo() == null) {
+            return;
+        }
+        refresh(event.getTransformerNo());
+    }
+
+    /**
+     * Recompute the health of every transformer that received imported inspections, in the background
+     */
+    @Async("transformerHealthExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInspectionsImported(InspectionsImportedEvent event) {
+        List<Long> inspectionNos = event.getInspectionNos();
+        long started = System.currentTimeMillis();
+        Set<String> transformerNos = new LinkedHashSet<>();
+        for (int from = 0; from < inspectionNos.size(); from += 500) {
+            transformerNos.addAll(inspectionRepository.findTransformerNosByInspectionNos(
+                    inspectionNos.subList(from, Math.min(from + 500, inspectionNos.size()))));
+        }
+        transformerNos.forEach(this::refresh);
+        logger.info("Transformer health updated for {} transformers after importing {} inspections in {} ms",
+                transformerNos.size(), inspectionNos.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Drop the health of a deleted transformer, in the background
+     */
+    @Async("transformerHealthExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInspectionsDeleted(InspectionsDeletedEvent event) {
+        refresh(event.getTransformerNo());
+    }
+
+    /**
+     * Recompute every transformer's health and drop rows of transformers without inspections
+     */
+    @Scheduled(initialDelayString = "${app.transformers.health.reconcile.initial-delay-ms:60000}",
+               fixedDelayString = "${app.transformers.health.reconcile.interval-ms:3600000}")
+    public void reconcile() {
+        long started = System.currentTimeMillis();
+        try {
+            List<String> transformerNos = transformerRepository.findAll().stream()
+                    .map(Transformer::getTransformerNo)
+                    .collect(Collectors.toList());
+            int changed = 0;
+            for (String transformerNo : transformerNos) {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> recompute(transformerNo)))) {
+                    changed++;
+                }
+            }
+            Integer orphans = transactionTemplate.execute(status -> healthRepository.deleteOrphans());
+            logger.info("Transformer health reconciliation: {} of {} transformers changed, {} rows removed in {} ms",
+                    changed, transformerNos.size(), orphans, System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            logger.error("Transformer health reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void refresh(String transformerNo) {
+        try {
+            transactionTemplate.execute(status -> recompute(transformerNo));
+        } catch (RuntimeException e) {
+            logger.warn("Transformer health update failed for transformer {}: {}", transformerNo, e.getMessage());
+        }
+    }
+
+    /**
+     * Bring a transformer's health row up to date
+     * @return Whether the row changed
+     */
+    private boolean recompute(String transformerNo) {
+        // Serializes concurrent recomputations of the same transformer (row lock, see lockForDerivedUpdate)
+        Optional<InspectionSummary> latest = transformerRepository.lockForDerivedUpdate(transformerNo).isPresent()
+                ? inspectionRepository.findFirstSummaryByTransformerNoOrderByDateOfInspectionAndTimeDescInspectionNoDesc(transformerNo)
+                : Optional.empty();
+        Optional<TransformerHealth> previous = healthRepository.findById(transformerNo);
+        if (latest.isEmpty()) {
+            previous.ifPresent(healthRepository::delete);
+            return previous.isPresent();
+        }
+
+        List<Inspection> analyzed = inspectionRepository.findLatestAnalyzedByTransformerNo(
+                transformerNo, PageRequest.of(0, Math.max(2, trendWindow)));
+        TransformerHealth current = toHealth(transformerNo, latest.get(), analyzed);
+        if (current.equals(previous.orElse(null))) {
+            return false;
+        }
+        current.setUpdatedAt(LocalDateTime.now());
+        healthRepository.save(current);
+        return true;
+    }
+
+    /**
+     * Health of a transformer from its latest inspection and its analyzed inspections, newest first
+     */
+    private TransformerHealth toHealth(String transformerNo, InspectionSummary latest, List<Inspection> analyzed) {
+        TransformerHealth health = new TransformerHealth();
+        health.setTransformerNo(transformerNo);
+        health.setLatestInspectionNo(latest.getInspectionNo());
+        health.setLatestInspectionAt(latest.getDateOfInspectionAndTime());
+        health.setConditionRank(TransformerHealth.RANK_NOT_ANALYZED);
+        if (analyzed.isEmpty()) {
+            return health;
+        }
+
+        int[] ranks = new int[analyzed.size()];
+        for (int i = 0; i < analyzed.size(); i++) {
+            int[] counts = countBoxes(analyzed.get(i));
+            ranks[i] = rank(counts);
+            if (i == 0) {
+                health.setFaultyBoxes(counts[EffectiveBoxService.CLASS_FAULTY]);
+                health.setPotentiallyFaultyBoxes(counts[EffectiveBoxService.CLASS_POTENTIALLY_FAULTY]);
+                health.setNormalBoxes(counts[EffectiveBoxService.CLASS_NORMAL]);
+            }
+        }
+        Inspection newest = analyzed.get(0);
+        health.setAnalyzedInspectionNo(newest.getInspectionNo());
+        health.setAnalyzedInspectionAt(newest.getDateOfInspectionAndTime());
+        health.setConditionRank(ranks[0]);
+        health.setCondition(conditionName(ranks[0]));
+
+        health.setTrendInspections(ranks.length);
+        if (ranks.length > 1) {
+            double earlier = 0;
+            for (int i = 1; i < ranks.length; i++) {
+                earlier += ranks[i];
+            }
+            double delta = ranks[0] - earlier / (ranks.length - 1);
+            health.setTrendDelta(delta);
+            health.setTrend(delta > 0 ? TransformerHealth.TREND_WORSENING
+                    : delta < 0 ? TransformerHealth.TREND_IMPROVING : TransformerHealth.TREND_STABLE);
+        }
+        return health;
+    }
+
+    /**
+     * Effective box counts of an inspection, indexed by EffectiveBoxService class
+     */
+    private int[] countBoxes(Inspection inspection) {
+        int[] counts = new int[3];
+        for (Map<String, Object> box : effectiveBoxService.resolve(inspection)) {
+            Integer boxClass = EffectiveBoxService.classOf(box);
+            if (boxClass != null && boxClass >= 0 && boxClass < counts.length) {
+                counts[boxClass]++;
+            }
+        }
+        return counts;
+    }
+
+    // Same ranking as the transformer summary and the dashboard: any faulty box outweighs potentially faulty ones
+    private static int rank(int[] counts) {
+        return counts[EffectiveBoxService.CLASS_FAULTY] > 0 ? TransformerHealth.RANK_FAULTY
+                : counts[EffectiveBoxService.CLASS_POTENTIALLY_FAULTY] > 0 ? TransformerHealth.RANK_POTENTIALLY_FAULTY
+                : TransformerHealth.RANK_NORMAL;
+    }
+
+    private static String conditionName(int rank) {
+        switch (rank) {
+            case TransformerHealth.RANK_FAULTY:
+                return EffectiveBoxService.className(EffectiveBoxService.CLASS_FAULTY);
+            case TransformerHealth.RANK_POTENTIALLY_FAULTY:
+                return EffectiveBoxService.className(EffectiveBoxService.CLASS_POTENTIALLY_FAULTY);
+            case TransformerHealth.RANK_NORMAL:
+                return EffectiveBoxService.className(EffectiveBoxService.CLASS_NORMAL);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Sort of the listing; each matches an index of transformer_health read forwards or backwards
+     */
+    private static Sort toSort(String sort, boolean descending) {
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort.Direction opposite = descending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        String key = sort == null || sort.isEmpty() ? "condition" : sort;
+        switch (key) {
+            case "condition":
+                return Sort.by(new Sort.Order(direction, "conditionRank"),
+                        new Sort.Order(opposite, "latestInspectionAt"),
+                        new Sort.Order(opposite, "transformerNo"));
+            case "lastInspection":
+                return Sort.by(direction, "latestInspectionAt", "transformerNo");
+            case "trend":
+                return Sort.by(direction, "trendDelta", "transformerNo");
+            default:
+                throw new IllegalArgumentException("sort must be condition, lastInspection or trend");
+        }
+    }
+
+    private TransformerHealthDTO toDTO(TransformerHealth health) {
+        TransformerHealthDTO dto = new TransformerHealthDTO();
+        dto.setTransformerNo(health.getTransformerNo());
+        dto.setLatestInspectionNo(health.getLatestInspectionNo());
+        dto.setLatestInspectionDate(health.getLatestInspectionAt());
+        dto.setDaysSinceLastInspection(Math.max(0,
+                Duration.between(health.getLatestInspectionAt(), LocalDateTime.now()).toDays()));
+        dto.setAnalyzedInspectionNo(health.getAnalyzedInspectionNo());
+        dto.setAnalyzedInspectionDate(health.getAnalyzedInspectionAt());
+        dto.setCondition(health.getCondition());
+        dto.setConditionRank(health.getConditionRank());
+        dto.setFaultyBoxes(health.getFaultyBoxes());
+        dto.setPotentiallyFaultyBoxes(health.getPotentiallyFaultyBoxes());
+        dto.setNormalBoxes(health.getNormalBoxes());
+        dto.setTrend(health.getTrend());
+        dto.setTrendDelta(health.getTrendDelta());
+        dto.setTrendInspections(health.getTrendInspections());
+        dto.setUpdatedAt(health.getUpdatedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,317 @@
+package com.example.transformerthermalinspector.service;
+
+import com.example.transformerthermalinspector.dto.TransformerDTO;
+import com.example.transformerthermalinspector.dto.TransformerSearchCriteria;
+import com.example.transformerthermalinspector.dto.TransformerSearchResult;
+import com.example.transformerthermalinspector.event.TransformerChangedEvent;
+import com.example.transformerthermalinspector.event.TransformersImportedEvent;
+import com.example.transformerthermalinspector.mapper.TransformerMapper;
+import com.example.transformerthermalinspector.repository.TransformerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * In-memory search index over the transformer table.
+ * Each facet value maps to a bitmap of matching transformers, so filtering and facet counting
+ * are bitmap intersections; free text is narrowed with a trigram bitmap index and then verified.
+ * The index is an immutable snapshot built on first use and replaced after every transformer write,
+ * so searches never lock or touch the database. Writes committed before the first build are kept and
+ * applied on top of it, since its read may not see them yet (e.g. when served by a lagging replica).
+ */
+@Service
+@RequiredArgsConstructor
+public class TransformerSearchIndex {
+
+    public static final String FACET_REGION = "region";
+    public static final String FACET_TYPE = "type";
+    public static final String FACET_CAPACITY = "capacity";
+    public static final String FACET_FEEDERS = "numberOfFeeders";
+
+    private static final List<String> FACETS = List.of(FACET_REGION, FACET_TYPE, FACET_CAPACITY, FACET_FEEDERS);
+
+    private static final int GRAM = 3;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final TransformerRepository transformerRepository;
+    private final TransformerMapper transformerMapper;
+
+    private final Object writeLock = new Object();
+    private volatile Snapshot snapshot; // null until the first search
+    private final Map<String, Optional<TransformerDTO>> pendingChanges = new LinkedHashMap<>(); // Guarded by writeLock
+
+    /**
+     * Search transformers
+     * @param criteria Text query and facet filters
+     * @param page Zero-based page number
+     * @param size Page size (1-100)
+     * @return Matches ordered by transformer number, those whose number or pole number starts with
+     *         the first query term first, with facet counts
+     * @throws IllegalArgumentException If page or size is out of range
+     */
+    public TransformerSearchResult search(TransformerSearchCriteria criteria, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        Snapshot index = current();
+        List<String> terms = terms(criteria.getQuery());
+        BitSet textMatches = index.matchText(terms);
+
+        Map<String, BitSet> facetFilters = new LinkedHashMap<>();
+        addFilter(index, facetFilters, FACET_REGION, criteria.getRegions());
+        addFilter(index, facetFilters, FACET_TYPE, criteria.getTypes());
+        addFilter(index, facetFilters, FACET_CAPACITY, criteria.getCapacities());
+        addFilter(index, facetFilters, FACET_FEEDERS, criteria.getNumberOfFeeders());
+
+        BitSet matches = (BitSet) textMatches.clone();
+        facetFilters.values().forEach(matches::and);
+
+        // Each facet is counted against every filter but its own
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        for (String facet : FACETS) {
+            BitSet base = (BitSet) textMatches.clone();
+            facetFilters.forEach((other, filter) -> {
+                if (!other.equals(facet)) {
+                    base.and(filter);
+                }
+            });
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            index.facets.get(facet).forEach((value, docs) -> {
+                BitSet hits = (BitSet) docs.clone();
+                hits.and(base);
+                if (!hits.isEmpty()) {
+                    counts.put(value, hits.cardinality());
+                }
+            });
+            facets.put(facet, counts);
+        }
+
+        List<TransformerDTO> items = new ArrayList<>(size);
+        int skip = page * size;
+        for (int doc : index.ordered(matches, terms.isEmpty() ? null : terms.get(0))) {
+            if (skip > 0) {
+                skip--;
+            } else if (items.size() < size) {
+                items.add(index.docs[doc]);
+            } else {
+                break;
+            }
+        }
+        return new TransformerSearchResult(items, matches.cardinality(), page, size, facets);
+    }
+
+    /**
+     * Apply a committed transformer write to the index
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransformerChanged(TransformerChangedEvent event) {
+        synchronized (writeLock) {
+            Optional<TransformerDTO> changed = event.isDeleted()
+                    ? Optional.empty()
+                    : transformerRepository.findById(event.getTransformerNo()).map(transformerMapper::toDto);
+            Snapshot current = snapshot;
+            if (current == null) {
+                pendingChanges.put(event.getTransformerNo(), changed); // Applied by the first build
+                return;
+            }
+            Map<String, TransformerDTO> docs = current.byTransformerNo();
+            apply(docs, event.getTransformerNo(), changed);
+            snapshot = new Snapshot(docs.values());
+        }
+    }
+
+    /**
+     * Add bulk-imported transformers with a single snapshot rebuild
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransformersImported(TransformersImportedEvent event) {
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            Map<String, TransformerDTO> docs = current == null ? null : current.byTransformerNo();
+            transformerRepository.findAllById(event.getTransformerNos()).forEach(transformer -> {
+                TransformerDTO imported = transformerMapper.toDto(transformer);
+                if (docs == null) {
+                    pendingChanges.put(imported.getTransformerNo(), Optional.of(imported)); // Applied by the first build
+                } else {
+                    docs.put(imported.getTransformerNo(), imported);
+                }
+            });
+            if (docs != null) {
+                snapshot = new Snapshot(docs.values());
+            }
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (writeLock) {
+                current = snapshot;
+                if (current == null) {
+                    Map<String, TransformerDTO> docs = new LinkedHashMap<>();
+                    transformerRepository.findAll()
+                            .forEach(transformer -> docs.put(transformer.getTransformerNo(), transformerMapper.toDto(transformer)));
+                    pendingChanges.forEach((transformerNo, changed) -> apply(docs, transformerNo, changed));
+                    pendingChanges.clear();
+                    current = new Snapshot(docs.values());
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static void apply(Map<String, TransformerDTO> docs, String transformerNo, Optional<TransformerDTO> changed) {
+        if (changed.isPresent()) {
+            docs.put(transformerNo, changed.get());
+        } else {
+            docs.remove(transformerNo);
+        }
+    }
+
+    private static void addFilter(Snapshot index, Map<String, BitSet> filters, String facet, List<?> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        BitSet filter = new BitSet();
+        for (Object value : values) {
+            BitSet docs = index.facets.get(facet).get(String.valueOf(value));
+            if (docs != null) {
+                filter.or(docs);
+            }
+        }
+        filters.put(facet, filter);
+    }
+
+    private static List<String> terms(String query) {
+        List<String> terms = new ArrayList<>();
+        if (query != null) {
+            for (String term : normalize(query).trim().split("\\s+")) {
+                if (!term.isEmpty()) {
+                    terms.add(term);
+                }
+            }
+        }
+        return terms;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Immutable index over one version of the transformer table; documents are numbered in transformerNo order
+     */
+    private static final class Snapshot {
+
+        private final TransformerDTO[] docs;
+        private final String[][] text; // Normalized transformerNo, poleNo, locationDetails per document
+        private final Map<String, Map<String, BitSet>> facets = new HashMap<>();
+        private final Map<String, BitSet> grams = new HashMap<>();
+        private final BitSet all;
+
+        Snapshot(Collection<TransformerDTO> transformers) {
+            docs = transformers.stream()
+                    .sorted((a, b) -> a.getTransformerNo().compareTo(b.getTransformerNo()))
+                    .toArray(TransformerDTO[]::new);
+            text = new String[docs.length][];
+            all = new BitSet(docs.length);
+            all.set(0, docs.length);
+
+            Map<String, Function<TransformerDTO, Object>> facetValues = Map.of(
+                    FACET_REGION, TransformerDTO::getRegion,
+                    FACET_TYPE, TransformerDTO::getType,
+                    FACET_CAPACITY, TransformerDTO::getCapacity,
+                    FACET_FEEDERS, TransformerDTO::getNumberOfFeeders);
+            FACETS.forEach(facet -> facets.put(facet, new TreeMap<>()));
+
+            for (int doc = 0; doc < docs.length; doc++) {
+                TransformerDTO transformer = docs[doc];
+                for (String facet : FACETS) {
+                    Object value = facetValues.get(facet).apply(transformer);
+                    if (value != null) {
+                        facets.get(facet).computeIfAbsent(String.valueOf(value), v -> new BitSet()).set(doc);
+                    }
+                }
+                text[doc] = new String[] {
+                        normalize(transformer.getTransformerNo()),
+                        normalize(transformer.getPoleNo()),
+                        normalize(transformer.getLocationDetails())
+                };
+                for (String field : text[doc]) {
+                    for (int i = 0; i + GRAM <= field.length(); i++) {
+                        grams.computeIfAbsent(field.substring(i, i + GRAM), g -> new BitSet()).set(doc);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Documents containing every term in one of their text fields
+         */
+        BitSet matchText(List<String> terms) {
+            BitSet matches = (BitSet) all.clone();
+            for (String term : terms) {
+                // Trigrams give a superset (grams may come from different places); verify each candidate
+                for (int i = 0; i + GRAM <= term.length() && !matches.isEmpty(); i++) {
+                    BitSet docsWithGram = grams.get(term.substring(i, i + GRAM));
+                    if (docsWithGram == null) {
+                        matches.clear();
+                    } else {
+                        matches.and(docsWithGram);
+                    }
+                }
+                for (int doc = matches.nextSetBit(0); doc >= 0; doc = matches.nextSetBit(doc + 1)) {
+                    if (!contains(doc, term)) {
+                        matches.clear(doc);
+                    }
+                }
+            }
+            return matches;
+        }
+
+        /**
+         * Matching documents in result order: prefix matches on transformerNo or poleNo first
+         */
+        List<Integer> ordered(BitSet matches, String firstTerm) {
+            List<Integer> prefixed = new ArrayList<>();
+            List<Integer> rest = new ArrayList<>();
+            for (int doc = matches.nextSetBit(0); doc >= 0; doc = matches.nextSetBit(doc + 1)) {
+                boolean prefix = firstTerm != null
+                        && (text[doc][0].startsWith(firstTerm) || text[doc][1].startsWith(firstTerm));
+                (prefix ? prefixed : rest).add(doc);
+            }
+            prefixed.addAll(rest);
+            return prefixed;
+        }
+
+        Map<String, TransformerDTO> byTransformerNo() {
+            Map<String, TransformerDTO> byNo = new LinkedHashMap<>();
+            for (TransformerDTO doc : docs) {
+                byNo.put(doc.getTransformerNo(), doc);
+            }
+            return byNo;
+        }
+
+        private boolean contains(int doc, String term) {
+            for (String field : text[doc]) {
+                if (field.contains(term)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
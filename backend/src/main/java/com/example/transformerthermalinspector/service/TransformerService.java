@@ -2,17 +2,30 @@ package com.example.transformerthermalinspector.service;
 
 import com.example.transformerthermalinspector.dao.Transformer;
 import com.example.transformerthermalinspector.dto.TransformerDTO;
+import com.example.transformerthermalinspector.dto.TransformerSummaryDTO;
+import com.example.transformerthermalinspector.event.InspectionsDeletedEvent;
+import com.example.transformerthermalinspector.event.TransformerChangedEvent;
+import com.example.transformerthermalinspector.mapper.TransformerMapper;
+import com.example.transformerthermalinspector.repository.TransformerDeletionRepository;
+import com.example.transformerthermalinspector.repository.TransformerDeletionRepository.DeletedTransformer;
 import com.example.transformerthermalinspector.repository.TransformerRepository;
+import com.example.transformerthermalinspector.repository.TransformerSummaryRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for Transformer-related business logic.
@@ -22,29 +35,73 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor // Generates constructor for final fields (dependency injection)
 public class TransformerService {
 
+    private static final Logger logger = LoggerFactory.getLogger(TransformerService.class);
+
     private final TransformerRepository transformerRepository;
-    private final ModelMapper modelMapper; // For Entity ↔ DTO conversion
+    private final TransformerMapper transformerMapper; // For Entity ↔ DTO conversion
     private final ImageStorageService imageStorageService;
+    private final ImageRenditionService imageRenditionService;
+    private final ImageCleanupService imageCleanupService;
+    private final TransformerSummaryRepository transformerSummaryRepository;
+    private final TransformerDeletionRepository transformerDeletionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
 
     /**
      * Retrieve all transformers from database
      * @return List of TransformerDTOs
      */
+    @Transactional(readOnly = true)
     public List<TransformerDTO> getAllTransformers() {
         return transformerRepository.findAll()
                 .stream()
-                .map(transformer -> modelMapper.map(transformer, TransformerDTO.class))
+                .map(transformerMapper::toDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Pass every transformer to a consumer one at a time, read through a database cursor.
+     * Each row is detached once converted, so memory use does not grow with the table.
+     * @param consumer Receives each TransformerDTO in transformer number order
+     */
+    @Transactional(readOnly = true)
+    public void streamTransformers(Consumer<TransformerDTO> consumer) {
+        try (Stream<Transformer> transformers = transformerRepository.streamAll()) {
+            transformers.forEach(transformer -> {
+                consumer.accept(transformerMapper.toDto(transformer));
+                entityManager.detach(transformer);
+            });
+        }
+    }
+
     /**
      * Find transformer by transformer number (primary key)
      * @param transformerNo The transformer number to search for
      * @return Optional TransformerDTO if found
      */
+    @Transactional(readOnly = true)
     public Optional<TransformerDTO> getTransformerById(String transformerNo) {
         return transformerRepository.findById(transformerNo)
-                .map(transformer -> modelMapper.map(transformer, TransformerDTO.class));
+                .map(transformerMapper::toDto);
+    }
+
+    /**
+     * Inspection summaries of all transformers (counts by state, latest inspection, latest severity)
+     * @return List of TransformerSummaryDTOs ordered by transformer number
+     */
+    @Transactional(readOnly = true)
+    public List<TransformerSummaryDTO> getTransformerSummaries() {
+        return transformerSummaryRepository.findAll();
+    }
+
+    /**
+     * Inspection summary of one transformer
+     * @param transformerNo The transformer number
+     * @return Optional TransformerSummaryDTO if the transformer exists
+     */
+    @Transactional(readOnly = true)
+    public Optional<TransformerSummaryDTO> getTransformerSummary(String transformerNo) {
+        return transformerSummaryRepository.findByTransformerNo(transformerNo);
     }
 
     /**
@@ -53,9 +110,10 @@ public class TransformerService {
      * @return Saved TransformerDTO with any generated fields
      */
     public TransformerDTO saveTransformer(TransformerDTO transformerDTO) {
-        Transformer transformer = modelMapper.map(transformerDTO, Transformer.class);
+        Transformer transformer = transformerMapper.toEntity(transformerDTO);
         Transformer savedTransformer = transformerRepository.save(transformer);
-        return modelMapper.map(savedTransformer, TransformerDTO.class);
+        publishChange(savedTransformer.getTransformerNo(), false);
+        return transformerMapper.toDto(savedTransformer);
     }
 
     /**
@@ -67,56 +125,42 @@ public class TransformerService {
     public Optional<TransformerDTO> updateTransformer(String transformerNo, TransformerDTO transformerDTO) {
         return transformerRepository.findById(transformerNo)
                 .map(existingTransformer -> {
-                    modelMapper.map(transformerDTO, existingTransformer);
+                    transformerMapper.updateEntity(transformerDTO, existingTransformer);
                     existingTransformer.setTransformerNo(transformerNo); // Ensure ID remains unchanged
                     Transformer savedTransformer = transformerRepository.save(existingTransformer);
-                    return modelMapper.map(savedTransformer, TransformerDTO.class);
+                    publishChange(savedTransformer.getTransformerNo(), false);
+                    return transformerMapper.toDto(savedTransformer);
                 });
     }
 
     /**
-     * Delete a transformer by transformer number
-     * Also deletes associated baseline image file
+     * Delete a transformer by transformer number, together with its inspections and their report forms.
+     * Runs as a few set-based statements in one transaction; image files are queued for background
+     * deletion once it commits.
      * @param transformerNo The transformer number to delete
      * @return true if deleted successfully, false if not found
      */
+    @Transactional
     public boolean deleteTransformer(String transformerNo) {
-        // Find transformer first to get baseline image path
-        Optional<Transformer> transformerOpt = transformerRepository.findById(transformerNo);
-        
-        if (transformerOpt.isPresent()) {
-            Transformer transformer = transformerOpt.get();
-            
-            System.out.println("Deleting transformer: " + transformerNo);
-            System.out.println("Baseline image path: " + transformer.getBaselineImagePath());
-            
-            // Delete baseline image file if exists
-            if (transformer.getBaselineImagePath() != null && !transformer.getBaselineImagePath().trim().isEmpty()) {
-                try {
-                    System.out.println("Attempting to delete image file: " + transformer.getBaselineImagePath());
-                    imageStorageService.deleteImage(transformer.getBaselineImagePath(), true); // true = baseline
-                    System.out.println("Successfully deleted baseline image: " + transformer.getBaselineImagePath());
-                } catch (IOException e) {
-                    // Log warning but don't fail the deletion - database cleanup is more important
-                    System.err.println("Warning: Could not delete baseline image file '" + 
-                                     transformer.getBaselineImagePath() + "': " + e.getMessage());
-                    e.printStackTrace();
-                } catch (Exception e) {
-                    System.err.println("Unexpected error deleting image: " + e.getMessage());
-                    e.printStackTrace();
-                }
-            } else {
-                System.out.println("No baseline image to delete");
-            }
-            
-            // Delete transformer from database
-            transformerRepository.deleteById(transformerNo);
-            System.out.println("Deleted transformer from database: " + transformerNo);
-            return true;
+        Optional<DeletedTransformer> deleted = transformerDeletionRepository.deleteWithInspections(transformerNo);
+        if (deleted.isEmpty()) {
+            logger.debug("Transformer not found for deletion: {}", transformerNo);
+            return false; // Transformer not found
         }
-        
-        System.out.println("Transformer not found: " + transformerNo);
-        return false; // Transformer not found
+
+        List<Long> inspectionNos = deleted.get().getInspectionNos();
+        logger.info("Deleted transformer {} with {} inspections", transformerNo, inspectionNos.size());
+        publishChange(transformerNo, true);
+        if (!inspectionNos.isEmpty()) {
+            eventPublisher.publishEvent(new InspectionsDeletedEvent(transformerNo, inspectionNos));
+        }
+
+        // Files are removed in the background once the rows are gone
+        imageCleanupService.enqueueDeletion(deleted.get().getBaselineImagePath(), true);
+        for (String maintenanceImagePath : deleted.get().getMaintenanceImagePaths()) {
+            imageCleanupService.enqueueDeletion(maintenanceImagePath, false);
+        }
+        return true;
     }
 
     /**
@@ -139,9 +183,8 @@ public class TransformerService {
                     try {
                         // Delete image file if exists
                         if (transformer.getBaselineImagePath() != null && !transformer.getBaselineImagePath().trim().isEmpty()) {
-                            System.out.println("TransformerService - Deleting baseline image: " + transformer.getBaselineImagePath());
                             imageStorageService.deleteImage(transformer.getBaselineImagePath(), true); // true = baseline
-                            System.out.println("TransformerService - Baseline image deleted successfully");
+                            logger.info("Deleted baseline image {} of transformer {}", transformer.getBaselineImagePath(), transformerNo);
                         }
                         
                         // Clear image-related fields from transformer
@@ -151,11 +194,11 @@ public class TransformerService {
                         
                         // Save updated transformer
                         Transformer savedTransformer = transformerRepository.save(transformer);
-                        return modelMapper.map(savedTransformer, TransformerDTO.class);
+                        publishChange(savedTransformer.getTransformerNo(), false);
+                        return transformerMapper.toDto(savedTransformer);
                         
                     } catch (IOException e) {
-                        System.err.println("Failed to delete baseline image: " + transformer.getBaselineImagePath());
-                        e.printStackTrace();
+                        logger.error("Failed to delete baseline image {} of transformer {}", transformer.getBaselineImagePath(), transformerNo, e);
                         throw new RuntimeException("Failed to delete baseline image", e);
                     }
                 });
@@ -187,12 +230,13 @@ public class TransformerService {
                 imageStorageService.deleteImage(transformer.getBaselineImagePath(), true); // true = baseline
             } catch (IOException e) {
                 // Log warning but continue - don't fail the upload for cleanup issues
-                System.err.println("Warning: Could not delete old image: " + e.getMessage());
+                logger.warn("Could not delete old baseline image {} of transformer {}", transformer.getBaselineImagePath(), transformerNo, e);
             }
         }
         
         // Store new image
-        String imagePath = imageStorageService.storeBaselineImage(imageFile, transformerNo);
+        String imagePath = imageStorageService.storeBaselineImage(imageFile, transformerNo).getFilename();
+        imageRenditionService.generateRenditionsAsync(imagePath, true);
         
         // Update transformer
         transformer.setBaselineImagePath(imagePath);
@@ -201,6 +245,14 @@ public class TransformerService {
         
         // Save and return
         Transformer savedTransformer = transformerRepository.save(transformer);
-        return modelMapper.map(savedTransformer, TransformerDTO.class);
+        publishChange(savedTransformer.getTransformerNo(), false);
+        return transformerMapper.toDto(savedTransformer);
+    }
+
+    /**
+     * Notify listeners (search index) that a transformer changed
+     */
+    private void publishChange(String transformerNo, boolean deleted) {
+        eventPublisher.publishEvent(new TransformerChangedEvent(transformerNo, deleted));
     }
 }
@@ -3,15 +3,16 @@ package com.example.transformerthermalinspector.service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Path;
 
 /**
  * Service for communicating with YOLO FastAPI for thermal anomaly detection.
@@ -21,28 +22,26 @@ import java.io.IOException;
 public class YoloAiService {
 
     private static final String YOLO_API_URL = "http://localhost:5000/inference";
-    private static final double DEFAULT_CONFIDENCE_THRESHOLD = 0.50;
     
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
-     * Send image to YOLO API for inference and get bounding box predictions using a MultipartFile
+     * Send a stored image file to YOLO API for inference and get bounding box predictions.
+     * The file is streamed from disk into the request, so it is never held in memory.
+     * @param imagePath Path of the stored image
+     * @param confidenceThreshold Confidence threshold for predictions (0-1)
+     * @return JSON string containing predictions with bounding boxes
+     * @throws IOException if analysis fails
      */
-    public String analyzeImage(MultipartFile file, double confidenceThreshold) throws IOException {
-        return analyzeImage(file.getBytes(), file.getOriginalFilename(), confidenceThreshold);
+    public String analyzeImage(Path imagePath, double confidenceThreshold) throws IOException {
+        return analyzeResource(new FileSystemResource(imagePath), confidenceThreshold);
     }
 
     /**
-     * Send image bytes to YOLO API for inference and get bounding box predictions.
-     * Prefer this in async contexts to avoid using MultipartFile outside the request thread.
-     * @param bytes Image bytes to analyze
-     * @param originalFilename Original filename (for content disposition); can be null
-     * @param confidenceThreshold Confidence threshold for predictions (0-1)
-     * @return JSON string containing predictions with bounding boxes
-     * @throws IOException if analysis fails
+     * Post an image resource to the YOLO API as multipart form data
      */
-    public String analyzeImage(byte[] bytes, String originalFilename, double confidenceThreshold) throws IOException {
+    private String analyzeResource(Resource fileResource, double confidenceThreshold) throws IOException {
         try {
             // Prepare multipart request
             HttpHeaders headers = new HttpHeaders();
@@ -50,15 +49,6 @@ public class YoloAiService {
 
             MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
 
-            // Add file as ByteArrayResource to avoid file system dependencies
-            final String filename = (originalFilename != null && !originalFilename.isBlank()) ? originalFilename : "image.jpg";
-            ByteArrayResource fileResource = new ByteArrayResource(bytes) {
-                @Override
-                public String getFilename() {
-                    return filename;
-                }
-            };
-
             body.add("file", fileResource);
 
             HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
@@ -87,23 +77,6 @@ public class YoloAiService {
         }
     }
 
-    /**
-     * Analyze image with default confidence threshold
-     * @param file The image file to analyze
-     * @return JSON string containing predictions with bounding boxes
-     * @throws IOException if analysis fails
-     */
-    public String analyzeImage(MultipartFile file) throws IOException {
-        return analyzeImage(file, DEFAULT_CONFIDENCE_THRESHOLD);
-    }
-
-    /**
-     * Analyze image bytes with default confidence threshold
-     */
-    public String analyzeImage(byte[] bytes, String originalFilename) throws IOException {
-        return analyzeImage(bytes, originalFilename, DEFAULT_CONFIDENCE_THRESHOLD);
-    }
-
     /**
      * Check if YOLO API is available
      * @return true if API is reachable, false otherwise
@@ -0,0 +1,82 @@
+package com.example.transformerthermalinspector.storage;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage backend for image bytes.
+ * Keys are relative paths starting with the image kind, e.g. "baseline/TX-1_baseline_....jpg"
+ * or "maintenance/renditions/thumbnail/INS-3_maintenance_....jpg".
+ * The local upload directories always hold a working copy; a remote store is the shared source of truth
+ * when several backend nodes run behind a load balancer.
+ */
+public interface ImageStore {
+
+    /**
+     * Whether objects live outside the local upload directories
+     * @return true for remote (shared) stores
+     */
+    boolean isRemote();
+
+    /**
+     * Store a file under a key, streaming it from disk
+     * @param key Object key
+     * @param source Local file to upload
+     * @param contentType MIME type of the file
+     * @throws IOException If the upload fails
+     */
+    void put(String key, Path source, String contentType) throws IOException;
+
+    /**
+     * Download an object to a local file, replacing it
+     * @param key Object key
+     * @param target Local file to write
+     * @return true if the object existed and was downloaded
+     * @throws IOException If the download fails
+     */
+    boolean fetch(String key, Path target) throws IOException;
+
+    /**
+     * Check whether an object exists
+     * @param key Object key
+     * @return true if present
+     */
+    boolean exists(String key);
+
+    /**
+     * Size of an object
+     * @param key Object key
+     * @return Size in bytes, empty if the object does not exist
+     */
+    Optional<Long> size(String key);
+
+    /**
+     * Delete an object if present
+     * @param key Object key
+     * @throws IOException If the delete fails
+     */
+    void delete(String key) throws IOException;
+
+    /**
+     * List originals of one kind whose filenames sort after {@code after}, in name order.
+     * Renditions are not included; only the requested page is held in memory.
+     * @param kind "baseline" or "maintenance"
+     * @param after Last filename of the previous page, or null to start from the beginning
+     * @param limit Maximum number of images to return
+     * @return Up to {@code limit} images; fewer only at the end of the listing
+     * @throws IOException If the listing fails
+     */
+    List<StoredImage> list(String kind, String after, int limit) throws IOException;
+
+    /**
+     * Time-limited URL clients can download the object from directly
+     * @param key Object key
+     * @param ttl How long the URL stays valid
+     * @return URL, or empty if the store cannot serve clients directly
+     */
+    Optional<URI> presignedGetUrl(String key, Duration ttl);
+}
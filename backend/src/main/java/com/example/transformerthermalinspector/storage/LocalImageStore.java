@@ -0,0 +1,135 @@
+package com.example.transformerthermalinspector.storage;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Image store backed by the local upload directories (single-node deployments).
+ * The key's first segment selects the baseline or maintenance directory.
+ */
+public class LocalImageStore implements ImageStore {
+
+    private final Path baselineDir;
+    private final Path maintenanceDir;
+
+    public LocalImageStore(String baselineDir, String maintenanceDir) {
+        this.baselineDir = Paths.get(baselineDir).toAbsolutePath().normalize();
+        this.maintenanceDir = Paths.get(maintenanceDir).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public boolean isRemote() {
+        return false;
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        Path target = resolve(key);
+        if (target.equals(source.toAbsolutePath().normalize())) {
+            return; // Already in place
+        }
+        Files.createDirectories(target.getParent());
+        Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public boolean fetch(String key, Path target) throws IOException {
+        Path source = resolve(key);
+        if (!Files.exists(source)) {
+            return false;
+        }
+        if (!source.equals(target.toAbsolutePath().normalize())) {
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public Optional<Long> size(String key) {
+        try {
+            return Optional.of(Files.size(resolve(key)));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public List<StoredImage> list(String kind, String after, int limit) throws IOException {
+        Path directory = root(kind);
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        // Temp files left behind by interrupted uploads are included; renditions live in a subdirectory
+        TreeSet<StoredImage> page = new TreeSet<>(Comparator.comparing(StoredImage::filename));
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, Files::isRegularFile)) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                if (after != null && name.compareTo(after) <= 0) {
+                    continue;
+                }
+                if (page.size() == limit && name.compareTo(page.last().filename()) > 0) {
+                    continue;
+                }
+                page.add(new StoredImage(name, Files.getLastModifiedTime(entry).toInstant()));
+                if (page.size() > limit) {
+                    page.pollLast();
+                }
+            }
+        }
+        return new ArrayList<>(page);
+    }
+
+    @Override
+    public Optional<URI> presignedGetUrl(String key, Duration ttl) {
+        return Optional.empty(); // Served by the application itself
+    }
+
+    /**
+     * Map a key to a path inside the matching upload directory
+     */
+    private Path resolve(String key) {
+        int slash = key.indexOf('/');
+        if (slash <= 0) {
+            throw new IllegalArgumentException("Invalid image key: " + key);
+        }
+        Path root = root(key.substring(0, slash));
+        Path resolved = root.resolve(key.substring(slash + 1)).normalize();
+        if (!resolved.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid image key: " + key);
+        }
+        return resolved;
+    }
+
+    /**
+     * Upload directory of an image kind
+     */
+    private Path root(String kind) {
+        if ("baseline".equals(kind)) {
+            return baselineDir;
+        } else if ("maintenance".equals(kind)) {
+            return maintenanceDir;
+        }
+        throw new IllegalArgumentException("Invalid image kind: " + kind);
+    }
+}
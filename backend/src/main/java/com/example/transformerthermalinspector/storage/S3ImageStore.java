@@ -0,0 +1,169 @@
+package com.example.transformerthermalinspector.storage;
+
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Image store backed by an S3-compatible object store (AWS S3, MinIO, ...).
+ * Uploads stream from the local file and downloads stream to a temp file,
+ * so image bytes are never buffered in the heap.
+ */
+public class S3ImageStore implements ImageStore {
+
+    // Stored filenames are unique per upload, so objects never change
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private final S3Client s3Client;
+    private final S3Presigner s3Presigner;
+    private final String bucket;
+    private final String keyPrefix;
+
+    public S3ImageStore(S3Client s3Client, S3Presigner s3Presigner, String bucket, String keyPrefix) {
+        this.s3Client = s3Client;
+        this.s3Presigner = s3Presigner;
+        this.bucket = bucket;
+        this.keyPrefix = keyPrefix == null ? "" : keyPrefix;
+    }
+
+    @Override
+    public boolean isRemote() {
+        return true;
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        try {
+            s3Client.putObject(PutObjectRequest.builder()
+                            .bucket(bucket)
+                            .key(objectKey(key))
+                            .contentType(contentType)
+                            .cacheControl(CACHE_CONTROL)
+                            .build(),
+                    RequestBody.fromFile(source));
+        } catch (SdkException e) {
+            throw new IOException("Failed to upload " + key + " to bucket " + bucket, e);
+        }
+    }
+
+    @Override
+    public boolean fetch(String key, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path tempFile = Files.createTempFile(target.getParent(), ".fetch-", ".tmp");
+        try {
+            try (ResponseInputStream<GetObjectResponse> object =
+                         s3Client.getObject(GetObjectRequest.builder().bucket(bucket).key(objectKey(key)).build())) {
+                Files.copy(object, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            // Other request threads may be reading the target - publish it atomically
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (SdkException e) {
+            throw new IOException("Failed to download " + key + " from bucket " + bucket, e);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return head(key).isPresent();
+    }
+
+    @Override
+    public Optional<Long> size(String key) {
+        return head(key).map(HeadObjectResponse::contentLength);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            s3Client.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(objectKey(key)).build());
+        } catch (SdkException e) {
+            throw new IOException("Failed to delete " + key + " from bucket " + bucket, e);
+        }
+    }
+
+    @Override
+    public List<StoredImage> list(String kind, String after, int limit) throws IOException {
+        String prefix = objectKey(kind + "/");
+        List<StoredImage> page = new ArrayList<>();
+        String continuationToken = null;
+        try {
+            // The delimiter folds renditions/ into a common prefix, which also counts against maxKeys,
+            // so keep reading until the page is full or the listing ends
+            do {
+                ListObjectsV2Response response = s3Client.listObjectsV2(ListObjectsV2Request.builder()
+                        .bucket(bucket)
+                        .prefix(prefix)
+                        .delimiter("/")
+                        .startAfter(after != null ? prefix + after : null)
+                        .continuationToken(continuationToken)
+                        .maxKeys(limit - page.size())
+                        .build());
+                response.contents().forEach(object ->
+                        page.add(new StoredImage(object.key().substring(prefix.length()), object.lastModified())));
+                continuationToken = response.isTruncated() ? response.nextContinuationToken() : null;
+            } while (continuationToken != null && page.size() < limit);
+        } catch (SdkException e) {
+            throw new IOException("Failed to list " + kind + " images in bucket " + bucket, e);
+        }
+        return page;
+    }
+
+    @Override
+    public Optional<URI> presignedGetUrl(String key, Duration ttl) {
+        GetObjectPresignRequest request = GetObjectPresignRequest.builder()
+                .signatureDuration(ttl)
+                .getObjectRequest(GetObjectRequest.builder().bucket(bucket).key(objectKey(key)).build())
+                .build();
+        try {
+            return Optional.of(s3Presigner.presignGetObject(request).url().toURI());
+        } catch (URISyntaxException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Optional<HeadObjectResponse> head(String key) {
+        try {
+            return Optional.of(s3Client.headObject(HeadObjectRequest.builder().bucket(bucket).key(objectKey(key)).build()));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    private String objectKey(String key) {
+        return keyPrefix + key;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.transformerthermalinspector.storage;
+
+import java.time.Instant;
+
+/**
+ * One original image listed from an image store.
+ * @param filename Stored filename, without the kind prefix
+ * @param lastModified When the object was last written
+ */
+public record StoredImage(String filename, Instant lastModified) {
+}
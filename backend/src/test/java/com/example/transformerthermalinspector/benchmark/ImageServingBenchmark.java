@@ -0,0 +1,139 @@
+package com.example.transformerthermalinspector.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing the Resource-based image path used by the image controllers
+ * (InputStream → heap buffer → output stream) with the two paths of ImageTransferService:
+ * FileChannel.transferTo straight into a loopback socket, which uses sendfile like the connector does,
+ * and the in-JVM fallback, transferTo into a channel wrapping an output stream as the servlet one is.
+ *
+ * Run with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test
+ *       -Dexec.mainClass=com.example.transformerthermalinspector.benchmark.ImageServingBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageServingBenchmark {
+
+    // Typical thermal image sizes: a preview rendition and a full-size upload
+    @Param({"65536", "4194304"})
+    private int fileSize;
+
+    private Path imageFile;
+    private ServerSocketChannel server;
+    private SocketChannel client;
+    private Thread drainThread;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        imageFile = Files.createTempFile("benchmark-image-", ".jpg");
+        byte[] content = new byte[fileSize];
+        new Random(42).nextBytes(content);
+        Files.write(imageFile, content);
+
+        server = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        client = SocketChannel.open(server.getLocalAddress());
+        SocketChannel peer = server.accept();
+
+        // Drain everything the benchmark writes, like a client reading the response
+        drainThread = new Thread(() -> {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(256 * 1024);
+            try {
+                while (peer.read(buffer) >= 0) {
+                    buffer.clear();
+                }
+            } catch (IOException ignored) {
+                // Socket closed at tear down
+            }
+        }, "benchmark-drain");
+        drainThread.setDaemon(true);
+        drainThread.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        client.close();
+        server.close();
+        Files.deleteIfExists(imageFile);
+    }
+
+    /**
+     * Current controller path: UrlResource copied through a heap buffer
+     * (what ResourceHttpMessageConverter does with the servlet output stream)
+     */
+    @Benchmark
+    public long resourceStreamCopy() throws IOException {
+        Resource resource = new UrlResource(imageFile.toUri());
+        OutputStream out = Channels.newOutputStream(client);
+        try (InputStream in = resource.getInputStream()) {
+            return StreamUtils.copy(in, out);
+        }
+    }
+
+    /**
+     * Sendfile path: FileChannel.transferTo straight into the socket
+     */
+    @Benchmark
+    public long fileChannelTransfer() throws IOException {
+        try (FileChannel source = FileChannel.open(imageFile, StandardOpenOption.READ)) {
+            long position = 0;
+            long size = source.size();
+            while (position < size) {
+                position += source.transferTo(position, size - position, client);
+            }
+            return position;
+        }
+    }
+
+    /**
+     * In-JVM fallback: transferTo into a channel wrapping the output stream, copied through a heap buffer
+     */
+    @Benchmark
+    public long wrappedStreamTransfer() throws IOException {
+        WritableByteChannel target = Channels.newChannel(Channels.newOutputStream(client));
+        try (FileChannel source = FileChannel.open(imageFile, StandardOpenOption.READ)) {
+            long position = 0;
+            long size = source.size();
+            while (position < size) {
+                position += source.transferTo(position, size - position, target);
+            }
+            return position;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ImageServingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.transformerthermalinspector.benchmark;
+
+import com.example.transformerthermalinspector.dao.Inspection;
+import com.example.transformerthermalinspector.dto.InspectionDTO;
+import com.example.transformerthermalinspector.mapper.InspectionMapper;
+import com.example.transformerthermalinspector.mapper.InspectionMapperImpl;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing the reflective ModelMapper conversion the services used to do
+ * with the generated InspectionMapper, mapping a list page of inspections that carry
+ * realistic bounding box JSON.
+ *
+ * Run with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test
+ *       -Dexec.mainClass=com.example.transformerthermalinspector.benchmark.MappingBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(MappingBenchmark.INSPECTIONS)
+public class MappingBenchmark {
+
+    static final int INSPECTIONS = 1000;
+
+    private List<Inspection> inspections;
+    private ModelMapper modelMapper;
+    private InspectionMapper inspectionMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Same configuration as the former ModelMapperConfig bean
+        modelMapper = new ModelMapper();
+        inspectionMapper = new InspectionMapperImpl();
+
+        Random random = new Random(42);
+        inspections = new ArrayList<>(INSPECTIONS);
+        for (int i = 0; i < INSPECTIONS; i++) {
+            Inspection inspection = new Inspection();
+            inspection.setInspectionNo((long) i + 1);
+            inspection.setBranch("Branch-" + (i % 10));
+            inspection.setTransformerNo("TX-" + (i % 50));
+            inspection.setDateOfInspectionAndTime(LocalDateTime.of(2025, 1, 1, 8, 0).plusHours(i));
+            inspection.setState("Completed");
+            inspection.setWeather("sunny");
+            inspection.setMaintenanceImagePath("maintenance_" + i + ".jpg");
+            inspection.setMaintenanceImageUploadDateAndTime(LocalDateTime.of(2025, 1, 1, 9, 0).plusHours(i));
+            inspection.setAiBoundingBoxes(boxesJson(random, 20));
+            inspection.setEditedOrManuallyAddedBoxes(boxesJson(random, 5));
+            inspection.setDeletedBoundingBoxes(boxesJson(random, 2));
+            inspections.add(inspection);
+        }
+    }
+
+    private static String boxesJson(Random random, int count) {
+        StringBuilder json = new StringBuilder("{\"predictions\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"class\":\"Faulty\",\"confidence\":").append(random.nextDouble())
+                    .append(",\"box\":[").append(random.nextInt(640)).append(',').append(random.nextInt(480))
+                    .append(',').append(random.nextInt(640)).append(',').append(random.nextInt(480)).append("]}");
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Former path: reflective ModelMapper.map(entity, InspectionDTO.class)
+     */
+    @Benchmark
+    public void modelMapper(Blackhole blackhole) {
+        for (Inspection inspection : inspections) {
+            blackhole.consume(modelMapper.map(inspection, InspectionDTO.class));
+        }
+    }
+
+    /**
+     * Current path: generated getter/setter copy
+     */
+    @Benchmark
+    public void generatedMapper(Blackhole blackhole) {
+        for (Inspection inspection : inspections) {
+            blackhole.consume(inspectionMapper.toDto(inspection));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MappingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
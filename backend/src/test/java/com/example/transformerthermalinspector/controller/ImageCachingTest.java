@@ -0,0 +1,84 @@
+package com.example.transformerthermalinspector.controller;
+
+import com.example.transformerthermalinspector.repository.ImageMetadataRepository;
+import com.example.transformerthermalinspector.storage.ImageStore;
+import com.example.transformerthermalinspector.service.ImageStorageService;
+import com.example.transformerthermalinspector.service.TransformerHealthService;
+import com.example.transformerthermalinspector.service.TransformerSearchIndex;
+import com.example.transformerthermalinspector.service.TransformerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.hamcrest.Matchers.containsString;
+
+class ImageCachingTest {
+
+    private static final String FILENAME = "TR-1_baseline_test.png";
+
+    @TempDir
+    Path uploadDir;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.write(uploadDir.resolve(FILENAME), "0123456789".getBytes());
+
+        ImageStorageService imageStorageService = new ImageStorageService(mock(ImageMetadataRepository.class), mock(ImageStore.class));
+        ReflectionTestUtils.setField(imageStorageService, "baselineUploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(imageStorageService, "maintenanceUploadDir", uploadDir.toString());
+
+        TransformerController controller = new TransformerController(mock(TransformerService.class), imageStorageService,
+                mock(TransformerSearchIndex.class), mock(TransformerHealthService.class), new ObjectMapper());
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void imageResponseCarriesValidatorsAndImmutableCaching() throws Exception {
+        mockMvc.perform(get("/api/transformers/images/" + FILENAME))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"));
+    }
+
+    @Test
+    void matchingETagIsAnsweredWithNotModified() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/transformers/images/" + FILENAME)).andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/transformers/images/" + FILENAME).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void rangeRequestReturnsPartialContent() throws Exception {
+        mockMvc.perform(get("/api/transformers/images/" + FILENAME).header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(content().string("2345"));
+    }
+
+    @Test
+    void pendingRenditionFallbackIsNotCachedAsImmutable() throws Exception {
+        mockMvc.perform(get("/api/transformers/images/" + FILENAME).param("size", "thumbnail"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")));
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.transformerthermalinspector.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Read-replica routing against two PostgreSQL servers, told apart by their port.
+ * Needs REPLICA_TEST_PRIMARY_URL and REPLICA_TEST_REPLICA_URL (with REPLICA_TEST_USERNAME and
+ * REPLICA_TEST_PASSWORD); the replica may be a streaming standby or just a second instance.
+ * Only reads are executed.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "app.images.reaper.enabled=false",
+        "app.dashboard.reconcile.initial-delay-ms=3600000",
+        "app.datasource.replica.enabled=true"
+})
+@EnabledIfEnvironmentVariable(named = "REPLICA_TEST_REPLICA_URL", matches = ".+")
+class ReplicaRoutingTest {
+
+    private static final String PORT_QUERY = "SELECT current_setting('port')";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReplicaDataSource replicaDataSource;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private HikariDataSource replicaPoolDataSource;
+
+    @DynamicPropertySource
+    static void databases(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("REPLICA_TEST_PRIMARY_URL"));
+        registry.add("spring.datasource.username", () -> envOrDefault("REPLICA_TEST_USERNAME", "postgres"));
+        registry.add("spring.datasource.password", () -> envOrDefault("REPLICA_TEST_PASSWORD", ""));
+        registry.add("app.datasource.replica.url", () -> System.getenv("REPLICA_TEST_REPLICA_URL"));
+    }
+
+    @BeforeEach
+    void measureLag() {
+        replicaDataSource.checkReplica();
+    }
+
+    @Test
+    void readOnlyServiceTransactionsUseTheReplica() {
+        String primaryPort = port(primaryDataSource);
+        String replicaPort = port(replicaPoolDataSource);
+        assertNotEquals(primaryPort, replicaPort, "primary and replica must be different servers");
+
+        assertEquals(replicaPort, inTransaction("InspectionService.getInspectionSummaries", true, this::queryPort));
+        assertEquals(primaryPort, inTransaction("InspectionService.saveInspection", false, this::queryPort));
+        assertEquals(primaryPort, queryPort());
+    }
+
+    @Test
+    void repositoryReadOnlyTransactionsStayOnThePrimary() {
+        assertEquals(port(primaryDataSource), inTransaction(
+                "org.springframework.data.jpa.repository.support.SimpleJpaRepository.findById", true, this::queryPort));
+    }
+
+    @Test
+    void readWriteTransactionAfterReadOnlyInTheSameSessionUsesThePrimary() {
+        // Same shared EntityManager for both transactions, as with open-in-view
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            Supplier<String> nativePort = () -> String.valueOf(entityManager.createNativeQuery(PORT_QUERY).getSingleResult());
+            assertEquals(port(replicaPoolDataSource), inTransaction("TransformerService.getAllTransformers", true, nativePort));
+            assertEquals(port(primaryDataSource), inTransaction("TransformerService.updateTransformer", false, nativePort));
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+
+    @Test
+    void laggingOrUnreachableReplicaFallsBackToThePrimary() {
+        String primaryPort = port(primaryDataSource);
+
+        ReplicaDataSource lagging = new ReplicaDataSource(primaryDataSource, replicaPoolDataSource, -1, 1000);
+        lagging.checkReplica();
+        assertEquals(false, lagging.getStatus().get("replicaUsable"));
+        assertEquals(primaryPort, inTransaction("InspectionListingService.listInspections", true, () -> port(lagging)));
+
+        DriverManagerDataSource unreachable = new DriverManagerDataSource("jdbc:postgresql://127.0.0.1:1/postgres");
+        ReplicaDataSource down = new ReplicaDataSource(primaryDataSource, unreachable, 2000, 1000);
+        down.checkReplica();
+        assertEquals(false, down.getStatus().get("replicaUsable"));
+        assertEquals(primaryPort, inTransaction("InspectionListingService.listInspections", true, () -> port(down)));
+    }
+
+    private <T> T inTransaction(String name, boolean readOnly, Supplier<T> work) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setName(name);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> work.get());
+    }
+
+    private String queryPort() {
+        return jdbcTemplate.queryForObject(PORT_QUERY, String.class);
+    }
+
+    private static String port(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(PORT_QUERY)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String envOrDefault(String name, String fallback) {
+        String value = System.getenv(name);
+        return value == null || value.isEmpty() ? fallback : value;
+    }
+}
@@ -0,0 +1,435 @@
+package com.example.transformerthermalinspector.repository;
+
+import com.example.transformerthermalinspector.dto.ReportFormHistoryCriteria;
+import com.example.transformerthermalinspector.repository.InspectionListingRepository.Keyset;
+import com.example.transformerthermalinspector.service.TransformerHealthService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query-plan regression suite: seeds the schema built from the entities plus database/migrations,
+ * calls the hot repository methods, records the SQL and bind values Hibernate and JDBC send for them
+ * (through a recording proxy around the application's DataSource), runs EXPLAIN for each recorded statement
+ * and fails if any of them scans a large table sequentially.
+ * Skipped unless QUERY_PLAN_DB_URL is set (see "Running the Tests" in the README): needs a disposable
+ * PostgreSQL database, given as QUERY_PLAN_DB_URL (with QUERY_PLAN_DB_USERNAME and
+ * QUERY_PLAN_DB_PASSWORD); everything runs in one transaction that is rolled back.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "app.images.reaper.enabled=false",
+        "app.dashboard.reconcile.initial-delay-ms=3600000"
+})
+@EnabledIfEnvironmentVariable(named = "QUERY_PLAN_DB_URL", matches = ".+")
+class QueryPlanTest {
+
+    private static final Path MIGRATIONS = Paths.get("..", "database", "migrations");
+
+    // Tables large enough in production that a sequential scan is a regression
+    private static final Set<String> HOT_TABLES = Set.of("inspection", "transformer", "inspection_report_form",
+            "transformer_health");
+
+    private static final int TRANSFORMERS = 2_000;
+    private static final int INSPECTIONS = 50_000;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private InspectionRepository inspectionRepository;
+
+    @Autowired
+    private TransformerRepository transformerRepository;
+
+    @Autowired
+    private InspectionReportFormRepository reportFormRepository;
+
+    @Autowired
+    private ReportFormHistoryRepository historyRepository;
+
+    @Autowired
+    private TransformerDeletionRepository transformerDeletionRepository;
+
+    @Autowired
+    private TransformerHealthService transformerHealthService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @DynamicPropertySource
+    static void queryPlanDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("QUERY_PLAN_DB_URL"));
+        registry.add("spring.datasource.username", () -> envOrDefault("QUERY_PLAN_DB_USERNAME", "postgres"));
+        registry.add("spring.datasource.password", () -> envOrDefault("QUERY_PLAN_DB_PASSWORD", ""));
+    }
+
+    @Test
+    void hotQueriesUseIndexes() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<String> failures = transaction.execute(status -> {
+            status.setRollbackOnly();
+            applyMigrations();
+            seed();
+            long inspectionNo = jdbcTemplate.queryForObject(
+                    "SELECT max(inspection_no) FROM inspection WHERE transformer_no LIKE 'QP-%'", Long.class);
+
+            List<String> found = new ArrayList<>();
+            hotQueries(inspectionNo).forEach((name, call) -> {
+                List<String> statements = RecordingDataSource.record(call);
+                if (statements.isEmpty()) {
+                    found.add(name + " sent no SQL");
+                }
+                for (String sql : statements) {
+                    JsonNode plan = explain(sql);
+                    List<String> scans = new ArrayList<>();
+                    collectSequentialScans(plan, scans);
+                    if (!scans.isEmpty()) {
+                        found.add(name + " scans " + scans + ":\n" + sql + "\n" + plan.toPrettyString());
+                    }
+                }
+            });
+            return found;
+        });
+
+        assertTrue(failures.isEmpty(), String.join("\n\n", failures));
+    }
+
+    /**
+     * Calls of the hot repository methods with representative arguments; the deletion runs last
+     */
+    private Map<String, Runnable> hotQueries(long inspectionNo) {
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("InspectionRepository.findById",
+                () -> inspectionRepository.findById(inspectionNo));
+        queries.put("InspectionRepository.findByTransformerNoOrderByDateDesc",
+                () -> inspectionRepository.findByTransformerNoOrderByDateDesc("QP-0007"));
+        queries.put("InspectionRepository.findSummariesByTransformerNoOrderByDateOfInspectionAndTimeDesc",
+                () -> inspectionRepository.findSummariesByTransformerNoOrderByDateOfInspectionAndTimeDesc("QP-0007"));
+        queries.put("InspectionRepository.findTop5ProjectedByOrderByDateOfInspectionAndTimeDesc",
+                () -> inspectionRepository.findTop5ProjectedByOrderByDateOfInspectionAndTimeDesc());
+        queries.put("InspectionRepository.findByDateRange",
+                () -> inspectionRepository.findByDateRange(LocalDateTime.of(2021, 3, 1, 0, 0),
+                        LocalDateTime.of(2021, 3, 2, 0, 0)));
+        queries.put("InspectionRepository.findByState",
+                () -> inspectionRepository.findByState("AI Analysis Failed"));
+        queries.put("InspectionRepository.findByBranch",
+                () -> inspectionRepository.findByBranch("QP-branch-7"));
+        queries.put("InspectionRepository.findInspectionsWithBoundingBoxChanges",
+                () -> inspectionRepository.findInspectionsWithBoundingBoxChanges());
+        queries.put("InspectionRepository.findInspectionsWithBoundingBoxChangesByTransformer",
+                () -> inspectionRepository.findInspectionsWithBoundingBoxChangesByTransformer("QP-0007"));
+        queries.put("InspectionRepository.findReferencedMaintenanceImagePaths",
+                () -> inspectionRepository.findReferencedMaintenanceImagePaths(List.of("qp-2.png", "qp-4.png", "missing.png")));
+        queries.put("InspectionRepository.findTop500ByInspectionNoGreaterThanOrderByInspectionNo",
+                () -> inspectionRepository.findTop500ByInspectionNoGreaterThanOrderByInspectionNo(inspectionNo - 1_000));
+        queries.put("InspectionRepository.findLatestAnalyzedByTransformerNo",
+                () -> inspectionRepository.findLatestAnalyzedByTransformerNo("QP-0007", PageRequest.of(0, 5)));
+        queries.put("InspectionRepository.findFirstSummaryByTransformerNoOrderByDateOfInspectionAndTimeDescInspectionNoDesc",
+                () -> inspectionRepository.findFirstSummaryByTransformerNoOrderByDateOfInspectionAndTimeDescInspectionNoDesc("QP-0007"));
+        queries.put("TransformerRepository.findReferencedBaselineImagePaths",
+                () -> transformerRepository.findReferencedBaselineImagePaths(List.of("qp-baseline-3.png", "missing.png")));
+        queries.put("InspectionReportFormRepository.findByInspectionNo",
+                () -> reportFormRepository.findByInspectionNo(inspectionNo));
+        queries.put("ReportFormHistoryRepository.findPage (transformer)",
+                () -> historyRepository.findPage(historyCriteria(c -> c.setTransformerNo("QP-0007")), true, null, 51));
+        queries.put("ReportFormHistoryRepository.findPage (inspector)",
+                () -> historyRepository.findPage(historyCriteria(c -> c.setInspectedBy("QP-inspector-7")), true, null, 51));
+        queries.put("ReportFormHistoryRepository.findPage (meter serial)",
+                () -> historyRepository.findPage(historyCriteria(c -> c.setMeterSerialNumber("QP-meter-7")), true, null, 51));
+        queries.put("ReportFormHistoryRepository.findPage (drafts in date range)",
+                () -> historyRepository.findPage(historyCriteria(c -> {
+                    c.setFinalized(false);
+                    c.setFrom(LocalDateTime.of(2021, 3, 1, 0, 0));
+                    c.setTo(LocalDateTime.of(2021, 4, 1, 0, 0));
+                }), true, null, 51));
+        queries.put("ReportFormHistoryRepository.findPage (next page)",
+                () -> historyRepository.findPage(historyCriteria(c -> { }), true,
+                        new Keyset(LocalDateTime.of(2021, 3, 1, 0, 0), inspectionNo), 51));
+        queries.put("TransformerHealthService.listHealth (condition)",
+                () -> transformerHealthService.listHealth("condition", "desc", null, 2, 20));
+        queries.put("TransformerHealthService.listHealth (condition, healthiest first)",
+                () -> transformerHealthService.listHealth("condition", "asc", null, 0, 20));
+        queries.put("TransformerHealthService.listHealth (last inspection)",
+                () -> transformerHealthService.listHealth("lastInspection", "asc", null, 0, 20));
+        queries.put("TransformerHealthService.listHealth (trend)",
+                () -> transformerHealthService.listHealth("trend", "desc", null, 0, 20));
+        queries.put("TransformerHealthService.listHealth (faulty, last inspection)",
+                () -> transformerHealthService.listHealth("lastInspection", "asc", "Faulty", 0, 20));
+        queries.put("TransformerDeletionRepository.deleteWithInspections",
+                () -> transformerDeletionRepository.deleteWithInspections("QP-0007"));
+        return queries;
+    }
+
+    private static ReportFormHistoryCriteria historyCriteria(Consumer<ReportFormHistoryCriteria> filters) {
+        ReportFormHistoryCriteria criteria = new ReportFormHistoryCriteria();
+        filters.accept(criteria);
+        return criteria;
+    }
+
+    private void applyMigrations() {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (Stream<Path> scripts = Files.list(MIGRATIONS)) {
+            scripts.filter(path -> path.toString().endsWith(".sql")).sorted()
+                    .forEach(script -> ScriptUtils.executeSqlScript(connection, new FileSystemResource(script)));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read " + MIGRATIONS.toAbsolutePath(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Production-shaped data: many transformers with a history of inspections each,
+     * few annotated inspections, rare failure states
+     */
+    private void seed() {
+        jdbcTemplate.update("INSERT INTO transformer (transformer_no, region, pole_no, type, location_details, baseline_image_path)"
+                + " SELECT 'QP-' || lpad(g::text, 4, '0'), 'QP-region-' || (g % 10), 'QP-pole-' || g, 'Distribution',"
+                + "        'Seeded for query plans', CASE WHEN g % 2 = 1 THEN 'qp-baseline-' || g || '.png' END"
+                + " FROM generate_series(0, ?) g", TRANSFORMERS - 1);
+        jdbcTemplate.update("INSERT INTO inspection (transformer_no, branch, date_of_inspection_and_time, state,"
+                + "        maintenance_image_path, ai_bounding_boxes, edited_or_manually_added_boxes)"
+                + " SELECT 'QP-' || lpad((g % ?)::text, 4, '0'), 'QP-branch-' || (g % 50),"
+                + "        timestamp '2020-01-01' + g * interval '30 minutes',"
+                + "        CASE WHEN g % 1000 = 0 THEN 'AI Analysis Failed' ELSE 'AI Analysis Completed' END,"
+                + "        CASE WHEN g % 2 = 0 THEN 'qp-' || g || '.png' END,"
+                + "        '{\"predictions\": []}',"
+                + "        CASE WHEN g % 500 = 0 THEN '[]' END"
+                + " FROM generate_series(1, ?) g", TRANSFORMERS, INSPECTIONS);
+        jdbcTemplate.update("INSERT INTO inspection_report_form (inspection_no, inspected_by, meter_serial_number,"
+                + "        is_finalized, created_at)"
+                + " SELECT inspection_no, 'QP-inspector-' || (inspection_no % 40), 'QP-meter-' || (inspection_no % 2000),"
+                + "        inspection_no % 30 <> 0, now() FROM inspection"
+                + " WHERE transformer_no LIKE 'QP-%' AND inspection_no % 3 = 0");
+        jdbcTemplate.update("INSERT INTO transformer_health (transformer_no, latest_inspection_no, latest_inspection_at,"
+                + "        condition_class, condition_rank, faulty_boxes, potentially_faulty_boxes, normal_boxes,"
+                + "        trend_inspections, trend_delta, trend, updated_at)"
+                + " SELECT i.transformer_no, max(i.inspection_no), max(i.date_of_inspection_and_time),"
+                + "        'Normal', 1 + (hashtext(i.transformer_no) & 3) % 3, 0, 0, 0,"
+                + "        5, ((hashtext(i.transformer_no) & 7) - 3) / 4.0,"
+                + "        'Stable', now()"
+                + " FROM inspection i WHERE i.transformer_no LIKE 'QP-%' GROUP BY i.transformer_no");
+        jdbcTemplate.execute("ANALYZE transformer");
+        jdbcTemplate.execute("ANALYZE inspection");
+        jdbcTemplate.execute("ANALYZE inspection_report_form");
+        jdbcTemplate.execute("ANALYZE transformer_health");
+    }
+
+    private JsonNode explain(String sql) {
+        String json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class);
+        try {
+            return objectMapper.readTree(json).get(0).get("Plan");
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable plan for " + sql, e);
+        }
+    }
+
+    private static void collectSequentialScans(JsonNode node, List<String> scans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && HOT_TABLES.contains(node.path("Relation Name").asText())) {
+            scans.add(node.path("Relation Name").asText());
+        }
+        node.path("Plans").forEach(child -> collectSequentialScans(child, scans));
+    }
+
+    private static String envOrDefault(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Wraps the application's DataSource so every statement it runs can be recorded
+     */
+    @TestConfiguration
+    static class StatementRecording {
+
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return "dataSource".equals(beanName) && bean instanceof DataSource
+                            ? new RecordingDataSource((DataSource) bean) : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * DataSource whose connections report the statements executed on the recording thread,
+     * with their bind values inlined as literals (so EXPLAIN plans them as the real call's custom plan)
+     */
+    static class RecordingDataSource extends DelegatingDataSource {
+
+        private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+        RecordingDataSource(DataSource target) {
+            super(target);
+        }
+
+        /**
+         * Run a call and return the statements it executed
+         */
+        static List<String> record(Runnable call) {
+            List<String> statements = new ArrayList<>();
+            RECORDED.set(statements);
+            try {
+                call.run();
+            } finally {
+                RECORDED.remove();
+            }
+            return statements;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return recording(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return recording(super.getConnection(username, password));
+        }
+
+        private static Connection recording(Connection connection) {
+            return proxy(Connection.class, connection, (method, args, result) -> {
+                if (result instanceof PreparedStatement && args != null && args[0] instanceof String sql) {
+                    return recording((PreparedStatement) result, sql);
+                }
+                if (result instanceof Statement) {
+                    return proxy(Statement.class, (Statement) result, (statementMethod, statementArgs, executed) -> {
+                        if (statementMethod.getName().startsWith("execute") && statementArgs != null
+                                && statementArgs[0] instanceof String sql && RECORDED.get() != null) {
+                            RECORDED.get().add(sql);
+                        }
+                        return executed;
+                    });
+                }
+                return result;
+            });
+        }
+
+        private static PreparedStatement recording(PreparedStatement statement, String sql) {
+            Map<Integer, Object> values = new HashMap<>();
+            return proxy(PreparedStatement.class, statement, (method, args, result) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    values.put(index, name.equals("setNull") ? null : args[1]);
+                } else if (name.equals("clearParameters")) {
+                    values.clear();
+                } else if (name.startsWith("execute") && RECORDED.get() != null) {
+                    RECORDED.get().add(inline(sql, values));
+                }
+                return result;
+            });
+        }
+
+        /**
+         * Replace the ? placeholders outside quotes with the bound values
+         */
+        private static String inline(String sql, Map<Integer, Object> values) throws SQLException {
+            StringBuilder inlined = new StringBuilder();
+            int index = 0;
+            char quote = 0;
+            for (char c : sql.toCharArray()) {
+                if (quote != 0) {
+                    quote = c == quote ? 0 : quote;
+                } else if (c == '\'' || c == '"') {
+                    quote = c;
+                } else if (c == '?') {
+                    inlined.append(literal(values.get(++index)));
+                    continue;
+                }
+                inlined.append(c);
+            }
+            return inlined.toString();
+        }
+
+        private static String literal(Object value) throws SQLException {
+            if (value == null) {
+                return "NULL";
+            }
+            if (value instanceof Number || value instanceof Boolean) {
+                return value.toString();
+            }
+            if (value instanceof Array array) {
+                value = array.getArray();
+            }
+            if (value instanceof Object[] elements) {
+                return quoted(Arrays.stream(elements).map(String::valueOf).collect(Collectors.joining(",", "{", "}")));
+            }
+            return quoted(value.toString());
+        }
+
+        private static String quoted(String text) {
+            return "'" + text.replace("'", "''") + "'";
+        }
+
+        private interface ResultHandler {
+            Object handle(Method method, Object[] args, Object result) throws SQLException;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, ResultHandler handler) {
+            return (T) Proxy.newProxyInstance(RecordingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> {
+                        Object result;
+                        try {
+                            result = method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                        return handler.handle(method, args, result);
+                    });
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.transformerthermalinspector.service;
+
+import com.example.transformerthermalinspector.dao.ImageMetadata;
+import com.example.transformerthermalinspector.repository.ImageMetadataRepository;
+import com.example.transformerthermalinspector.storage.ImageStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the single-pass upload ingest: format sniffing, dimensions, hashing and rejection.
+ */
+class ImageStorageServiceTest {
+
+    @TempDir
+    Path uploadRoot;
+
+    private ImageStorageService imageStorageService;
+
+    @BeforeEach
+    void setUp() {
+        ImageMetadataRepository repository = mock(ImageMetadataRepository.class);
+        when(repository.save(any(ImageMetadata.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        imageStorageService = new ImageStorageService(repository, mock(ImageStore.class));
+        ReflectionTestUtils.setField(imageStorageService, "baselineUploadDir", uploadRoot.resolve("baseline").toString());
+        ReflectionTestUtils.setField(imageStorageService, "maintenanceUploadDir", uploadRoot.resolve("maintenance").toString());
+    }
+
+    @Test
+    void storesImageWithSniffedFormatDimensionsAndHash() throws Exception {
+        for (String format : new String[] {"png", "jpg", "gif"}) {
+            byte[] bytes = encode(format, 321, 123);
+            // Client-supplied name and content type are deliberately wrong
+            MockMultipartFile file = new MockMultipartFile("image", "upload.bin", "application/octet-stream", bytes);
+
+            ImageMetadata metadata = imageStorageService.storeMaintenanceImage(file, 7L);
+
+            assertTrue(metadata.getFilename().endsWith("." + format), metadata.getFilename());
+            assertEquals(321, metadata.getWidth());
+            assertEquals(123, metadata.getHeight());
+            assertEquals(bytes.length, metadata.getSizeBytes());
+            assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes)), metadata.getSha256());
+            assertTrue(Files.isRegularFile(imageStorageService.getImagePath(metadata.getFilename(), false)));
+        }
+    }
+
+    @Test
+    void rejectsNonImageWithoutLeavingFiles() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("image", "fake.jpg", "image/jpeg", "not really an image".getBytes());
+
+        assertThrows(IllegalArgumentException.class, () -> imageStorageService.storeBaselineImage(file, "TX-1"));
+
+        try (var entries = Files.list(uploadRoot.resolve("baseline"))) {
+            assertEquals(0, entries.count());
+        }
+    }
+
+    private static byte[] encode(String format, int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format.equals("jpg") ? "jpeg" : format, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.transformerthermalinspector.service;
+
+import com.example.transformerthermalinspector.dto.InspectionReportFormDTO;
+import com.example.transformerthermalinspector.repository.InspectionReportFormPatchRepository.PatchResult;
+import com.example.transformerthermalinspector.repository.InspectionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the report form write-behind buffer: coalescing of saves and patches, the versions it hands out,
+ * finalize and delete ordering, retries and shutdown, including saves racing finalize and shutdown.
+ */
+class ReportFormAutoSaveBufferTest {
+
+    private InspectionReportFormService reportFormService;
+    private InspectionRepository inspectionRepository;
+    private ReportFormAutoSaveBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        reportFormService = mock(InspectionReportFormService.class);
+        inspectionRepository = mock(InspectionRepository.class);
+        when(inspectionRepository.existsById(any())).thenReturn(true);
+        when(reportFormService.writeBuffered(any(), any(), anyMap(), any(), anyLong())).thenReturn(true);
+        when(reportFormService.autoSave(any(), any())).thenReturn(stored(0));
+        buffer = new ReportFormAutoSaveBuffer(reportFormService, inspectionRepository);
+    }
+
+    @Test
+    void autoSavesOfOneFormAreCoalescedIntoTheLatest() {
+        assertEquals(0, buffer.autoSave(1L, form("first")));
+        assertEquals(1, buffer.autoSave(1L, form("second")));
+        assertEquals(2, buffer.autoSave(1L, form("third")));
+        verify(reportFormService, never()).writeBuffered(any(), any(), anyMap(), any(), anyLong());
+
+        buffer.flushAll();
+
+        verify(reportFormService, times(1)).writeBuffered(any(), any(), anyMap(), any(), anyLong());
+        verify(reportFormService).writeBuffered(eq(1L), eq(form("third")), eq(Map.of()), isNull(), eq(2L));
+        verify(inspectionRepository, times(1)).existsById(1L);
+        assertEquals(0, buffer.getPendingCount());
+    }
+
+    @Test
+    void patchesAreMergedAndWrittenOnceWithTheLastVersion() {
+        when(reportFormService.getSaveState(1L)).thenReturn(Optional.of(state(5, false)));
+
+        PatchResult first = buffer.patch(1L, 5L, Map.of("inspectedBy", "a", "meterMake", "m")).orElseThrow();
+        PatchResult second = buffer.patch(1L, 6L, Map.of("inspectedBy", "b")).orElseThrow();
+        PatchResult stale = buffer.patch(1L, 6L, Map.of("inspectedBy", "c")).orElseThrow();
+
+        assertTrue(first.isApplied());
+        assertEquals(6, first.getVersion());
+        assertTrue(second.isApplied());
+        assertEquals(7, second.getVersion());
+        assertFalse(stale.isApplied());
+        assertEquals(7, stale.getVersion());
+        verify(reportFormService, never()).patch(any(), any(), anyMap());
+
+        buffer.flushAll();
+
+        verify(reportFormService).writeBuffered(eq(1L), isNull(),
+                eq(Map.of("inspectedBy", "b", "meterMake", "m")), eq(5L), eq(7L));
+        assertEquals(0, buffer.getPendingCount());
+    }
+
+    @Test
+    void patchesApplyOnTopOfTheBufferedSave() {
+        when(reportFormService.getSaveState(1L)).thenReturn(Optional.of(state(3, false)));
+
+        long version = buffer.autoSave(1L, form("draft"));
+        assertEquals(4, version);
+        assertEquals(5, buffer.patch(1L, version, Map.of("meterMake", "m")).orElseThrow().getVersion());
+        buffer.flushAll();
+
+        verify(reportFormService).writeBuffered(eq(1L), eq(form("draft")), eq(Map.of("meterMake", "m")), eq(3L), eq(5L));
+    }
+
+    @Test
+    void patchesOfFinalizedOrStaleFormsAreNotBuffered() {
+        when(reportFormService.getSaveState(1L)).thenReturn(Optional.of(state(2, true)));
+        when(reportFormService.getSaveState(2L)).thenReturn(Optional.of(state(9, false)));
+
+        buffer.patch(1L, 2L, Map.of("inspectedBy", "late"));
+        buffer.patch(2L, 8L, Map.of("inspectedBy", "stale"));
+
+        verify(reportFormService).patch(1L, 2L, Map.of("inspectedBy", "late"));
+        verify(reportFormService).patch(2L, 8L, Map.of("inspectedBy", "stale"));
+        assertEquals(0, buffer.getPendingCount());
+    }
+
+    @Test
+    void unknownInspectionIsRejectedImmediately() {
+        when(inspectionRepository.existsById(9L)).thenReturn(false);
+        assertThrows(IllegalArgumentException.class, () -> buffer.autoSave(9L, form("x")));
+        assertEquals(0, buffer.getPendingCount());
+    }
+
+    @Test
+    void finalizeAndDeleteDiscardTheBufferedSave() {
+        buffer.autoSave(1L, form("draft"));
+        buffer.finalizeReport(1L, form("final"));
+        buffer.autoSave(2L, form("draft"));
+        buffer.deleteByInspectionNo(2L);
+
+        buffer.flushAll();
+
+        verify(reportFormService, never()).writeBuffered(any(), any(), anyMap(), any(), anyLong());
+        verify(reportFormService).finalizeReport(1L, form("final"));
+        verify(reportFormService).deleteByInspectionNo(2L);
+    }
+
+    @Test
+    void readsSeeTheBufferedSave() {
+        buffer.autoSave(1L, form("draft"));
+        buffer.getByInspectionNo(1L);
+        verify(reportFormService).writeBuffered(eq(1L), eq(form("draft")), eq(Map.of()), isNull(), eq(0L));
+        assertEquals(0, buffer.getPendingCount());
+    }
+
+    @Test
+    void failedWriteIsRetriedOnTheNextFlush() {
+        when(reportFormService.writeBuffered(eq(1L), any(), anyMap(), any(), anyLong()))
+                .thenThrow(new QueryTimeoutException("down"))
+                .thenReturn(true);
+        buffer.autoSave(1L, form("draft"));
+
+        buffer.flushAll();
+        assertEquals(1, buffer.getPendingCount());
+        buffer.flushAll();
+
+        assertEquals(0, buffer.getPendingCount());
+        verify(reportFormService, times(2)).writeBuffered(eq(1L), eq(form("draft")), eq(Map.of()), isNull(), eq(0L));
+    }
+
+    @Test
+    void shutdownWritesBufferedSavesAndLaterSavesGoStraightThrough() {
+        buffer.autoSave(1L, form("a"));
+        buffer.autoSave(2L, form("b"));
+
+        buffer.shutdown();
+        verify(reportFormService).writeBuffered(eq(1L), eq(form("a")), anyMap(), any(), anyLong());
+        verify(reportFormService).writeBuffered(eq(2L), eq(form("b")), anyMap(), any(), anyLong());
+
+        buffer.autoSave(3L, form("c"));
+        verify(reportFormService).autoSave(3L, form("c"));
+        assertEquals(0, buffer.getPendingCount());
+    }
+
+    @Test
+    void savesOfFinalizedFormsAreWrittenDirectly() {
+        when(reportFormService.getSaveState(1L)).thenReturn(Optional.of(state(2, true)));
+        when(reportFormService.autoSave(1L, form("late"))).thenReturn(stored(3));
+
+        assertEquals(3, buffer.autoSave(1L, form("late")));
+
+        verify(reportFormService).autoSave(1L, form("late"));
+        assertEquals(0, buffer.getPendingCount());
+    }
+
+    @Test
+    void saveRacingFinalizeIsNeverWrittenAfterIt() throws Exception {
+        AtomicBoolean finalized = new AtomicBoolean();
+        List<String> writes = Collections.synchronizedList(new ArrayList<>());
+        when(reportFormService.getSaveState(1L)).thenAnswer(invocation -> Optional.of(state(0, finalized.get())));
+        doAnswer(invocation -> {
+            writes.add("autoSave");
+            return true;
+        }).when(reportFormService).writeBuffered(eq(1L), any(), anyMap(), any(), anyLong());
+        doAnswer(invocation -> {
+            writes.add("finalize");
+            finalized.set(true);
+            return null;
+        }).when(reportFormService).finalizeReport(eq(1L), any());
+        // Saves after finalize edit the finalized form directly
+        doAnswer(invocation -> {
+            writes.add("direct");
+            return stored(0);
+        }).when(reportFormService).autoSave(eq(1L), any());
+
+        List<Thread> savers = startThreads(8, () -> {
+            for (int i = 0; i < 2_000; i++) {
+                buffer.autoSave(1L, form("draft-" + i));
+                if (i % 50 == 0) {
+                    buffer.flushAll();
+                }
+            }
+        });
+        Thread.sleep(5);
+        buffer.finalizeReport(1L, form("final"));
+        joinAll(savers);
+        buffer.flushAll();
+
+        assertTrue(writes.lastIndexOf("autoSave") < writes.indexOf("finalize"), "buffered auto-save written after finalize");
+        assertTrue(writes.subList(writes.indexOf("finalize") + 1, writes.size()).stream().allMatch("direct"::equals));
+        assertEquals(0, buffer.getPendingCount());
+    }
+
+    @Test
+    void everySaveAcceptedDuringShutdownIsWritten() throws Exception {
+        Map<Long, String> written = new ConcurrentHashMap<>();
+        Map<Long, String> accepted = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+            written.put(invocation.getArgument(0), ((InspectionReportFormDTO) invocation.getArgument(1)).getInspectedBy());
+            return true;
+        }).when(reportFormService).writeBuffered(any(), any(), anyMap(), any(), anyLong());
+        doAnswer(invocation -> {
+            written.put(invocation.getArgument(0), ((InspectionReportFormDTO) invocation.getArgument(1)).getInspectedBy());
+            return stored(0);
+        }).when(reportFormService).autoSave(any(), any());
+
+        List<Thread> savers = new ArrayList<>();
+        for (long inspectionNo = 1; inspectionNo <= 8; inspectionNo++) {
+            long no = inspectionNo;
+            savers.addAll(startThreads(1, () -> {
+                for (int i = 0; i < 5_000; i++) {
+                    buffer.autoSave(no, form("v" + i));
+                    accepted.put(no, "v" + i);
+                }
+            }));
+        }
+        Thread.sleep(5);
+        buffer.shutdown();
+        joinAll(savers);
+
+        assertEquals(0, buffer.getPendingCount());
+        assertEquals(accepted, written);
+    }
+
+    private static List<Thread> startThreads(int count, Runnable work) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(count);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Thread thread = new Thread(() -> {
+                started.countDown();
+                work.run();
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        started.await();
+        return threads;
+    }
+
+    private static void joinAll(List<Thread> threads) throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.join(30_000);
+            assertTrue(!thread.isAlive(), "saver did not finish");
+        }
+    }
+
+    private static InspectionReportFormDTO form(String inspectedBy) {
+        InspectionReportFormDTO dto = new InspectionReportFormDTO();
+        dto.setInspectedBy(inspectedBy);
+        return dto;
+    }
+
+    private static InspectionReportFormDTO stored(long version) {
+        InspectionReportFormDTO dto = new InspectionReportFormDTO();
+        dto.setVersion(version);
+        return dto;
+    }
+
+    private static PatchResult state(long version, boolean finalized) {
+        return new PatchResult(false, version, finalized, null);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.transformerthermalinspector.service;
+
+import com.example.transformerthermalinspector.dao.InspectionReportForm;
+import com.example.transformerthermalinspector.event.ReportFinalizedEvent;
+import com.example.transformerthermalinspector.repository.InspectionReportFormRepository;
+import com.example.transformerthermalinspector.repository.InspectionRepository;
+import com.example.transformerthermalinspector.repository.TransformerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for PDF generation scheduling: requests during a run and outdated PDF records.
+ */
+class ReportPdfServiceTest {
+
+    private InspectionReportFormRepository reportFormRepository;
+    private ExecutorService executor;
+    private ReportPdfService service;
+
+    @BeforeEach
+    void setUp() {
+        reportFormRepository = mock(InspectionReportFormRepository.class);
+        executor = Executors.newSingleThreadExecutor();
+        service = new ReportPdfService(reportFormRepository, mock(InspectionRepository.class),
+                mock(TransformerRepository.class), mock(EffectiveBoxService.class),
+                mock(AnnotatedImageService.class), executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void requestsDuringARunTriggerExactlyOneMoreRun() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        when(reportFormRepository.findByInspectionNo(1L)).thenAnswer(invocation -> {
+            if (runs.incrementAndGet() == 1) {
+                running.countDown();
+                release.await(10, TimeUnit.SECONDS);
+            }
+            return Optional.empty();
+        });
+
+        service.onReportFinalized(new ReportFinalizedEvent(1L));
+        assertTrue(running.await(10, TimeUnit.SECONDS));
+        service.onReportFinalized(new ReportFinalizedEvent(1L));
+        service.onReportFinalized(new ReportFinalizedEvent(1L));
+        release.countDown();
+
+        for (int i = 0; i < 100 && service.isGenerating(1L); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(!service.isGenerating(1L));
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void pdfRenderedFromAnOlderVersionIsNotServed() {
+        // Generation is only queued, not run
+        ReportPdfService queueOnly = new ReportPdfService(reportFormRepository, mock(InspectionRepository.class),
+                mock(TransformerRepository.class), mock(EffectiveBoxService.class),
+                mock(AnnotatedImageService.class), task -> { });
+        InspectionReportForm form = new InspectionReportForm();
+        form.setInspectionNo(1L);
+        form.setIsFinalized(true);
+        form.setVersion(3L);
+        form.setPdfPath("INS-1-0123456789abcdef.pdf");
+        form.setPdfVersion(2L);
+        when(reportFormRepository.findByInspectionNo(1L)).thenReturn(Optional.of(form));
+
+        assertTrue(queueOnly.getReportPdf(1L).isEmpty());
+        assertTrue(queueOnly.isGenerating(1L));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.transformerthermalinspector.service;
+
+import com.example.transformerthermalinspector.dao.Transformer;
+import com.example.transformerthermalinspector.dto.TransformerDTO;
+import com.example.transformerthermalinspector.dto.TransformerSearchCriteria;
+import com.example.transformerthermalinspector.dto.TransformerSearchResult;
+import com.example.transformerthermalinspector.event.TransformerChangedEvent;
+import com.example.transformerthermalinspector.mapper.TransformerMapperImpl;
+import com.example.transformerthermalinspector.repository.TransformerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the in-memory transformer search: text matching, facet filters and counts, and refresh on writes.
+ */
+class TransformerSearchIndexTest {
+
+    private TransformerRepository repository;
+    private TransformerSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(TransformerRepository.class);
+        when(repository.findAll()).thenReturn(List.of(
+                transformer("AZ-1002", "EN-122-A", "Nugegoda", "Colombo", "Bulk", "100kVA", 2),
+                transformer("AZ-1001", "EN-121-B", "Colombo road junction, Kandy", "Kandy", "Distribution", "250kVA", 4),
+                transformer("BZ-2001", "COL-200", "Maradana", "Colombo", "Distribution", "100kVA", 4)));
+        index = new TransformerSearchIndex(repository, new TransformerMapperImpl());
+    }
+
+    @Test
+    void matchesAllTermsAsSubstringsAndRanksPrefixMatchesFirst() {
+        assertEquals(List.of("AZ-1001", "AZ-1002", "BZ-2001"), numbers(search(null)));
+        assertEquals(List.of("AZ-1001"), numbers(search("kandy JUNCTION")));
+        assertEquals(List.of("AZ-1001", "AZ-1002"), numbers(search("z-1")));
+        assertEquals(List.of("AZ-1002"), numbers(search("go")));
+        // BZ-2001's pole number starts with the term, AZ-1001 only mentions it in its location
+        assertEquals(List.of("BZ-2001", "AZ-1001"), numbers(search("col")));
+        assertEquals(List.of(), numbers(search("missing")));
+    }
+
+    @Test
+    void filtersWithinFacetAsOrAndAcrossFacetsAsAnd() {
+        TransformerSearchCriteria criteria = new TransformerSearchCriteria();
+        criteria.setRegions(List.of("Colombo", "Kandy"));
+        criteria.setNumberOfFeeders(List.of(4));
+        criteria.setCapacities(List.of("100kVA"));
+
+        TransformerSearchResult result = index.search(criteria, 0, 20);
+
+        assertEquals(List.of("BZ-2001"), numbers(result));
+        assertEquals(1, result.getTotal());
+        // Each facet is counted without its own filter
+        assertEquals(Map.of("Colombo", 1), result.getFacets().get(TransformerSearchIndex.FACET_REGION));
+        assertEquals(Map.of("100kVA", 1, "250kVA", 1), result.getFacets().get(TransformerSearchIndex.FACET_CAPACITY));
+        assertEquals(Map.of("2", 1, "4", 1), result.getFacets().get(TransformerSearchIndex.FACET_FEEDERS));
+        assertEquals(Map.of("Distribution", 1), result.getFacets().get(TransformerSearchIndex.FACET_TYPE));
+    }
+
+    @Test
+    void pagesResultsAndRejectsInvalidPages() {
+        TransformerSearchResult second = index.search(new TransformerSearchCriteria(), 1, 2);
+
+        assertEquals(List.of("BZ-2001"), numbers(second));
+        assertEquals(3, second.getTotal());
+        assertThrows(IllegalArgumentException.class, () -> index.search(new TransformerSearchCriteria(), -1, 20));
+        assertThrows(IllegalArgumentException.class, () -> index.search(new TransformerSearchCriteria(), 0, 1000));
+    }
+
+    @Test
+    void appliesTransformerChanges() {
+        search(null); // Builds the index
+        Transformer moved = transformer("AZ-1002", "EN-122-A", "Galle fort", "Galle", "Bulk", "100kVA", 2);
+        when(repository.findById("AZ-1002")).thenReturn(Optional.of(moved));
+
+        index.onTransformerChanged(new TransformerChangedEvent("AZ-1002", false));
+        index.onTransformerChanged(new TransformerChangedEvent("BZ-2001", true));
+
+        assertEquals(List.of("AZ-1002"), numbers(search("galle")));
+        assertEquals(List.of(), numbers(search("nugegoda")));
+        assertEquals(List.of("AZ-1001", "AZ-1002"), numbers(search(null)));
+    }
+
+    @Test
+    void appliesChangesCommittedBeforeTheFirstBuild() {
+        // The table read by the first build does not show the writes yet, as on a lagging replica
+        Transformer moved = transformer("AZ-1002", "EN-122-A", "Galle fort", "Galle", "Bulk", "100kVA", 2);
+        when(repository.findById("AZ-1002")).thenReturn(Optional.of(moved));
+        index.onTransformerChanged(new TransformerChangedEvent("AZ-1002", false));
+        index.onTransformerChanged(new TransformerChangedEvent("BZ-2001", true));
+
+        assertEquals(List.of("AZ-1002"), numbers(search("galle")));
+        assertEquals(List.of("AZ-1001", "AZ-1002"), numbers(search(null)));
+    }
+
+    private TransformerSearchResult search(String query) {
+        TransformerSearchCriteria criteria = new TransformerSearchCriteria();
+        criteria.setQuery(query);
+        return index.search(criteria, 0, 20);
+    }
+
+    private static List<String> numbers(TransformerSearchResult result) {
+        return result.getItems().stream().map(TransformerDTO::getTransformerNo).toList();
+    }
+
+    private static Transformer transformer(String no, String poleNo, String location, String region,
+                                           String type, String capacity, int feeders) {
+        Transformer transformer = new Transformer();
+        transformer.setTransformerNo(no);
+        transformer.setPoleNo(poleNo);
+        transformer.setLocationDetails(location);
+        transformer.setRegion(region);
+        transformer.setType(type);
+        transformer.setCapacity(capacity);
+        transformer.setNumberOfFeeders(feeders);
+        return transformer;
+    }
+}
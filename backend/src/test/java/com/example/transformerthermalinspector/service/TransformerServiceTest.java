@@ -0,0 +1,85 @@
+package com.example.transformerthermalinspector.service;
+
+import com.example.transformerthermalinspector.event.InspectionsDeletedEvent;
+import com.example.transformerthermalinspector.event.TransformerChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for set-based transformer deletion: rows removed and events published in place of per-row ones.
+ * Each test runs in a transaction that is rolled back, so the after-commit listeners and image cleanup never run.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "app.images.reaper.enabled=false",
+        "app.dashboard.reconcile.initial-delay-ms=3600000",
+        "app.transformers.health.reconcile.initial-delay-ms=3600000"
+})
+@Transactional
+@RecordApplicationEvents
+class TransformerServiceTest {
+
+    private static final String TRANSFORMER_NO = "DEL-TEST-1";
+
+    @Autowired
+    private TransformerService transformerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void deletesInspectionsAndReportFormsAndPublishesEvents() {
+        jdbcTemplate.update("INSERT INTO transformer (transformer_no, region, pole_no, type, location_details)"
+                + " VALUES (?, 'Test region', 'Test pole', 'Distribution', 'Deletion test')", TRANSFORMER_NO);
+        jdbcTemplate.update("INSERT INTO inspection (transformer_no, branch, date_of_inspection_and_time, state)"
+                + " SELECT ?, 'Test branch', timestamp '2026-01-01' + g * interval '1 day', 'Pending'"
+                + " FROM generate_series(1, 3) g", TRANSFORMER_NO);
+        List<Long> inspectionNos = jdbcTemplate.queryForList(
+                "SELECT inspection_no FROM inspection WHERE transformer_no = ? ORDER BY inspection_no", Long.class, TRANSFORMER_NO);
+        jdbcTemplate.update("INSERT INTO inspection_report_form (inspection_no, inspected_by, is_finalized, created_at)"
+                + " VALUES (?, 'Tester', false, now())", inspectionNos.get(0));
+
+        assertTrue(transformerService.deleteTransformer(TRANSFORMER_NO));
+
+        assertEquals(0, count("SELECT count(*) FROM transformer WHERE transformer_no = ?", TRANSFORMER_NO));
+        assertEquals(0, count("SELECT count(*) FROM inspection WHERE transformer_no = ?", TRANSFORMER_NO));
+        assertEquals(0, count("SELECT count(*) FROM inspection_report_form WHERE inspection_no = ?", inspectionNos.get(0)));
+
+        List<TransformerChangedEvent> changed = events.stream(TransformerChangedEvent.class).collect(Collectors.toList());
+        assertEquals(1, changed.size());
+        assertEquals(TRANSFORMER_NO, changed.get(0).getTransformerNo());
+        assertTrue(changed.get(0).isDeleted());
+
+        List<InspectionsDeletedEvent> deleted = events.stream(InspectionsDeletedEvent.class).collect(Collectors.toList());
+        assertEquals(1, deleted.size());
+        assertEquals(TRANSFORMER_NO, deleted.get(0).getTransformerNo());
+        assertEquals(inspectionNos, deleted.get(0).getInspectionNos().stream().sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    void unknownTransformerIsNotDeletedAndPublishesNothing() {
+        assertFalse(transformerService.deleteTransformer(TRANSFORMER_NO));
+
+        assertEquals(0, events.stream(TransformerChangedEvent.class).count());
+        assertEquals(0, events.stream(InspectionsDeletedEvent.class).count());
+    }
+
+    private int count(String sql, Object param) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, param);
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.transformerthermalinspector.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CommonPrefix;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the S3 image store against an in-memory stand-in for the bucket.
+ * Downloads go through the SDK's own response transformers, so the store is exercised as with a real client.
+ */
+class S3ImageStoreTest {
+
+    private static final String BUCKET = "thermal-images";
+    private static final String PREFIX = "test/";
+
+    @TempDir
+    Path workDir;
+
+    private InMemoryS3Client s3Client;
+    private S3ImageStore store;
+
+    @BeforeEach
+    void setUp() {
+        s3Client = new InMemoryS3Client();
+        store = new S3ImageStore(s3Client, null, BUCKET, PREFIX);
+    }
+
+    @Test
+    void roundTripsPutFetchExistsAndDelete() throws Exception {
+        byte[] bytes = "thermal image bytes".getBytes();
+        Path source = Files.write(workDir.resolve("upload.jpg"), bytes);
+
+        store.put("maintenance/INS-1.jpg", source, "image/jpeg");
+        assertTrue(s3Client.objects.containsKey(PREFIX + "maintenance/INS-1.jpg"));
+        assertTrue(store.exists("maintenance/INS-1.jpg"));
+        assertEquals(Optional.of((long) bytes.length), store.size("maintenance/INS-1.jpg"));
+
+        Path target = workDir.resolve("node").resolve("INS-1.jpg");
+        assertTrue(store.fetch("maintenance/INS-1.jpg", target));
+        assertArrayEquals(bytes, Files.readAllBytes(target));
+
+        // A stale working copy is replaced
+        Files.write(target, "stale".getBytes());
+        assertTrue(store.fetch("maintenance/INS-1.jpg", target));
+        assertArrayEquals(bytes, Files.readAllBytes(target));
+
+        store.delete("maintenance/INS-1.jpg");
+        assertFalse(store.exists("maintenance/INS-1.jpg"));
+        assertEquals(Optional.empty(), store.size("maintenance/INS-1.jpg"));
+        assertFalse(store.fetch("maintenance/INS-1.jpg", workDir.resolve("missing.jpg")));
+        assertFalse(Files.exists(workDir.resolve("missing.jpg")));
+        try (var leftovers = Files.list(target.getParent())) {
+            assertEquals(List.of(target), leftovers.collect(Collectors.toList())); // No temp files left behind
+        }
+    }
+
+    @Test
+    void clientFailuresSurfaceAsIOException() {
+        s3Client.failure = SdkClientException.create("connection refused");
+
+        assertThrows(IOException.class, () -> store.fetch("baseline/TX-1.jpg", workDir.resolve("TX-1.jpg")));
+        assertThrows(IOException.class, () -> store.put("baseline/TX-1.jpg", workDir, "image/jpeg"));
+        assertThrows(IOException.class, () -> store.delete("baseline/TX-1.jpg"));
+        assertThrows(IOException.class, () -> store.list("baseline", null, 10));
+    }
+
+    @Test
+    void listsOriginalsInPagesWithoutRenditions() throws Exception {
+        Path source = Files.write(workDir.resolve("image.jpg"), new byte[] {1});
+        for (String name : List.of("TX-3.jpg", "TX-1.jpg", "TX-2.jpg")) {
+            store.put("baseline/" + name, source, "image/jpeg");
+            store.put("baseline/renditions/thumbnail/" + name, source, "image/jpeg");
+        }
+        store.put("maintenance/INS-1.jpg", source, "image/jpeg");
+
+        assertEquals(List.of("TX-1.jpg", "TX-2.jpg"), names(store.list("baseline", null, 2)));
+        assertEquals(List.of("TX-3.jpg"), names(store.list("baseline", "TX-2.jpg", 2)));
+        assertEquals(List.of(), names(store.list("baseline", "TX-3.jpg", 2)));
+        assertEquals(List.of("INS-1.jpg"), names(store.list("maintenance", null, 10)));
+    }
+
+    private static List<String> names(List<StoredImage> images) {
+        return images.stream().map(StoredImage::filename).collect(Collectors.toList());
+    }
+
+    /**
+     * Bucket held in memory, implementing the calls S3ImageStore makes
+     */
+    private static class InMemoryS3Client implements S3Client {
+
+        private final NavigableMap<String, byte[]> objects = new ConcurrentSkipListMap<>();
+        private volatile RuntimeException failure;
+
+        @Override
+        public PutObjectResponse putObject(PutObjectRequest request, RequestBody body) {
+            failIfRequested();
+            try (InputStream in = body.contentStreamProvider().newStream()) {
+                objects.put(request.key(), in.readAllBytes());
+            } catch (IOException e) {
+                throw SdkClientException.create("Could not read request body", e);
+            }
+            return PutObjectResponse.builder().build();
+        }
+
+        @Override
+        public <T> T getObject(GetObjectRequest request, ResponseTransformer<GetObjectResponse, T> transformer) {
+            failIfRequested();
+            byte[] bytes = object(request.key());
+            GetObjectResponse response = GetObjectResponse.builder().contentLength((long) bytes.length).build();
+            try {
+                return transformer.transform(response, AbortableInputStream.create(new ByteArrayInputStream(bytes)));
+            } catch (Exception e) {
+                throw e instanceof RuntimeException ? (RuntimeException) e : SdkClientException.create(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public ResponseBytes<GetObjectResponse> getObjectAsBytes(GetObjectRequest request) {
+            return getObject(request, ResponseTransformer.toBytes());
+        }
+
+        @Override
+        public HeadObjectResponse headObject(HeadObjectRequest request) {
+            failIfRequested();
+            return HeadObjectResponse.builder().contentLength((long) object(request.key()).length).build();
+        }
+
+        @Override
+        public DeleteObjectResponse deleteObject(DeleteObjectRequest request) {
+            failIfRequested();
+            objects.remove(request.key());
+            return DeleteObjectResponse.builder().build();
+        }
+
+        @Override
+        public ListObjectsV2Response listObjectsV2(ListObjectsV2Request request) {
+            failIfRequested();
+            String prefix = request.prefix() == null ? "" : request.prefix();
+            String after = request.continuationToken() != null ? request.continuationToken() : request.startAfter();
+            List<S3Object> contents = new ArrayList<>();
+            TreeSet<String> commonPrefixes = new TreeSet<>();
+            String last = null;
+            boolean truncated = false;
+            for (Map.Entry<String, byte[]> entry : objects.tailMap(prefix, true).entrySet()) {
+                String key = entry.getKey();
+                if (!key.startsWith(prefix)) {
+                    break;
+                }
+                if (after != null && key.compareTo(after) <= 0) {
+                    continue;
+                }
+                int delimiter = request.delimiter() == null ? -1 : key.indexOf(request.delimiter(), prefix.length());
+                String commonPrefix = delimiter < 0 ? null : key.substring(0, delimiter + 1);
+                if (commonPrefix != null && commonPrefixes.contains(commonPrefix)) {
+                    last = key;
+                    continue;
+                }
+                if (contents.size() + commonPrefixes.size() == request.maxKeys()) {
+                    truncated = true;
+                    break;
+                }
+                if (commonPrefix != null) {
+                    commonPrefixes.add(commonPrefix);
+                } else {
+                    contents.add(S3Object.builder().key(key).size((long) entry.getValue().length)
+                            .lastModified(Instant.EPOCH).build());
+                }
+                last = key;
+            }
+            return ListObjectsV2Response.builder()
+                    .contents(contents)
+                    .commonPrefixes(commonPrefixes.stream().map(p -> CommonPrefix.builder().prefix(p).build())
+                            .collect(Collectors.toList()))
+                    .isTruncated(truncated)
+                    .nextContinuationToken(truncated ? last : null)
+                    .build();
+        }
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private byte[] object(String key) {
+            byte[] bytes = objects.get(key);
+            if (bytes == null) {
+                throw NoSuchKeyException.builder().statusCode(404).message("The specified key does not exist").build();
+            }
+            return bytes;
+        }
+
+        private void failIfRequested() {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
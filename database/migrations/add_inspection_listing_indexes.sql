@@ -0,0 +1,22 @@
+-- Migration: Indexes backing the keyset-paginated inspection listing (GET /api/inspections/page)
+-- Every sort order ends in inspection_no so the (sort value, inspection_no) keyset is unique,
+-- and each page is a single index range scan.
+
+-- Default listing: newest first
+CREATE INDEX IF NOT EXISTS idx_inspection_date_no
+    ON inspection(date_of_inspection_and_time DESC, inspection_no DESC);
+
+-- Listing filtered by transformer
+CREATE INDEX IF NOT EXISTS idx_inspection_transformer_date_no
+    ON inspection(transformer_no, date_of_inspection_and_time DESC, inspection_no DESC);
+
+-- Listing filtered by branch
+CREATE INDEX IF NOT EXISTS idx_inspection_branch_date_no
+    ON inspection(branch, date_of_inspection_and_time DESC, inspection_no DESC);
+
+-- Listing filtered by state
+CREATE INDEX IF NOT EXISTS idx_inspection_state_date_no
+    ON inspection(state, date_of_inspection_and_time DESC, inspection_no DESC);
+
+-- Keep planner statistics current so ?count=estimate is close
+ANALYZE inspection;
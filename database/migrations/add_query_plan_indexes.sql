@@ -0,0 +1,25 @@
+-- Migration: Partial indexes for the sparse repository access paths
+-- The composite indexes are declared on the Inspection entity (@Table indexes) and in
+-- add_inspection_listing_indexes.sql / add_transformer_summary_index.sql.
+-- QueryPlanTest runs EXPLAIN for the hot repository queries against a seeded copy of this schema
+-- and fails if any of them falls back to a sequential scan.
+
+-- InspectionRepository.findInspectionsWithBoundingBoxChanges(ByTransformer):
+-- only inspections with user annotations are indexed
+CREATE INDEX IF NOT EXISTS idx_inspection_box_changes
+    ON inspection(transformer_no, inspection_no)
+    WHERE edited_or_manually_added_boxes IS NOT NULL OR deleted_bounding_boxes IS NOT NULL;
+
+-- InspectionRepository.findReferencedMaintenanceImagePaths (orphan reaper);
+-- inspections without an image are not indexed
+CREATE INDEX IF NOT EXISTS idx_inspection_maintenance_image
+    ON inspection(maintenance_image_path)
+    WHERE maintenance_image_path IS NOT NULL;
+
+-- TransformerRepository.findReferencedBaselineImagePaths (orphan reaper)
+CREATE INDEX IF NOT EXISTS idx_transformer_baseline_image
+    ON transformer(baseline_image_path)
+    WHERE baseline_image_path IS NOT NULL;
+
+ANALYZE inspection;
+ANALYZE transformer;
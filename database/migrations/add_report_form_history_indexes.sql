@@ -0,0 +1,16 @@
+-- Migration: Indexes for the maintenance record history search
+-- GET /api/inspection-report-forms/history joins report forms to their inspection and orders by
+-- inspection date; by transformer or date range it walks the inspection indexes and looks up one form
+-- per row (unique inspection_no). These indexes serve the form-side filters; is_finalized is
+-- already indexed by create_inspection_report_form_table.sql.
+-- The same indexes are declared on the InspectionReportForm entity.
+
+-- Filter by inspector
+CREATE INDEX IF NOT EXISTS idx_report_form_inspected_by
+    ON inspection_report_form(inspected_by);
+
+-- Filter by meter serial number
+CREATE INDEX IF NOT EXISTS idx_report_form_meter_serial
+    ON inspection_report_form(meter_serial_number);
+
+ANALYZE inspection_report_form;
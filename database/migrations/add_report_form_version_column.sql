@@ -0,0 +1,13 @@
+-- Migration: Add optimistic locking version to inspection_report_form table
+-- Field-level PATCH requests update only the columns they name, guarded by this version
+
+ALTER TABLE inspection_report_form
+ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN inspection_report_form.version IS 'Incremented by every save; a patch against an older version is rejected with 409';
+
+-- Verification
+SELECT column_name, data_type, column_default
+FROM information_schema.columns
+WHERE table_name = 'inspection_report_form'
+AND column_name = 'version';
@@ -0,0 +1,21 @@
+-- Migration: Add generated PDF columns to inspection_report_form table
+-- A PDF record is rendered in the background when a form is finalized and served from disk afterwards
+
+ALTER TABLE inspection_report_form
+ADD COLUMN IF NOT EXISTS pdf_path VARCHAR(255);
+
+ALTER TABLE inspection_report_form
+ADD COLUMN IF NOT EXISTS pdf_sha256 VARCHAR(64);
+
+ALTER TABLE inspection_report_form
+ADD COLUMN IF NOT EXISTS pdf_generated_at TIMESTAMP;
+
+COMMENT ON COLUMN inspection_report_form.pdf_path IS 'Stored filename of the generated PDF record (null until generated)';
+COMMENT ON COLUMN inspection_report_form.pdf_sha256 IS 'SHA-256 of the PDF bytes, served as the ETag';
+COMMENT ON COLUMN inspection_report_form.pdf_generated_at IS 'When the current PDF was generated';
+
+-- Verification
+SELECT column_name, data_type
+FROM information_schema.columns
+WHERE table_name = 'inspection_report_form'
+AND column_name IN ('pdf_path', 'pdf_sha256', 'pdf_generated_at');
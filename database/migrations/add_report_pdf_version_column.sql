@@ -0,0 +1,15 @@
+-- Migration: Record which form version a generated PDF was rendered from
+-- The form version is also bumped when the inspection's boxes or image change after finalizing,
+-- so a PDF is served only while pdf_version equals version. Existing PDFs (pdf_version NULL)
+-- are regenerated on their next request.
+
+ALTER TABLE inspection_report_form
+ADD COLUMN IF NOT EXISTS pdf_version BIGINT;
+
+COMMENT ON COLUMN inspection_report_form.pdf_version IS 'Form version the current PDF was rendered from; the PDF is outdated when it differs from version';
+
+-- Verification
+SELECT column_name, data_type
+FROM information_schema.columns
+WHERE table_name = 'inspection_report_form'
+AND column_name = 'pdf_version';
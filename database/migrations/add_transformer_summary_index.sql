@@ -0,0 +1,6 @@
+-- Migration: Index backing the per-transformer inspection summary (GET /api/transformers/summary)
+-- Counting inspections by state for one transformer becomes an index-only range scan.
+-- The latest-inspection lookups use idx_inspection_transformer_date_no (add_inspection_listing_indexes.sql).
+
+CREATE INDEX IF NOT EXISTS idx_inspection_transformer_state
+    ON inspection(transformer_no, state);
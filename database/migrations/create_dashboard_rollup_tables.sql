@@ -0,0 +1,26 @@
+-- Migration script to create the dashboard rollup tables (GET /api/dashboard)
+-- inspection_rollup records what each inspection contributes to the counters; on every inspection
+-- change the difference is applied to dashboard_counter, so the dashboard never scans inspections.
+-- Both tables are rebuilt from the inspection table by the periodic reconciliation job.
+
+CREATE TABLE IF NOT EXISTS dashboard_counter (
+    dimension VARCHAR(32) NOT NULL,
+    bucket VARCHAR(255) NOT NULL,
+    total BIGINT NOT NULL,
+    PRIMARY KEY (dimension, bucket)
+);
+
+CREATE TABLE IF NOT EXISTS inspection_rollup (
+    inspection_no BIGINT PRIMARY KEY,
+    state VARCHAR(255) NOT NULL,
+    region VARCHAR(255),
+    branch VARCHAR(255),
+    inspection_day DATE,
+    severity VARCHAR(255),
+    faulty_boxes INTEGER NOT NULL DEFAULT 0,
+    potentially_faulty_boxes INTEGER NOT NULL DEFAULT 0,
+    normal_boxes INTEGER NOT NULL DEFAULT 0
+);
+
+COMMENT ON TABLE dashboard_counter IS 'Dashboard counts per (dimension, bucket), maintained incrementally from inspection changes';
+COMMENT ON TABLE inspection_rollup IS 'Per-inspection contribution to dashboard_counter, used to compute deltas';
@@ -0,0 +1,19 @@
+-- Migration script to create image_metadata table
+-- Stores facts captured while an upload is streamed to disk (detected type, size, hash, dimensions)
+
+CREATE TABLE IF NOT EXISTS image_metadata (
+    filename VARCHAR(255) PRIMARY KEY,
+    kind VARCHAR(255) NOT NULL,
+    content_type VARCHAR(255) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    sha256 VARCHAR(64) NOT NULL,
+    width INTEGER,
+    height INTEGER,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Lookup by content hash (duplicate detection)
+CREATE INDEX IF NOT EXISTS idx_image_metadata_sha256
+    ON image_metadata(sha256);
+
+COMMENT ON TABLE image_metadata IS 'Metadata of stored baseline/maintenance images, keyed by stored filename';
@@ -0,0 +1,39 @@
+-- Migration script to create the transformer health table (GET /api/transformers/health)
+-- One row per transformer with inspections: the worst effective box class of its latest analyzed
+-- inspection, the trend over its last few analyzed inspections and its latest inspection date.
+-- Rows are recomputed by the application after every inspection change and filled for existing
+-- transformers by the periodic reconciliation job, so no backfill is needed here.
+-- The same indexes are declared on the TransformerHealth entity.
+
+CREATE TABLE IF NOT EXISTS transformer_health (
+    transformer_no VARCHAR(255) PRIMARY KEY,
+    latest_inspection_no BIGINT NOT NULL,
+    latest_inspection_at TIMESTAMP NOT NULL,
+    analyzed_inspection_no BIGINT,
+    analyzed_inspection_at TIMESTAMP,
+    condition_class VARCHAR(255),
+    condition_rank INTEGER NOT NULL DEFAULT 0,
+    faulty_boxes INTEGER NOT NULL DEFAULT 0,
+    potentially_faulty_boxes INTEGER NOT NULL DEFAULT 0,
+    normal_boxes INTEGER NOT NULL DEFAULT 0,
+    trend_inspections INTEGER NOT NULL DEFAULT 0,
+    trend_delta DOUBLE PRECISION NOT NULL DEFAULT 0,
+    trend VARCHAR(255),
+    updated_at TIMESTAMP NOT NULL
+);
+
+-- Worst condition first, then longest since inspection; also serves the condition filter
+CREATE INDEX IF NOT EXISTS idx_transformer_health_condition
+    ON transformer_health(condition_rank DESC, latest_inspection_at, transformer_no);
+
+-- Time since last inspection
+CREATE INDEX IF NOT EXISTS idx_transformer_health_latest
+    ON transformer_health(latest_inspection_at, transformer_no);
+
+-- Trend, most worsening first when read backwards
+CREATE INDEX IF NOT EXISTS idx_transformer_health_trend
+    ON transformer_health(trend_delta, transformer_no);
+
+COMMENT ON TABLE transformer_health IS 'Per-transformer condition and trend, maintained incrementally from inspection changes';
+
+ANALYZE transformer_health;
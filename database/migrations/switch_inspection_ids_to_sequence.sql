@@ -0,0 +1,15 @@
+-- Migration: Generate inspection numbers from a sequence instead of an identity column
+-- Hibernate cannot batch inserts into identity columns; with inspection_seq it reserves 50 numbers
+-- per nextval (pooled optimizer: nextval V covers V-49..V), and the bulk import allocates the same way.
+-- Run with the backend stopped so no reserved block is in use.
+
+CREATE SEQUENCE IF NOT EXISTS inspection_seq START WITH 1 INCREMENT BY 50;
+
+-- Continue after the existing rows (never move the sequence backwards)
+SELECT setval('inspection_seq', GREATEST(
+    (SELECT COALESCE(max(inspection_no), 0) + 50 FROM inspection),
+    (SELECT last_value FROM inspection_seq)));
+
+-- Plain SQL inserts take one sequence value each, which never falls inside a block Hibernate reserved
+ALTER TABLE inspection ALTER COLUMN inspection_no DROP IDENTITY IF EXISTS;
+ALTER TABLE inspection ALTER COLUMN inspection_no SET DEFAULT nextval('inspection_seq');
@@ -1,16 +1,6 @@
 // src/components/CircularGauge.jsx
-import { useState, useEffect } from "react";
-
-const Gauge = () => {
-  const [value, setValue] = useState(65); // percent (0–100)
-
-  // Auto update for demo
-  useEffect(() => {
-    const interval = setInterval(() => {
-      setValue(Math.floor(Math.random() * 101)); // random % 0–100
-    }, 2000);
-    return () => clearInterval(interval);
-  }, []);
+// value: percent (0–100)
+const Gauge = ({ value = 0 }) => {
 
   // Circle math
   const radius = 60;
@@ -1,7 +1,7 @@
 import React from 'react'
 import { useNavigate } from 'react-router-dom'
 
-const Inspection = () => {
+const Inspection = ({ summary }) => {
   const navigate = useNavigate();
 
   const handleAddInspection = () => {
@@ -12,6 +12,17 @@ const Inspection = () => {
     <div className='flex flex-col items-center justify-center p-4 bg-white rounded-lg shadow-md'>
         <h2 className='text-md font-bold text-gray-800 my-2'>New Inspection</h2>
         <p className='text-sm text-gray-400 my-2'>You can add a new inspection to any transformer from here.</p>
+        {summary && (
+          <div className='w-full my-2 text-xs text-gray-600'>
+            <div className='font-semibold mb-1'>{summary.totalInspections} inspections</div>
+            {Object.entries(summary.inspectionsByState || {}).map(([state, count]) => (
+              <div key={state} className='flex justify-between'>
+                <span>{state}</span>
+                <span>{count}</span>
+              </div>
+            ))}
+          </div>
+        )}
         <button className='mt-4 px-4 py-1 bg-blue-500 text-white rounded-lg text-sm' onClick={handleAddInspection}>Add Inspection</button>
     </div>
   )
@@ -71,6 +71,7 @@ const BaselineAiComparisonDisplay = ({ inspection, onRefresh }) => {
                             <div className="relative" style={{ height: '420px' }}>
                                 <InteractiveImageViewer
                                     src={`http://localhost:8080/api/transformers/images/${transformer.baselineImagePath}`}
+                                    tileSource={`http://localhost:8080/api/images/baseline/${transformer.baselineImagePath}/tiles.dzi`}
                                     alt="Baseline Reference Image"
                                     className="rounded-lg"
                                     containerClassName="w-full h-full border shadow-sm"
@@ -136,6 +137,9 @@ const BaselineAiComparisonDisplay = ({ inspection, onRefresh }) => {
                     isOpen={showImageModal}
                     onClose={() => setShowImageModal(false)}
                     src={currentImageUrl}
+                    tileSource={transformer?.baselineImagePath
+                        ? `http://localhost:8080/api/images/baseline/${transformer.baselineImagePath}/tiles.dzi`
+                        : null}
                     alt={currentImageTitle}
                     title={currentImageTitle}
                 />
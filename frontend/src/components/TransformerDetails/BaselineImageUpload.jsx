@@ -193,6 +193,7 @@ const BaselineImageUpload = ({ transformer, onTransformerUpdate }) => {
                             <div className='relative' style={{ height: '320px' }}>
                                 <InteractiveImageViewer
                                     src={`http://localhost:8080/api/transformers/images/${transformer.baselineImagePath}`}
+                                    tileSource={`http://localhost:8080/api/images/baseline/${transformer.baselineImagePath}/tiles.dzi`}
                                     alt="Baseline Thermal Image"
                                     className="rounded-lg"
                                     containerClassName="w-full h-full border shadow-sm"
@@ -275,6 +276,9 @@ const BaselineImageUpload = ({ transformer, onTransformerUpdate }) => {
                     isOpen={showImageModal}
                     onClose={() => setShowImageModal(false)}
                     src={currentImageUrl}
+                    tileSource={transformer?.baselineImagePath
+                        ? `http://localhost:8080/api/images/baseline/${transformer.baselineImagePath}/tiles.dzi`
+                        : null}
                     alt="Baseline Thermal Image - Full Screen"
                     title="Baseline Thermal Image"
                 />
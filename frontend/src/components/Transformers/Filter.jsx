@@ -1,9 +1,85 @@
 import React from 'react'
+import axios from 'axios'
+import { useState, useEffect } from 'react'
+
+// Facets offered as dropdowns, with the query parameter each one sets
+const FACETS = [
+  { name: "region", param: "region", label: "Region" },
+  { name: "type", param: "type", label: "Type" },
+  { name: "capacity", param: "capacity", label: "Capacity" },
+  { name: "numberOfFeeders", param: "feeders", label: "Feeders" },
+];
+
+const PAGE_SIZE = 100;
+
+// Searches transformers on the server and reports the matching transformer numbers,
+// or null when no search or filter is active
+const Filter = ({ onResults, refreshKey }) => {
+
+  const [query, setQuery] = useState("");
+  const [selected, setSelected] = useState({});
+  const [facets, setFacets] = useState({});
+  const [total, setTotal] = useState(0);
+
+  const isActive = query.trim() !== "" || FACETS.some(facet => selected[facet.name]);
+
+  useEffect(() => {
+    const params = new URLSearchParams();
+    if (query.trim()) {
+      params.append("q", query.trim());
+    }
+    FACETS.forEach(facet => {
+      if (selected[facet.name]) {
+        params.append(facet.param, selected[facet.name]);
+      }
+    });
+    params.append("size", PAGE_SIZE);
+
+    // Small delay so typing does not send a request per keystroke
+    const timer = setTimeout(() => {
+      axios.get(`http://localhost:8080/api/transformers/search?${params.toString()}`)
+        .then((response) => {
+          setFacets(response.data.facets || {});
+          setTotal(response.data.total);
+          onResults(isActive ? response.data.items.map(item => item.transformerNo) : null);
+        })
+        .catch((error) => {
+          console.error("Error searching transformers:", error);
+          onResults(null);
+        });
+    }, 200);
+    return () => clearTimeout(timer);
+  }, [query, selected, refreshKey]);
+
+  const handleSelect = (name, value) => {
+    setSelected(prev => ({ ...prev, [name]: value }));
+  };
 
-const Filter = () => {
   return (
-    <div>
-      
+    <div className='flex flex-row flex-wrap items-center gap-3 mx-5 mt-5'>
+      <input
+        type='text'
+        value={query}
+        onChange={(e) => setQuery(e.target.value)}
+        placeholder='Search transformer no, pole no or location'
+        className='px-3 py-1 border border-gray-300 rounded-md text-sm w-80'
+      />
+      {FACETS.map(facet => (
+        <select
+          key={facet.name}
+          value={selected[facet.name] || ""}
+          onChange={(e) => handleSelect(facet.name, e.target.value)}
+          className='px-2 py-1 border border-gray-300 rounded-md text-sm'
+        >
+          <option value="">All {facet.label.toLowerCase()}</option>
+          {Object.entries(facets[facet.name] || {}).map(([value, count]) => (
+            <option key={value} value={value}>{value} ({count})</option>
+          ))}
+        </select>
+      ))}
+      {isActive && total > PAGE_SIZE && (
+        <span className='text-xs text-gray-500'>Showing first {PAGE_SIZE} of {total} matches</span>
+      )}
     </div>
   )
 }
@@ -100,6 +100,19 @@ const TransformerTable = ({ activeTable, transformers, inspections, onTransforme
         setSelectedDate('');
     };
 
+    const getSeverityColor = (severity) => {
+        switch (severity) {
+            case "Faulty":
+                return "border-red-400 bg-red-300 text-red-800";
+            case "Potentially Faulty":
+                return "border-orange-400 bg-orange-300 text-orange-800";
+            case "Normal":
+                return "border-green-400 bg-green-300 text-green-800";
+            default:
+                return "border-gray-400 bg-gray-300 text-gray-800";
+        }
+    };
+
     const getStatusColor = (state) => {
         switch (state) {
             case "Pending":
@@ -159,20 +172,34 @@ const TransformerTable = ({ activeTable, transformers, inspections, onTransforme
         <div>
             {activeTable === "transformers" && (
                 <div className="grid grid-cols-1 md:grid-cols-1 gap-4 mx-5 mt-10">
-                    <div className="grid grid-cols-5 gap-y-2 p-4 bg-gray-100 rounded-md mb-4">
+                    <div className="grid grid-cols-7 gap-y-2 p-4 bg-gray-100 rounded-md mb-4">
                         <div className="font-semibold">Transformer No</div>
                         <div className="font-semibold">Pole No</div>
                         <div className="font-semibold">Region</div>
                         <div className="font-semibold">Type</div>
+                        <div className="font-semibold">Inspections</div>
+                        <div className="font-semibold">Latest Severity</div>
                         <div className="font-semibold">Actions</div>
                     </div>
                     {transformers && transformers.length > 0 ? (
                         transformers.map((transformer) => (
-                            <div key={transformer.transformerNo} className="bg-white shadow rounded-md border border-gray-200 grid grid-cols-5 gap-y-2 p-4 hover:shadow-lg transition duration-200">
+                            <div key={transformer.transformerNo} className="bg-white shadow rounded-md border border-gray-200 grid grid-cols-7 gap-y-2 p-4 hover:shadow-lg transition duration-200">
                                 <div className="text-sm">{transformer.transformerNo}</div>
                                 <div className="text-sm">{transformer.poleNo}</div>
                                 <div className="text-sm">{transformer.region}</div>
                                 <div className="text-sm">{transformer.type}</div>
+                                <div className="text-sm" title={transformer.latestInspectionDate ? `Latest: ${new Date(transformer.latestInspectionDate).toLocaleString()}` : undefined}>
+                                    {transformer.totalInspections ?? 0}
+                                </div>
+                                <div>
+                                    {transformer.latestAnomalySeverity ? (
+                                        <div className={`px-4 py-1 text-center text-xs font-medium rounded-full w-fit ${getSeverityColor(transformer.latestAnomalySeverity)}`}>
+                                            {transformer.latestAnomalySeverity}
+                                        </div>
+                                    ) : (
+                                        <span className="text-xs text-gray-400">Not analyzed</span>
+                                    )}
+                                </div>
                                 <div className="flex items-center space-x-2">
                                     <button 
                                         onClick={() => navigate(`/transformers/${transformer.transformerNo}`)} 
@@ -6,6 +6,7 @@ const InteractiveImageModal = ({
     isOpen, 
     onClose, 
     src, 
+    tileSource = null, // Deep Zoom descriptor URL, see InteractiveImageViewer
     alt, 
     title = null,
     children = null // For overlay content like bounding boxes
@@ -44,6 +45,7 @@ const InteractiveImageModal = ({
                 <div className="w-full h-full pt-16">
                     <InteractiveImageViewer
                         src={src}
+                        tileSource={tileSource}
                         alt={alt}
                         className="rounded-lg"
                         containerClassName="w-full h-full"
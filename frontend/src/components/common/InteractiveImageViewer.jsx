@@ -1,8 +1,89 @@
 import React, { useState, useRef, useEffect, useCallback } from 'react';
 import { ZoomIn, ZoomOut, RotateCcw, Move } from 'lucide-react';
+import axios from 'axios';
+
+// Read TileSize, Overlap, Format and Size from a Deep Zoom (DZI) descriptor
+const parseDescriptor = (xml) => {
+    const doc = new DOMParser().parseFromString(xml, 'application/xml');
+    const image = doc.getElementsByTagName('Image')[0];
+    const size = doc.getElementsByTagName('Size')[0];
+    if (!image || !size) return null;
+    const descriptor = {
+        tileSize: Number(image.getAttribute('TileSize')),
+        overlap: Number(image.getAttribute('Overlap')),
+        format: image.getAttribute('Format'),
+        width: Number(size.getAttribute('Width')),
+        height: Number(size.getAttribute('Height'))
+    };
+    return descriptor.tileSize > 0 && descriptor.width > 0 && descriptor.height > 0 ? descriptor : null;
+};
+
+// Level at which the image is at full resolution; each level below it is half the size
+const maxLevelOf = ({ width, height }) => Math.ceil(Math.log2(Math.max(width, height, 1)));
+
+const levelSize = (descriptor, level) => {
+    const factor = 2 ** (maxLevelOf(descriptor) - level);
+    return {
+        width: Math.max(1, Math.ceil(descriptor.width / factor)),
+        height: Math.max(1, Math.ceil(descriptor.height / factor))
+    };
+};
+
+// Lowest level that is at least `pixels` wide, so tiles are never stretched
+const levelForWidth = (descriptor, pixels) => {
+    const maxLevel = maxLevelOf(descriptor);
+    for (let level = 0; level < maxLevel; level++) {
+        if (levelSize(descriptor, level).width >= pixels) return level;
+    }
+    return maxLevel;
+};
+
+/**
+ * Tiles of one pyramid level covering the visible part of the image.
+ * `visible` is the visible region as fractions of the image ({ x0, y0, x1, y1 }).
+ */
+const TileLayer = ({ tilesUrl, descriptor, level, visible }) => {
+    const { tileSize, overlap, format } = descriptor;
+    const { width, height } = levelSize(descriptor, level);
+    const columns = Math.ceil(width / tileSize);
+    const rows = Math.ceil(height / tileSize);
+    const firstColumn = Math.max(0, Math.floor(visible.x0 * width / tileSize));
+    const lastColumn = Math.min(columns - 1, Math.floor(visible.x1 * width / tileSize));
+    const firstRow = Math.max(0, Math.floor(visible.y0 * height / tileSize));
+    const lastRow = Math.min(rows - 1, Math.floor(visible.y1 * height / tileSize));
+
+    const tiles = [];
+    for (let column = firstColumn; column <= lastColumn; column++) {
+        for (let row = firstRow; row <= lastRow; row++) {
+            // Tiles extend `overlap` pixels into their neighbours, except at the image edges
+            const x = column * tileSize - (column > 0 ? overlap : 0);
+            const y = row * tileSize - (row > 0 ? overlap : 0);
+            const tileWidth = Math.min(tileSize + (column > 0 ? overlap : 0) + overlap, width - x);
+            const tileHeight = Math.min(tileSize + (row > 0 ? overlap : 0) + overlap, height - y);
+            tiles.push(
+                <img
+                    key={`${level}/${column}_${row}`}
+                    src={`${tilesUrl}/${level}/${column}_${row}.${format}`}
+                    alt=""
+                    draggable={false}
+                    className="absolute max-w-none"
+                    style={{
+                        left: `${x / width * 100}%`,
+                        top: `${y / height * 100}%`,
+                        width: `${tileWidth / width * 100}%`,
+                        height: `${tileHeight / height * 100}%`,
+                        pointerEvents: 'none'
+                    }}
+                />
+            );
+        }
+    }
+    return <>{tiles}</>;
+};
 
 const InteractiveImageViewer = ({ 
     src, 
+    tileSource = null, // Deep Zoom descriptor URL (.dzi); when it loads, only the tiles in view are fetched instead of src
     alt, 
     className = '', 
     containerClassName = '',
@@ -15,9 +96,15 @@ const InteractiveImageViewer = ({
     const [isDragging, setIsDragging] = useState(false);
     const [dragStart, setDragStart] = useState({ x: 0, y: 0 });
     const [imageLoaded, setImageLoaded] = useState(false);
+    const [descriptor, setDescriptor] = useState(null);
+    const [tilesFailed, setTilesFailed] = useState(false);
+    const [viewport, setViewport] = useState({ width: 0, height: 0 });
     
     const containerRef = useRef(null);
     const imageRef = useRef(null);
+    const tiled = Boolean(tileSource) && !tilesFailed;
+    const onImageLoadRef = useRef(onImageLoad);
+    onImageLoadRef.current = onImageLoad;
 
     // Reset transform to initial state
     const resetTransform = useCallback(() => {
@@ -114,7 +201,50 @@ const InteractiveImageViewer = ({
     useEffect(() => {
         resetTransform();
         setImageLoaded(false);
-    }, [src, resetTransform]);
+    }, [src, tileSource, resetTransform]);
+
+    // Load the tile descriptor; fall back to the full image if there is none
+    useEffect(() => {
+        setDescriptor(null);
+        setTilesFailed(false);
+        if (!tileSource) return;
+
+        let cancelled = false;
+        axios.get(tileSource, { responseType: 'text' })
+            .then(response => {
+                if (cancelled) return;
+                const parsed = parseDescriptor(response.data);
+                if (!parsed) {
+                    setTilesFailed(true);
+                    return;
+                }
+                setDescriptor(parsed);
+                setImageLoaded(true);
+                if (onImageLoadRef.current) {
+                    onImageLoadRef.current({ naturalWidth: parsed.width, naturalHeight: parsed.height });
+                }
+            })
+            .catch(error => {
+                if (cancelled) return;
+                console.error('Failed to load image tiles, showing the full image instead:', error);
+                setTilesFailed(true);
+            });
+        return () => {
+            cancelled = true;
+        };
+    }, [tileSource]);
+
+    // Track the viewport size to pick the tile level and the tiles in view
+    useEffect(() => {
+        const container = containerRef.current;
+        if (!container || !tiled) return;
+
+        const measure = () => setViewport({ width: container.clientWidth, height: container.clientHeight });
+        measure();
+        const observer = new ResizeObserver(measure);
+        observer.observe(container);
+        return () => observer.disconnect();
+    }, [tiled]);
 
     const imageStyle = {
         transform: `translate(${position.x}px, ${position.y}px) scale(${scale})`,
@@ -132,6 +262,36 @@ const InteractiveImageViewer = ({
         pointerEvents: 'none'
     };
 
+    // Tiled rendering: a low-resolution level covering the whole image, plus a sharper level for the part in view
+    const renderTiles = () => {
+        if (!descriptor || viewport.width === 0) return null;
+
+        const tilesUrl = tileSource.replace(/\.dzi$/, '_files');
+        const pixelRatio = window.devicePixelRatio || 1;
+        const baseLevel = levelForWidth(descriptor, viewport.width * pixelRatio);
+        const detailLevel = levelForWidth(descriptor, viewport.width * scale * pixelRatio);
+
+        // Invert translate(position) scale(scale) around the image centre to find the part of it in view
+        const width = viewport.width;
+        const height = width * descriptor.height / descriptor.width;
+        const visible = {
+            x0: (width / 2 + (0 - position.x - width / 2) / scale) / width,
+            x1: (width / 2 + (viewport.width - position.x - width / 2) / scale) / width,
+            y0: (height / 2 + (0 - position.y - height / 2) / scale) / height,
+            y1: (height / 2 + (viewport.height - position.y - height / 2) / scale) / height
+        };
+        const whole = { x0: 0, y0: 0, x1: 1, y1: 1 };
+
+        return (
+            <>
+                <TileLayer tilesUrl={tilesUrl} descriptor={descriptor} level={baseLevel} visible={whole} />
+                {detailLevel > baseLevel && (
+                    <TileLayer tilesUrl={tilesUrl} descriptor={descriptor} level={detailLevel} visible={visible} />
+                )}
+            </>
+        );
+    };
+
     return (
         <div className={`relative overflow-hidden ${containerClassName}`}>
             {/* Image Container */}
@@ -140,16 +300,31 @@ const InteractiveImageViewer = ({
                 className={`relative w-full h-full bg-gray-100 ${className}`}
                 style={{ minHeight: '200px' }}
             >
-                <img
-                    ref={imageRef}
-                    src={src}
-                    alt={alt}
-                    className="w-full h-auto max-w-none"
-                    style={imageStyle}
-                    onMouseDown={handleMouseDown}
-                    onLoad={handleImageLoad}
-                    draggable={false}
-                />
+                {tiled ? (
+                    <div
+                        role="img"
+                        aria-label={alt}
+                        className="relative w-full max-w-none"
+                        style={{
+                            ...imageStyle,
+                            aspectRatio: descriptor ? `${descriptor.width} / ${descriptor.height}` : undefined
+                        }}
+                        onMouseDown={handleMouseDown}
+                    >
+                        {renderTiles()}
+                    </div>
+                ) : (
+                    <img
+                        ref={imageRef}
+                        src={src}
+                        alt={alt}
+                        className="w-full h-auto max-w-none"
+                        style={imageStyle}
+                        onMouseDown={handleMouseDown}
+                        onLoad={handleImageLoad}
+                        draggable={false}
+                    />
+                )}
                 
                 {/* Overlay Content */}
                 {children && imageLoaded && (
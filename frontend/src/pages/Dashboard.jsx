@@ -1,4 +1,5 @@
 import React, { useEffect, useState } from 'react'; // <--- Ensure useEffect and useState are imported
+import axios from 'axios';
 import Footer from '../components/Footer';
 import Health from '../components/Dashboard/Health'
 import Inspection from '../components/Dashboard/Inspection'
@@ -13,6 +14,16 @@ import AnimatedBackground from '../components/Dashboard/AnimatedBackground';
 const Dashboard = () => {
     const [branch, setBranch] = React.useState("");
     const [scrollPercentage, setScrollPercentage] = useState(0); // <--- New state for scroll
+    const [summary, setSummary] = useState(null); // Fleet-wide counts from the rollup endpoint
+
+    useEffect(() => {
+        axios.get('http://localhost:8080/api/dashboard')
+            .then((response) => setSummary(response.data))
+            .catch((error) => {
+                console.error('Error fetching dashboard:', error);
+                setSummary(null);
+            });
+    }, []);
 
     // 3. Hook to track scroll position
     useEffect(() => {
@@ -64,13 +75,13 @@ const Dashboard = () => {
                 
                 <div className='flex flex-row m-10 justify-between items-start'>
                     <div className='text-center w-1/3 h-100% bg-yellow-50 mr-6'>
-                        <Health />
+                        <Health summary={summary} />
                     </div>
                     <div className='text-center w-1/3 h-100% bg-yellow-50 mx-6'>
                         <Addition />
                     </div>
                     <div className='text-center w-1/3 h-100% bg-yellow-50 ml-6'>
-                        <Inspection />
+                        <Inspection summary={summary} />
                     </div>
                 </div>
                 <div className='flex flex-row mt-2 ml-10 mr-10 items-start justify-between'>
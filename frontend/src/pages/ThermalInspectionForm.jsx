@@ -9,6 +9,9 @@ import Footer from '../components/Footer';
 import Toast from '../components/common/Toast';
 import ConfirmDialog from '../components/common/ConfirmDialog';
 
+// Server-managed report form properties, never sent as field changes
+const READ_ONLY_FORM_FIELDS = ['id', 'inspectionNo', 'isFinalized', 'createdAt', 'updatedAt', 'finalizedAt', 'version', 'pdfSha256', 'pdfGeneratedAt'];
+
 const ThermalInspectionForm = () => {
     const { inspectionNo } = useParams();
     const navigate = useNavigate();
@@ -77,6 +80,9 @@ const ThermalInspectionForm = () => {
         secondInspectionIB: ''
     });
 
+    // Last payload the server has stored and its version; auto-saves only send fields that differ from it
+    const lastSavedFormRef = useRef({ version: null, data: null });
+
     const [isEditing, setIsEditing] = useState(true);
     const [showPrintPreview, setShowPrintPreview] = useState(false);
     const [pdfPreviewUrl, setPdfPreviewUrl] = useState(null);
@@ -204,6 +210,11 @@ const ThermalInspectionForm = () => {
                     ...prev,
                     ...savedData
                 }));
+                lastSavedFormRef.current = {
+                    version: response.data.version,
+                    data: toSavePayload({ ...formData, ...savedData })
+                };
+
                 
                 // If form is finalized, set to read-only mode
                 if (response.data.isFinalized) {
@@ -225,14 +236,46 @@ const ThermalInspectionForm = () => {
         }
     };
 
+    const toSavePayload = (data) => ({
+        ...data,
+        workContent: JSON.stringify(data.workContent),
+        inspectionReport: JSON.stringify(data.inspectionReport)
+    });
+
     const autoSaveFormData = async () => {
         console.log('autoSaveFormData called');
         try {
-            const dataToSave = {
-                ...formData,
-                workContent: JSON.stringify(formData.workContent),
-                inspectionReport: JSON.stringify(formData.inspectionReport)
-            };
+            const dataToSave = toSavePayload(formData);
+
+            // Once the form exists, send only the changed fields
+            const lastSaved = lastSavedFormRef.current;
+            if (lastSaved.version != null) {
+                const changedFields = {};
+                Object.keys(dataToSave)
+                    .filter(key => !READ_ONLY_FORM_FIELDS.includes(key) && dataToSave[key] !== lastSaved.data[key])
+                    .forEach(key => { changedFields[key] = dataToSave[key] ?? null; });
+
+                if (Object.keys(changedFields).length === 0) {
+                    console.log('Skipping auto-save: nothing changed');
+                    return;
+                }
+
+                try {
+                    const response = await axios.patch(`http://localhost:8080/api/inspection-report-forms/${inspectionNo}`, {
+                        version: lastSaved.version,
+                        fields: changedFields
+                    });
+                    lastSavedFormRef.current = { version: response.data.version, data: dataToSave };
+                    console.log('Form patched successfully', response.data);
+                    return;
+                } catch (error) {
+                    // Saved elsewhere meanwhile (409) or removed (404): fall back to a full save
+                    if (error.response?.status !== 409 && error.response?.status !== 404) {
+                        throw error;
+                    }
+                    console.warn('Patch rejected, sending the whole form:', error.response?.data);
+                }
+            }
 
             console.log('Sending auto-save request to:', `http://localhost:8080/api/inspection-report-forms/${inspectionNo}/auto-save`);
             console.log('Data being sent:', dataToSave);
@@ -240,6 +283,9 @@ const ThermalInspectionForm = () => {
             const response = await axios.post(`http://localhost:8080/api/inspection-report-forms/${inspectionNo}/auto-save`, dataToSave);
             
             console.log('Auto-save response:', response.data);
+
+            // The save is buffered; its response carries the version to patch against
+            lastSavedFormRef.current = { version: response.data.version, data: dataToSave };
             console.log('Form auto-saved successfully', {
                 workContent: formData.workContent,
                 inspectionReport: formData.inspectionReport,
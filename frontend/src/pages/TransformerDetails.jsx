@@ -28,7 +28,7 @@ const TransformerDetails = () => {
 
     const fetchInspections = async () => {
         try {
-            const response = await axios.get("http://localhost:8080/api/inspections");
+            const response = await axios.get(`http://localhost:8080/api/inspections/transformer/${transformerNo}?view=summary`);
             console.log("Fetched inspections:", response.data);
             setInspections(response.data || []);
         } catch (error) {
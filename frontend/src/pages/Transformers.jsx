@@ -2,6 +2,7 @@ import React from 'react'
 import axios from 'axios'
 import Head from '../components/Transformers/Head'
 import TransformerTable from '../components/Transformers/TransformerTable'
+import Filter from '../components/Transformers/Filter'
 // import inspections from '../constants/inspections.json'
 import { useState, useEffect } from 'react'
 import Footer from '../components/Footer'
@@ -15,9 +16,11 @@ const Transformers = () => {
 
     const [transformers, setTransformers] = useState([]);
     const [inspections, setInspections] = useState([]);
+    // Transformer numbers matching the search, or null to show all
+    const [matchingTransformers, setMatchingTransformers] = useState(null);
 
     const fetchInspections = () => {
-        axios.get("http://localhost:8080/api/inspections")
+        axios.get("http://localhost:8080/api/inspections?view=summary")
             .then((response) => {
                 setInspections(response.data || []);
             })
@@ -27,8 +30,9 @@ const Transformers = () => {
             });
     };
 
+    // One aggregated row per transformer (inspection counts, latest severity)
     const fetchTransformers = () => {
-        axios.get("http://localhost:8080/api/transformers")
+        axios.get("http://localhost:8080/api/transformers/summary")
             .then((response) => {
                 setTransformers(response.data || []);
             })
@@ -39,7 +43,10 @@ const Transformers = () => {
     };
 
     const handleInspectionAdded = () => {
-        fetchInspections();
+        fetchTransformers();
+        if (activeTable === "inspections") {
+            fetchInspections();
+        }
     };
 
     const handleTransformerDeleted = (deletedTransformerNo) => {
@@ -50,32 +57,19 @@ const Transformers = () => {
 
     const handleInspectionDeleted = (deletedInspectionNo) => {
         setInspections(prev => prev.filter(inspection => inspection.inspectionNo !== deletedInspectionNo));
+        fetchTransformers();
     };
 
     useEffect(() => {
         fetchTransformers();
     }, []);
 
+    // The inspection list is only downloaded when its tab is opened
     useEffect(() => {
-        fetchInspections();
-    }, []);
-
-    // Step 1: Reduce inspections to unique transformers
-    const transformerMap = new Map();
-
-    transformers.forEach((transformer) => {
-        if (!transformerMap.has(transformer.transformerNo)) {
-        transformerMap.set(transformer.transformerNo, {
-            transformerNo: transformer.transformerNo,
-            poleNo: transformer.poleNo,
-            region: transformer.region,
-            type: transformer.type,
-        });
+        if (activeTable === "inspections") {
+            fetchInspections();
         }
-    });
-
-    // Step 2: Convert to array
-    const uniqueTransformers = Array.from(transformerMap.values());
+    }, [activeTable]);
 
     return (
         <>
@@ -86,9 +80,14 @@ const Transformers = () => {
                 </div>
                 <div className='flex flex-col bg-white p-5 rounded-md shadow-md'>
                     <Head activeTable={activeTable} setActiveTable={setActiveTable} onInspectionAdded={handleInspectionAdded} />
+                    {activeTable === "transformers" && (
+                        <Filter onResults={setMatchingTransformers} refreshKey={transformers.length} />
+                    )}
                     <TransformerTable 
                         activeTable={activeTable} 
-                        transformers={uniqueTransformers} 
+                        transformers={matchingTransformers === null
+                            ? transformers
+                            : transformers.filter(transformer => matchingTransformers.includes(transformer.transformerNo))} 
                         inspections={inspections} 
                         onTransformerDeleted={handleTransformerDeleted}
                         onInspectionDeleted={handleInspectionDeleted}